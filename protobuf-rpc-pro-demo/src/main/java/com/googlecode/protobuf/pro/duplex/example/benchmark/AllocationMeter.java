@@ -0,0 +1,70 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.example.benchmark;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the heap allocated by the current thread, where the JVM supports it,
+ * together with the elapsed time.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class AllocationMeter {
+
+	private final com.sun.management.ThreadMXBean threadBean;
+	
+	private long startBytes;
+	private long startNanos;
+	
+	public AllocationMeter() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if ( bean instanceof com.sun.management.ThreadMXBean ) {
+			threadBean = (com.sun.management.ThreadMXBean)bean;
+		} else {
+			threadBean = null;
+		}
+	}
+	
+	public void start() {
+		startBytes = allocatedBytes();
+		startNanos = System.nanoTime();
+	}
+	
+	/**
+	 * @param operations the number of operations since {@link #start()}.
+	 * @return a summary of the operation rate and allocation per operation.
+	 */
+	public String stop( String name, int operations ) {
+		long elapsedNanos = System.nanoTime() - startNanos;
+		long bytes = allocatedBytes() - startBytes;
+		
+		StringBuilder sb = new StringBuilder(name);
+		sb.append(": ").append(operations * 1000000000l / Math.max(1, elapsedNanos)).append(" ops/s");
+		if ( threadBean != null ) {
+			sb.append(", ").append(bytes / operations).append(" bytes allocated/op");
+		}
+		return sb.toString();
+	}
+	
+	private long allocatedBytes() {
+		if ( threadBean == null ) {
+			return 0;
+		}
+		return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
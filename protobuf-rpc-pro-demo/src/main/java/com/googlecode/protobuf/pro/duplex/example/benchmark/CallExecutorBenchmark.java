@@ -0,0 +1,148 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.example.benchmark;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.protobuf.BlockingService;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import com.google.protobuf.RpcController;
+import com.google.protobuf.ServiceException;
+import com.googlecode.protobuf.pro.duplex.example.wire.PingPong.BlockingPingService;
+import com.googlecode.protobuf.pro.duplex.example.wire.PingPong.Ping;
+import com.googlecode.protobuf.pro.duplex.example.wire.PingPong.Pong;
+import com.googlecode.protobuf.pro.duplex.execute.ForkJoinCallExecutor;
+import com.googlecode.protobuf.pro.duplex.execute.PendingServerCallState;
+import com.googlecode.protobuf.pro.duplex.execute.RpcServerCallExecutor;
+import com.googlecode.protobuf.pro.duplex.execute.RpcServerExecutorCallback;
+import com.googlecode.protobuf.pro.duplex.execute.ServerRpcController;
+import com.googlecode.protobuf.pro.duplex.execute.ThreadPoolCallExecutor;
+
+/**
+ * Compares the call throughput of the {@link ThreadPoolCallExecutor} against
+ * the {@link ForkJoinCallExecutor} with the same number of threads.
+ * 
+ * Several submitter threads, as the server's event loops would, execute calls
+ * of a blocking service which spins for a short time, keeping no more than a
+ * window of calls pending. The contention on the ThreadPoolCallExecutor's single
+ * queue shows with many threads and short calls, so run this on a machine with
+ * many cores, for instance with 32 threads and 8 submitters.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class CallExecutorBenchmark {
+
+	private static Logger log = LoggerFactory.getLogger(CallExecutorBenchmark.class);
+
+	private final int numCalls;
+	private final int submitters;
+	private final int window;
+	private final BlockingService service;
+	private final Ping ping = Ping.newBuilder().setSequenceNo(1).setPingPayload(ByteString.EMPTY).build();
+	
+	public CallExecutorBenchmark( int numCalls, int submitters, int window, final int workNanos ) {
+		this.numCalls = numCalls;
+		this.submitters = submitters;
+		this.window = window;
+		final Pong pong = Pong.newBuilder().setSequenceNo(1).setPongData(ByteString.EMPTY).build();
+		this.service = BlockingPingService.newReflectiveBlockingService(new BlockingPingService.BlockingInterface() {
+			
+			@Override
+			public Pong ping(RpcController controller, Ping request) throws ServiceException {
+				long end = System.nanoTime() + workNanos;
+				while( System.nanoTime() < end ) {
+					// spin
+				}
+				return pong;
+			}
+		});
+	}
+	
+	public static void main(String[] args) throws Exception {
+		int numCalls = 1000000;
+		int threads = Runtime.getRuntime().availableProcessors();
+		int submitters = Math.max(1, threads / 4);
+		int workNanos = 1000;
+		if ( args.length == 4 ) {
+			numCalls = Integer.parseInt(args[0]);
+			threads = Integer.parseInt(args[1]);
+			submitters = Integer.parseInt(args[2]);
+			workNanos = Integer.parseInt(args[3]);
+		} else if ( args.length != 0 ) {
+			System.err.println("usage: [<numCalls> <threads> <submitters> <workNanos>]");
+			System.exit(-1);
+		}
+		// stay below either executor's overload limit.
+		int window = threads * 16;
+		CallExecutorBenchmark benchmark = new CallExecutorBenchmark(numCalls, submitters, window, workNanos);
+		for( int round = 0; round < 3; round++ ) {
+			ThreadPoolCallExecutor threadPool = new ThreadPoolCallExecutor(threads, threads, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(window), Executors.defaultThreadFactory());
+			log.info(benchmark.run("ThreadPoolCallExecutor " + threads + " threads", threadPool));
+			threadPool.shutdown();
+			
+			ForkJoinCallExecutor forkJoin = new ForkJoinCallExecutor(threads, window);
+			log.info(benchmark.run("ForkJoinCallExecutor " + threads + " threads", forkJoin));
+			forkJoin.shutdown();
+		}
+	}
+	
+	public String run( String name, final RpcServerCallExecutor executor ) throws InterruptedException {
+		final Semaphore pending = new Semaphore(window);
+		final AtomicInteger failed = new AtomicInteger();
+		final CountDownLatch finished = new CountDownLatch(numCalls);
+		final RpcServerExecutorCallback callback = new RpcServerExecutorCallback() {
+			@Override
+			public void onFinish(int correlationId, Message message) {
+				if ( message == null ) {
+					failed.incrementAndGet();
+				}
+				pending.release();
+				finished.countDown();
+			}
+		};
+		final AtomicInteger correlationId = new AtomicInteger(1);
+		final int callsPerSubmitter = numCalls / submitters;
+		
+		AllocationMeter meter = new AllocationMeter();
+		meter.start();
+		for( int s = 0; s < submitters; s++ ) {
+			final int calls = s == 0 ? numCalls - callsPerSubmitter * (submitters - 1) : callsPerSubmitter;
+			Thread submitter = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for( int i = 0; i < calls; i++ ) {
+						pending.acquireUninterruptibly();
+						ServerRpcController controller = new ServerRpcController(null, BlockingPingService.getDescriptor().getFullName(), correlationId.getAndIncrement());
+						executor.execute(new PendingServerCallState(callback, service, controller, BlockingPingService.getDescriptor().getMethods().get(0), ping, System.currentTimeMillis(), 0));
+					}
+				}
+			});
+			submitter.start();
+		}
+		finished.await();
+		return meter.stop(name, numCalls) + ", " + failed.get() + " failed";
+	}
+}
@@ -0,0 +1,178 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.example.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.googlecode.protobuf.pro.duplex.util.PendingCallTable;
+
+/**
+ * Compares the throughput and allocation rate of the {@link PendingCallTable}
+ * against the ConcurrentHashMap&lt;Integer, ...&gt; it replaces in the RpcClient
+ * and RpcServer.
+ * 
+ * Each call is put with the next correlationId and removed once a window of
+ * later calls is pending, as responses arrive. The concurrent rounds put the
+ * calls from several caller threads, and remove them on one thread as the
+ * event loop would.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class PendingCallTableBenchmark {
+
+	private static Logger log = LoggerFactory.getLogger(PendingCallTableBenchmark.class);
+
+	private final int numCalls;
+	private final int window;
+	private final Object call = new Object();
+	
+	public PendingCallTableBenchmark( int numCalls, int window ) {
+		this.numCalls = numCalls;
+		this.window = window;
+	}
+	
+	public static void main(String[] args) throws Exception {
+		int numCalls = 10000000;
+		int window = 100;
+		int threads = 4;
+		if ( args.length == 3 ) {
+			numCalls = Integer.parseInt(args[0]);
+			window = Integer.parseInt(args[1]);
+			threads = Integer.parseInt(args[2]);
+		} else if ( args.length != 0 ) {
+			System.err.println("usage: [<numCalls> <window> <threads>]");
+			System.exit(-1);
+		}
+		PendingCallTableBenchmark benchmark = new PendingCallTableBenchmark(numCalls, window);
+		for( int round = 0; round < 3; round++ ) {
+			log.info(benchmark.runMap());
+			log.info(benchmark.runTable());
+			log.info(benchmark.runConcurrentMap(threads));
+			log.info(benchmark.runConcurrentTable(threads));
+		}
+	}
+
+	public String runMap() {
+		Map<Integer, Object> map = new ConcurrentHashMap<Integer, Object>();
+		AllocationMeter meter = new AllocationMeter();
+		meter.start();
+		int found = 0;
+		for( int i = 1; i <= numCalls; i++ ) {
+			map.put(i, call);
+			if ( i > window && map.remove(i - window) != null ) {
+				found++;
+			}
+		}
+		return meter.stop("ConcurrentHashMap", found);
+	}
+	
+	public String runTable() {
+		PendingCallTable<Object> table = new PendingCallTable<Object>();
+		AllocationMeter meter = new AllocationMeter();
+		meter.start();
+		int found = 0;
+		for( int i = 1; i <= numCalls; i++ ) {
+			table.put(i, call);
+			if ( i > window && table.remove(i - window) != null ) {
+				found++;
+			}
+		}
+		return meter.stop("PendingCallTable", found);
+	}
+	
+	public String runConcurrentMap( int threads ) throws InterruptedException {
+		final Map<Integer, Object> map = new ConcurrentHashMap<Integer, Object>();
+		return runConcurrent("ConcurrentHashMap " + threads + " threads", threads, new Calls() {
+			@Override
+			public void put(int correlationId) {
+				map.put(correlationId, call);
+			}
+			
+			@Override
+			public boolean remove(int correlationId) {
+				return map.remove(correlationId) != null;
+			}
+		});
+	}
+	
+	public String runConcurrentTable( int threads ) throws InterruptedException {
+		final PendingCallTable<Object> table = new PendingCallTable<Object>();
+		return runConcurrent("PendingCallTable " + threads + " threads", threads, new Calls() {
+			@Override
+			public void put(int correlationId) {
+				table.put(correlationId, call);
+			}
+			
+			@Override
+			public boolean remove(int correlationId) {
+				return table.remove(correlationId) != null;
+			}
+		});
+	}
+	
+	private String runConcurrent( String name, int threads, final Calls calls ) throws InterruptedException {
+		final AtomicInteger correlationId = new AtomicInteger(1);
+		// no more than the window of calls are pending.
+		final Semaphore pending = new Semaphore(window);
+		final CountDownLatch done = new CountDownLatch(threads);
+		final int callsPerThread = numCalls / threads;
+		
+		AllocationMeter meter = new AllocationMeter();
+		meter.start();
+		for( int t = 0; t < threads; t++ ) {
+			Thread caller = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for( int i = 0; i < callsPerThread; i++ ) {
+						pending.acquireUninterruptibly();
+						calls.put(correlationId.getAndIncrement());
+					}
+					done.countDown();
+				}
+			});
+			caller.start();
+		}
+		// the event loop removes each call once it is pending.
+		int removed = 0;
+		int next = 1;
+		int total = callsPerThread * threads;
+		while( removed < total ) {
+			if ( calls.remove(next) ) {
+				removed++;
+				next++;
+				pending.release();
+			} else {
+				Thread.yield();
+			}
+		}
+		done.await();
+		// only the removing thread's allocation is metered.
+		return meter.stop(name, removed);
+	}
+	
+	private interface Calls {
+		void put( int correlationId );
+		boolean remove( int correlationId );
+	}
+}
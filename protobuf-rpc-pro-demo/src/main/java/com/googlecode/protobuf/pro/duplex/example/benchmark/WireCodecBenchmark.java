@@ -0,0 +1,142 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.example.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.protobuf.ProtobufDecoder;
+import io.netty.handler.codec.protobuf.ProtobufEncoder;
+import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
+import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.googlecode.protobuf.pro.duplex.example.wire.DemoDescriptor;
+import com.googlecode.protobuf.pro.duplex.example.wire.PingPong.Ping;
+import com.googlecode.protobuf.pro.duplex.handler.WirePayloadCodec;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
+
+/**
+ * Compares the allocation rate of encoding and decoding RpcRequests with
+ * Netty's protobuf codecs and nested ByteStrings against the
+ * {@link WirePayloadCodec} with {@link DeferredWirePayload}s.
+ * 
+ * The channels are embedded, so all work happens on the calling thread
+ * and no network IO is measured.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class WireCodecBenchmark {
+
+	private static Logger log = LoggerFactory.getLogger(WireCodecBenchmark.class);
+
+	private final int numCalls;
+	private final Ping ping;
+	
+	public WireCodecBenchmark( int numCalls, int payloadSize ) {
+		this.numCalls = numCalls;
+		DemoDescriptor config = new DemoDescriptor(numCalls, payloadSize, new DemoDescriptor.CallDescriptor(0,0,false,false));
+		this.ping = Ping.newBuilder().setSequenceNo(1).setPingPayload(config.getNewPayload()).build();
+	}
+	
+	public static void main(String[] args) throws Exception {
+		int numCalls = 10000;
+		int payloadSize = 100000;
+		if ( args.length == 2 ) {
+			numCalls = Integer.parseInt(args[0]);
+			payloadSize = Integer.parseInt(args[1]);
+		} else if ( args.length != 0 ) {
+			System.err.println("usage: [<numCalls> <payloadSize>]");
+			System.exit(-1);
+		}
+		WireCodecBenchmark benchmark = new WireCodecBenchmark(numCalls, payloadSize);
+		for( int round = 0; round < 3; round++ ) {
+			log.info(benchmark.runLegacy());
+			log.info(benchmark.runFused());
+		}
+	}
+
+	public String runLegacy() {
+		PingReceiver receiver = new PingReceiver();
+		EmbeddedChannel sender = new EmbeddedChannel(new ProtobufVarint32LengthFieldPrepender(), new ProtobufEncoder());
+		EmbeddedChannel server = new EmbeddedChannel(new ProtobufVarint32FrameDecoder(), new ProtobufDecoder(WirePayload.getDefaultInstance()), receiver);
+		
+		AllocationMeter meter = new AllocationMeter();
+		meter.start();
+		for( int i = 0; i < numCalls; i++ ) {
+			RpcRequest rpcRequest = newRpcRequest(i).setRequestBytes(ping.toByteString()).build();
+			sender.writeOutbound(WirePayload.newBuilder().setRpcRequest(rpcRequest).build());
+			transfer(sender, server);
+		}
+		return meter.stop("ProtobufEncoder/ProtobufDecoder", receiver.count);
+	}
+	
+	public String runFused() {
+		PingReceiver receiver = new PingReceiver();
+		EmbeddedChannel sender = new EmbeddedChannel(new WirePayloadCodec(null));
+		EmbeddedChannel server = new EmbeddedChannel(new WirePayloadCodec(null), receiver);
+		
+		AllocationMeter meter = new AllocationMeter();
+		meter.start();
+		for( int i = 0; i < numCalls; i++ ) {
+			sender.writeOutbound(DeferredWirePayload.newRpcRequest(newRpcRequest(i), ping));
+			transfer(sender, server);
+		}
+		return meter.stop("WirePayloadCodec", receiver.count);
+	}
+
+	private RpcRequest.Builder newRpcRequest( int correlationId ) {
+		return RpcRequest.newBuilder()
+				.setCorrelationId(correlationId)
+				.setServiceIdentifier("PingService")
+				.setMethodIdentifier("ping");
+	}
+	
+	private void transfer( EmbeddedChannel from, EmbeddedChannel to ) {
+		ByteBuf buf = null;
+		while( (buf = (ByteBuf)from.readOutbound()) != null ) {
+			to.writeInbound(buf);
+		}
+	}
+	
+	/**
+	 * Parses the Ping out of each received RpcRequest, as the RpcServer would.
+	 */
+	@ChannelHandler.Sharable
+	private static class PingReceiver extends ChannelInboundHandlerAdapter {
+		int count = 0;
+		
+		@Override
+		public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+			Ping ping = null;
+			if ( msg instanceof DeferredWirePayload ) {
+				ping = ((DeferredWirePayload)msg).mergeBodyTo(Ping.newBuilder(), null).build();
+			} else {
+				ping = Ping.newBuilder().mergeFrom(((WirePayload)msg).getRpcRequest().getRequestBytes()).build();
+			}
+			if ( ping.getSequenceNo() == 1 ) {
+				count++;
+			}
+		}
+	}
+}
@@ -0,0 +1,51 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex;
+
+/**
+ * What the {@link RpcClient} does with a RpcRequest while its Channel is not
+ * writable, i.e. the Channel's outbound buffer exceeds the write buffer high
+ * water mark because the peer or network does not keep up.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public enum BackpressurePolicy {
+
+	/**
+	 * Write the RpcRequest regardless, the outbound buffer grows without bound.
+	 */
+	IGNORE,
+	
+	/**
+	 * The calling thread waits until the Channel is writable again, at most
+	 * for the call's timeout. Calls made on the Channel's IO thread are
+	 * written regardless, since they cannot wait.
+	 */
+	BLOCK,
+	
+	/**
+	 * The call fails immediately.
+	 */
+	FAIL,
+	
+	/**
+	 * The RpcRequest is queued until the Channel is writable again, up to the
+	 * RpcClient's backpressure queue capacity, beyond which calls fail.
+	 * Calls which time out or are cancelled while queued are never sent.
+	 */
+	QUEUE
+}
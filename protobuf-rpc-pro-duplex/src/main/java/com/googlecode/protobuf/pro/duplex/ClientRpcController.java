@@ -25,7 +25,14 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import com.google.protobuf.RpcCallback;
 import com.google.protobuf.RpcController;
+import com.google.protobuf.ServiceException;
+import com.googlecode.protobuf.pro.duplex.execute.ServerRpcController;
+import com.googlecode.protobuf.pro.duplex.stream.Publisher;
+import com.googlecode.protobuf.pro.duplex.stream.Subscriber;
+import com.googlecode.protobuf.pro.duplex.stream.Subscription;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
 
 public class ClientRpcController implements RpcController, LocalCallVariableHolder {
 
@@ -43,6 +50,22 @@ public class ClientRpcController implements RpcController, LocalCallVariableHold
 	 */
 	private int timeoutMs = 0;
 	
+	/**
+	 * Whether the RpcRequest and RpcResponse are compressed, regardless of
+	 * the connection's default. Null uses the connection's default.
+	 */
+	private Boolean compress;
+	
+	/**
+	 * The priority of the call on servers which order calls by priority, 0 is normal.
+	 */
+	private int priority = 0;
+	
+	/**
+	 * Whether the server reported the failure as retryable.
+	 */
+	private boolean retryable;
+	
 	/**
 	 * Register an asynchronous callback function for ServerMessages
 	 * sent from the Server back to the initiating Client during
@@ -58,6 +81,22 @@ public class ClientRpcController implements RpcController, LocalCallVariableHold
 	 */
 	private Message onOobResponsePrototype;
 	
+	/**
+	 * Receives the OobResponses with flow control, instead of the
+	 * onOobResponseFunction, and whether it was notified of the end of
+	 * the call.
+	 */
+	private Subscriber<Message> oobResponseSubscriber;
+	private boolean oobResponseSubscribed;
+	private boolean oobResponseComplete;
+	
+	/**
+	 * Publishes the request stream of the next call, and the Subscriber
+	 * sending it to the server.
+	 */
+	private Publisher<? extends Message> requestPublisher;
+	private RequestStreamSubscriber requestStreamSubscriber;
+	
 	/**
 	 * A convenient store of call local variables.
 	 * The values are not transmitted, just kept locally. Is cleared on {@link #reset()}
@@ -111,7 +150,15 @@ public class ClientRpcController implements RpcController, LocalCallVariableHold
 		correlationId = 0;
 		onOobResponseFunction = null;
 		onOobResponsePrototype = null;
+		oobResponseSubscriber = null;
+		oobResponseSubscribed = false;
+		oobResponseComplete = false;
+		requestPublisher = null;
+		requestStreamSubscriber = null;
 		timeoutMs = 0;
+		compress = null;
+		priority = 0;
+		retryable = false;
 		if ( callLocalVariables != null ) {
 			callLocalVariables.clear();
 		}
@@ -143,12 +190,144 @@ public class ClientRpcController implements RpcController, LocalCallVariableHold
 		onOobResponsePrototype = responsePrototype;
 	}
 	
+	/**
+	 * Subscribe to the OobResponses of the next call, which the server streams
+	 * from a {@link Publisher} with {@link ServerRpcController#streamOobResponses(Publisher, RpcCallback, Message)}.
+	 * 
+	 * The server only sends as many OobResponses as the subscriber requests
+	 * through its {@link Subscription}. The subscriber completes when the call
+	 * finishes, before the call's done callback runs, or fails if the call
+	 * fails. Cancelling the Subscription cancels the call.
+	 * 
+	 * @param responsePrototype the prototype of the OobResponses.
+	 * @param subscriber
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends Message> void setOobResponseSubscriber(T responsePrototype,
+			final Subscriber<? super T> subscriber) {
+		oobResponseSubscriber = (Subscriber<Message>)subscriber;
+		onOobResponsePrototype = responsePrototype;
+		onOobResponseFunction = new RpcCallback<Message>() {
+			@Override
+			public void run(Message message) {
+				((Subscriber<Message>)subscriber).onNext(message);
+			}
+		};
+	}
+	
+	/**
+	 * Called by the RpcClient once the call is sent.
+	 */
+	void subscribeOobResponses() {
+		Subscriber<Message> subscriber = null;
+		synchronized(this) {
+			if ( oobResponseSubscriber == null || oobResponseSubscribed ) {
+				return;
+			}
+			oobResponseSubscribed = true;
+			subscriber = oobResponseSubscriber;
+		}
+		subscriber.onSubscribe(new OobResponseSubscription(correlationId));
+	}
+	
+	/**
+	 * Called by the RpcClient once the call finished.
+	 * 
+	 * @param errorMessage null if the call succeeded.
+	 */
+	void completeOobResponses( String errorMessage ) {
+		subscribeOobResponses();
+		Subscriber<Message> subscriber = null;
+		synchronized(this) {
+			if ( oobResponseSubscriber == null || oobResponseComplete ) {
+				return;
+			}
+			oobResponseComplete = true;
+			subscriber = oobResponseSubscriber;
+		}
+		if ( errorMessage == null ) {
+			subscriber.onComplete();
+		} else {
+			subscriber.onError(new ServiceException(errorMessage));
+		}
+	}
+	
+	/**
+	 * Stream the items of the publisher to the server following the request
+	 * of the next call, where the service subscribes to them with
+	 * {@link ServerRpcController#subscribeRequestStream(Subscriber)}. The items
+	 * are of the method's request type.
+	 * 
+	 * Items are only requested from the publisher as the server's Subscriber
+	 * requests them. The publisher's Subscription is cancelled once the call
+	 * finishes.
+	 * 
+	 * @param publisher
+	 */
+	public void setRequestPublisher( Publisher<? extends Message> publisher ) {
+		requestPublisher = publisher;
+	}
+	
+	/**
+	 * Called by the RpcClient once the call is sent.
+	 */
+	void subscribeRequestStream() {
+		Publisher<? extends Message> publisher = null;
+		synchronized(this) {
+			if ( requestPublisher == null || requestStreamSubscriber != null ) {
+				return;
+			}
+			requestStreamSubscriber = new RequestStreamSubscriber(correlationId);
+			publisher = requestPublisher;
+		}
+		publisher.subscribe(requestStreamSubscriber);
+	}
+	
+	/**
+	 * Called by the RpcClient when the server requests further items
+	 * of the request stream.
+	 * 
+	 * @param credits
+	 */
+	void receiveStreamCredit( int credits ) {
+		RequestStreamSubscriber subscriber = null;
+		synchronized(this) {
+			subscriber = requestStreamSubscriber;
+		}
+		if ( subscriber != null ) {
+			subscriber.receiveCredit(credits);
+		}
+	}
+	
+	/**
+	 * Called by the RpcClient once the call finished.
+	 */
+	void completeRequestStream() {
+		RequestStreamSubscriber subscriber = null;
+		synchronized(this) {
+			subscriber = requestStreamSubscriber;
+		}
+		if ( subscriber != null ) {
+			subscriber.cancel();
+		}
+	}
+	
 	/**
 	 * 
 	 * @param msg
 	 * @return true the message processed, null if none processed.
 	 */
 	public Message receiveOobResponse(OobResponse msg) {
+		return receiveOobResponse(DeferredWirePayload.valueOf(WirePayload.newBuilder().setOobResponse(msg).build()));
+	}
+
+	/**
+	 * 
+	 * @param payload a WirePayload with an OobResponse.
+	 * @return true the message processed, null if none processed.
+	 */
+	public Message receiveOobResponse(DeferredWirePayload payload) {
+		OobResponse msg = payload.getOobResponse();
 		if ( msg.getCorrelationId() != correlationId ) {
 			// only possible with race condition on client reset and re-use when a server message
 			// comes back
@@ -159,7 +338,7 @@ public class ClientRpcController implements RpcController, LocalCallVariableHold
 		if ( onOobResponsePrototype != null && onOobResponseFunction != null ) {
 			Message onMsg = null;
 			try {
-				onMsg = onOobResponsePrototype.newBuilderForType().mergeFrom(msg.getMessageBytes()).build();
+				onMsg = payload.mergeBodyTo(onOobResponsePrototype.newBuilderForType(), null).build();
 
 				onOobResponseFunction.run(onMsg);
 				
@@ -199,10 +378,193 @@ public class ClientRpcController implements RpcController, LocalCallVariableHold
 		this.timeoutMs = timeoutMs;
 	}
 
+	/**
+	 * @return whether the call is compressed, or null for the connection's default.
+	 */
+	public Boolean getCompress() {
+		return compress;
+	}
+
+	/**
+	 * Compress this call's RpcRequest and RpcResponse, or not, regardless of
+	 * the connection's default. Compression only takes place if both peers
+	 * negotiated a per frame compression codec.
+	 * 
+	 * @param compress whether to compress the call.
+	 */
+	public void setCompress(boolean compress) {
+		this.compress = compress;
+	}
+
+	/**
+	 * @return the priority of the call, 0 is normal.
+	 */
+	public int getPriority() {
+		return priority;
+	}
+
+	/**
+	 * Set the priority of the call. Servers which order calls by priority, see
+	 * {@link com.googlecode.protobuf.pro.duplex.execute.PriorityCallExecutor},
+	 * run calls with a higher priority first. Others ignore it.
+	 * 
+	 * @param priority the priority, 0 is normal.
+	 */
+	public void setPriority(int priority) {
+		this.priority = priority;
+	}
+
+	/**
+	 * @return whether the call failed without being run by the server, for
+	 * instance shed by an overloaded server, and can safely be retried.
+	 */
+	public boolean isRetryable() {
+		return retryable;
+	}
+
+	/**
+	 * @param retryable whether the failure can safely be retried.
+	 */
+	public void setRetryable(boolean retryable) {
+		this.retryable = retryable;
+	}
+
 	/**
 	 * @return the rpcClient
 	 */
 	public RpcClient getRpcClient() {
 		return rpcClient;
 	}
+	
+	/**
+	 * Sends the items of the request Publisher as StreamChunks, requesting
+	 * them as the server grants StreamCredits.
+	 */
+	private class RequestStreamSubscriber implements Subscriber<Message> {
+		
+		private final int correlationId;
+		
+		private Subscription subscription;
+		private long credits;
+		private boolean done;
+		
+		public RequestStreamSubscriber( int correlationId ) {
+			this.correlationId = correlationId;
+		}
+		
+		@Override
+		public void onSubscribe(Subscription subscription) {
+			long requested = 0;
+			boolean cancelled = false;
+			synchronized(this) {
+				this.subscription = subscription;
+				requested = credits;
+				credits = 0;
+				cancelled = done;
+			}
+			if ( cancelled ) {
+				subscription.cancel();
+			} else if ( requested > 0 ) {
+				subscription.request(requested);
+			}
+		}
+
+		@Override
+		public void onNext(Message item) {
+			synchronized(this) {
+				if ( done ) {
+					return;
+				}
+			}
+			rpcClient.sendStreamChunk(correlationId, item);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			if ( finish() ) {
+				rpcClient.sendStreamEnd(correlationId, throwable.getMessage() != null ? throwable.getMessage() : throwable.toString());
+			}
+		}
+
+		@Override
+		public void onComplete() {
+			if ( finish() ) {
+				rpcClient.sendStreamEnd(correlationId, null);
+			}
+		}
+		
+		void receiveCredit( int n ) {
+			Subscription s = null;
+			synchronized(this) {
+				if ( done ) {
+					return;
+				}
+				if ( subscription == null ) {
+					credits += n;
+					return;
+				}
+				s = subscription;
+			}
+			s.request(n);
+		}
+		
+		void cancel() {
+			Subscription s = null;
+			synchronized(this) {
+				s = subscription;
+			}
+			if ( finish() && s != null ) {
+				s.cancel();
+			}
+		}
+		
+		private synchronized boolean finish() {
+			if ( done ) {
+				return false;
+			}
+			done = true;
+			return true;
+		}
+	}
+	
+	/**
+	 * Requests OobResponses from the server by sending OobCredits.
+	 */
+	private class OobResponseSubscription implements Subscription {
+		
+		private final int correlationId;
+		
+		public OobResponseSubscription( int correlationId ) {
+			this.correlationId = correlationId;
+		}
+		
+		@Override
+		public void request(long n) {
+			if ( n <= 0 ) {
+				// as Flow.Subscription, the subscriber fails instead of the caller.
+				Subscriber<Message> subscriber = null;
+				synchronized(ClientRpcController.this) {
+					if ( oobResponseComplete ) {
+						return;
+					}
+					oobResponseComplete = true;
+					subscriber = oobResponseSubscriber;
+				}
+				subscriber.onError(new IllegalArgumentException("non-positive request: " + n));
+				cancel();
+				return;
+			}
+			synchronized(ClientRpcController.this) {
+				if ( oobResponseComplete ) {
+					return;
+				}
+			}
+			rpcClient.sendOobCredit(correlationId, (int)Math.min(n, Integer.MAX_VALUE));
+		}
+		
+		@Override
+		public void cancel() {
+			rpcClient.startCancel(correlationId);
+		}
+	}
 }
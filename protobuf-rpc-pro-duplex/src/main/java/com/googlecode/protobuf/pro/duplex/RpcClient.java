@@ -18,12 +18,22 @@ package com.googlecode.protobuf.pro.duplex;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelPipeline;
+import io.netty.util.concurrent.DefaultPromise;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.ScheduledFuture;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,16 +45,24 @@ import com.google.protobuf.Message;
 import com.google.protobuf.RpcCallback;
 import com.google.protobuf.RpcController;
 import com.google.protobuf.ServiceException;
+import com.googlecode.protobuf.pro.duplex.execute.BlockingRpcCallback;
 import com.googlecode.protobuf.pro.duplex.execute.ServerRpcController;
 import com.googlecode.protobuf.pro.duplex.handler.RpcClientHandler;
+import com.googlecode.protobuf.pro.duplex.limit.ConcurrencyLimiter;
 import com.googlecode.protobuf.pro.duplex.logging.RpcLogger;
 import com.googlecode.protobuf.pro.duplex.timeout.RpcTimeoutExecutor;
+import com.googlecode.protobuf.pro.duplex.util.PendingCallTable;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
 
 /**
@@ -58,6 +76,12 @@ import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
  * is sent over the IO-Layer to the server. The ongoing client call
  * is immediately failed.
  * 
+ * While the Channel is not writable, RpcRequests are handled according
+ * to the {@link BackpressurePolicy}.
+ * 
+ * An optional {@link ConcurrencyLimiter} caps the number of calls in flight,
+ * calls beyond the limit waiting for a permit before their RpcRequest is sent.
+ * 
  * @author Peter Klauser
  *
  */
@@ -67,11 +91,19 @@ public class RpcClient implements RpcClientChannel {
 	
 	private AtomicInteger correlationId = new AtomicInteger(1);
 
-	private final Map<Integer, PendingClientCallState> pendingRequestMap = new ConcurrentHashMap<Integer, PendingClientCallState>();
+	private final PendingCallTable<PendingClientCallState> pendingRequestMap = new PendingCallTable<PendingClientCallState>();
+	// counted apart, since sizing the table scans it.
+	private final AtomicInteger pendingRequestCount = new AtomicInteger();
+	
+	// method full name to the methodId returned by the server.
+	private final Map<String, Integer> methodIdMap = new ConcurrentHashMap<String, Integer>();
 	
 	private final PeerInfo clientInfo;
 	private final PeerInfo serverInfo;
 	private final boolean compression;
+	private boolean batching;
+	private CompressionCodec compressionCodec;
+	private boolean methodIds;
 	private final ExtensionRegistry extensionRegistry;
 	
 	private Message onOobMessagePrototype;
@@ -83,6 +115,39 @@ public class RpcClient implements RpcClientChannel {
 	private final Channel channel;
 	private final String channelName;
 	
+	/**
+	 * The handling of RpcRequests while the Channel is not writable.
+	 */
+	private volatile BackpressurePolicy backpressurePolicy = BackpressurePolicy.IGNORE;
+	private volatile int backpressureQueueCapacity = DEFAULT_BACKPRESSURE_QUEUE_CAPACITY;
+	
+	/**
+	 * RpcRequests held back with the QUEUE policy, and callers waiting with
+	 * the BLOCK policy, until the Channel becomes writable.
+	 */
+	private final Queue<QueuedRequest> backpressureQueue = new ConcurrentLinkedQueue<QueuedRequest>();
+	private final AtomicInteger backpressureQueueSize = new AtomicInteger();
+	private final Lock writabilityLock = new ReentrantLock();
+	private final Condition writableCondition = writabilityLock.newCondition();
+	private final Runnable drainTask = new Runnable() {
+		@Override
+		public void run() {
+			drainBackpressureQueue();
+		}
+	};
+	
+	/**
+	 * Caps the calls in flight, none if null.
+	 */
+	private volatile ConcurrencyLimiter concurrencyLimiter;
+	
+	/**
+	 * Our wall clock minus the peer's, estimated at connect, null if unknown.
+	 */
+	private volatile Long clockOffsetMs;
+	
+	public static final int DEFAULT_BACKPRESSURE_QUEUE_CAPACITY = 1024;
+	
 	public RpcClient( Channel channel, PeerInfo clientInfo, PeerInfo serverInfo, boolean compression, RpcLogger logger, ExtensionRegistry extensionRegistry ) {
 		this.channel = channel;
 		this.clientInfo = clientInfo;
@@ -119,29 +184,67 @@ public class RpcClient implements RpcClientChannel {
 			RpcCallback<Message> done) {
 		ClientRpcController rpcController = (ClientRpcController)controller;
 		
+		// calls made while running a server call inherit its remaining budget.
+		boolean expired = false;
+		ServerRpcController serverCall = ServerRpcController.getCurrentCall();
+		if ( serverCall != null && serverCall.getDeadline() > 0 ) {
+			long remainingMs = serverCall.getDeadline() - System.currentTimeMillis();
+			if ( remainingMs <= 0 ) {
+				expired = true;
+			} else if ( rpcController.getTimeoutMs() <= 0 || rpcController.getTimeoutMs() > remainingMs ) {
+				rpcController.setTimeoutMs((int)Math.min(remainingMs, Integer.MAX_VALUE));
+			}
+		}
+		
 		int correlationId = getNextCorrelationId();
 		rpcController.setCorrelationId(correlationId);
 
 		PendingClientCallState state = new PendingClientCallState(rpcController, method, responsePrototype, request, done);
 		
-		RpcRequest rpcRequest = RpcRequest.newBuilder()
+		RpcRequest.Builder rpcRequest = RpcRequest.newBuilder()
 			.setCorrelationId(correlationId)
-			.setServiceIdentifier(state.getServiceIdentifier())
-			.setMethodIdentifier(state.getMethodIdentifier())
-			.setRequestBytes(request.toByteString())
-			.setTimeoutMs(rpcController.getTimeoutMs())
-			.build();
-		WirePayload payload = WirePayload.newBuilder().setRpcRequest(rpcRequest).build();
+			.setTimeoutMs(rpcController.getTimeoutMs());
+		if ( rpcController.getTimeoutMs() > 0 && clockOffsetMs != null ) {
+			// lets the server drop the request if it arrives too late.
+			rpcRequest.setDeadlineMs(System.currentTimeMillis() + rpcController.getTimeoutMs());
+		}
+		Integer methodId = methodIdMap.get(method.getFullName());
+		if ( methodId != null ) {
+			rpcRequest.setMethodId(methodId);
+		} else {
+			rpcRequest.setServiceIdentifier(state.getServiceIdentifier())
+				.setMethodIdentifier(state.getMethodIdentifier());
+		}
+		if ( rpcController.getCompress() != null ) {
+			rpcRequest.setCompressResponse(rpcController.getCompress());
+		}
+		if ( rpcController.getPriority() != 0 ) {
+			rpcRequest.setPriority(rpcController.getPriority());
+		}
+		// the request is serialized directly into the IO buffer by the WirePayloadEncoder
+		DeferredWirePayload payload = DeferredWirePayload.newRpcRequest(rpcRequest, request);
+		payload.setCompress(rpcController.getCompress());
 		
 		if ( log.isDebugEnabled() ) {
-			log.debug("Sending ["+rpcRequest.getCorrelationId()+"]RpcRequest.");
+			log.debug("Sending ["+correlationId+"]RpcRequest.");
 		}
 		
 		if ( channel.isOpen() ) {
 			registerPendingRequest(correlationId, state);
 
-			channel.writeAndFlush(payload);
-			
+			ConcurrencyLimiter limiter = concurrencyLimiter;
+			String error = null;
+			if ( expired ) {
+				// the server call making this call is already past its deadline.
+				error = "Timeout";
+			} else if ( limiter != null ) {
+				error = admitRequest(limiter, correlationId, state, payload);
+			} else {
+				error = sendRequest(correlationId, payload, rpcController);
+			}
+			if ( error != null ) {
+				failRequest(correlationId, error);
+			}
 		} else {
 			RpcError rpcError = RpcError.newBuilder().setCorrelationId(correlationId).setErrorMessage("Channel Closed").build();
 			
@@ -151,6 +254,174 @@ public class RpcClient implements RpcClientChannel {
 		}
 	}
 
+	/**
+	 * Send the registered call's RpcRequest once it holds a permit of the
+	 * ConcurrencyLimiter. A queued call is sent when a permit is released to it,
+	 * unless it timed out or was cancelled in the meantime.
+	 * 
+	 * @return the error message failing the call, or null if sent or queued.
+	 */
+	private String admitRequest( final ConcurrencyLimiter limiter, final int correlationId, final PendingClientCallState state, final DeferredWirePayload payload ) {
+		Runnable waiter = new Runnable() {
+			@Override
+			public void run() {
+				if ( getPendingRequest(correlationId) == null ) {
+					limiter.release();
+					return;
+				}
+				state.setPermit(limiter);
+				String error = sendRequest(correlationId, payload, state.getController());
+				if ( error != null ) {
+					failRequest(correlationId, error);
+				}
+			}
+		};
+		// set before queueing, a failure may race with the acquire.
+		state.setWaiter(limiter, waiter);
+		switch( limiter.acquire(waiter) ) {
+		case ACQUIRED:
+			state.setPermit(limiter);
+			return sendRequest(correlationId, payload, state.getController());
+		case QUEUED:
+			return null;
+		default:
+			return "Concurrency Limit Exceeded";
+		}
+	}
+	
+	/**
+	 * Fail the registered call, unless it already completed.
+	 */
+	private void failRequest( int correlationId, String errorMessage ) {
+		PendingClientCallState state = removePendingRequest(correlationId);
+		if ( state != null ) {
+			RpcError rpcError = RpcError.newBuilder().setCorrelationId(correlationId).setErrorMessage(errorMessage).build();
+			
+			doLogRpc( state, rpcError, rpcError.getErrorMessage() );
+			
+			state.handleFailure(rpcError.getErrorMessage());
+		}
+	}
+	
+	/**
+	 * Send the registered call's RpcRequest, applying the backpressure policy
+	 * if the Channel is not writable.
+	 * 
+	 * @return the error message failing the call, or null if sent or queued.
+	 */
+	private String sendRequest( int correlationId, DeferredWirePayload payload, ClientRpcController controller ) {
+		switch( backpressurePolicy ) {
+		case BLOCK:
+			if ( !channel.isWritable() && !channel.eventLoop().inEventLoop() ) {
+				String error = awaitWritable(controller.getTimeoutMs());
+				if ( error != null ) {
+					return error;
+				}
+				if ( getPendingRequest(correlationId) == null ) {
+					// timed out or cancelled while waiting.
+					return null;
+				}
+			}
+			break;
+		case FAIL:
+			if ( !channel.isWritable() ) {
+				return "Channel Not Writable";
+			}
+			break;
+		case QUEUE:
+			// once queueing, later calls queue behind the earlier ones.
+			if ( !channel.isWritable() || backpressureQueueSize.get() > 0 ) {
+				if ( backpressureQueueSize.incrementAndGet() > backpressureQueueCapacity ) {
+					backpressureQueueSize.decrementAndGet();
+					return "Backpressure Queue Full";
+				}
+				backpressureQueue.add(new QueuedRequest(correlationId, payload, controller));
+				if ( channel.isWritable() ) {
+					channel.eventLoop().execute(drainTask);
+				}
+				return null;
+			}
+			break;
+		default:
+			break;
+		}
+		writeRequest(payload, controller);
+		return null;
+	}
+	
+	private void writeRequest( DeferredWirePayload payload, ClientRpcController controller ) {
+		channel.writeAndFlush(payload);
+		
+		// a Subscriber's initial OobCredits follow the RpcRequest.
+		controller.subscribeOobResponses();
+		controller.subscribeRequestStream();
+	}
+	
+	/**
+	 * Wait until the Channel is writable.
+	 * 
+	 * @param timeoutMs the longest to wait, 0 for no limit.
+	 * @return the error message failing the call, or null if writable.
+	 */
+	private String awaitWritable( int timeoutMs ) {
+		long nanos = timeoutMs > 0 ? TimeUnit.MILLISECONDS.toNanos(timeoutMs) : Long.MAX_VALUE;
+		writabilityLock.lock();
+		try {
+			while( !channel.isWritable() ) {
+				if ( !channel.isOpen() ) {
+					return "Channel Closed";
+				}
+				if ( nanos <= 0 ) {
+					return "Channel Not Writable";
+				}
+				nanos = writableCondition.awaitNanos(nanos);
+			}
+			return null;
+		} catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			return "Interrupted";
+		} finally {
+			writabilityLock.unlock();
+		}
+	}
+	
+	/**
+	 * Write the queued RpcRequests while the Channel is writable, skipping
+	 * the calls which timed out or were cancelled in the meantime. Runs on
+	 * the Channel's IO thread.
+	 */
+	private void drainBackpressureQueue() {
+		QueuedRequest request = null;
+		while( channel.isWritable() && (request = backpressureQueue.poll()) != null ) {
+			backpressureQueueSize.decrementAndGet();
+			if ( getPendingRequest(request.correlationId) != null ) {
+				writeRequest(request.payload, request.controller);
+			}
+		}
+	}
+	
+	/**
+	 * For use by {@link RpcClientHandler} when the Channel's writability changed,
+	 * releasing the calls held back by the backpressure policy once writable.
+	 * 
+	 * @param writable
+	 */
+	public void writabilityChanged( boolean writable ) {
+		if ( writable ) {
+			signalWritable();
+			drainBackpressureQueue();
+		}
+	}
+	
+	private void signalWritable() {
+		writabilityLock.lock();
+		try {
+			writableCondition.signalAll();
+		} finally {
+			writabilityLock.unlock();
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see com.google.protobuf.BlockingRpcChannel#callBlockingMethod(com.google.protobuf.Descriptors.MethodDescriptor, com.google.protobuf.RpcController, com.google.protobuf.Message, com.google.protobuf.Message)
 	 */
@@ -183,22 +454,12 @@ public class RpcClient implements RpcClientChannel {
 							break;
 						}
 					} else {
-						int timeToDeadlineMs = (int)(timeToDeadlineNano / 1000000l);
-						int remainderNano = (int)(timeToDeadlineNano - (timeToDeadlineMs*1000000l));
-						// we wait at most until the deadline.
-						synchronized(callback) {
-							if ( !callback.isDone() ) {
-								callback.wait(timeToDeadlineMs,remainderNano);
-							}
-						}
+						// we wait at most until the deadline, parked rather than in a monitor.
+						callback.await(timeToDeadlineNano, TimeUnit.NANOSECONDS);
 					}
 				} else {
 					// we wait indefinitely ( no timeout defined ).
-					synchronized(callback) {
-						if ( !callback.isDone() ) {
-							callback.wait();
-						}
-					}
+					callback.await();
 				}
 			} catch (InterruptedException e) {
 				if ( log.isDebugEnabled() ) {
@@ -220,6 +481,47 @@ public class RpcClient implements RpcClientChannel {
 		return callback.getMessage();
 	}
 	
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.RpcClientChannel#callAsync(com.google.protobuf.Descriptors.MethodDescriptor, com.googlecode.protobuf.pro.duplex.ClientRpcController, com.google.protobuf.Message, com.google.protobuf.Message)
+	 */
+	@Override
+	public <T extends Message> Future<T> callAsync(MethodDescriptor method,
+			ClientRpcController controller, Message request, T responsePrototype) {
+		return callAsync(method, controller, request, responsePrototype, channel.eventLoop());
+	}
+
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.RpcClientChannel#callAsync(com.google.protobuf.Descriptors.MethodDescriptor, com.googlecode.protobuf.pro.duplex.ClientRpcController, com.google.protobuf.Message, com.google.protobuf.Message, io.netty.util.concurrent.EventExecutor)
+	 */
+	@Override
+	public <T extends Message> Future<T> callAsync(MethodDescriptor method,
+			ClientRpcController controller, Message request, T responsePrototype,
+			EventExecutor executor) {
+		if ( executor == null ) {
+			throw new IllegalArgumentException("executor");
+		}
+		RpcPromise<T> promise = new RpcPromise<T>(executor, controller);
+		
+		callMethod(method, controller, request, responsePrototype, promise);
+		
+		if ( controller.getTimeoutMs() > 0 && !promise.isDone() ) {
+			final int correlationId = controller.getCorrelationId();
+			final ScheduledFuture<?> timeout = channel.eventLoop().schedule(new Runnable() {
+				@Override
+				public void run() {
+					callTimeout(correlationId);
+				}
+			}, controller.getTimeoutMs(), TimeUnit.MILLISECONDS);
+			promise.addListener(new FutureListener<T>() {
+				@Override
+				public void operationComplete(Future<T> future) throws Exception {
+					timeout.cancel(false);
+				}
+			});
+		}
+		return promise;
+	}
+	
 	@Override
 	public ClientRpcController newRpcController() {
 		return new ClientRpcController(this);
@@ -235,10 +537,7 @@ public class RpcClient implements RpcClientChannel {
 	 */
 	@Override
 	public ChannelFuture sendOobMessage(Message message) {
-		OobMessage msg = OobMessage.newBuilder()
-				.setMessageBytes(message.toByteString())
-				.build();
-		WirePayload payload = WirePayload.newBuilder().setOobMessage(msg).build();
+		DeferredWirePayload payload = DeferredWirePayload.newOobMessage(message);
 		
 		if ( log.isDebugEnabled() ) {
 			log.debug("Sending OobMessage.");
@@ -251,10 +550,20 @@ public class RpcClient implements RpcClientChannel {
 	}
 
 	public void receiveOobMessage(OobMessage msg) {
+		receiveOobMessage(DeferredWirePayload.valueOf(WirePayload.newBuilder().setOobMessage(msg).build()));
+	}
+
+	/**
+	 * For use by {@link RpcClientHandler} to dispatch an Out-of-Band message
+	 * to client code.
+	 * 
+	 * @param payload a WirePayload with an OobMessage.
+	 */
+	public void receiveOobMessage(DeferredWirePayload payload) {
 		if ( onOobMessagePrototype != null && onOobMessageFunction != null ) {
 			Message onMsg = null;
 			try {
-				onMsg = onOobMessagePrototype.newBuilderForType().mergeFrom(msg.getMessageBytes(),getExtensionRegistry()).build();
+				onMsg = payload.mergeBodyTo(onOobMessagePrototype.newBuilderForType(),getExtensionRegistry()).build();
 
 				onOobMessageFunction.run(onMsg);
 
@@ -275,12 +584,10 @@ public class RpcClient implements RpcClientChannel {
 	}
 	
 	public void checkTimeouts( RpcTimeoutExecutor executor ) {
-		List<Map.Entry<Integer,PendingClientCallState>> result = new ArrayList<Map.Entry<Integer,PendingClientCallState>>();
-		result.addAll(pendingRequestMap.entrySet());
-		
-		for( Map.Entry<Integer,PendingClientCallState> call : result) {
-			if ( call.getValue().isTimeoutExceeded() ) {
-				RpcError rpcTimeout = RpcError.newBuilder().setCorrelationId(call.getKey()).setErrorMessage("Timeout").build();
+		for( int correlationId : pendingRequestMap.keys() ) {
+			PendingClientCallState state = pendingRequestMap.get(correlationId);
+			if ( state != null && state.isTimeoutExceeded() ) {
+				RpcError rpcTimeout = RpcError.newBuilder().setCorrelationId(correlationId).setErrorMessage("Timeout").build();
 
 				executor.timeout(this, rpcTimeout);
 			}
@@ -294,6 +601,17 @@ public class RpcClient implements RpcClientChannel {
 	 * @param correlationid
 	 */
 	public void blockingCallTimeout( int correlationId ) {
+		callTimeout(correlationId);
+	}
+	
+	/**
+	 * Times out a call of {@link #callBlockingMethod(MethodDescriptor, RpcController, Message, Message)}
+	 * or {@link #callAsync(MethodDescriptor, ClientRpcController, Message, Message)}
+	 * at its deadline.
+	 * 
+	 * @param correlationId
+	 */
+	void callTimeout( int correlationId ) {
 		RpcError rpcTimeout = RpcError.newBuilder().setCorrelationId(correlationId).setErrorMessage("Timeout").build();
 		error(rpcTimeout);
 	}
@@ -312,6 +630,7 @@ public class RpcClient implements RpcClientChannel {
 			
 			doLogRpc( state, rpcError, rpcError.getErrorMessage() );
 			
+			state.getController().setRetryable(rpcError.getRetryable());
 			state.handleFailure(rpcError.getErrorMessage());
 		} else {
 			// this can happen when we have cancellation and the server still responds.
@@ -327,14 +646,28 @@ public class RpcClient implements RpcClientChannel {
 	 * @param rpcResponse
 	 */
 	public void response(RpcResponse rpcResponse) {
+		response(DeferredWirePayload.valueOf(WirePayload.newBuilder().setRpcResponse(rpcResponse).build()));
+	}
+
+	/**
+	 * The receipt of a RpcResponse from a remote Peer, where the response
+	 * message is parsed directly from the received frame.
+	 * 
+	 * @param payload a WirePayload with an RpcResponse.
+	 */
+	public void response(DeferredWirePayload payload) {
+		RpcResponse rpcResponse = payload.getRpcResponse();
 		if ( log.isDebugEnabled() ) {
 			log.debug("Received ["+rpcResponse.getCorrelationId()+"]RpcResponse.");
 		}
 		PendingClientCallState state = removePendingRequest(rpcResponse.getCorrelationId());
 		if ( state != null ) {
+			if ( methodIds && rpcResponse.hasMethodId() ) {
+				methodIdMap.put(state.getMethodDesc().getFullName(), rpcResponse.getMethodId());
+			}
 			Message response = null;
 			try {
-				response = state.getResponsePrototype().newBuilderForType().mergeFrom(rpcResponse.getResponseBytes(),getExtensionRegistry()).build();
+				response = payload.mergeBodyTo(state.getResponsePrototype().newBuilderForType(),getExtensionRegistry()).build();
 
 				doLogRpc( state, response, null );
 				
@@ -362,15 +695,13 @@ public class RpcClient implements RpcClientChannel {
 	 * @param oobMessage
 	 */
 	public ChannelFuture sendOobResponse( String serviceName, int correlationId, Message oobMessage ) {
-		OobResponse msg = OobResponse.newBuilder()
-				.setCorrelationId(correlationId)
-				.setMessageBytes(oobMessage.toByteString())
-				.build();
+		OobResponse.Builder msg = OobResponse.newBuilder()
+				.setCorrelationId(correlationId);
 		
-		WirePayload payload = WirePayload.newBuilder().setOobResponse(msg).build();
+		DeferredWirePayload payload = DeferredWirePayload.newOobResponse(msg, oobMessage);
 		
 		if ( log.isDebugEnabled() ) {
-			log.debug("Sending ["+msg.getCorrelationId()+"]OobResponse.");
+			log.debug("Sending ["+correlationId+"]OobResponse.");
 		}
 		
 		doLogOobResponseOutbound(serviceName, correlationId, oobMessage);
@@ -378,6 +709,95 @@ public class RpcClient implements RpcClientChannel {
 		return channel.writeAndFlush(payload);
 	}
 	
+	/**
+	 * For use by {@link ClientRpcController} to request further OobResponses
+	 * of a call for its Subscriber.
+	 * 
+	 * @param correlationId
+	 * @param credits
+	 */
+	ChannelFuture sendOobCredit( int correlationId, int credits ) {
+		OobCredit oobCredit = OobCredit.newBuilder().setCorrelationId(correlationId).setCredits(credits).build();
+		
+		if ( log.isDebugEnabled() ) {
+			log.debug("Sending ["+correlationId+"]OobCredit "+credits+".");
+		}
+		return channel.writeAndFlush(WirePayload.newBuilder().setOobCredit(oobCredit).build());
+	}
+	
+	/**
+	 * For use by {@link ClientRpcController} to send a message of the request
+	 * stream of a call to the server.
+	 * 
+	 * @param correlationId
+	 * @param message
+	 */
+	ChannelFuture sendStreamChunk( int correlationId, Message message ) {
+		StreamChunk.Builder streamChunk = StreamChunk.newBuilder()
+				.setCorrelationId(correlationId);
+		
+		DeferredWirePayload payload = DeferredWirePayload.newStreamChunk(streamChunk, message);
+		
+		if ( log.isDebugEnabled() ) {
+			log.debug("Sending ["+correlationId+"]StreamChunk.");
+		}
+		return channel.writeAndFlush(payload);
+	}
+	
+	/**
+	 * For use by {@link ClientRpcController} to end the request stream of a call.
+	 * 
+	 * @param correlationId
+	 * @param errorMessage null if the request stream completed.
+	 */
+	ChannelFuture sendStreamEnd( int correlationId, String errorMessage ) {
+		StreamEnd.Builder streamEnd = StreamEnd.newBuilder().setCorrelationId(correlationId);
+		if ( errorMessage != null ) {
+			streamEnd.setErrorMessage(errorMessage);
+		}
+		
+		if ( log.isDebugEnabled() ) {
+			log.debug("Sending ["+correlationId+"]StreamEnd.");
+		}
+		return channel.writeAndFlush(WirePayload.newBuilder().setStreamEnd(streamEnd).build());
+	}
+	
+	/**
+	 * For use by the server's {@link com.googlecode.protobuf.pro.duplex.stream.RequestStreamSubscription} to request
+	 * further messages of a call's request stream.
+	 * 
+	 * @param correlationId
+	 * @param credits
+	 */
+	public ChannelFuture sendStreamCredit( int correlationId, int credits ) {
+		OobCredit streamCredit = OobCredit.newBuilder().setCorrelationId(correlationId).setCredits(credits).build();
+		
+		if ( log.isDebugEnabled() ) {
+			log.debug("Sending ["+correlationId+"]StreamCredit "+credits+".");
+		}
+		return channel.writeAndFlush(WirePayload.newBuilder().setStreamCredit(streamCredit).build());
+	}
+	
+	/**
+	 * For use by {@link RpcClientHandler} to pass the server's request for
+	 * further messages of a call's request stream to the client's Publisher.
+	 * 
+	 * @param streamCredit
+	 */
+	public void receiveStreamCredit( OobCredit streamCredit ) {
+		PendingClientCallState state = getPendingRequest(streamCredit.getCorrelationId());
+		if ( state != null ) {
+			if ( log.isDebugEnabled() ) {
+				log.debug("Received ["+streamCredit.getCorrelationId()+"]StreamCredit "+streamCredit.getCredits()+".");
+			}
+			state.getController().receiveStreamCredit(streamCredit.getCredits());
+		} else {
+			if ( log.isDebugEnabled() ) {
+				log.debug("No PendingClientCallState found for correlationId " + streamCredit.getCorrelationId());
+			}
+		}
+	}
+	
 	/**
 	 * For use by {@link RpcClientHandler} to dispatch an Out-of-Band server response
 	 * message to client code.
@@ -385,9 +805,20 @@ public class RpcClient implements RpcClientChannel {
 	 * @param serverMessage
 	 */
 	public void receiveOobResponse( OobResponse serverMessage ) {
+		receiveOobResponse(DeferredWirePayload.valueOf(WirePayload.newBuilder().setOobResponse(serverMessage).build()));
+	}
+
+	/**
+	 * For use by {@link RpcClientHandler} to dispatch an Out-of-Band server response
+	 * message to client code, parsing it directly from the received frame.
+	 * 
+	 * @param payload a WirePayload with an OobResponse.
+	 */
+	public void receiveOobResponse( DeferredWirePayload payload ) {
+		OobResponse serverMessage = payload.getOobResponse();
 		PendingClientCallState state = getPendingRequest(serverMessage.getCorrelationId());
 		if ( state != null ) {
-			Message processedMessage = state.getController().receiveOobResponse(serverMessage);
+			Message processedMessage = state.getController().receiveOobResponse(payload);
 			if ( processedMessage != null ) {
 				doLogOobResponseInbound(state, processedMessage);
 			}
@@ -406,31 +837,93 @@ public class RpcClient implements RpcClientChannel {
 	 * The done.callback(null) is performed immediately. The controller's
 	 * failed() text indicates "Cancel" as failure reason.
 	 * 
+	 * The RpcCancel is sent asynchronously, so cancelling never blocks,
+	 * also not on an event loop.
+	 * 
 	 * @param correlationId
 	 */
 	void startCancel(int correlationId ) {
-		PendingClientCallState state = removePendingRequest(correlationId);
-		if ( state != null ) {
-			RpcCancel rpcCancel = RpcCancel.newBuilder().setCorrelationId(correlationId).build();
-			if ( log.isDebugEnabled() ) {
-				log.debug("Sending ["+rpcCancel.getCorrelationId()+"]RpcCancel.");
-			}
-			WirePayload payload = WirePayload.newBuilder().setRpcCancel(rpcCancel).build();
-			channel.writeAndFlush( payload ).awaitUninterruptibly();
-			
-			String errorMessage = "Cancel";
-			
-			doLogRpc(state, rpcCancel, errorMessage);
-
-			state.handleFailure(errorMessage);
-			
-		} else {
+		if ( cancelRequests(new int[]{correlationId}, 1) == 0 ) {
 			// this can happen if the server call completed in the meantime.
 			if ( log.isDebugEnabled() ) {
 				log.debug("No PendingClientCallState found for correlationId " + correlationId);
 			}
 		}
 	}
+	
+	/**
+	 * Cancel the ongoing calls of a group of controllers, for instance a batch
+	 * of speculative calls, like {@link ClientRpcController#startCancel()}.
+	 * The RpcCancels are sent asynchronously with a single flush. Controllers
+	 * of other RpcClients and calls already completed are skipped.
+	 * 
+	 * @param controllers
+	 * @return the number of calls cancelled.
+	 */
+	public int cancelCalls( Collection<? extends ClientRpcController> controllers ) {
+		int[] correlationIds = new int[controllers.size()];
+		int count = 0;
+		for( ClientRpcController controller : controllers ) {
+			if ( controller.getRpcClient() == this ) {
+				correlationIds[count++] = controller.getCorrelationId();
+			}
+		}
+		return cancelRequests(correlationIds, count);
+	}
+	
+	/**
+	 * Cancel all ongoing calls started longer than ageMs ago.
+	 * 
+	 * @see #cancelCalls(Collection)
+	 * @param ageMs
+	 * @return the number of calls cancelled.
+	 */
+	public int cancelCallsOlderThan( long ageMs ) {
+		long startedBefore = System.currentTimeMillis() - ageMs;
+		int[] correlationIds = pendingRequestMap.keys();
+		int count = 0;
+		for( int correlationId : correlationIds ) {
+			PendingClientCallState state = getPendingRequest(correlationId);
+			if ( state != null && state.getStartTimestamp() <= startedBefore ) {
+				correlationIds[count++] = correlationId;
+			}
+		}
+		return cancelRequests(correlationIds, count);
+	}
+	
+	/**
+	 * Write the RpcCancels of the pending calls, flush once, then fail the calls.
+	 * 
+	 * @return the number of calls cancelled.
+	 */
+	private int cancelRequests( int[] correlationIds, int count ) {
+		PendingClientCallState[] states = new PendingClientCallState[count];
+		RpcCancel[] rpcCancels = new RpcCancel[count];
+		int cancelled = 0;
+		for( int i = 0; i < count; i++ ) {
+			PendingClientCallState state = removePendingRequest(correlationIds[i]);
+			if ( state != null ) {
+				RpcCancel rpcCancel = RpcCancel.newBuilder().setCorrelationId(correlationIds[i]).build();
+				if ( log.isDebugEnabled() ) {
+					log.debug("Sending ["+rpcCancel.getCorrelationId()+"]RpcCancel.");
+				}
+				channel.write(WirePayload.newBuilder().setRpcCancel(rpcCancel).build());
+				states[cancelled] = state;
+				rpcCancels[cancelled] = rpcCancel;
+				cancelled++;
+			}
+		}
+		if ( cancelled > 0 ) {
+			channel.flush();
+		}
+		String errorMessage = "Cancel";
+		for( int i = 0; i < cancelled; i++ ) {
+			doLogRpc(states[i], rpcCancels[i], errorMessage);
+			
+			states[i].handleFailure(errorMessage);
+		}
+		return cancelled;
+	}
 
 	/* (non-Javadoc)
 	 * @see com.googlecode.protobuf.pro.duplex.RpcClientChannel#close()
@@ -441,11 +934,13 @@ public class RpcClient implements RpcClientChannel {
 	}
 	
 	public void handleClosure() {
+		// queued calls are failed with all other pending calls.
+		backpressureQueue.clear();
+		backpressureQueueSize.set(0);
+		signalWritable();
 		do {
 			//Defect Nr.8 Race condition with new client request being received on closure.
-			List<Integer> pendingCallIds = new ArrayList<Integer>();
-			pendingCallIds.addAll(pendingRequestMap.keySet());
-			for( Integer correlationId : pendingCallIds ) {
+			for( int correlationId : pendingRequestMap.keys() ) {
 				PendingClientCallState state = removePendingRequest(correlationId);
 				if ( state != null ) {
 					RpcError rpcError = RpcError.newBuilder().setCorrelationId(correlationId).setErrorMessage("Forced Closure").build();
@@ -455,7 +950,19 @@ public class RpcClient implements RpcClientChannel {
 					state.handleFailure(rpcError.getErrorMessage());
 				}
 			}
-		} while( pendingRequestMap.size() > 0 );
+		} while( !pendingRequestMap.isEmpty() );
+	}
+	
+	/**
+	 * Whether the Channel's outbound buffer is below the write buffer high
+	 * water mark, or has since fallen below the low water mark. Callers can
+	 * hold back calls while not writable, otherwise the {@link BackpressurePolicy}
+	 * applies.
+	 * 
+	 * @return whether the Channel is writable.
+	 */
+	public boolean isWritable() {
+		return channel.isWritable();
 	}
 	
 	/* (non-Javadoc)
@@ -534,43 +1041,69 @@ public class RpcClient implements RpcClientChannel {
 	}
 	
 	private void registerPendingRequest(int seqId, PendingClientCallState state) {
-		if (pendingRequestMap.containsKey(seqId)) {
+		if (!pendingRequestMap.put(seqId, state)) {
 			throw new IllegalArgumentException("State already registered");
 		}
-		pendingRequestMap.put(seqId, state);
+		pendingRequestCount.incrementAndGet();
 	}
 
 	private PendingClientCallState removePendingRequest(int seqId) {
-		return pendingRequestMap.remove(seqId);
+		PendingClientCallState state = pendingRequestMap.remove(seqId);
+		if ( state != null ) {
+			pendingRequestCount.decrementAndGet();
+		}
+		return state;
 	}
 
 	private PendingClientCallState getPendingRequest(int seqId) {
 		return pendingRequestMap.get(seqId);
 	}
 
-	
-	private static class BlockingRpcCallback implements RpcCallback<Message> {
-
-		private boolean done = false;
-		private Message message;
+	/**
+	 * The Future of a {@link RpcClient#callAsync(MethodDescriptor, ClientRpcController, Message, Message)},
+	 * completed as the call's callback.
+	 */
+	private static class RpcPromise<T extends Message> extends DefaultPromise<T> implements RpcCallback<Message> {
+		
+		private final ClientRpcController controller;
+		
+		public RpcPromise( EventExecutor executor, ClientRpcController controller ) {
+			super(executor);
+			this.controller = controller;
+		}
 		
+		@SuppressWarnings("unchecked")
+		@Override
 		public void run(Message message) {
-			this.message = message;
-			synchronized(this) {
-				done = true;
-				notify();
+			if ( message != null ) {
+				trySuccess((T)message);
+			} else {
+				tryFailure(new ServiceException(controller.errorText()));
 			}
 		}
 		
-		public Message getMessage() {
-			return message;
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			if ( super.cancel(mayInterruptIfRunning) ) {
+				controller.startCancel();
+				return true;
+			}
+			return false;
 		}
+	}
+
+	private static class QueuedRequest {
 		
-		public boolean isDone() {
-			return done;
+		private final int correlationId;
+		private final DeferredWirePayload payload;
+		private final ClientRpcController controller;
+		
+		public QueuedRequest( int correlationId, DeferredWirePayload payload, ClientRpcController controller ) {
+			this.correlationId = correlationId;
+			this.payload = payload;
+			this.controller = controller;
 		}
 	}
-		
 
 	private static class PendingClientCallState {
 		
@@ -581,6 +1114,13 @@ public class RpcClient implements RpcClientChannel {
 		private final long startTimestamp;
 		private final Message request;
 		
+		// the permit held while in flight, and when it was acquired.
+		private volatile ConcurrencyLimiter limiter;
+		private long permitNanos;
+		// the limiter's queue the call waits in for a permit.
+		private volatile ConcurrencyLimiter waitingOn;
+		private volatile Runnable waiter;
+		
 		public PendingClientCallState(ClientRpcController controller, MethodDescriptor methodDesc, Message responsePrototype, Message request, RpcCallback<Message> callback) {
 			this.controller = controller;
 			this.methodDesc = methodDesc;
@@ -602,12 +1142,57 @@ public class RpcClient implements RpcClientChannel {
 			return methodDesc.getName();
 		}
 		
+		/**
+		 * Hold the limiter's permit until the call completes.
+		 */
+		public void setPermit( ConcurrencyLimiter limiter ) {
+			this.waitingOn = null;
+			this.waiter = null;
+			this.permitNanos = System.nanoTime();
+			this.limiter = limiter;
+		}
+		
+		/**
+		 * Wait in the limiter's queue for a permit, until the call fails.
+		 */
+		public void setWaiter( ConcurrencyLimiter limiter, Runnable waiter ) {
+			this.waitingOn = limiter;
+			this.waiter = waiter;
+		}
+		
+		private void removeWaiter() {
+			ConcurrencyLimiter queue = waitingOn;
+			if ( queue != null ) {
+				waitingOn = null;
+				queue.remove(waiter);
+				waiter = null;
+			}
+		}
+		
+		private void releasePermit( boolean dropped ) {
+			// the millisecond startTimestamp is too coarse for round trip times.
+			ConcurrencyLimiter permit = limiter;
+			if ( permit != null ) {
+				limiter = null;
+				permit.release(System.nanoTime() - permitNanos, dropped);
+			}
+		}
+		
 		public void handleResponse( Message response ) {
+			releasePermit(false);
+			controller.completeRequestStream();
+			controller.completeOobResponses(null);
 			callback(response);
 		}
 		
 		public void handleFailure( String message ) {
+			// a call failing while queued no longer waits for a permit.
+			removeWaiter();
+			// only timeouts signal overload, not failures of the call itself.
+			releasePermit("Timeout".equals(message));
 			controller.setFailed(message);
+			controller.completeRequestStream();
+			controller.completeOobResponses(message);
 			callback(null);
 		}
 
@@ -682,12 +1267,137 @@ public class RpcClient implements RpcClientChannel {
 	}
 
 	/**
-	 * @return whether this client's communication is compressed.
+	 * @return whether this client's communication is compressed by default.
 	 */
 	public boolean isCompression() {
 		return compression;
 	}
 
+	/**
+	 * @return the handling of RpcRequests while the Channel is not writable.
+	 */
+	public BackpressurePolicy getBackpressurePolicy() {
+		return backpressurePolicy;
+	}
+
+	/**
+	 * @param backpressurePolicy the handling of RpcRequests while the Channel is not writable.
+	 */
+	public void setBackpressurePolicy(BackpressurePolicy backpressurePolicy) {
+		if ( backpressurePolicy == null ) {
+			throw new IllegalArgumentException("backpressurePolicy");
+		}
+		this.backpressurePolicy = backpressurePolicy;
+	}
+
+	/**
+	 * @return the number of RpcRequests queued with the QUEUE policy, beyond which calls fail.
+	 */
+	public int getBackpressureQueueCapacity() {
+		return backpressureQueueCapacity;
+	}
+
+	/**
+	 * @param backpressureQueueCapacity the number of RpcRequests queued with the QUEUE policy,
+	 * beyond which calls fail.
+	 */
+	public void setBackpressureQueueCapacity(int backpressureQueueCapacity) {
+		if ( backpressureQueueCapacity <= 0 ) {
+			throw new IllegalArgumentException("backpressureQueueCapacity");
+		}
+		this.backpressureQueueCapacity = backpressureQueueCapacity;
+	}
+
+	/**
+	 * @return our wall clock minus the peer's, estimated at connect, or null if unknown.
+	 */
+	public Long getClockOffsetMs() {
+		return clockOffsetMs;
+	}
+
+	/**
+	 * The offset of the peer's wall clock, which converts the absolute deadlines
+	 * of calls between the peers' clocks. Estimated at connect from the time the
+	 * peer sent, so that it includes the transit time and errs on late deadlines.
+	 * 
+	 * @param clockOffsetMs our wall clock minus the peer's, null if unknown.
+	 */
+	public void setClockOffsetMs(Long clockOffsetMs) {
+		this.clockOffsetMs = clockOffsetMs;
+	}
+
+	/**
+	 * @return the limiter capping the calls in flight, or null if unlimited.
+	 */
+	public ConcurrencyLimiter getConcurrencyLimiter() {
+		return concurrencyLimiter;
+	}
+
+	/**
+	 * Calls already holding a permit of a previous limiter release it when
+	 * they complete.
+	 * 
+	 * @param concurrencyLimiter the limiter capping the calls in flight, null for unlimited.
+	 */
+	public void setConcurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+		this.concurrencyLimiter = concurrencyLimiter;
+	}
+
+	/**
+	 * @return the number of calls awaiting their response.
+	 */
+	public int getPendingRequestCount() {
+		return pendingRequestCount.get();
+	}
+
+	/**
+	 * @return whether both peers negotiated the batching of RpcRequests and RpcResponses.
+	 */
+	public boolean isBatching() {
+		return batching;
+	}
+
+	/**
+	 * Set during the connection handshake, before the pipeline is completed.
+	 * 
+	 * @param batching whether both peers negotiated batching.
+	 */
+	public void setBatching(boolean batching) {
+		this.batching = batching;
+	}
+
+	/**
+	 * @return the per frame compression codec negotiated by both peers, or null.
+	 */
+	public CompressionCodec getCompressionCodec() {
+		return compressionCodec;
+	}
+
+	/**
+	 * Set during the connection handshake, before the pipeline is completed.
+	 * 
+	 * @param compressionCodec the per frame compression codec negotiated by both peers.
+	 */
+	public void setCompressionCodec(CompressionCodec compressionCodec) {
+		this.compressionCodec = compressionCodec;
+	}
+
+	/**
+	 * @return whether both peers negotiated calling methods by methodId.
+	 */
+	public boolean isMethodIds() {
+		return methodIds;
+	}
+
+	/**
+	 * Set during the connection handshake, before the pipeline is completed.
+	 * 
+	 * @param methodIds whether both peers negotiated calling methods by methodId.
+	 */
+	public void setMethodIds(boolean methodIds) {
+		this.methodIds = methodIds;
+	}
+
 	/**
 	 * @return the rpcServer
 	 */
@@ -17,7 +17,10 @@ package com.googlecode.protobuf.pro.duplex;
 
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelPipeline;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
 
+import com.google.protobuf.Descriptors.MethodDescriptor;
 import com.google.protobuf.Message;
 import com.google.protobuf.RpcCallback;
 import com.googlecode.protobuf.pro.duplex.listener.TcpConnectionEventListener;
@@ -56,6 +59,40 @@ public interface RpcClientChannel extends com.google.protobuf.RpcChannel, com.go
 	 */
 	public ClientRpcController newRpcController();
 	
+	/**
+	 * Call a method asynchronously, returning a Future of the response
+	 * instead of taking a callback. The Future's listeners are notified on
+	 * the channel's Netty event loop.
+	 * 
+	 * The controller's timeoutMs, if set, is scheduled on the event loop and
+	 * fails the Future once exceeded. Cancelling the Future cancels the call
+	 * at the server, like {@link ClientRpcController#startCancel()}. If the
+	 * call fails, the Future fails with a ServiceException carrying the
+	 * controller's errorText.
+	 * 
+	 * @param method
+	 * @param controller a controller of this channel, not in use by another call.
+	 * @param request
+	 * @param responsePrototype
+	 * @return a Future of the response.
+	 */
+	public <T extends Message> Future<T> callAsync( MethodDescriptor method, ClientRpcController controller, Message request, T responsePrototype );
+	
+	/**
+	 * Call a method asynchronously, notifying the returned Future's listeners
+	 * on the executor, for instance an EventExecutor of a DefaultEventExecutorGroup
+	 * to keep application code off the IO threads.
+	 * 
+	 * @see #callAsync(MethodDescriptor, ClientRpcController, Message, Message)
+	 * @param method
+	 * @param controller a controller of this channel, not in use by another call.
+	 * @param request
+	 * @param responsePrototype
+	 * @param executor the executor notifying the listeners.
+	 * @return a Future of the response.
+	 */
+	public <T extends Message> Future<T> callAsync( MethodDescriptor method, ClientRpcController controller, Message request, T responsePrototype, EventExecutor executor );
+	
 	/**
 	 * When the underlying channel closes, all pending calls
 	 * must fail. Otherwise blocking calls will block forever.
@@ -17,6 +17,8 @@ package com.googlecode.protobuf.pro.duplex;
 
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelPipeline;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -34,6 +36,7 @@ import com.google.protobuf.RpcController;
 import com.google.protobuf.ServiceException;
 import com.googlecode.protobuf.pro.duplex.listener.RpcConnectionEventListener;
 import com.googlecode.protobuf.pro.duplex.listener.TcpConnectionEventListener;
+import com.googlecode.protobuf.pro.duplex.listener.TcpConnectionWritabilityListener;
 
 /**
  * The RpcConnectionEventNotifier keeps track of the know RPC peers
@@ -47,7 +50,7 @@ import com.googlecode.protobuf.pro.duplex.listener.TcpConnectionEventListener;
  *
  */
 public class RpcConnectionEventNotifier implements
-		TcpConnectionEventListener {
+		TcpConnectionEventListener, TcpConnectionWritabilityListener {
 
 	private static Logger log = LoggerFactory.getLogger(RpcConnectionEventNotifier.class);
 
@@ -112,6 +115,16 @@ public class RpcConnectionEventNotifier implements
 		}
 	}
 
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.TcpConnectionWritabilityListener#connectionWritabilityChanged(com.googlecode.protobuf.pro.duplex.RpcClientChannel, boolean)
+	 */
+	@Override
+	public void connectionWritabilityChanged(RpcClientChannel clientChannel, boolean writable) {
+		if ( log.isDebugEnabled() ) {
+			log.debug("connectionWritabilityChanged from " + clientChannel.getPeerInfo() + " writable=" + writable);
+		}
+	}
+
 	/**
 	 * @return the eventListeners
 	 */
@@ -198,6 +211,26 @@ public class RpcConnectionEventNotifier implements
 			throw new IllegalStateException("method not supported on detached RpcClientChannel.");
 		}
 
+		/* (non-Javadoc)
+		 * @see com.googlecode.protobuf.pro.duplex.RpcClientChannel#callAsync(com.google.protobuf.Descriptors.MethodDescriptor, com.googlecode.protobuf.pro.duplex.ClientRpcController, com.google.protobuf.Message, com.google.protobuf.Message)
+		 */
+		@Override
+		public <T extends Message> Future<T> callAsync(MethodDescriptor method,
+				ClientRpcController controller, Message request,
+				T responsePrototype) {
+			throw new IllegalStateException("method not supported on detached RpcClientChannel.");
+		}
+
+		/* (non-Javadoc)
+		 * @see com.googlecode.protobuf.pro.duplex.RpcClientChannel#callAsync(com.google.protobuf.Descriptors.MethodDescriptor, com.googlecode.protobuf.pro.duplex.ClientRpcController, com.google.protobuf.Message, com.google.protobuf.Message, io.netty.util.concurrent.EventExecutor)
+		 */
+		@Override
+		public <T extends Message> Future<T> callAsync(MethodDescriptor method,
+				ClientRpcController controller, Message request,
+				T responsePrototype, EventExecutor executor) {
+			throw new IllegalStateException("method not supported on detached RpcClientChannel.");
+		}
+
 		/* (non-Javadoc)
 		 * @see com.googlecode.protobuf.pro.duplex.RpcClientChannel#close()
 		 */
@@ -15,11 +15,6 @@
 */
 package com.googlecode.protobuf.pro.duplex;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,16 +23,23 @@ import com.google.protobuf.ExtensionRegistry;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import com.googlecode.protobuf.pro.duplex.RpcServiceRegistry.ServiceDescriptor;
+import com.googlecode.protobuf.pro.duplex.RpcServiceRegistry.ServiceMethod;
 import com.googlecode.protobuf.pro.duplex.execute.PendingServerCallState;
 import com.googlecode.protobuf.pro.duplex.execute.RpcServerCallExecutor;
 import com.googlecode.protobuf.pro.duplex.execute.RpcServerExecutorCallback;
 import com.googlecode.protobuf.pro.duplex.execute.ServerRpcController;
+import com.googlecode.protobuf.pro.duplex.limit.CoDelLoadShedder;
 import com.googlecode.protobuf.pro.duplex.logging.RpcLogger;
 import com.googlecode.protobuf.pro.duplex.timeout.RpcTimeoutExecutor;
+import com.googlecode.protobuf.pro.duplex.util.PendingCallTable;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
 
 /**
@@ -54,12 +56,19 @@ public class RpcServer implements RpcServerExecutorCallback {
 
 	private static Logger log = LoggerFactory.getLogger(RpcServer.class);
 
-	private final Map<Integer, PendingServerCallState> pendingServerCallMap = new ConcurrentHashMap<Integer, PendingServerCallState>();
+	/**
+	 * How much later than the client's absolute deadline, converted to our clock,
+	 * a call is still run, allowing for errors in the estimated clock offset.
+	 */
+	public static final long CLOCK_SKEW_TOLERANCE_MS = 100;
+
+	private final PendingCallTable<PendingServerCallState> pendingServerCallMap = new PendingCallTable<PendingServerCallState>();
 
 	private final RpcClient rpcClient;
 	private final RpcServiceRegistry rpcServiceRegistry;
 	private final RpcServerCallExecutor callExecutor;
 	private final RpcLogger rpcLogger;
+	private volatile CoDelLoadShedder loadShedder;
 	
 	public RpcServer(RpcClient rcpClient, RpcServiceRegistry rpcServiceRegistry, RpcServerCallExecutor callExecutor, RpcLogger logger ) {
 		this.rpcClient = rcpClient;
@@ -72,6 +81,17 @@ public class RpcServer implements RpcServerExecutorCallback {
 	}
 
 	public void request(RpcRequest rpcRequest) {
+		request(DeferredWirePayload.valueOf(WirePayload.newBuilder().setRpcRequest(rpcRequest).build()));
+	}
+
+	/**
+	 * Receipt of an RpcRequest from a remote Peer, where the request message
+	 * is parsed directly from the received frame.
+	 * 
+	 * @param payload a WirePayload with an RpcRequest.
+	 */
+	public void request(DeferredWirePayload requestPayload) {
+		RpcRequest rpcRequest = requestPayload.getRpcRequest();
 		long startTS = System.currentTimeMillis();
 		int correlationId = rpcRequest.getCorrelationId();
 
@@ -79,132 +99,187 @@ public class RpcServer implements RpcServerExecutorCallback {
 			log.debug("Received ["+rpcRequest.getCorrelationId()+"]RpcRequest.");
 		}
 
-		if (callExecutor == null) {
-			String errorMessage = "No Executor";
-			RpcError rpcError = RpcError.newBuilder()
-					.setCorrelationId(correlationId)
-					.setErrorMessage(errorMessage).build();
-			WirePayload payload = WirePayload.newBuilder()
-					.setRpcError(rpcError).build();
-
-			if ( log.isDebugEnabled() ) {
-				log.debug("Sending ["+rpcError.getCorrelationId()+"]RpcError.");
-			}
-			rpcClient.getChannel().writeAndFlush(payload);
-
-			doErrorLog(correlationId, "Unknown", rpcRequest, rpcError, errorMessage);
-			return;
-		}
-		
-		if (pendingServerCallMap.containsKey(correlationId)) {
+		if (pendingServerCallMap.get(correlationId) != null) {
 			throw new IllegalStateException("correlationId " + correlationId
 					+ " already registered as PendingServerCall.");
 		}
-
-		ServiceDescriptor sd = rpcServiceRegistry.resolveService(rpcRequest
-				.getServiceIdentifier());
-		if (sd == null) {
-			String errorMessage = "Unknown Service";
-			RpcError rpcError = RpcError.newBuilder()
-					.setCorrelationId(correlationId)
-					.setErrorMessage(errorMessage).build();
-			WirePayload payload = WirePayload.newBuilder()
-					.setRpcError(rpcError).build();
-
-			if ( log.isDebugEnabled() ) {
-				log.debug("Sending ["+rpcError.getCorrelationId()+"]RpcError.");
+		
+		// the budget from receipt, or the client's absolute deadline if earlier.
+		long deadline = 0;
+		if ( rpcRequest.getTimeoutMs() > 0 ) {
+			deadline = startTS + rpcRequest.getTimeoutMs();
+			Long clockOffsetMs = rpcClient.getClockOffsetMs();
+			if ( rpcRequest.hasDeadlineMs() && clockOffsetMs != null ) {
+				deadline = Math.min(deadline, rpcRequest.getDeadlineMs() + clockOffsetMs + CLOCK_SKEW_TOLERANCE_MS);
 			}
-			rpcClient.getChannel().writeAndFlush(payload);
-
-			doErrorLog(correlationId, "Unknown", rpcRequest, rpcError, errorMessage);
-			return;
 		}
-		MethodDescriptor methodDesc = null;
-		if ( sd.getBlockingService() != null ) {
-			methodDesc = sd.getBlockingService().getDescriptorForType().findMethodByName(rpcRequest.getMethodIdentifier());
+		// one array lookup by methodId, or a service and method lookup by name.
+		ServiceMethod serviceMethod = null;
+		if ( rpcRequest.hasMethodId() ) {
+			serviceMethod = rpcServiceRegistry.resolveMethod(rpcRequest.getMethodId());
 		} else {
-			methodDesc = sd.getService().getDescriptorForType().findMethodByName(rpcRequest.getMethodIdentifier());
+			ServiceDescriptor sd = rpcServiceRegistry.resolveService(rpcRequest
+					.getServiceIdentifier());
+			if (sd == null) {
+				String errorMessage = "Unknown Service";
+				doErrorLog(correlationId, "Unknown", rpcRequest, sendError(correlationId, errorMessage, false), errorMessage);
+				return;
+			}
+			serviceMethod = sd.getMethod(rpcRequest.getMethodIdentifier());
 		}
-				
-		if (methodDesc == null) {
+		if (serviceMethod == null) {
 			String errorMessage = "Unknown Method";
-			RpcError rpcError = RpcError.newBuilder()
-					.setCorrelationId(correlationId)
-					.setErrorMessage(errorMessage).build();
-			WirePayload payload = WirePayload.newBuilder()
-					.setRpcError(rpcError).build();
-
-			if ( log.isDebugEnabled() ) {
-				log.debug("Sending ["+rpcError.getCorrelationId()+"]RpcError.");
-			}
-			rpcClient.getChannel().writeAndFlush(payload);
-
-			doErrorLog(correlationId, "Unknown", rpcRequest, rpcError, errorMessage);
+			doErrorLog(correlationId, "Unknown", rpcRequest, sendError(correlationId, errorMessage, false), errorMessage);
 			return;
 		}
-		Message requestPrototype = null;
-		if ( sd.getBlockingService() != null ) {
-			requestPrototype = sd.getBlockingService().getRequestPrototype(methodDesc);
-		} else {
-			requestPrototype = sd.getService().getRequestPrototype(methodDesc);
+		MethodDescriptor methodDesc = serviceMethod.getMethodDescriptor();
+		if ( deadline > 0 && deadline <= startTS ) {
+			// the client has given up already, drop the request without parsing it.
+			String errorMessage = "Timeout";
+			doErrorLog(correlationId, methodDesc.getFullName(), rpcRequest, sendError(correlationId, errorMessage, false), errorMessage);
+			return;
 		}
+		
+		// the method's own executor, or the default one.
+		RpcServerCallExecutor executor = serviceMethod.getCallExecutor();
+		if ( executor == null ) {
+			executor = callExecutor;
+		}
+		if (executor == null) {
+			String errorMessage = "No Executor";
+			doErrorLog(correlationId, methodDesc.getFullName(), rpcRequest, sendError(correlationId, errorMessage, false), errorMessage);
+			return;
+		}
+		// only calls queued on the default executor are shed, bulkheads bound themselves.
+		CoDelLoadShedder shedder = executor == callExecutor ? loadShedder : null;
+		if ( shedder != null && !shedder.admit(methodDesc.getFullName()) ) {
+			// overloaded, reject the request without parsing it.
+			String errorMessage = CoDelLoadShedder.LOAD_SHED;
+			doErrorLog(correlationId, methodDesc.getFullName(), rpcRequest, sendError(correlationId, errorMessage, true), errorMessage);
+			return;
+		}
+		Message requestPrototype = serviceMethod.getRequestPrototype();
 
 		// fetch an optional ExtensionRegistry associated with the Service.
 		ExtensionRegistry extensionRegistry = rpcClient.getExtensionRegistry();
 		
 		Message request = null;
 		try {
-			if ( extensionRegistry == null ) {
-				request = requestPrototype.newBuilderForType()
-						.mergeFrom(rpcRequest.getRequestBytes()).build();
-			} else {
-				request = requestPrototype.newBuilderForType()
-				.mergeFrom(rpcRequest.getRequestBytes(),extensionRegistry).build();
-			}
+			request = requestPayload.mergeBodyTo(requestPrototype.newBuilderForType(), extensionRegistry).build();
 
 		} catch (InvalidProtocolBufferException e) {
 			String errorMessage = "Invalid Request Protobuf";
-
-			RpcError rpcError = RpcError.newBuilder()
-					.setCorrelationId(correlationId)
-					.setErrorMessage(errorMessage).build();
-			WirePayload payload = WirePayload.newBuilder()
-					.setRpcError(rpcError).build();
-
-			if ( log.isDebugEnabled() ) {
-				log.debug("Sending ["+rpcError.getCorrelationId()+"]RpcError.");
-			}
-			rpcClient.getChannel().writeAndFlush(payload);
-
-			doErrorLog(correlationId, methodDesc.getFullName(), rpcRequest, rpcError, errorMessage);
+			doErrorLog(correlationId, methodDesc.getFullName(), rpcRequest, sendError(correlationId, errorMessage, false), errorMessage);
 			return;
 		}
 		ServerRpcController controller = new ServerRpcController(rpcClient,methodDesc.getFullName(),correlationId);
-
-		PendingServerCallState state = null;
-		if ( sd.getBlockingService() != null ) {
-			state = new PendingServerCallState(this,sd.getBlockingService(), controller, methodDesc, request, startTS, rpcRequest.getTimeoutMs());
+		controller.setDeadline(deadline);
+
+		PendingServerCallState state = serviceMethod.newPendingServerCallState(this, controller, request, startTS, rpcRequest.getTimeoutMs());
+		state.setCallExecutor(executor);
+		state.setPriority(rpcRequest.getPriority());
+		if ( shedder != null ) {
+			state.setLoadShedder(shedder, System.nanoTime());
+			shedder.onQueued();
+		}
+		if ( rpcRequest.hasCompressResponse() ) {
+			state.setCompressResponse(rpcRequest.getCompressResponse());
 		} else {
-			state = new PendingServerCallState(this,sd.getService(), controller, methodDesc, request, startTS, rpcRequest.getTimeoutMs());
+			state.setCompressResponse(serviceMethod.getCompressResponse());
+		}
+		if ( rpcClient.isMethodIds() && !rpcRequest.hasMethodId() ) {
+			// tell the client the methodId to call by from now on.
+			state.setMethodId(serviceMethod.getMethodId());
+		}
+		if (!pendingServerCallMap.put(correlationId, state)) {
+			throw new IllegalStateException("correlationId " + correlationId
+					+ " already registered as PendingServerCall.");
 		}
-		pendingServerCallMap.put(correlationId, state);
 
-		callExecutor.execute(state);
+		executor.execute(state);
 	}
 
 	public void checkTimeouts( RpcTimeoutExecutor executor ) {
-		List<Map.Entry<Integer,PendingServerCallState>> result = new ArrayList<Map.Entry<Integer,PendingServerCallState>>();
-		result.addAll(pendingServerCallMap.entrySet());
-		
-		for( Map.Entry<Integer,PendingServerCallState> call : result) {
-			if ( call.getValue().isTimeoutExceeded() ) {
-				RpcCancel rpcTimeout = RpcCancel.newBuilder().setCorrelationId(call.getKey()).build();
+		for( int correlationId : pendingServerCallMap.keys() ) {
+			PendingServerCallState state = pendingServerCallMap.get(correlationId);
+			if ( state != null && state.isTimeoutExceeded() ) {
+				RpcCancel rpcTimeout = RpcCancel.newBuilder().setCorrelationId(correlationId).build();
 
 				executor.timeout(this, rpcTimeout);
 			}
 		}
 	}
 
+	/**
+	 * The client's Subscriber of a call's OobResponses requested more of them.
+	 * 
+	 * @param oobCredit
+	 */
+	public void oobCredit(OobCredit oobCredit) {
+		PendingServerCallState state = pendingServerCallMap.get(oobCredit.getCorrelationId());
+		if (state != null) {
+			if ( log.isDebugEnabled() ) {
+				log.debug("Received ["+oobCredit.getCorrelationId()+"]OobCredit "+oobCredit.getCredits()+".");
+			}
+			state.getController().receiveOobCredit(oobCredit.getCredits());
+		} else {
+			// the call finished or was canceled in the meantime.
+			if ( log.isDebugEnabled() ) {
+				log.debug("No PendingServerCallState found for correlationId " + oobCredit.getCorrelationId());
+			}
+		}
+	}
+
+	public void streamChunk(StreamChunk streamChunk) {
+		streamChunk(DeferredWirePayload.valueOf(WirePayload.newBuilder().setStreamChunk(streamChunk).build()));
+	}
+
+	/**
+	 * Receipt of a message of the request stream of a pending call, which is
+	 * parsed directly from the received frame as the method's request type.
+	 * 
+	 * @param payload a WirePayload with a StreamChunk.
+	 */
+	public void streamChunk(DeferredWirePayload payload) {
+		StreamChunk streamChunk = payload.getStreamChunk();
+		PendingServerCallState state = pendingServerCallMap.get(streamChunk.getCorrelationId());
+		if (state == null) {
+			// the call finished or was canceled in the meantime.
+			if ( log.isDebugEnabled() ) {
+				log.debug("No PendingServerCallState found for correlationId " + streamChunk.getCorrelationId());
+			}
+			return;
+		}
+		Message message = null;
+		try {
+			message = payload.mergeBodyTo(state.getRequest().newBuilderForType(), rpcClient.getExtensionRegistry()).build();
+		} catch (InvalidProtocolBufferException e) {
+			log.warn("Invalid StreamChunk Protobuf for correlationId " + streamChunk.getCorrelationId(), e);
+			state.getController().receiveStreamEnd("Invalid StreamChunk Protobuf");
+			return;
+		}
+		state.getController().receiveStreamChunk(message);
+	}
+
+	/**
+	 * Receipt of the end of the request stream of a pending call.
+	 * 
+	 * @param streamEnd
+	 */
+	public void streamEnd(StreamEnd streamEnd) {
+		PendingServerCallState state = pendingServerCallMap.get(streamEnd.getCorrelationId());
+		if (state != null) {
+			if ( log.isDebugEnabled() ) {
+				log.debug("Received ["+streamEnd.getCorrelationId()+"]StreamEnd.");
+			}
+			state.getController().receiveStreamEnd(streamEnd.hasErrorMessage() ? streamEnd.getErrorMessage() : null);
+		} else {
+			if ( log.isDebugEnabled() ) {
+				log.debug("No PendingServerCallState found for correlationId " + streamEnd.getCorrelationId());
+			}
+		}
+	}
+
 	/**
 	 * On cancel from the client, the RpcServer does not expect to receive a
 	 * callback anymore from the RpcServerCallExecutor.
@@ -214,14 +289,12 @@ public class RpcServer implements RpcServerExecutorCallback {
 	public void cancel(RpcCancel rpcCancel) {
 		int correlationId = rpcCancel.getCorrelationId();
 
-		if (callExecutor == null) {
-			return;
-		}
 		PendingServerCallState state = pendingServerCallMap
 				.remove(correlationId);
 		if (state != null) {
+			removedFromQueue(state);
 			// we only issue one cancel to the Executor
-			callExecutor.cancel(state.getExecutor());
+			state.getCallExecutor().cancel(state.getExecutor());
 
 			if ( log.isDebugEnabled() ) {
 				log.debug("Received ["+rpcCancel.getCorrelationId()+"]RpcCancel.");
@@ -246,16 +319,20 @@ public class RpcServer implements RpcServerExecutorCallback {
 	public void onFinish(int correlationId, Message message) {
 		PendingServerCallState state = pendingServerCallMap.remove(correlationId);
 		if (state != null) {
+			removedFromQueue(state);
 			// finished successfully, or failed - respond
 			if (message != null) {
-				RpcResponse rpcResponse = RpcResponse.newBuilder()
-						.setCorrelationId(correlationId)
-						.setResponseBytes(message.toByteString()).build();
-				WirePayload payload = WirePayload.newBuilder()
-						.setRpcResponse(rpcResponse).build();
+				RpcResponse.Builder rpcResponse = RpcResponse.newBuilder()
+						.setCorrelationId(correlationId);
+				if ( state.getMethodId() != 0 ) {
+					rpcResponse.setMethodId(state.getMethodId());
+				}
+				// the response is serialized directly into the IO buffer by the WirePayloadEncoder
+				DeferredWirePayload payload = DeferredWirePayload.newRpcResponse(rpcResponse, message);
+				payload.setCompress(state.getCompressResponse());
 
 				if ( log.isDebugEnabled() ) {
-					log.debug("Sending ["+rpcResponse.getCorrelationId()+"]RpcResponse.");
+					log.debug("Sending ["+correlationId+"]RpcResponse.");
 				}
 				rpcClient.getChannel().writeAndFlush(payload);
 
@@ -265,17 +342,7 @@ public class RpcServer implements RpcServerExecutorCallback {
 				if ( errorMessage == null ) {
 					errorMessage = "null";
 				}
-				RpcError rpcError = RpcError.newBuilder()
-						.setCorrelationId(correlationId)
-						.setErrorMessage(errorMessage).build();
-				WirePayload payload = WirePayload.newBuilder()
-						.setRpcError(rpcError).build();
-
-				if ( log.isDebugEnabled() ) {
-					log.debug("Sending ["+rpcError.getCorrelationId()+"]RpcError.");
-				}
-				rpcClient.getChannel().writeAndFlush(payload);
-				
+				RpcError rpcError = sendError(correlationId, errorMessage, state.getController().isRetryable());
 				doLog(state, rpcError, errorMessage);
 			}
 		} else {
@@ -287,14 +354,13 @@ public class RpcServer implements RpcServerExecutorCallback {
 	 * Cancel any pending server calls due to closure of the RpcClient.
 	 */
 	public void handleClosure() {
-		List<Integer> pendingCallIds = new ArrayList<Integer>();
 		do {
-			pendingCallIds.addAll(pendingServerCallMap.keySet());
-			for( Integer correlationId : pendingCallIds ) {
+			for( int correlationId : pendingServerCallMap.keys() ) {
 				PendingServerCallState state = pendingServerCallMap.remove(correlationId);
 				if (state != null) {
+					removedFromQueue(state);
 					// we only issue one cancel to the Executor
-					callExecutor.cancel(state.getExecutor());
+					state.getCallExecutor().cancel(state.getExecutor());
 
 					RpcCancel rpcCancel = RpcCancel.newBuilder().setCorrelationId(correlationId).build();
 
@@ -304,7 +370,44 @@ public class RpcServer implements RpcServerExecutorCallback {
 					doLog(state, rpcCancel, "Cancelled on Close");
 				}
 			}
-		} while( pendingServerCallMap.size() > 0 );
+		} while( !pendingServerCallMap.isEmpty() );
+	}
+	
+	/**
+	 * Tell the load shedder if the call leaves the queue without having started.
+	 * 
+	 * @param state
+	 */
+	private void removedFromQueue( PendingServerCallState state ) {
+		CoDelLoadShedder shedder = state.takeLoadShedder();
+		if ( shedder != null ) {
+			shedder.onRemoved();
+		}
+	}
+
+	/**
+	 * Send an RpcError for a call.
+	 * 
+	 * @param correlationId
+	 * @param errorMessage
+	 * @param retryable whether the call did not run and can safely be retried.
+	 * @return the RpcError sent.
+	 */
+	private RpcError sendError( int correlationId, String errorMessage, boolean retryable ) {
+		RpcError.Builder rpcError = RpcError.newBuilder()
+				.setCorrelationId(correlationId)
+				.setErrorMessage(errorMessage);
+		if ( retryable ) {
+			rpcError.setRetryable(true);
+		}
+		WirePayload payload = WirePayload.newBuilder()
+				.setRpcError(rpcError).build();
+
+		if ( log.isDebugEnabled() ) {
+			log.debug("Sending ["+correlationId+"]RpcError. " + errorMessage);
+		}
+		rpcClient.getChannel().writeAndFlush(payload);
+		return payload.getRpcError();
 	}
 	
 	protected void doErrorLog( int correlationId, String signature, Message request, Message response, String errorMessage ) {
@@ -333,4 +436,18 @@ public class RpcServer implements RpcServerExecutorCallback {
 		return rpcServiceRegistry;
 	}
 
+	/**
+	 * @return the loadShedder of calls on the default executor, or null.
+	 */
+	public CoDelLoadShedder getLoadShedder() {
+		return loadShedder;
+	}
+
+	/**
+	 * @param loadShedder sheds calls on the default executor when its queueing delay stays too high.
+	 */
+	public void setLoadShedder(CoDelLoadShedder loadShedder) {
+		this.loadShedder = loadShedder;
+	}
+
 }
@@ -15,6 +15,7 @@
 */
 package com.googlecode.protobuf.pro.duplex;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -24,7 +25,13 @@ import org.slf4j.LoggerFactory;
 
 import com.google.protobuf.BlockingService;
 import com.google.protobuf.Descriptors;
+import com.google.protobuf.Descriptors.MethodDescriptor;
+import com.google.protobuf.Message;
 import com.google.protobuf.Service;
+import com.googlecode.protobuf.pro.duplex.execute.PendingServerCallState;
+import com.googlecode.protobuf.pro.duplex.execute.RpcServerCallExecutor;
+import com.googlecode.protobuf.pro.duplex.execute.RpcServerExecutorCallback;
+import com.googlecode.protobuf.pro.duplex.execute.ServerRpcController;
 
 /**
  * The RpcServiceRegistry holds a reference to each RPC service 
@@ -33,6 +40,23 @@ import com.google.protobuf.Service;
  * order for the RPC layer to transparently handle
  * protobuf messages with extensions. 
  * 
+ * At registration, a {@link ServiceMethod} dispatch entry is built for each
+ * method of the service, so that no descriptors or prototypes are resolved
+ * per call. Each method is given a numeric methodId, which
+ * clients can call it by instead of by the service and method names. A
+ * methodId is never reused, a method keeps its id if its service is removed
+ * and registered again.
+ * 
+ * A service, or single methods of it, can be assigned their own
+ * {@link RpcServerCallExecutor}, as a bulkhead which slow or overloaded
+ * methods cannot exhaust the threads of others through. Each executor has its
+ * own concurrency cap, queue bound and overload behaviour. The calls of
+ * unassigned methods run on the server's default executor.
+ * 
+ * Services can be registered, replaced and removed while the server is
+ * running. Each change copies the registrations and atomically publishes the
+ * copy, so resolving a service or method on each call never locks.
+ * 
  * @author Peter Klauser
  *
  */
@@ -40,7 +64,8 @@ public class RpcServiceRegistry {
 	
 	private static Logger log = LoggerFactory.getLogger(RpcServiceRegistry.class);
 	
-	private Map<String, ServiceDescriptor> serviceNameMap = new HashMap<String, ServiceDescriptor>();
+	// replaced as a whole by each change, so that calls resolve without locking.
+	private volatile Registry registry = new Registry();
 	
 	public RpcServiceRegistry() {
 	}
@@ -55,18 +80,22 @@ public class RpcServiceRegistry {
 	}
 
 	/**
-	 * Return a map of service names to their descriptors.
+	 * Return a map of service names to their descriptors, a snapshot which
+	 * later changes to the registry do not affect.
 	 * @return
 	 */
 	public Map<String, ServiceDescriptor> getServices() {
-		return Collections.unmodifiableMap(serviceNameMap);
+		return Collections.unmodifiableMap(registry.serviceNameMap);
 	}
 	
 	/**
 	 * Clears all registered services.
 	 */
-	public void clear() {
-		serviceNameMap.clear();
+	public synchronized void clear() {
+		Registry next = new Registry(registry);
+		next.serviceNameMap.clear();
+		Arrays.fill(next.methodTable, null);
+		registry = next;
 	}
 	
 	/**
@@ -79,6 +108,22 @@ public class RpcServiceRegistry {
 		addService(allowTimeout, serviceImplementation);
 	}
 
+	/**
+	 * Registers a Service implementation at an RPC server, whose calls run on
+	 * their own executor instead of the server's default executor.
+	 * 
+	 * @param allowTimeout whether to allow client timeouts to cause service cancellation.
+	 * @param serviceImplementation
+	 * @param callExecutor the executor of the service's calls.
+	 */
+	public void registerService(boolean allowTimeout, Service serviceImplementation, RpcServerCallExecutor callExecutor) {
+		if ( callExecutor == null ) {
+			throw new IllegalArgumentException("callExecutor");
+		}
+		String serviceName = putService(new ServiceDescriptor(allowTimeout, serviceImplementation), serviceImplementation.getDescriptorForType(), false, callExecutor);
+		log.info("Registered NonBlocking " + serviceName +" allowTimeout="+(allowTimeout?"Y":"N") + " callExecutor=" + callExecutor);
+	}
+
 	/**
 	 * Registers a BlockingService implementation at an RPC server.
 	 * 
@@ -98,6 +143,50 @@ public class RpcServiceRegistry {
 		addService(allowTimeout, serviceImplementation);
 	}
 
+	/**
+	 * Registers a BlockingService implementation at an RPC server, whose calls
+	 * run on their own executor instead of the server's default executor.
+	 * 
+	 * @param allowTimeout whether to allow client timeouts to cause service cancellation.
+	 * @param serviceImplementation
+	 * @param callExecutor the executor of the service's calls.
+	 */
+	public void registerService(boolean allowTimeout, BlockingService serviceImplementation, RpcServerCallExecutor callExecutor) {
+		if ( callExecutor == null ) {
+			throw new IllegalArgumentException("callExecutor");
+		}
+		String serviceName = putService(new ServiceDescriptor(allowTimeout, serviceImplementation), serviceImplementation.getDescriptorForType(), false, callExecutor);
+		log.info("Registered Blocking " + serviceName + " allowTimeout="+(allowTimeout?"Y":"N") + " callExecutor=" + callExecutor);
+	}
+
+	/**
+	 * Atomically replaces the registered implementation of a Service, or
+	 * registers it if the service is not registered. Calls which already
+	 * resolved the previous implementation complete on it, subsequent calls
+	 * go to the new one. The methods keep their methodIds, response
+	 * compression settings and executors.
+	 * 
+	 * @param allowTimeout whether to allow client timeouts to cause service cancellation.
+	 * @param serviceImplementation
+	 */
+	public void replaceService(boolean allowTimeout, Service serviceImplementation) {
+		String serviceName = putService(new ServiceDescriptor(allowTimeout, serviceImplementation), serviceImplementation.getDescriptorForType(), true, null);
+		log.info("Replaced NonBlocking " + serviceName +" allowTimeout="+(allowTimeout?"Y":"N"));
+	}
+
+	/**
+	 * Atomically replaces the registered implementation of a BlockingService,
+	 * or registers it if the service is not registered.
+	 * 
+	 * @see #replaceService(boolean, Service)
+	 * @param allowTimeout whether to allow client timeouts to cause service cancellation.
+	 * @param serviceImplementation
+	 */
+	public void replaceService(boolean allowTimeout, BlockingService serviceImplementation) {
+		String serviceName = putService(new ServiceDescriptor(allowTimeout, serviceImplementation), serviceImplementation.getDescriptorForType(), true, null);
+		log.info("Replaced Blocking " + serviceName +" allowTimeout="+(allowTimeout?"Y":"N"));
+	}
+
 	/**
 	 * Removes a Service and it's corresponding ExtensionRegistry if
 	 * one exists.
@@ -106,8 +195,7 @@ public class RpcServiceRegistry {
 	 */
 	public void removeService(Service serviceImplementation) {
 		String serviceName = getServiceName(serviceImplementation.getDescriptorForType());
-		if ( serviceNameMap.remove(serviceName) != null ) {
-			
+		if ( removeService(serviceImplementation.getDescriptorForType()) ) {
 			log.info("Removed " + serviceName);
 		}
 	}
@@ -120,14 +208,41 @@ public class RpcServiceRegistry {
 	 */
 	public void removeService(BlockingService serviceImplementation) {
 		String serviceName = getServiceName(serviceImplementation.getDescriptorForType());
-		if ( serviceNameMap.remove(serviceName) != null ) {
-			
+		if ( removeService(serviceImplementation.getDescriptorForType()) ) {
 			log.info("Removed " + serviceName);
 		}
 	}
 
+	/**
+	 * Set whether the RpcResponses of a method of a registered service are
+	 * compressed, regardless of the connection's default. A client can still
+	 * override this per call. Compression only takes place if both peers
+	 * negotiated a per frame compression codec.
+	 * 
+	 * @param method
+	 * @param compress
+	 */
+	public synchronized void setCompressResponse(MethodDescriptor method, boolean compress) {
+		Registry next = copyService(method);
+		next.serviceNameMap.get(getServiceName(method.getService())).getMethod(method.getName()).setCompressResponse(compress);
+		registry = next;
+	}
+
+	/**
+	 * Assign the executor which runs the calls of a method of a registered
+	 * service, overriding the executor of the service or the server's default.
+	 * 
+	 * @param method
+	 * @param callExecutor the executor, or null for the server's default executor.
+	 */
+	public synchronized void setCallExecutor(MethodDescriptor method, RpcServerCallExecutor callExecutor) {
+		Registry next = copyService(method);
+		next.serviceNameMap.get(getServiceName(method.getService())).getMethod(method.getName()).setCallExecutor(callExecutor);
+		registry = next;
+	}
+
 	public ServiceDescriptor resolveService(String serviceName) {
-		ServiceDescriptor s = serviceNameMap.get(serviceName);
+		ServiceDescriptor s = registry.serviceNameMap.get(serviceName);
 		if ( log.isDebugEnabled() ) {
 			if ( s != null ) {
 				log.debug("Resolved " + serviceName);
@@ -138,28 +253,107 @@ public class RpcServiceRegistry {
 		return s;
 	}
 
-	private String addService(boolean allowTimeout, Service serviceImplementation) {
-		String serviceName = getServiceName(serviceImplementation.getDescriptorForType());
-		if ( serviceNameMap.containsKey(serviceName) ) {
-			throw new IllegalStateException("Duplicate serviceName "+ serviceName);
+	/**
+	 * @param methodId
+	 * @return the method of a registered service with the methodId, or null.
+	 */
+	public ServiceMethod resolveMethod(int methodId) {
+		ServiceMethod[] methodTable = registry.methodTable;
+		if ( methodId <= 0 || methodId >= methodTable.length ) {
+			return null;
 		}
-		serviceNameMap.put(serviceName, new ServiceDescriptor(allowTimeout, serviceImplementation));
+		return methodTable[methodId];
+	}
+
+	/**
+	 * @param method
+	 * @return the methodId of the method, or null if its service was never registered.
+	 */
+	public Integer getMethodId(MethodDescriptor method) {
+		return registry.methodIdMap.get(method.getFullName());
+	}
+
+	private String addService(boolean allowTimeout, Service serviceImplementation) {
+		String serviceName = putService(new ServiceDescriptor(allowTimeout, serviceImplementation), serviceImplementation.getDescriptorForType(), false, null);
 		log.info("Registered NonBlocking " + serviceName +" allowTimeout="+(allowTimeout?"Y":"N"));
 		
 		return serviceName;
 	}
 
 	private String addService(boolean allowTimeout, BlockingService serviceImplementation) {
-		String serviceName = getServiceName(serviceImplementation.getDescriptorForType());
-		if ( serviceNameMap.containsKey(serviceName) ) {
-			throw new IllegalStateException("Duplicate serviceName "+ serviceName);
-		}
-		serviceNameMap.put(serviceName, new ServiceDescriptor(allowTimeout, serviceImplementation));
+		String serviceName = putService(new ServiceDescriptor(allowTimeout, serviceImplementation), serviceImplementation.getDescriptorForType(), false, null);
 		log.info("Registered Blocking " + serviceName + " allowTimeout="+(allowTimeout?"Y":"N"));
 		
 		return serviceName;
 	}
 	
+	private synchronized String putService( ServiceDescriptor sd, Descriptors.ServiceDescriptor descriptor, boolean replace, RpcServerCallExecutor callExecutor ) {
+		String serviceName = getServiceName(descriptor);
+		Registry next = new Registry(registry);
+		ServiceDescriptor previous = next.serviceNameMap.put(serviceName, sd);
+		if ( previous != null && !replace ) {
+			throw new IllegalStateException("Duplicate serviceName "+ serviceName);
+		}
+		for( MethodDescriptor method : descriptor.getMethods() ) {
+			Integer methodId = next.methodIdMap.get(method.getFullName());
+			if ( methodId == null ) {
+				methodId = next.methodTable.length;
+				next.methodIdMap.put(method.getFullName(), methodId);
+				next.methodTable = Arrays.copyOf(next.methodTable, methodId + 1);
+			}
+			ServiceMethod serviceMethod = new ServiceMethod(methodId, sd, method);
+			if ( previous != null && previous.getMethod(method.getName()) != null ) {
+				serviceMethod.setCompressResponse(previous.getMethod(method.getName()).getCompressResponse());
+				serviceMethod.setCallExecutor(previous.getMethod(method.getName()).getCallExecutor());
+			}
+			if ( callExecutor != null ) {
+				serviceMethod.setCallExecutor(callExecutor);
+			}
+			sd.methodMap.put(method.getName(), serviceMethod);
+			next.methodTable[methodId] = serviceMethod;
+		}
+		registry = next;
+		return serviceName;
+	}
+	
+	/**
+	 * Copy the registrations with new dispatch entries for the method's
+	 * service, which can be changed until the copy is published.
+	 */
+	private Registry copyService( MethodDescriptor method ) {
+		String serviceName = getServiceName(method.getService());
+		ServiceDescriptor previous = registry.serviceNameMap.get(serviceName);
+		if ( previous == null || previous.getMethod(method.getName()) == null ) {
+			throw new IllegalArgumentException("Unknown method " + method.getFullName());
+		}
+		Registry next = new Registry(registry);
+		ServiceDescriptor sd = new ServiceDescriptor(previous);
+		for( ServiceMethod m : previous.methodMap.values() ) {
+			ServiceMethod serviceMethod = new ServiceMethod(m.getMethodId(), sd, m.getMethodDescriptor());
+			serviceMethod.setCompressResponse(m.getCompressResponse());
+			serviceMethod.setCallExecutor(m.getCallExecutor());
+			sd.methodMap.put(m.getMethodDescriptor().getName(), serviceMethod);
+			next.methodTable[m.getMethodId()] = serviceMethod;
+		}
+		next.serviceNameMap.put(serviceName, sd);
+		return next;
+	}
+	
+	private synchronized boolean removeService( Descriptors.ServiceDescriptor descriptor ) {
+		Registry next = new Registry(registry);
+		if ( next.serviceNameMap.remove(getServiceName(descriptor)) == null ) {
+			return false;
+		}
+		for( MethodDescriptor method : descriptor.getMethods() ) {
+			Integer methodId = next.methodIdMap.get(method.getFullName());
+			if ( methodId != null ) {
+				next.methodTable[methodId] = null;
+			}
+		}
+		registry = next;
+		return true;
+	}
+	
 	//Issue 29: use FQN for services to avoid problems with duplicate service names in different pkgs.
 	private String getServiceName( Descriptors.ServiceDescriptor descriptor ) {
 		return descriptor.getFullName();
@@ -169,6 +363,8 @@ public class RpcServiceRegistry {
 		private final Service service;
 		private final BlockingService blockingService;
 		private final boolean allowTimeout;
+		// method name to dispatch entry, filled at registration.
+		private final Map<String, ServiceMethod> methodMap = new HashMap<String, ServiceMethod>();
 		
 		public ServiceDescriptor( boolean allowTimeout, BlockingService s ) {
 			this.service = null;
@@ -181,6 +377,12 @@ public class RpcServiceRegistry {
 			this.blockingService = null;
 			this.allowTimeout = allowTimeout;
 		}
+		
+		ServiceDescriptor( ServiceDescriptor sd ) {
+			this.service = sd.service;
+			this.blockingService = sd.blockingService;
+			this.allowTimeout = sd.allowTimeout;
+		}
 
 		/**
 		 * @return the service
@@ -202,5 +404,154 @@ public class RpcServiceRegistry {
 		public boolean isAllowTimeout() {
 			return allowTimeout;
 		}
+
+		/**
+		 * @param methodName
+		 * @return the dispatch entry of the service's method, or null.
+		 */
+		public ServiceMethod getMethod(String methodName) {
+			return methodMap.get(methodName);
+		}
+	}
+
+	/**
+	 * A snapshot of the registrations, not changed once published.
+	 */
+	private static class Registry {
+		private final Map<String, ServiceDescriptor> serviceNameMap;
+		// method full name to methodId, kept when services are removed.
+		private final Map<String, Integer> methodIdMap;
+		// indexed by methodId, null for removed services' methods.
+		private ServiceMethod[] methodTable;
+		
+		Registry() {
+			serviceNameMap = new HashMap<String, ServiceDescriptor>();
+			methodIdMap = new HashMap<String, Integer>();
+			methodTable = new ServiceMethod[1];
+		}
+		
+		Registry( Registry registry ) {
+			serviceNameMap = new HashMap<String, ServiceDescriptor>(registry.serviceNameMap);
+			methodIdMap = new HashMap<String, Integer>(registry.methodIdMap);
+			methodTable = registry.methodTable.clone();
+		}
+	}
+
+	/**
+	 * The dispatch entry of a method of a registered service, identified by
+	 * its methodId, with everything resolved which the RpcServer needs to
+	 * perform a call. Not changed once published, a change of its settings
+	 * publishes a new entry.
+	 */
+	public static class ServiceMethod {
+		private final int methodId;
+		private final ServiceDescriptor serviceDescriptor;
+		private final MethodDescriptor methodDescriptor;
+		private final Message requestPrototype;
+		private final Message responsePrototype;
+		
+		/**
+		 * Whether the RpcResponses are compressed, null for the connection's default.
+		 */
+		private Boolean compressResponse;
+		
+		/**
+		 * The executor of the method's calls, null for the server's default.
+		 */
+		private RpcServerCallExecutor callExecutor;
+		
+		public ServiceMethod( int methodId, ServiceDescriptor serviceDescriptor, MethodDescriptor methodDescriptor ) {
+			this.methodId = methodId;
+			this.serviceDescriptor = serviceDescriptor;
+			this.methodDescriptor = methodDescriptor;
+			if ( serviceDescriptor.getBlockingService() != null ) {
+				this.requestPrototype = serviceDescriptor.getBlockingService().getRequestPrototype(methodDescriptor);
+				this.responsePrototype = serviceDescriptor.getBlockingService().getResponsePrototype(methodDescriptor);
+			} else {
+				this.requestPrototype = serviceDescriptor.getService().getRequestPrototype(methodDescriptor);
+				this.responsePrototype = serviceDescriptor.getService().getResponsePrototype(methodDescriptor);
+			}
+		}
+		
+		/**
+		 * Create the state of a call to the method, which the RpcServerCallExecutor
+		 * invokes on the blocking or non blocking service.
+		 * 
+		 * @param executorCallback
+		 * @param controller
+		 * @param request
+		 * @param startTS
+		 * @param timeoutMs
+		 * @return the pending call.
+		 */
+		public PendingServerCallState newPendingServerCallState( RpcServerExecutorCallback executorCallback, ServerRpcController controller, Message request, long startTS, int timeoutMs ) {
+			if ( serviceDescriptor.getBlockingService() != null ) {
+				return new PendingServerCallState(executorCallback, serviceDescriptor.getBlockingService(), controller, methodDescriptor, request, startTS, timeoutMs);
+			}
+			return new PendingServerCallState(executorCallback, serviceDescriptor.getService(), controller, methodDescriptor, request, startTS, timeoutMs);
+		}
+
+		/**
+		 * @return the methodId
+		 */
+		public int getMethodId() {
+			return methodId;
+		}
+
+		/**
+		 * @return the serviceDescriptor
+		 */
+		public ServiceDescriptor getServiceDescriptor() {
+			return serviceDescriptor;
+		}
+
+		/**
+		 * @return the methodDescriptor
+		 */
+		public MethodDescriptor getMethodDescriptor() {
+			return methodDescriptor;
+		}
+
+		/**
+		 * @return the requestPrototype
+		 */
+		public Message getRequestPrototype() {
+			return requestPrototype;
+		}
+
+		/**
+		 * @return the responsePrototype
+		 */
+		public Message getResponsePrototype() {
+			return responsePrototype;
+		}
+
+		/**
+		 * @return whether the RpcResponses are compressed, null for the connection's default.
+		 */
+		public Boolean getCompressResponse() {
+			return compressResponse;
+		}
+
+		/**
+		 * @param compressResponse whether the RpcResponses are compressed.
+		 */
+		void setCompressResponse(Boolean compressResponse) {
+			this.compressResponse = compressResponse;
+		}
+
+		/**
+		 * @return the executor of the method's calls, null for the server's default.
+		 */
+		public RpcServerCallExecutor getCallExecutor() {
+			return callExecutor;
+		}
+
+		/**
+		 * @param callExecutor the executor of the method's calls, null for the server's default.
+		 */
+		void setCallExecutor(RpcServerCallExecutor callExecutor) {
+			this.callExecutor = callExecutor;
+		}
 	}
 }
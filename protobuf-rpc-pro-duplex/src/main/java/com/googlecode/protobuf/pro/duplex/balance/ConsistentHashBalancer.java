@@ -0,0 +1,105 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.balance;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Chooses the endpoint by the request key on a hash ring, so that calls
+ * with the same key go to the same peer, and only the keys of a lost peer
+ * move elsewhere. Each endpoint is placed on the ring at a number of
+ * virtual nodes to even out the share of keys. Calls without a key go to
+ * a random endpoint.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class ConsistentHashBalancer implements LoadBalancer {
+
+	public static final int DEFAULT_VIRTUAL_NODES = 160;
+	
+	private final int virtualNodes;
+	
+	private volatile Ring ring;
+	
+	public ConsistentHashBalancer() {
+		this(DEFAULT_VIRTUAL_NODES);
+	}
+	
+	/**
+	 * @param virtualNodes the number of places of each endpoint on the ring.
+	 */
+	public ConsistentHashBalancer( int virtualNodes ) {
+		if ( virtualNodes <= 0 ) {
+			throw new IllegalArgumentException("virtualNodes");
+		}
+		this.virtualNodes = virtualNodes;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.balance.LoadBalancer#select(java.util.List, java.lang.String)
+	 */
+	@Override
+	public Endpoint select(List<Endpoint> endpoints, String key) {
+		if ( key == null ) {
+			return endpoints.get(ThreadLocalRandom.current().nextInt(endpoints.size()));
+		}
+		Ring r = ring;
+		if ( r == null || r.endpoints != endpoints ) {
+			r = new Ring(endpoints, virtualNodes);
+			ring = r;
+		}
+		Map.Entry<Integer, Endpoint> entry = r.nodes.ceilingEntry(hash(key));
+		if ( entry == null ) {
+			entry = r.nodes.firstEntry();
+		}
+		return entry.getValue();
+	}
+	
+	private static class Ring {
+		final List<Endpoint> endpoints;
+		final TreeMap<Integer, Endpoint> nodes = new TreeMap<Integer, Endpoint>();
+		
+		Ring( List<Endpoint> endpoints, int virtualNodes ) {
+			this.endpoints = endpoints;
+			for( Endpoint endpoint : endpoints ) {
+				for( int i = 0; i < virtualNodes; i++ ) {
+					nodes.put(hash(endpoint.getName() + "#" + i), endpoint);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * FNV-1a, with the MurmurHash3 finalizer to spread similar keys.
+	 */
+	static int hash( String key ) {
+		int h = 0x811c9dc5;
+		for( int i = 0; i < key.length(); i++ ) {
+			h ^= key.charAt(i);
+			h *= 0x01000193;
+		}
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
+	}
+}
@@ -0,0 +1,125 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.balance;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.googlecode.protobuf.pro.duplex.RpcClientChannel;
+
+/**
+ * An Endpoint is a peer of a {@link LoadBalancedChannel}, keeping the
+ * statistics a {@link LoadBalancer} chooses by: the number of calls
+ * awaiting their response, and the peak exponentially weighted moving
+ * average of the round trip time of its calls.
+ * 
+ * The peak EWMA takes a slower call's round trip time at once, and decays
+ * towards faster ones with a time constant of {@link #DECAY_NANOS}. A failed
+ * call counts with at least {@link #FAILURE_PENALTY_NANOS}, so that a peer
+ * whose calls fail fast does not look like the fastest one.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class Endpoint {
+
+	public static final long DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+	public static final long FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);
+	
+	private final String name;
+	private volatile RpcClientChannel channel;
+	private volatile boolean live = true;
+	
+	private final AtomicInteger pending = new AtomicInteger();
+	private long ewmaNanos;
+	private long lastSampleNanos;
+	
+	Endpoint( RpcClientChannel channel ) {
+		this.name = channel.getPeerInfo().getName();
+		this.channel = channel;
+	}
+	
+	void callStarted() {
+		pending.incrementAndGet();
+	}
+	
+	/**
+	 * @param rttNanos the call's round trip time.
+	 * @param failed failed calls count with at least the FAILURE_PENALTY_NANOS.
+	 */
+	void callCompleted( long rttNanos, boolean failed ) {
+		pending.decrementAndGet();
+		sample(failed ? Math.max(rttNanos, FAILURE_PENALTY_NANOS) : rttNanos, System.nanoTime());
+	}
+	
+	synchronized void sample( long rttNanos, long nowNanos ) {
+		if ( lastSampleNanos == 0 || rttNanos > ewmaNanos ) {
+			ewmaNanos = rttNanos;
+		} else {
+			double w = Math.exp(-(double)(nowNanos - lastSampleNanos) / DECAY_NANOS);
+			ewmaNanos = (long)(ewmaNanos * w + rttNanos * (1 - w));
+		}
+		lastSampleNanos = nowNanos;
+	}
+	
+	/**
+	 * @return the peer's name.
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * @return the current channel to the peer.
+	 */
+	public RpcClientChannel getChannel() {
+		return channel;
+	}
+	
+	void setChannel( RpcClientChannel channel ) {
+		this.channel = channel;
+	}
+	
+	/**
+	 * @return whether calls are made to the peer, false while its connection is lost.
+	 */
+	public boolean isLive() {
+		return live;
+	}
+	
+	void setLive( boolean live ) {
+		this.live = live;
+	}
+	
+	/**
+	 * @return the number of calls awaiting their response.
+	 */
+	public int getPending() {
+		return pending.get();
+	}
+	
+	/**
+	 * @return the peak EWMA round trip time, 0 before the first call completed.
+	 */
+	public synchronized long getEwmaNanos() {
+		return ewmaNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "Endpoint[" + name + ", live=" + live + ", pending=" + pending.get() + ", ewma=" + getEwmaNanos() + "ns]";
+	}
+}
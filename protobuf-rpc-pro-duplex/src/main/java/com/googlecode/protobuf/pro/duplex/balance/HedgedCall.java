@@ -0,0 +1,191 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.balance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import com.google.protobuf.Descriptors.MethodDescriptor;
+import com.google.protobuf.Message;
+import com.google.protobuf.RpcCallback;
+import com.googlecode.protobuf.pro.duplex.ClientRpcController;
+
+/**
+ * A call of a {@link LoadBalancedChannel} hedged by its {@link HedgingPolicy}.
+ * 
+ * Each attempt is made with a controller of its own, the caller's controller
+ * only receiving the outcome, so that cancelling the losing attempt does not
+ * fail the caller's controller. The first successful attempt wins, a failure
+ * only once no other attempt is outstanding.
+ * 
+ * @author Peter Klauser
+ *
+ */
+class HedgedCall {
+
+	private final LoadBalancedChannel channel;
+	private final HedgingPolicy policy;
+	private final Endpoint primary;
+	private final MethodDescriptor method;
+	private final ClientRpcController controller;
+	private final Message request;
+	private final Message responsePrototype;
+	private RpcCallback<Message> done;
+	private long startNanos;
+	
+	// guarded by this.
+	private final List<ClientRpcController> attempts = new ArrayList<ClientRpcController>(2);
+	private int outstanding;
+	private boolean completed;
+	private Future<?> hedgeTimer;
+	
+	HedgedCall( LoadBalancedChannel channel, HedgingPolicy policy, Endpoint primary, MethodDescriptor method, ClientRpcController controller, Message request, Message responsePrototype ) {
+		this.channel = channel;
+		this.policy = policy;
+		this.primary = primary;
+		this.method = method;
+		this.controller = controller;
+		this.request = request;
+		this.responsePrototype = responsePrototype;
+	}
+	
+	/**
+	 * @param done called with the outcome.
+	 */
+	void start( RpcCallback<Message> done ) {
+		this.done = done;
+		this.startNanos = System.nanoTime();
+		policy.callStarted();
+		ClientRpcController attempt = send(primary);
+		if ( attempt == null ) {
+			return;
+		}
+		Future<?> timer = channel.scheduleHedge(new Runnable() {
+			@Override
+			public void run() {
+				hedge();
+			}
+		}, policy.getDelayNanos(method), attempt);
+		synchronized( this ) {
+			if ( !completed ) {
+				hedgeTimer = timer;
+				return;
+			}
+		}
+		timer.cancel(false);
+	}
+	
+	private void hedge() {
+		synchronized( this ) {
+			if ( completed ) {
+				return;
+			}
+		}
+		if ( !policy.tryHedge() ) {
+			return;
+		}
+		Endpoint endpoint = channel.selectHedge(primary);
+		if ( endpoint != null ) {
+			send(endpoint);
+		}
+	}
+	
+	private ClientRpcController send( final Endpoint endpoint ) {
+		final ClientRpcController attempt = endpoint.getChannel().newRpcController();
+		attempt.setTimeoutMs(controller.getTimeoutMs());
+		attempt.setPriority(controller.getPriority());
+		if ( controller.getCompress() != null ) {
+			attempt.setCompress(controller.getCompress());
+		}
+		synchronized( this ) {
+			if ( completed ) {
+				return null;
+			}
+			attempts.add(attempt);
+			outstanding++;
+		}
+		endpoint.callStarted();
+		final long startNanos = System.nanoTime();
+		endpoint.getChannel().callMethod(method, attempt, request, responsePrototype, new RpcCallback<Message>() {
+			@Override
+			public void run(Message response) {
+				long rttNanos = System.nanoTime() - startNanos;
+				// a cancelled loser was only slower, it did not fail.
+				endpoint.callCompleted(rttNanos, attempt.failed() && !"Cancel".equals(attempt.errorText()));
+				attemptCompleted(attempt, response);
+			}
+		});
+		return attempt;
+	}
+	
+	private void attemptCompleted( ClientRpcController attempt, Message response ) {
+		List<ClientRpcController> losers = new ArrayList<ClientRpcController>(1);
+		Future<?> timer = null;
+		synchronized( this ) {
+			outstanding--;
+			if ( completed || (attempt.failed() && outstanding > 0) ) {
+				return;
+			}
+			completed = true;
+			timer = hedgeTimer;
+			for( ClientRpcController other : attempts ) {
+				if ( other != attempt ) {
+					losers.add(other);
+				}
+			}
+		}
+		if ( timer != null ) {
+			timer.cancel(false);
+		}
+		for( ClientRpcController loser : losers ) {
+			loser.startCancel();
+		}
+		if ( attempt.failed() ) {
+			controller.setFailed(attempt.errorText());
+			controller.setRetryable(attempt.isRetryable());
+		} else {
+			// the call's latency, not the winning hedge's, or the percentile drifts down.
+			policy.record(method, System.nanoTime() - startNanos);
+		}
+		if ( done != null ) {
+			done.run(response);
+		}
+	}
+	
+	/**
+	 * Cancel all attempts without completing the call, whose caller gave up.
+	 */
+	void cancel() {
+		List<ClientRpcController> cancelled = new ArrayList<ClientRpcController>(2);
+		Future<?> timer = null;
+		synchronized( this ) {
+			if ( completed ) {
+				return;
+			}
+			completed = true;
+			timer = hedgeTimer;
+			cancelled.addAll(attempts);
+		}
+		if ( timer != null ) {
+			timer.cancel(false);
+		}
+		for( ClientRpcController attempt : cancelled ) {
+			attempt.startCancel();
+		}
+	}
+	
+}
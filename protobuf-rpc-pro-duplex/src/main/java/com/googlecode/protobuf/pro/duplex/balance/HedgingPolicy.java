@@ -0,0 +1,203 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.balance;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.google.protobuf.Descriptors.MethodDescriptor;
+
+/**
+ * A HedgingPolicy determines which calls of a {@link LoadBalancedChannel}
+ * are hedged: if a call has not completed after a delay, the same request
+ * is sent to a second peer, the first response wins and the other call
+ * is cancelled.
+ * 
+ * Only methods enabled with {@link #hedge(MethodDescriptor, double)} are
+ * hedged, they must be idempotent. The delay is the given percentile of
+ * the method's recent round trip times, or the initial delay until enough
+ * calls completed. A budget limits hedges to a ratio of the calls, so
+ * that hedging cannot amplify the load of an overloaded service.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class HedgingPolicy {
+
+	public static final double DEFAULT_BUDGET_RATIO = 0.1;
+	public static final int DEFAULT_MAX_BUDGET = 10;
+	public static final long DEFAULT_INITIAL_DELAY_MS = 100;
+	public static final int WINDOW_SIZE = 1000;
+	public static final int MIN_SAMPLES = 20;
+	
+	// full method name to its latency window.
+	private final Map<String, LatencyWindow> methods = new ConcurrentHashMap<String, LatencyWindow>();
+	
+	private final double budgetRatio;
+	private final int maxBudget;
+	private double budget;
+	private long hedges;
+	
+	private volatile long initialDelayNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_INITIAL_DELAY_MS);
+	
+	public HedgingPolicy() {
+		this(DEFAULT_BUDGET_RATIO, DEFAULT_MAX_BUDGET);
+	}
+	
+	/**
+	 * @param budgetRatio the hedges allowed per call, between 0 and 1.
+	 * @param maxBudget the most hedges saved up for a burst of slow calls.
+	 */
+	public HedgingPolicy( double budgetRatio, int maxBudget ) {
+		if ( budgetRatio <= 0 || budgetRatio > 1 ) {
+			throw new IllegalArgumentException("budgetRatio");
+		}
+		if ( maxBudget <= 0 ) {
+			throw new IllegalArgumentException("maxBudget");
+		}
+		this.budgetRatio = budgetRatio;
+		this.maxBudget = maxBudget;
+	}
+	
+	/**
+	 * Hedge calls of the method once they take longer than the percentile
+	 * of its round trip times.
+	 * 
+	 * @param method an idempotent method.
+	 * @param percentile between 0 and 100, for instance 95.
+	 */
+	public void hedge( MethodDescriptor method, double percentile ) {
+		if ( percentile <= 0 || percentile >= 100 ) {
+			throw new IllegalArgumentException("percentile");
+		}
+		methods.put(method.getFullName(), new LatencyWindow(percentile));
+	}
+	
+	/**
+	 * Stop hedging calls of the method.
+	 * 
+	 * @param method
+	 */
+	public void unhedge( MethodDescriptor method ) {
+		methods.remove(method.getFullName());
+	}
+	
+	/**
+	 * @param method
+	 * @return whether calls of the method are hedged.
+	 */
+	public boolean isHedged( MethodDescriptor method ) {
+		return methods.containsKey(method.getFullName());
+	}
+	
+	/**
+	 * @param method a hedged method.
+	 * @return the time after which a call of the method is hedged.
+	 */
+	public long getDelayNanos( MethodDescriptor method ) {
+		LatencyWindow window = methods.get(method.getFullName());
+		long delay = window != null ? window.getPercentileNanos() : 0;
+		return delay > 0 ? delay : initialDelayNanos;
+	}
+	
+	/**
+	 * Record the round trip time of a hedged method's successful call.
+	 */
+	void record( MethodDescriptor method, long rttNanos ) {
+		LatencyWindow window = methods.get(method.getFullName());
+		if ( window != null ) {
+			window.add(rttNanos);
+		}
+	}
+	
+	/**
+	 * Each call adds to the budget.
+	 */
+	synchronized void callStarted() {
+		budget = Math.min(maxBudget, budget + budgetRatio);
+	}
+	
+	/**
+	 * @return whether the budget allows a hedge, taking it.
+	 */
+	synchronized boolean tryHedge() {
+		if ( budget < 1 ) {
+			return false;
+		}
+		budget -= 1;
+		hedges++;
+		return true;
+	}
+	
+	/**
+	 * @return the number of hedges sent.
+	 */
+	public synchronized long getHedges() {
+		return hedges;
+	}
+
+	/**
+	 * @return the delay before enough round trip times are known.
+	 */
+	public long getInitialDelayMs() {
+		return TimeUnit.NANOSECONDS.toMillis(initialDelayNanos);
+	}
+
+	/**
+	 * @param initialDelayMs the delay before enough round trip times are known.
+	 */
+	public void setInitialDelayMs(long initialDelayMs) {
+		if ( initialDelayMs <= 0 ) {
+			throw new IllegalArgumentException("initialDelayMs");
+		}
+		this.initialDelayNanos = TimeUnit.MILLISECONDS.toNanos(initialDelayMs);
+	}
+	
+	/**
+	 * The last WINDOW_SIZE round trip times of a method, the percentile
+	 * being recomputed every MIN_SAMPLES samples.
+	 */
+	private static class LatencyWindow {
+		final double percentile;
+		final long[] samples = new long[WINDOW_SIZE];
+		int count;
+		int next;
+		volatile long percentileNanos;
+		
+		LatencyWindow( double percentile ) {
+			this.percentile = percentile;
+		}
+		
+		synchronized void add( long rttNanos ) {
+			samples[next] = rttNanos;
+			next = (next + 1) % samples.length;
+			if ( count < samples.length ) {
+				count++;
+			}
+			if ( count >= MIN_SAMPLES && next % MIN_SAMPLES == 0 ) {
+				long[] sorted = Arrays.copyOf(samples, count);
+				Arrays.sort(sorted);
+				percentileNanos = sorted[Math.min(count - 1, (int)(count * percentile / 100))];
+			}
+		}
+		
+		long getPercentileNanos() {
+			return percentileNanos;
+		}
+	}
+}
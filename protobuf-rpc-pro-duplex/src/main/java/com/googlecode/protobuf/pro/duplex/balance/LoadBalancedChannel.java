@@ -0,0 +1,544 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.balance;
+
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPipeline;
+import io.netty.util.concurrent.DefaultPromise;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.protobuf.Descriptors.MethodDescriptor;
+import com.google.protobuf.Message;
+import com.google.protobuf.RpcCallback;
+import com.google.protobuf.RpcController;
+import com.google.protobuf.ServiceException;
+import com.googlecode.protobuf.pro.duplex.ClientRpcController;
+import com.googlecode.protobuf.pro.duplex.PeerInfo;
+import com.googlecode.protobuf.pro.duplex.RpcClient;
+import com.googlecode.protobuf.pro.duplex.RpcClientChannel;
+import com.googlecode.protobuf.pro.duplex.client.RpcClientPool;
+import com.googlecode.protobuf.pro.duplex.execute.BlockingRpcCallback;
+import com.googlecode.protobuf.pro.duplex.listener.RpcConnectionEventListener;
+
+/**
+ * A LoadBalancedChannel spreads calls over the RpcClientChannels to several
+ * peers offering the same services, for instance the RpcClients or
+ * RpcClientPools to each replica of a server. The {@link LoadBalancer}
+ * chooses the peer when a controller is created with {@link #newRpcController()},
+ * or with {@link #newRpcController(String)} giving the request key to hash on.
+ * A call made with the controller goes to that peer.
+ * 
+ * Registered as an {@link RpcConnectionEventListener}, the channel drains a
+ * peer whose connection is lost, making no new calls to it, and takes it
+ * back with the new RpcClientChannel once the connection is reestablished,
+ * for instance by the RpcClientConnectionWatchdog. The events of an
+ * RpcClientPool's connections apply to the pool: it is drained once none of
+ * its connections is open, and taken back as a whole when one reconnects.
+ * 
+ * With a {@link HedgingPolicy}, calls of the hedged methods are sent to a
+ * second peer if they take too long. The caller's controller then only
+ * receives the outcome, so hedged calls are cancelled through the Future
+ * of callAsync, and cannot use OobResponses or request streams.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class LoadBalancedChannel implements RpcClientChannel, RpcConnectionEventListener {
+
+	private static Logger log = LoggerFactory.getLogger(LoadBalancedChannel.class);
+	
+	private final LoadBalancer loadBalancer;
+	
+	// peer name to endpoint, live or not.
+	private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<String, Endpoint>();
+	// the same instance until the live endpoints change.
+	private volatile List<Endpoint> liveEndpoints = Collections.emptyList();
+	
+	private volatile HedgingPolicy hedgingPolicy;
+	
+	private Message onOobMessagePrototype;
+	private RpcCallback<? extends Message> onOobMessageFunction;
+	
+	public LoadBalancedChannel( LoadBalancer loadBalancer ) {
+		if ( loadBalancer == null ) {
+			throw new IllegalArgumentException("loadBalancer");
+		}
+		this.loadBalancer = loadBalancer;
+	}
+	
+	/**
+	 * Add the channel to a peer, replacing the channel to a peer of the same name.
+	 * 
+	 * @param channel
+	 */
+	public void addChannel( RpcClientChannel channel ) {
+		synchronized( endpoints ) {
+			Endpoint endpoint = endpoints.get(channel.getPeerInfo().getName());
+			if ( endpoint == null ) {
+				endpoint = new Endpoint(channel);
+				endpoints.put(endpoint.getName(), endpoint);
+			} else {
+				endpoint.setChannel(channel);
+			}
+			endpoint.setLive(true);
+			if ( onOobMessageFunction != null ) {
+				channel.setOobMessageCallback(onOobMessagePrototype, onOobMessageFunction);
+			}
+			updateLiveEndpoints();
+		}
+	}
+	
+	/**
+	 * Remove the peer, calls in progress complete regardless.
+	 * 
+	 * @param peerInfo
+	 * @return the peer's endpoint, or null if unknown.
+	 */
+	public Endpoint removeChannel( PeerInfo peerInfo ) {
+		synchronized( endpoints ) {
+			Endpoint endpoint = endpoints.remove(peerInfo.getName());
+			updateLiveEndpoints();
+			return endpoint;
+		}
+	}
+	
+	private void updateLiveEndpoints() {
+		List<Endpoint> live = new ArrayList<Endpoint>();
+		for( Endpoint endpoint : endpoints.values() ) {
+			if ( endpoint.isLive() ) {
+				live.add(endpoint);
+			}
+		}
+		liveEndpoints = Collections.unmodifiableList(live);
+	}
+	
+	/**
+	 * Choose the endpoint for a call.
+	 * 
+	 * @param key the request key, or null.
+	 * @return the endpoint chosen by the LoadBalancer.
+	 * @throws IllegalStateException if no peer is live.
+	 */
+	public Endpoint select( String key ) {
+		List<Endpoint> live = liveEndpoints;
+		if ( live.isEmpty() ) {
+			throw new IllegalStateException("No live peer.");
+		}
+		return loadBalancer.select(live, key);
+	}
+	
+	/**
+	 * Choose the second peer of a hedged call, the live one with the fewest
+	 * pending calls other than the primary.
+	 * 
+	 * @return the endpoint, or null if no other peer is live.
+	 */
+	Endpoint selectHedge( Endpoint primary ) {
+		Endpoint selected = null;
+		for( Endpoint endpoint : liveEndpoints ) {
+			if ( endpoint != primary && (selected == null || endpoint.getPending() < selected.getPending()) ) {
+				selected = endpoint;
+			}
+		}
+		return selected;
+	}
+	
+	/**
+	 * Schedule the hedge of a call on the primary attempt's event loop.
+	 * 
+	 * @return the future cancelling the hedge.
+	 */
+	java.util.concurrent.Future<?> scheduleHedge( Runnable hedge, long delayNanos, ClientRpcController primary ) {
+		return primary.getRpcClient().getChannel().eventLoop().schedule(hedge, delayNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	private HedgedCall newHedgedCall( MethodDescriptor method, RpcController controller, Message request, Message responsePrototype ) {
+		HedgingPolicy policy = hedgingPolicy;
+		if ( policy == null || !policy.isHedged(method) || liveEndpoints.size() < 2 ) {
+			return null;
+		}
+		return new HedgedCall(this, policy, getEndpoint(controller), method, (ClientRpcController)controller, request, responsePrototype);
+	}
+	
+	/**
+	 * Create an RPC controller for a call to the peer chosen for the request key,
+	 * used for instance by the {@link ConsistentHashBalancer}.
+	 * 
+	 * @param key the request key, or null.
+	 * @return a new RPC controller of the chosen peer's channel.
+	 */
+	public ClientRpcController newRpcController( String key ) {
+		return select(key).getChannel().newRpcController();
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.RpcClientChannel#newRpcController()
+	 */
+	@Override
+	public ClientRpcController newRpcController() {
+		return newRpcController(null);
+	}
+	
+	private Endpoint getEndpoint( RpcController controller ) {
+		Endpoint endpoint = endpoints.get(((ClientRpcController)controller).getRpcClient().getPeerInfo().getName());
+		if ( endpoint == null ) {
+			throw new IllegalArgumentException("controller not of a peer of this channel.");
+		}
+		return endpoint;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.google.protobuf.RpcChannel#callMethod(com.google.protobuf.Descriptors.MethodDescriptor, com.google.protobuf.RpcController, com.google.protobuf.Message, com.google.protobuf.Message, com.google.protobuf.RpcCallback)
+	 */
+	@Override
+	public void callMethod(MethodDescriptor method, final RpcController controller,
+			Message request, Message responsePrototype, final RpcCallback<Message> done) {
+		HedgedCall hedgedCall = newHedgedCall(method, controller, request, responsePrototype);
+		if ( hedgedCall != null ) {
+			hedgedCall.start(done);
+			return;
+		}
+		final Endpoint endpoint = getEndpoint(controller);
+		final long startNanos = System.nanoTime();
+		endpoint.callStarted();
+		endpoint.getChannel().callMethod(method, controller, request, responsePrototype, new RpcCallback<Message>() {
+			@Override
+			public void run(Message response) {
+				endpoint.callCompleted(System.nanoTime() - startNanos, controller.failed());
+				if ( done != null ) {
+					done.run(response);
+				}
+			}
+		});
+	}
+
+	/* (non-Javadoc)
+	 * @see com.google.protobuf.BlockingRpcChannel#callBlockingMethod(com.google.protobuf.Descriptors.MethodDescriptor, com.google.protobuf.RpcController, com.google.protobuf.Message, com.google.protobuf.Message)
+	 */
+	@Override
+	public Message callBlockingMethod(MethodDescriptor method,
+			RpcController controller, Message request, Message responsePrototype)
+			throws ServiceException {
+		HedgedCall hedgedCall = newHedgedCall(method, controller, request, responsePrototype);
+		if ( hedgedCall != null ) {
+			BlockingRpcCallback callback = new BlockingRpcCallback();
+			hedgedCall.start(callback);
+			try {
+				callback.await();
+			} catch ( InterruptedException e ) {
+				hedgedCall.cancel();
+				Thread.currentThread().interrupt();
+				throw new ServiceException("Blocking call interrupted.");
+			}
+			if ( controller.failed() ) {
+				throw new ServiceException(controller.errorText());
+			}
+			return callback.getMessage();
+		}
+		Endpoint endpoint = getEndpoint(controller);
+		long startNanos = System.nanoTime();
+		endpoint.callStarted();
+		boolean failed = true;
+		try {
+			Message response = endpoint.getChannel().callBlockingMethod(method, controller, request, responsePrototype);
+			failed = controller.failed();
+			return response;
+		} finally {
+			endpoint.callCompleted(System.nanoTime() - startNanos, failed);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.RpcClientChannel#callAsync(com.google.protobuf.Descriptors.MethodDescriptor, com.googlecode.protobuf.pro.duplex.ClientRpcController, com.google.protobuf.Message, com.google.protobuf.Message)
+	 */
+	@Override
+	public <T extends Message> Future<T> callAsync(MethodDescriptor method,
+			ClientRpcController controller, Message request, T responsePrototype) {
+		if ( hedgingPolicy != null ) {
+			return callAsync(method, controller, request, responsePrototype, controller.getRpcClient().getChannel().eventLoop());
+		}
+		Endpoint endpoint = getEndpoint(controller);
+		long startNanos = System.nanoTime();
+		endpoint.callStarted();
+		return track(endpoint, startNanos, endpoint.getChannel().callAsync(method, controller, request, responsePrototype));
+	}
+
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.RpcClientChannel#callAsync(com.google.protobuf.Descriptors.MethodDescriptor, com.googlecode.protobuf.pro.duplex.ClientRpcController, com.google.protobuf.Message, com.google.protobuf.Message, io.netty.util.concurrent.EventExecutor)
+	 */
+	@Override
+	public <T extends Message> Future<T> callAsync(MethodDescriptor method,
+			ClientRpcController controller, Message request, T responsePrototype,
+			EventExecutor executor) {
+		HedgedCall hedgedCall = newHedgedCall(method, controller, request, responsePrototype);
+		if ( hedgedCall != null ) {
+			HedgedPromise<T> promise = new HedgedPromise<T>(executor, controller, hedgedCall);
+			hedgedCall.start(promise);
+			return promise;
+		}
+		Endpoint endpoint = getEndpoint(controller);
+		long startNanos = System.nanoTime();
+		endpoint.callStarted();
+		return track(endpoint, startNanos, endpoint.getChannel().callAsync(method, controller, request, responsePrototype, executor));
+	}
+	
+	private <T extends Message> Future<T> track( final Endpoint endpoint, final long startNanos, Future<T> future ) {
+		future.addListener(new FutureListener<T>() {
+			@Override
+			public void operationComplete(Future<T> f) throws Exception {
+				endpoint.callCompleted(System.nanoTime() - startNanos, !f.isSuccess() && !f.isCancelled());
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * The Future of a hedged call, cancelling its attempts when cancelled.
+	 */
+	private static class HedgedPromise<T extends Message> extends DefaultPromise<T> implements RpcCallback<Message> {
+		private final ClientRpcController controller;
+		private final HedgedCall hedgedCall;
+		
+		HedgedPromise( EventExecutor executor, ClientRpcController controller, HedgedCall hedgedCall ) {
+			super(executor);
+			this.controller = controller;
+			this.hedgedCall = hedgedCall;
+		}
+		
+		@SuppressWarnings("unchecked")
+		@Override
+		public void run(Message response) {
+			if ( controller.failed() ) {
+				tryFailure(new ServiceException(controller.errorText()));
+			} else {
+				trySuccess((T)response);
+			}
+		}
+		
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			if ( super.cancel(mayInterruptIfRunning) ) {
+				hedgedCall.cancel();
+				return true;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Spanning several peers, the LoadBalancedChannel has no PeerInfo of its own.
+	 * 
+	 * @return null.
+	 */
+	@Override
+	public PeerInfo getPeerInfo() {
+		return null;
+	}
+
+	/**
+	 * Close the channels to all peers.
+	 */
+	@Override
+	public void close() {
+		for( Endpoint endpoint : getEndpoints() ) {
+			endpoint.getChannel().close();
+		}
+	}
+
+	/**
+	 * @return whether the channel to any live peer is writable.
+	 */
+	public boolean isWritable() {
+		for( Endpoint endpoint : liveEndpoints ) {
+			if ( isWritable(endpoint.getChannel()) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private static boolean isWritable( RpcClientChannel channel ) {
+		if ( channel instanceof RpcClient ) {
+			return ((RpcClient)channel).isWritable();
+		}
+		if ( channel instanceof RpcClientPool ) {
+			return ((RpcClientPool)channel).isWritable();
+		}
+		if ( channel instanceof LoadBalancedChannel ) {
+			return ((LoadBalancedChannel)channel).isWritable();
+		}
+		// other channels do not tell, and are taken as writable.
+		return true;
+	}
+
+	/**
+	 * The pipeline of a single peer's channel, customize the pipelines of all
+	 * peers through {@link #getEndpoints()}.
+	 * 
+	 * @return the pipeline of the next peer chosen.
+	 */
+	@Override
+	public ChannelPipeline getPipeline() {
+		return select(null).getChannel().getPipeline();
+	}
+
+	/**
+	 * @return the future of sending the message to the next peer chosen.
+	 */
+	@Override
+	public ChannelFuture sendOobMessage(Message message) {
+		return select(null).getChannel().sendOobMessage(message);
+	}
+
+	/**
+	 * Registers the callback with the channels to all peers, including those added later.
+	 */
+	@Override
+	public void setOobMessageCallback(Message responsePrototype,
+			RpcCallback<? extends Message> oobMessageListener) {
+		synchronized( endpoints ) {
+			this.onOobMessagePrototype = responsePrototype;
+			this.onOobMessageFunction = oobMessageListener;
+			for( Endpoint endpoint : endpoints.values() ) {
+				endpoint.getChannel().setOobMessageCallback(responsePrototype, oobMessageListener);
+			}
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.listener.RpcConnectionEventListener#connectionLost(com.googlecode.protobuf.pro.duplex.RpcClientChannel)
+	 */
+	@Override
+	public void connectionLost(RpcClientChannel clientChannel) {
+		synchronized( endpoints ) {
+			Endpoint endpoint = endpoints.get(clientChannel.getPeerInfo().getName());
+			if ( endpoint == null ) {
+				return;
+			}
+			boolean lost = endpoint.getChannel() == clientChannel;
+			if ( endpoint.getChannel() instanceof RpcClientPool ) {
+				// one of the pool's connections, the others may still be open.
+				RpcClientPool pool = (RpcClientPool)endpoint.getChannel();
+				lost = pool.getClients().contains(clientChannel) && !pool.isConnected();
+			}
+			if ( lost ) {
+				if ( log.isDebugEnabled() ) {
+					log.debug("Draining " + endpoint);
+				}
+				endpoint.setLive(false);
+				updateLiveEndpoints();
+			}
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.listener.RpcConnectionEventListener#connectionOpened(com.googlecode.protobuf.pro.duplex.RpcClientChannel)
+	 */
+	@Override
+	public void connectionOpened(RpcClientChannel clientChannel) {
+		readd(clientChannel);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.listener.RpcConnectionEventListener#connectionReestablished(com.googlecode.protobuf.pro.duplex.RpcClientChannel)
+	 */
+	@Override
+	public void connectionReestablished(RpcClientChannel clientChannel) {
+		readd(clientChannel);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.listener.RpcConnectionEventListener#connectionChanged(com.googlecode.protobuf.pro.duplex.RpcClientChannel)
+	 */
+	@Override
+	public void connectionChanged(RpcClientChannel clientChannel) {
+		readd(clientChannel);
+	}
+	
+	/**
+	 * Take back a known peer with its new channel, other peers are only added explicitly.
+	 */
+	private void readd( RpcClientChannel clientChannel ) {
+		synchronized( endpoints ) {
+			Endpoint endpoint = endpoints.get(clientChannel.getPeerInfo().getName());
+			if ( endpoint == null ) {
+				return;
+			}
+			if ( log.isDebugEnabled() ) {
+				log.debug("Re-adding " + clientChannel.getPeerInfo());
+			}
+			if ( endpoint.getChannel() instanceof RpcClientPool ) {
+				// a connection to a pool's peer, the pool itself is taken back.
+				endpoint.setLive(true);
+				updateLiveEndpoints();
+			} else {
+				addChannel(clientChannel);
+			}
+		}
+	}
+
+	/**
+	 * @return the endpoints of all peers, live or not.
+	 */
+	public List<Endpoint> getEndpoints() {
+		return new ArrayList<Endpoint>(endpoints.values());
+	}
+	
+	/**
+	 * @return the endpoints of the peers calls are made to.
+	 */
+	public List<Endpoint> getLiveEndpoints() {
+		return liveEndpoints;
+	}
+
+	/**
+	 * @return the policy hedging slow calls, or null for none.
+	 */
+	public HedgingPolicy getHedgingPolicy() {
+		return hedgingPolicy;
+	}
+
+	/**
+	 * @param hedgingPolicy the policy hedging slow calls, null for none.
+	 */
+	public void setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+		this.hedgingPolicy = hedgingPolicy;
+	}
+
+	/**
+	 * @return the loadBalancer
+	 */
+	public LoadBalancer getLoadBalancer() {
+		return loadBalancer;
+	}
+
+	@Override
+	public String toString() {
+		return "LoadBalancedChannel[" + endpoints.values() + "]";
+	}
+}
@@ -0,0 +1,41 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.balance;
+
+import java.util.List;
+
+/**
+ * A LoadBalancer chooses the {@link Endpoint} of a {@link LoadBalancedChannel}
+ * a call is made to.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public interface LoadBalancer {
+
+	/**
+	 * Choose the endpoint for a call.
+	 * 
+	 * The LoadBalancedChannel passes the same List instance until the
+	 * live endpoints change, so implementations may cache state derived
+	 * from it.
+	 * 
+	 * @param endpoints the live endpoints, never empty.
+	 * @param key the request key of the call, or null.
+	 * @return one of the endpoints.
+	 */
+	public Endpoint select( List<Endpoint> endpoints, String key );
+}
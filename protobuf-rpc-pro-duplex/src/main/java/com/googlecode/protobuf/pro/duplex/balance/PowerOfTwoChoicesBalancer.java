@@ -0,0 +1,50 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.balance;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks two endpoints at random and chooses the one with fewer calls
+ * awaiting their response. Avoids both the herding of always choosing the
+ * least loaded endpoint and the imbalance of a purely random choice.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class PowerOfTwoChoicesBalancer implements LoadBalancer {
+
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.balance.LoadBalancer#select(java.util.List, java.lang.String)
+	 */
+	@Override
+	public Endpoint select(List<Endpoint> endpoints, String key) {
+		int size = endpoints.size();
+		if ( size == 1 ) {
+			return endpoints.get(0);
+		}
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int a = random.nextInt(size);
+		int b = random.nextInt(size - 1);
+		if ( b >= a ) {
+			b++;
+		}
+		Endpoint first = endpoints.get(a);
+		Endpoint second = endpoints.get(b);
+		return second.getPending() < first.getPending() ? second : first;
+	}
+}
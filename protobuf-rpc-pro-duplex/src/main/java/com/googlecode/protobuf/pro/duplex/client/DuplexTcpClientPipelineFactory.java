@@ -17,13 +17,12 @@ package com.googlecode.protobuf.pro.duplex.client;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.compression.ZlibCodecFactory;
 import io.netty.handler.codec.compression.ZlibWrapper;
-import io.netty.handler.codec.protobuf.ProtobufDecoder;
-import io.netty.handler.codec.protobuf.ProtobufEncoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
 import io.netty.handler.ssl.SslHandler;
@@ -31,14 +30,17 @@ import io.netty.handler.ssl.SslHandler;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.protobuf.ExtensionRegistry;
+import com.googlecode.protobuf.pro.duplex.BackpressurePolicy;
 import com.googlecode.protobuf.pro.duplex.PeerInfo;
 import com.googlecode.protobuf.pro.duplex.RpcClient;
 import com.googlecode.protobuf.pro.duplex.RpcClientChannel;
@@ -47,14 +49,22 @@ import com.googlecode.protobuf.pro.duplex.RpcServer;
 import com.googlecode.protobuf.pro.duplex.RpcServiceRegistry;
 import com.googlecode.protobuf.pro.duplex.execute.RpcServerCallExecutor;
 import com.googlecode.protobuf.pro.duplex.handler.ClientConnectResponseHandler;
+import com.googlecode.protobuf.pro.duplex.handler.FlushConsolidationHandler;
+import com.googlecode.protobuf.pro.duplex.handler.FrameCompressionHandler;
 import com.googlecode.protobuf.pro.duplex.handler.Handler;
 import com.googlecode.protobuf.pro.duplex.handler.RpcClientHandler;
 import com.googlecode.protobuf.pro.duplex.handler.RpcServerHandler;
+import com.googlecode.protobuf.pro.duplex.handler.WirePayloadBatchingHandler;
+import com.googlecode.protobuf.pro.duplex.handler.WirePayloadCodec;
+import com.googlecode.protobuf.pro.duplex.handler.WirePayloadDecoder;
+import com.googlecode.protobuf.pro.duplex.handler.WirePayloadEncoder;
+import com.googlecode.protobuf.pro.duplex.handler.WirePayloadFrameDecoder;
 import com.googlecode.protobuf.pro.duplex.listener.TcpConnectionEventListener;
+import com.googlecode.protobuf.pro.duplex.listener.TcpConnectionWritabilityListener;
 import com.googlecode.protobuf.pro.duplex.logging.CategoryPerServiceLogger;
 import com.googlecode.protobuf.pro.duplex.logging.RpcLogger;
 import com.googlecode.protobuf.pro.duplex.server.RpcClientRegistry;
-import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
@@ -78,10 +88,29 @@ public class DuplexTcpClientPipelineFactory extends ChannelInitializer<Channel>
 	
 	/**
 	 * Whether socket level communications between ALL clients peered with servers by this
-	 * Bootstrap should be compressed ( using ZLIB ).
+	 * Bootstrap should be compressed by default ( per frame using one of the compressionCodecs, or 
+	 * using GZIP if the server supports none of them ).
 	 */
 	private boolean compression = false;
 	
+	/**
+	 * Whether the single {@link WirePayloadCodec} is used.
+	 */
+	private boolean fusedWireCodec = true;
+	private boolean flushConsolidation = false;
+	private int flushConsolidationMaxWrites = FlushConsolidationHandler.DEFAULT_MAX_WRITES;
+	private int flushConsolidationMaxBytes = FlushConsolidationHandler.DEFAULT_MAX_BYTES;
+	private long flushConsolidationMaxDelayMicros = 0;
+	private boolean batching = false;
+	private List<CompressionCodec> compressionCodecs = Arrays.asList(CompressionCodec.LZ4, CompressionCodec.DEFLATE);
+	private int compressionThreshold = FrameCompressionHandler.DEFAULT_COMPRESSION_THRESHOLD;
+	private int maxUncompressedSize = FrameCompressionHandler.DEFAULT_MAX_UNCOMPRESSED_SIZE;
+	private int maxFrameLength = WirePayloadFrameDecoder.DEFAULT_MAX_FRAME_LENGTH;
+	private int writeBufferLowWaterMark = 0;
+	private int writeBufferHighWaterMark = 0;
+	private BackpressurePolicy backpressurePolicy = BackpressurePolicy.IGNORE;
+	private int backpressureQueueCapacity = RpcClient.DEFAULT_BACKPRESSURE_QUEUE_CAPACITY;
+	
 	private AtomicInteger correlationId = new AtomicInteger(1);
 
 	private final RpcClientRegistry rpcClientRegistry = new RpcClientRegistry();
@@ -110,6 +139,21 @@ public class DuplexTcpClientPipelineFactory extends ChannelInitializer<Channel>
 		return peerWith(remoteAddress, bootstrap);
 	}
 
+	/**
+	 * Open a pool of connections to the server, spreading calls across them.
+	 * 
+	 * @param serverInfo
+	 * @param bootstrap
+	 * @param size the number of connections.
+	 * @return the connected pool.
+	 * @throws IOException if a connection failed.
+	 */
+	public RpcClientPool peerWithPool( PeerInfo serverInfo, Bootstrap bootstrap, int size ) throws IOException {
+		RpcClientPool pool = new RpcClientPool(this, bootstrap, serverInfo, size);
+		pool.connect();
+		return pool;
+	}
+
 	public RpcClient peerWith( String host, int port, Bootstrap bootstrap ) throws IOException {
         // Make a new connection.
 		InetSocketAddress remoteAddress = new InetSocketAddress(host, port);
@@ -145,13 +189,18 @@ public class DuplexTcpClientPipelineFactory extends ChannelInitializer<Channel>
         PeerInfo effectiveClientInfo = new PeerInfo( clientInfo.getHostName() == null ? connectedAddress.getHostName() : clientInfo.getHostName(),
         		connectedAddress.getPort(), clientInfo.getPid() );
         
-		ConnectRequest connectRequest = ConnectRequest.newBuilder()
+		ConnectRequest.Builder connectRequestBuilder = ConnectRequest.newBuilder()
 		.setClientHostName(effectiveClientInfo.getHostName())
 		.setClientPort(effectiveClientInfo.getPort())
 		.setClientPID(effectiveClientInfo.getPid())
 		.setCorrelationId(correlationId.incrementAndGet())
 		.setCompress(isCompression())
-		.build();
+		.setBatching(isBatching())
+		.setMethodIds(true)
+		.setClientTimeMs(System.currentTimeMillis())
+		// servers not supporting any of the codecs fall back to GZIP stream compression.
+		.addAllCompressionCodec(getCompressionCodecs());
+		ConnectRequest connectRequest = connectRequestBuilder.build();
         
 		WirePayload payload = WirePayload.newBuilder().setConnectRequest(connectRequest).build();
 		if ( log.isDebugEnabled() ) {
@@ -189,6 +238,16 @@ public class DuplexTcpClientPipelineFactory extends ChannelInitializer<Channel>
 		}
 		
 		RpcClient rpcClient = new RpcClient(channel, effectiveClientInfo, serverInfo, connectResponse.getCompress(), getRpcLogger(), getExtensionRegistry());
+		rpcClient.setBatching(connectResponse.getBatching());
+		rpcClient.setMethodIds(connectResponse.getMethodIds());
+		if ( connectResponse.hasServerTimeMs() ) {
+			rpcClient.setClockOffsetMs(System.currentTimeMillis() - connectResponse.getServerTimeMs());
+		}
+		rpcClient.setBackpressurePolicy(getBackpressurePolicy());
+		rpcClient.setBackpressureQueueCapacity(getBackpressureQueueCapacity());
+		if ( connectResponse.hasCompressionCodec() ) {
+			rpcClient.setCompressionCodec(connectResponse.getCompressionCodec());
+		}
 		
 		RpcClientHandler rpcClientHandler = completePipeline(rpcClient);
 		rpcClientHandler.notifyOpened();
@@ -213,11 +272,31 @@ public class DuplexTcpClientPipelineFactory extends ChannelInitializer<Channel>
         	p.addLast(Handler.SSL, new SslHandler(ssl.createClientEngine()) );
         }
 
-        p.addLast(Handler.FRAME_DECODER, new ProtobufVarint32FrameDecoder());
-        p.addLast(Handler.PROTOBUF_DECODER, new ProtobufDecoder(DuplexProtocol.WirePayload.getDefaultInstance(),getWirelinePayloadExtensionRegistry()));
+        if ( getWriteBufferHighWaterMark() > 0 ) {
+        	// the low water mark may never exceed the high water mark, so their order matters.
+        	ChannelConfig config = ch.config();
+        	if ( getWriteBufferHighWaterMark() < config.getWriteBufferLowWaterMark() ) {
+        		config.setWriteBufferLowWaterMark(getWriteBufferLowWaterMark());
+        		config.setWriteBufferHighWaterMark(getWriteBufferHighWaterMark());
+        	} else {
+        		config.setWriteBufferHighWaterMark(getWriteBufferHighWaterMark());
+        		config.setWriteBufferLowWaterMark(getWriteBufferLowWaterMark());
+        	}
+        }
+        
+        if ( isFlushConsolidation() ) {
+        	p.addLast(Handler.FLUSH_CONSOLIDATION, new FlushConsolidationHandler(getFlushConsolidationMaxWrites(), getFlushConsolidationMaxBytes(), getFlushConsolidationMaxDelayMicros(), TimeUnit.MICROSECONDS));
+        }
 
-        p.addLast(Handler.FRAME_ENCODER, new ProtobufVarint32LengthFieldPrepender());
-        p.addLast(Handler.PROTOBUF_ENCODER, new ProtobufEncoder());
+        if ( isFusedWireCodec() ) {
+        	p.addLast(Handler.WIRE_CODEC, new WirePayloadCodec(getWirelinePayloadExtensionRegistry(), getMaxFrameLength(), null));
+        } else {
+	        p.addLast(Handler.FRAME_DECODER, new ProtobufVarint32FrameDecoder());
+	        p.addLast(Handler.PROTOBUF_DECODER, new WirePayloadDecoder(getWirelinePayloadExtensionRegistry()));
+	
+	        p.addLast(Handler.FRAME_ENCODER, new ProtobufVarint32LengthFieldPrepender());
+	        p.addLast(Handler.PROTOBUF_ENCODER, new WirePayloadEncoder());
+        }
 
         // the connectResponseHandler is swapped after the client connection
         // handshake with the RpcClient for the Channel
@@ -236,27 +315,21 @@ public class DuplexTcpClientPipelineFactory extends ChannelInitializer<Channel>
     protected RpcClientHandler completePipeline(RpcClient rpcClient) {
 		ChannelPipeline p = rpcClient.getChannel().pipeline();
 		
-		if ( rpcClient.isCompression() ) {
-	    	p.addBefore(Handler.FRAME_DECODER, Handler.COMPRESSOR, ZlibCodecFactory.newZlibEncoder(ZlibWrapper.GZIP));
+		if ( rpcClient.isCompression() && rpcClient.getCompressionCodec() == null ) {
+	    	String framing = p.get(Handler.WIRE_CODEC) != null ? Handler.WIRE_CODEC : Handler.FRAME_DECODER;
+	    	p.addBefore(framing, Handler.COMPRESSOR, ZlibCodecFactory.newZlibEncoder(ZlibWrapper.GZIP));
 	    	p.addAfter(Handler.COMPRESSOR, Handler.DECOMPRESSOR, ZlibCodecFactory.newZlibDecoder(ZlibWrapper.GZIP));
     	}
     	
-		TcpConnectionEventListener informer = new TcpConnectionEventListener(){
-			@Override
-			public void connectionClosed(RpcClientChannel client) {
-				for( TcpConnectionEventListener listener : getListenersCopy() ) {
-					listener.connectionClosed(client);
-				}
-			}
-			@Override
-			public void connectionOpened(RpcClientChannel client) {
-				for( TcpConnectionEventListener listener : getListenersCopy() ) {
-					listener.connectionOpened(client);
-				}
-			}
-		};
+		TcpConnectionEventListener informer = new ConnectionEventInformer();
 		RpcClientHandler rpcClientHandler = new RpcClientHandler(rpcClient, informer);
 		p.replace(Handler.CLIENT_CONNECT, Handler.RPC_CLIENT, rpcClientHandler);
+		if ( rpcClient.getCompressionCodec() != null ) {
+			p.addBefore(Handler.RPC_CLIENT, Handler.FRAME_COMPRESSION, new FrameCompressionHandler(rpcClient.getCompressionCodec(), getCompressionThreshold(), rpcClient.isCompression(), getMaxUncompressedSize(), getWirelinePayloadExtensionRegistry()));
+		}
+		if ( rpcClient.isBatching() ) {
+			p.addBefore(Handler.RPC_CLIENT, Handler.BATCHING, new WirePayloadBatchingHandler());
+		}
 		
 		RpcServer rpcServer = new RpcServer(rpcClient, rpcServiceRegistry, rpcServerCallExecutor, logger);
 		RpcServerHandler rpcServerHandler = new RpcServerHandler(rpcServer,rpcClientRegistry); 
@@ -436,4 +509,247 @@ public class DuplexTcpClientPipelineFactory extends ChannelInitializer<Channel>
 	public void setConnectResponseTimeoutMillis(long connectResponseTimeoutMillis) {
 		this.connectResponseTimeoutMillis = connectResponseTimeoutMillis;
 	}
+
+	/**
+	 * @return whether the single {@link WirePayloadCodec} is used instead of separate frame and protobuf codecs.
+	 */
+	public boolean isFusedWireCodec() {
+		return fusedWireCodec;
+	}
+
+	/**
+	 * @param fusedWireCodec whether to use the single {@link WirePayloadCodec}, which encodes
+	 * the frame length and WirePayload into one buffer of the channel's allocator, instead of separate frame
+	 * and protobuf codecs.
+	 */
+	public void setFusedWireCodec(boolean fusedWireCodec) {
+		this.fusedWireCodec = fusedWireCodec;
+	}
+
+	/**
+	 * @return whether the flushes of each Channel are consolidated by a {@link FlushConsolidationHandler}.
+	 */
+	public boolean isFlushConsolidation() {
+		return flushConsolidation;
+	}
+
+	/**
+	 * Enable the consolidation of each Channel's flushes by a {@link FlushConsolidationHandler},
+	 * trading a bounded amount of latency for fewer syscalls with many small calls.
+	 * 
+	 * @param flushConsolidation the flushConsolidation to set
+	 */
+	public void setFlushConsolidation(boolean flushConsolidation) {
+		this.flushConsolidation = flushConsolidation;
+	}
+
+	/**
+	 * Set the limits of the {@link FlushConsolidationHandler}.
+	 * 
+	 * @param maxWrites the number of pending writes which cause an immediate flush.
+	 * @param maxBytes the number of pending bytes which cause an immediate flush.
+	 * @param maxFlushDelayMicros the longest a flush is deferred, 0 to flush at the end of the event loop's tick.
+	 */
+	public void setFlushConsolidationLimits(int maxWrites, int maxBytes, long maxFlushDelayMicros) {
+		this.flushConsolidationMaxWrites = maxWrites;
+		this.flushConsolidationMaxBytes = maxBytes;
+		this.flushConsolidationMaxDelayMicros = maxFlushDelayMicros;
+	}
+
+	/**
+	 * @return the number of pending writes which cause an immediate flush.
+	 */
+	public int getFlushConsolidationMaxWrites() {
+		return flushConsolidationMaxWrites;
+	}
+
+	/**
+	 * @return the number of pending bytes which cause an immediate flush.
+	 */
+	public int getFlushConsolidationMaxBytes() {
+		return flushConsolidationMaxBytes;
+	}
+
+	/**
+	 * @return the longest a flush is deferred, 0 flushes at the end of the event loop's tick.
+	 */
+	public long getFlushConsolidationMaxDelayMicros() {
+		return flushConsolidationMaxDelayMicros;
+	}
+
+	/**
+	 * @return whether RpcRequests and RpcResponses are batched into shared frames when the peer supports it.
+	 */
+	public boolean isBatching() {
+		return batching;
+	}
+
+	/**
+	 * Enable the batching of RpcRequests and RpcResponses into shared frames by a
+	 * {@link WirePayloadBatchingHandler}. Batching is only used with peers which
+	 * also support it, which is negotiated during the connection handshake.
+	 * 
+	 * @param batching the batching to set
+	 */
+	public void setBatching(boolean batching) {
+		this.batching = batching;
+	}
+
+	/**
+	 * @return the per frame compression codecs offered to the server, in order of preference.
+	 */
+	public List<CompressionCodec> getCompressionCodecs() {
+		return compressionCodecs;
+	}
+
+	/**
+	 * Set the per frame compression codecs offered to the server. If the server supports
+	 * one of them, frames are compressed by default if compression is enabled, and
+	 * otherwise only when requested per call with {@link com.googlecode.protobuf.pro.duplex.ClientRpcController#setCompress(boolean)}.
+	 * 
+	 * @param compressionCodecs the compressionCodecs to set, empty to only use GZIP stream compression.
+	 */
+	public void setCompressionCodecs(List<CompressionCodec> compressionCodecs) {
+		this.compressionCodecs = compressionCodecs;
+	}
+
+	/**
+	 * @return the Channel's write buffer low water mark, 0 for Netty's default.
+	 */
+	public int getWriteBufferLowWaterMark() {
+		return writeBufferLowWaterMark;
+	}
+
+	/**
+	 * @return the Channel's write buffer high water mark, 0 for Netty's default.
+	 */
+	public int getWriteBufferHighWaterMark() {
+		return writeBufferHighWaterMark;
+	}
+
+	/**
+	 * Set the bounds of each Channel's outbound buffer. The Channel becomes
+	 * unwritable once the buffer exceeds the high water mark, and writable
+	 * again when it falls below the low water mark, which is notified to the
+	 * TcpConnectionEventListeners which are TcpConnectionWritabilityListeners.
+	 * 
+	 * @param lowWaterMark
+	 * @param highWaterMark
+	 */
+	public void setWriteBufferWaterMarks(int lowWaterMark, int highWaterMark) {
+		if ( lowWaterMark < 0 || highWaterMark <= 0 || lowWaterMark > highWaterMark ) {
+			throw new IllegalArgumentException("lowWaterMark " + lowWaterMark + " highWaterMark " + highWaterMark);
+		}
+		this.writeBufferLowWaterMark = lowWaterMark;
+		this.writeBufferHighWaterMark = highWaterMark;
+	}
+
+	/**
+	 * @return the handling of RpcRequests while a Channel is not writable.
+	 */
+	public BackpressurePolicy getBackpressurePolicy() {
+		return backpressurePolicy;
+	}
+
+	/**
+	 * Set how each RpcClient handles RpcRequests while its Channel is not writable.
+	 * 
+	 * @param backpressurePolicy the backpressurePolicy to set
+	 */
+	public void setBackpressurePolicy(BackpressurePolicy backpressurePolicy) {
+		if ( backpressurePolicy == null ) {
+			throw new IllegalArgumentException("backpressurePolicy");
+		}
+		this.backpressurePolicy = backpressurePolicy;
+	}
+
+	/**
+	 * @return the number of RpcRequests queued with the QUEUE policy, beyond which calls fail.
+	 */
+	public int getBackpressureQueueCapacity() {
+		return backpressureQueueCapacity;
+	}
+
+	/**
+	 * @param backpressureQueueCapacity the number of RpcRequests queued with the QUEUE policy,
+	 * beyond which calls fail.
+	 */
+	public void setBackpressureQueueCapacity(int backpressureQueueCapacity) {
+		if ( backpressureQueueCapacity <= 0 ) {
+			throw new IllegalArgumentException("backpressureQueueCapacity");
+		}
+		this.backpressureQueueCapacity = backpressureQueueCapacity;
+	}
+
+	/**
+	 * @return the serialized size from which frames are compressed.
+	 */
+	public int getCompressionThreshold() {
+		return compressionThreshold;
+	}
+
+	/**
+	 * @param compressionThreshold the serialized size from which frames are compressed
+	 * by the {@link FrameCompressionHandler}, smaller frames are sent uncompressed.
+	 */
+	public void setCompressionThreshold(int compressionThreshold) {
+		this.compressionThreshold = compressionThreshold;
+	}
+
+	/**
+	 * @return the largest uncompressed size a received compressed frame may claim.
+	 */
+	public int getMaxUncompressedSize() {
+		return maxUncompressedSize;
+	}
+
+	/**
+	 * @param maxUncompressedSize the largest uncompressed size a received compressed
+	 * frame may claim, larger frames fail the {@link FrameCompressionHandler}.
+	 */
+	public void setMaxUncompressedSize(int maxUncompressedSize) {
+		this.maxUncompressedSize = maxUncompressedSize;
+	}
+
+	/**
+	 * @return the length of the longest frame the {@link WirePayloadCodec} receives.
+	 */
+	public int getMaxFrameLength() {
+		return maxFrameLength;
+	}
+
+	/**
+	 * @param maxFrameLength the length of the longest frame the {@link WirePayloadCodec}
+	 * receives, longer frames fail with a TooLongFrameException.
+	 */
+	public void setMaxFrameLength(int maxFrameLength) {
+		this.maxFrameLength = maxFrameLength;
+	}
+
+	/**
+	 * Informs the registered TcpConnectionEventListeners, and those which are
+	 * TcpConnectionWritabilityListeners of writability changes.
+	 */
+	private class ConnectionEventInformer implements TcpConnectionEventListener, TcpConnectionWritabilityListener {
+		@Override
+		public void connectionClosed(RpcClientChannel client) {
+			for( TcpConnectionEventListener listener : getListenersCopy() ) {
+				listener.connectionClosed(client);
+			}
+		}
+		@Override
+		public void connectionOpened(RpcClientChannel client) {
+			for( TcpConnectionEventListener listener : getListenersCopy() ) {
+				listener.connectionOpened(client);
+			}
+		}
+		@Override
+		public void connectionWritabilityChanged(RpcClientChannel client, boolean writable) {
+			for( TcpConnectionEventListener listener : getListenersCopy() ) {
+				if ( listener instanceof TcpConnectionWritabilityListener ) {
+					((TcpConnectionWritabilityListener)listener).connectionWritabilityChanged(client, writable);
+				}
+			}
+		}
+	}
 }
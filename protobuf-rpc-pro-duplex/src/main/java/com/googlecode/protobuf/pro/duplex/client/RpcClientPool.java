@@ -0,0 +1,350 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.client;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPipeline;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.protobuf.Descriptors.MethodDescriptor;
+import com.google.protobuf.Message;
+import com.google.protobuf.RpcCallback;
+import com.google.protobuf.RpcController;
+import com.google.protobuf.ServiceException;
+import com.googlecode.protobuf.pro.duplex.ClientRpcController;
+import com.googlecode.protobuf.pro.duplex.PeerInfo;
+import com.googlecode.protobuf.pro.duplex.RpcClient;
+import com.googlecode.protobuf.pro.duplex.RpcClientChannel;
+
+/**
+ * An RpcClientPool keeps several connections to the same server, so that
+ * the calls to one busy server are spread over multiple TCP connections
+ * and IO threads.
+ * 
+ * The connection is chosen when a controller is created with {@link #newRpcController()},
+ * each controller being bound to its RpcClient. A call made with the
+ * controller uses that connection, also when the controller is reused after
+ * reset(). Closed connections are skipped, and are replaced by calling
+ * {@link #connect()} again.
+ * 
+ * Each connection must be distinct at the server, so the pipeline factory's
+ * clientInfo must not bind a local port if the pool has more than one
+ * connection.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class RpcClientPool implements RpcClientChannel {
+
+	private static Logger log = LoggerFactory.getLogger(RpcClientPool.class);
+	
+	/**
+	 * How a connection is chosen for a controller.
+	 */
+	public static enum Strategy {
+		/**
+		 * Each connection in turn.
+		 */
+		ROUND_ROBIN,
+		/**
+		 * The connection with the fewest calls awaiting their response.
+		 */
+		LEAST_PENDING
+	}
+	
+	private final DuplexTcpClientPipelineFactory pipelineFactory;
+	private final Bootstrap bootstrap;
+	private final PeerInfo serverInfo;
+	private final AtomicReferenceArray<RpcClient> clients;
+	private final AtomicInteger next = new AtomicInteger();
+	private volatile Strategy strategy = Strategy.ROUND_ROBIN;
+	
+	private Message onOobMessagePrototype;
+	private RpcCallback<? extends Message> onOobMessageFunction;
+	
+	/**
+	 * Construct a pool, which is connected with {@link #connect()}.
+	 * 
+	 * @param pipelineFactory
+	 * @param bootstrap
+	 * @param serverInfo
+	 * @param size the number of connections.
+	 */
+	public RpcClientPool( DuplexTcpClientPipelineFactory pipelineFactory, Bootstrap bootstrap, PeerInfo serverInfo, int size ) {
+		if ( serverInfo == null ) {
+			throw new IllegalArgumentException("serverInfo");
+		}
+		if ( size <= 0 ) {
+			throw new IllegalArgumentException("size");
+		}
+		if ( size > 1 && pipelineFactory != null && pipelineFactory.getClientInfo().getPort() > 0 ) {
+			throw new IllegalArgumentException("clientInfo binds local port " + pipelineFactory.getClientInfo().getPort() + ", allowing a single connection only.");
+		}
+		this.pipelineFactory = pipelineFactory;
+		this.bootstrap = bootstrap;
+		this.serverInfo = serverInfo;
+		this.clients = new AtomicReferenceArray<RpcClient>(size);
+	}
+	
+	/**
+	 * Open the connections which are not open, initially all of them.
+	 * 
+	 * @throws IOException if a connection failed, the others remain open.
+	 */
+	public synchronized void connect() throws IOException {
+		IOException failure = null;
+		for( int i = 0; i < clients.length(); i++ ) {
+			RpcClient client = clients.get(i);
+			if ( client != null && client.getChannel().isOpen() ) {
+				continue;
+			}
+			try {
+				client = openClient();
+				if ( onOobMessageFunction != null ) {
+					client.setOobMessageCallback(onOobMessagePrototype, onOobMessageFunction);
+				}
+				clients.set(i, client);
+			} catch ( IOException e ) {
+				log.warn("Connection " + i + " to " + serverInfo + " failed.", e);
+				failure = e;
+			}
+		}
+		if ( failure != null ) {
+			throw failure;
+		}
+	}
+	
+	/**
+	 * Open a single connection of the pool.
+	 * 
+	 * @return the connected RpcClient.
+	 * @throws IOException
+	 */
+	protected RpcClient openClient() throws IOException {
+		return pipelineFactory.peerWith(serverInfo, bootstrap);
+	}
+	
+	/**
+	 * Choose the connection for a call, preferring open ones.
+	 * 
+	 * @return the RpcClient chosen by the strategy.
+	 */
+	public RpcClient select() {
+		int size = clients.length();
+		int start = (next.getAndIncrement() & Integer.MAX_VALUE) % size;
+		RpcClient selected = null;
+		RpcClient fallback = null;
+		for( int i = 0; i < size; i++ ) {
+			RpcClient client = clients.get((start + i) % size);
+			if ( client == null ) {
+				continue;
+			}
+			if ( !client.getChannel().isOpen() ) {
+				fallback = client;
+				continue;
+			}
+			if ( strategy == Strategy.ROUND_ROBIN ) {
+				return client;
+			}
+			// ties go to the next in turn.
+			if ( selected == null || client.getPendingRequestCount() < selected.getPendingRequestCount() ) {
+				selected = client;
+			}
+		}
+		if ( selected != null ) {
+			return selected;
+		}
+		if ( fallback == null ) {
+			throw new IllegalStateException("RpcClientPool not connected.");
+		}
+		// a closed connection fails the call.
+		return fallback;
+	}
+	
+	/**
+	 * @return the connections, open or closed.
+	 */
+	public List<RpcClient> getClients() {
+		List<RpcClient> result = new ArrayList<RpcClient>();
+		for( int i = 0; i < clients.length(); i++ ) {
+			RpcClient client = clients.get(i);
+			if ( client != null ) {
+				result.add(client);
+			}
+		}
+		return result;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.RpcClientChannel#getPeerInfo()
+	 */
+	@Override
+	public PeerInfo getPeerInfo() {
+		return serverInfo;
+	}
+
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.RpcClientChannel#newRpcController()
+	 */
+	@Override
+	public ClientRpcController newRpcController() {
+		return select().newRpcController();
+	}
+
+	/* (non-Javadoc)
+	 * @see com.google.protobuf.RpcChannel#callMethod(com.google.protobuf.Descriptors.MethodDescriptor, com.google.protobuf.RpcController, com.google.protobuf.Message, com.google.protobuf.Message, com.google.protobuf.RpcCallback)
+	 */
+	@Override
+	public void callMethod(MethodDescriptor method, RpcController controller,
+			Message request, Message responsePrototype, RpcCallback<Message> done) {
+		((ClientRpcController)controller).getRpcClient().callMethod(method, controller, request, responsePrototype, done);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.google.protobuf.BlockingRpcChannel#callBlockingMethod(com.google.protobuf.Descriptors.MethodDescriptor, com.google.protobuf.RpcController, com.google.protobuf.Message, com.google.protobuf.Message)
+	 */
+	@Override
+	public Message callBlockingMethod(MethodDescriptor method,
+			RpcController controller, Message request, Message responsePrototype)
+			throws ServiceException {
+		return ((ClientRpcController)controller).getRpcClient().callBlockingMethod(method, controller, request, responsePrototype);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.RpcClientChannel#callAsync(com.google.protobuf.Descriptors.MethodDescriptor, com.googlecode.protobuf.pro.duplex.ClientRpcController, com.google.protobuf.Message, com.google.protobuf.Message)
+	 */
+	@Override
+	public <T extends Message> Future<T> callAsync(MethodDescriptor method,
+			ClientRpcController controller, Message request, T responsePrototype) {
+		return controller.getRpcClient().callAsync(method, controller, request, responsePrototype);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.RpcClientChannel#callAsync(com.google.protobuf.Descriptors.MethodDescriptor, com.googlecode.protobuf.pro.duplex.ClientRpcController, com.google.protobuf.Message, com.google.protobuf.Message, io.netty.util.concurrent.EventExecutor)
+	 */
+	@Override
+	public <T extends Message> Future<T> callAsync(MethodDescriptor method,
+			ClientRpcController controller, Message request, T responsePrototype,
+			EventExecutor executor) {
+		return controller.getRpcClient().callAsync(method, controller, request, responsePrototype, executor);
+	}
+
+	/**
+	 * Close all connections.
+	 */
+	@Override
+	public void close() {
+		for( RpcClient client : getClients() ) {
+			client.close();
+		}
+	}
+
+	/**
+	 * @return whether any connection is open.
+	 */
+	public boolean isConnected() {
+		for( RpcClient client : getClients() ) {
+			if ( client.getChannel().isOpen() ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return whether any open connection is writable.
+	 */
+	public boolean isWritable() {
+		for( RpcClient client : getClients() ) {
+			if ( client.getChannel().isOpen() && client.isWritable() ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The pipeline of a single connection, customize the pipelines of all
+	 * connections through {@link #getClients()}.
+	 * 
+	 * @return the pipeline of the next connection chosen.
+	 */
+	@Override
+	public ChannelPipeline getPipeline() {
+		return select().getPipeline();
+	}
+
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.RpcClientChannel#sendOobMessage(com.google.protobuf.Message)
+	 */
+	@Override
+	public ChannelFuture sendOobMessage(Message message) {
+		return select().sendOobMessage(message);
+	}
+
+	/**
+	 * Registers the callback with all connections, including those opened later.
+	 */
+	@Override
+	public synchronized void setOobMessageCallback(Message responsePrototype,
+			RpcCallback<? extends Message> oobMessageListener) {
+		this.onOobMessagePrototype = responsePrototype;
+		this.onOobMessageFunction = oobMessageListener;
+		for( RpcClient client : getClients() ) {
+			client.setOobMessageCallback(responsePrototype, oobMessageListener);
+		}
+	}
+
+	/**
+	 * @return how a connection is chosen for a controller.
+	 */
+	public Strategy getStrategy() {
+		return strategy;
+	}
+
+	/**
+	 * @param strategy how a connection is chosen for a controller.
+	 */
+	public void setStrategy(Strategy strategy) {
+		if ( strategy == null ) {
+			throw new IllegalArgumentException("strategy");
+		}
+		this.strategy = strategy;
+	}
+
+	/**
+	 * @return the number of connections.
+	 */
+	public int getSize() {
+		return clients.length();
+	}
+
+	@Override
+	public String toString() {
+		return "RpcClientPool[" + serverInfo + ", size=" + clients.length() + ", strategy=" + strategy + "]";
+	}
+}
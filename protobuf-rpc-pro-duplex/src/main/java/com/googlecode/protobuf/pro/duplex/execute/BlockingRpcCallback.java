@@ -15,20 +15,28 @@
 */
 package com.googlecode.protobuf.pro.duplex.execute;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import com.google.protobuf.Message;
 import com.google.protobuf.RpcCallback;
 
+/**
+ * An RpcCallback which a thread can wait for. Waiting parks the thread
+ * instead of holding a monitor, so a virtual thread waiting for a call does
+ * not pin its carrier thread.
+ * 
+ * @author Peter Klauser
+ *
+ */
 public class BlockingRpcCallback implements RpcCallback<Message> {
 
-	private boolean done = false;
-	private Message message;
+	private final CountDownLatch done = new CountDownLatch(1);
+	private volatile Message message;
 
 	public void run(Message message) {
 		this.message = message;
-		synchronized (this) {
-			done = true;
-			notify();
-		}
+		done.countDown();
 	}
 
 	public Message getMessage() {
@@ -36,7 +44,28 @@ public class BlockingRpcCallback implements RpcCallback<Message> {
 	}
 
 	public boolean isDone() {
-		return done;
+		return done.getCount() == 0;
+	}
+
+	/**
+	 * Wait until the callback is run.
+	 * 
+	 * @throws InterruptedException
+	 */
+	public void await() throws InterruptedException {
+		done.await();
+	}
+
+	/**
+	 * Wait until the callback is run, or the timeout elapses.
+	 * 
+	 * @param timeout
+	 * @param unit
+	 * @return whether the callback is done.
+	 * @throws InterruptedException
+	 */
+	public boolean await( long timeout, TimeUnit unit ) throws InterruptedException {
+		return done.await(timeout, unit);
 	}
 
 }
@@ -0,0 +1,217 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.execute;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A ForkJoinCallExecutor runs server side RPC calls on a ForkJoinPool, whose
+ * workers each have a deque of their own and steal work from each other,
+ * instead of all contending on the single queue of a {@link ThreadPoolCallExecutor}.
+ * Calls are taken in FIFO order.
+ * 
+ * Calls beyond maxPendingCalls, queued or running, fail with "Server Overload",
+ * or are handed to the overflow executor if one is set.
+ * As with the ThreadPoolCallExecutor, cancellation interrupts the thread running
+ * the call. Blocking service methods occupy their worker while blocked, so
+ * the parallelism bounds the number of concurrently running calls.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class ForkJoinCallExecutor extends ForkJoinPool implements RpcServerCallExecutor {
+
+	private static Logger log = LoggerFactory.getLogger(ForkJoinCallExecutor.class);
+	
+	public static final int DEFAULT_PENDING_CALLS_PER_THREAD = 64;
+	
+	private final int maxPendingCalls;
+	private final AtomicInteger pendingCalls = new AtomicInteger();
+	
+	/**
+	 * Where calls go which this executor rejects, null to fail them with "Server Overload".
+	 */
+	private volatile RpcServerCallExecutor overflowExecutor;
+	
+	public ForkJoinCallExecutor( int parallelism ) {
+		this(parallelism, parallelism * DEFAULT_PENDING_CALLS_PER_THREAD);
+	}
+	
+	/**
+	 * @param parallelism the number of worker threads.
+	 * @param maxPendingCalls the number of calls queued or running, beyond which calls are rejected.
+	 */
+	public ForkJoinCallExecutor( int parallelism, int maxPendingCalls ) {
+		super(parallelism, new RenamingWorkerThreadFactory("rpc-fj-"), null, true);
+		if ( maxPendingCalls < parallelism ) {
+			throw new IllegalArgumentException("maxPendingCalls");
+		}
+		this.maxPendingCalls = maxPendingCalls;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.execute.RpcServerCallExecutor#execute(com.googlecode.protobuf.pro.duplex.execute.PendingServerCallState)
+	 */
+	@Override
+	public void execute(PendingServerCallState call) {
+		CallTask task = new CallTask(call);
+		call.setExecutor(task);
+		if ( pendingCalls.incrementAndGet() > maxPendingCalls || isShutdown() ) {
+			pendingCalls.decrementAndGet();
+			RpcServerCallExecutor overflow = overflowExecutor;
+			if ( overflow != null && overflow != this ) {
+				call.setCallExecutor(overflow);
+				overflow.execute(call);
+				return;
+			}
+			call.getController().setFailed("Server Overload");
+			call.getController().setRetryable(true);
+			call.getExecutorCallback().onFinish(call.getController().getCorrelationId(), null);
+			return;
+		}
+		execute(task);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.execute.RpcServerCallExecutor#cancel(java.lang.Runnable)
+	 */
+	@Override
+	public void cancel(Runnable executor) {
+		if ( executor instanceof CallTask ) {
+			((CallTask)executor).cancel();
+		}
+	}
+	
+	/**
+	 * @return the number of calls queued or running.
+	 */
+	public int getPendingCalls() {
+		return pendingCalls.get();
+	}
+
+	/**
+	 * @return the maxPendingCalls
+	 */
+	public int getMaxPendingCalls() {
+		return maxPendingCalls;
+	}
+	
+	/**
+	 * @return the executor taking the calls this executor rejects, or null.
+	 */
+	public RpcServerCallExecutor getOverflowExecutor() {
+		return overflowExecutor;
+	}
+
+	/**
+	 * @param overflowExecutor the executor taking the calls this executor rejects,
+	 * null to fail them with "Server Overload".
+	 */
+	public void setOverflowExecutor(RpcServerCallExecutor overflowExecutor) {
+		this.overflowExecutor = overflowExecutor;
+	}
+	
+	private class CallTask implements Runnable {
+		
+		private static final int NEW = 0;
+		private static final int RUNNING = 1;
+		private static final int DONE = 2;
+		private static final int CANCELLED = 3;
+		
+		private final PendingServerCallState call;
+		private final BlockingRpcCallback serviceCallback = new BlockingRpcCallback();
+		private final AtomicInteger state = new AtomicInteger(NEW);
+		
+		// guarded by this, so that a late cancel never interrupts the worker's next call.
+		private Thread runningThread;
+		
+		public CallTask( PendingServerCallState call ) {
+			this.call = call;
+		}
+		
+		@Override
+		public void run() {
+			if ( !state.compareAndSet(NEW, RUNNING) ) {
+				// canceled before start.
+				pendingCalls.decrementAndGet();
+				return;
+			}
+			synchronized( this ) {
+				runningThread = Thread.currentThread();
+			}
+			try {
+				ThreadPoolCallExecutor.runCall(call, serviceCallback);
+			} catch ( RuntimeException e ) {
+				log.warn("RpcCallRunner threw uncaught runtime exception.", e);
+			} finally {
+				synchronized( this ) {
+					runningThread = null;
+				}
+				// an interrupt by a cancel racing with the end of the call.
+				Thread.interrupted();
+				pendingCalls.decrementAndGet();
+			}
+			state.compareAndSet(RUNNING, DONE);
+			ThreadPoolCallExecutor.finishCall(call, serviceCallback);
+		}
+		
+		public void cancel() {
+			int s = state.get();
+			while( s == NEW || s == RUNNING ) {
+				if ( state.compareAndSet(s, CANCELLED) ) {
+					// set the controller's cancel indicator
+					call.getController().startCancel();
+					
+					// interrupt the thread running the task, to hopefully unblock any
+					// IO wait.
+					synchronized( this ) {
+						if ( runningThread != null ) {
+							runningThread.interrupt();
+						}
+					}
+					return;
+				}
+				s = state.get();
+			}
+			// the running task, still should finish by returning "null" to the RPC done
+			// callback.
+		}
+	}
+	
+	/**
+	 * Names the worker threads with a prefix and a counter.
+	 */
+	private static class RenamingWorkerThreadFactory implements ForkJoinWorkerThreadFactory {
+		private final String prefix;
+		private final AtomicInteger count = new AtomicInteger();
+		
+		public RenamingWorkerThreadFactory( String prefix ) {
+			this.prefix = prefix;
+		}
+		
+		@Override
+		public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+			ForkJoinWorkerThread thread = defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName(prefix + count.incrementAndGet());
+			return thread;
+		}
+	}
+}
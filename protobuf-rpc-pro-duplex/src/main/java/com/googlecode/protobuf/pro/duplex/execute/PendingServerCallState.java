@@ -19,6 +19,7 @@ import com.google.protobuf.BlockingService;
 import com.google.protobuf.Descriptors.MethodDescriptor;
 import com.google.protobuf.Message;
 import com.google.protobuf.Service;
+import com.googlecode.protobuf.pro.duplex.limit.CoDelLoadShedder;
 
 /**
  * @author Peter Klauser
@@ -44,6 +45,32 @@ public class PendingServerCallState {
 	 */
 	private Runnable executor;
 	
+	/**
+	 * The RpcServerCallExecutor running the call, which cancels it.
+	 */
+	private volatile RpcServerCallExecutor callExecutor;
+	
+	/**
+	 * Whether the RpcResponse is compressed, null for the connection's default.
+	 */
+	private Boolean compressResponse;
+	
+	/**
+	 * The methodId returned to the client in the RpcResponse, 0 if none.
+	 */
+	private int methodId;
+	
+	/**
+	 * The priority requested by the client, 0 is normal.
+	 */
+	private int priority;
+	
+	/**
+	 * Sheds the call if it waited too long to start, null if none.
+	 */
+	private CoDelLoadShedder loadShedder;
+	private long admittedNanos;
+	
 	public PendingServerCallState(RpcServerExecutorCallback executorCallback, Service service, ServerRpcController controller, MethodDescriptor methodDesc, Message request, long startTS, int timeoutMs) {
 		this.executorCallback = executorCallback;
 		this.service = service;
@@ -74,6 +101,10 @@ public class PendingServerCallState {
 	}
 
 	public boolean isTimeoutExceeded() {
+		long deadline = controller.getDeadline();
+		if ( deadline > 0 ) {
+			return System.currentTimeMillis() > deadline;
+		}
 		return timeoutMs > 0 && System.currentTimeMillis() > startTS + timeoutMs;
 	}
 	
@@ -112,6 +143,20 @@ public class PendingServerCallState {
 		this.executor = executor;
 	}
 
+	/**
+	 * @return the RpcServerCallExecutor running the call.
+	 */
+	public RpcServerCallExecutor getCallExecutor() {
+		return callExecutor;
+	}
+
+	/**
+	 * @param callExecutor the RpcServerCallExecutor running the call.
+	 */
+	public void setCallExecutor(RpcServerCallExecutor callExecutor) {
+		this.callExecutor = callExecutor;
+	}
+
 	/**
 	 * @return the service
 	 */
@@ -140,5 +185,75 @@ public class PendingServerCallState {
 		return timeoutMs;
 	}
 
+	/**
+	 * @return whether the RpcResponse is compressed, null for the connection's default.
+	 */
+	public Boolean getCompressResponse() {
+		return compressResponse;
+	}
+
+	/**
+	 * @param compressResponse whether the RpcResponse is compressed, null for the connection's default.
+	 */
+	public void setCompressResponse(Boolean compressResponse) {
+		this.compressResponse = compressResponse;
+	}
+
+	/**
+	 * @return the methodId returned to the client in the RpcResponse, 0 if none.
+	 */
+	public int getMethodId() {
+		return methodId;
+	}
+
+	/**
+	 * @param methodId the methodId returned to the client in the RpcResponse.
+	 */
+	public void setMethodId(int methodId) {
+		this.methodId = methodId;
+	}
+
+	/**
+	 * @return the priority requested by the client, 0 is normal.
+	 */
+	public int getPriority() {
+		return priority;
+	}
+
+	/**
+	 * @param priority the priority requested by the client.
+	 */
+	public void setPriority(int priority) {
+		this.priority = priority;
+	}
+
+	/**
+	 * Take the load shedder which admitted the call, once the call leaves
+	 * the queue, so that it is told only once.
+	 * 
+	 * @return the load shedder which admitted the call, or null if none or already taken.
+	 */
+	public synchronized CoDelLoadShedder takeLoadShedder() {
+		CoDelLoadShedder taken = loadShedder;
+		loadShedder = null;
+		return taken;
+	}
+
+	/**
+	 * @return the System.nanoTime at which the call was admitted.
+	 */
+	public long getAdmittedNanos() {
+		return admittedNanos;
+	}
+
+	/**
+	 * @param loadShedder the load shedder which admitted the call.
+	 * @param admittedNanos the System.nanoTime at which the call was admitted.
+	 */
+	public synchronized void setLoadShedder(CoDelLoadShedder loadShedder, long admittedNanos) {
+		this.loadShedder = loadShedder;
+		this.admittedNanos = admittedNanos;
+	}
+
 
 }
@@ -0,0 +1,136 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.execute;
+
+import java.util.Comparator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.googlecode.protobuf.pro.duplex.util.RenamingThreadFactoryProxy;
+
+/**
+ * A PriorityCallExecutor is a {@link ThreadPoolCallExecutor} which runs queued
+ * calls earliest deadline first, instead of in order of arrival.
+ * 
+ * A call's deadline is the one propagated by the client, see
+ * {@link ServerRpcController#getDeadline()}, else its start plus its timeoutMs, or the defaultDeadlineMs for
+ * calls without a timeout, brought forward by priorityWeightMs for each level
+ * of the priority the client requested, see
+ * {@link com.googlecode.protobuf.pro.duplex.ClientRpcController#setPriority(int)}.
+ * So a call of priority 1 runs before the normal priority calls of the last
+ * priorityWeightMs. Since the deadline of a waiting call stays fixed while those
+ * of newly arriving calls advance with time, low priority calls age and are not
+ * starved, each waits for no more than the calls which arrive within its
+ * priority distance.
+ * 
+ * Beyond maxQueuedCalls waiting calls, calls fail with "Server Overload" or go
+ * to the overflow executor.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class PriorityCallExecutor extends ThreadPoolCallExecutor {
+
+	public static final long DEFAULT_PRIORITY_WEIGHT_MS = 1000;
+	public static final long DEFAULT_DEADLINE_MS = 10000;
+	
+	public PriorityCallExecutor( int poolSize, int maxQueuedCalls ) {
+		this(poolSize, maxQueuedCalls, DEFAULT_PRIORITY_WEIGHT_MS, DEFAULT_DEADLINE_MS);
+	}
+	
+	/**
+	 * @param poolSize the number of threads running calls.
+	 * @param maxQueuedCalls the number of calls waiting for a thread, beyond which calls are rejected.
+	 * @param priorityWeightMs how far each priority level brings a call's deadline forward.
+	 * @param defaultDeadlineMs the deadline of calls without a timeout.
+	 */
+	public PriorityCallExecutor( int poolSize, int maxQueuedCalls, long priorityWeightMs, long defaultDeadlineMs ) {
+		super(poolSize, poolSize, 30, TimeUnit.SECONDS, new BoundedPriorityQueue(maxQueuedCalls, new DeadlineOrder(priorityWeightMs, defaultDeadlineMs)), new RenamingThreadFactoryProxy("rpc-priority", Executors.defaultThreadFactory()));
+	}
+	
+	/**
+	 * Orders the CallRunners by the deadline of their calls.
+	 */
+	static class DeadlineOrder implements Comparator<Runnable> {
+		
+		private final long priorityWeightMs;
+		private final long defaultDeadlineMs;
+		
+		DeadlineOrder( long priorityWeightMs, long defaultDeadlineMs ) {
+			if ( priorityWeightMs < 0 ) {
+				throw new IllegalArgumentException("priorityWeightMs");
+			}
+			if ( defaultDeadlineMs <= 0 ) {
+				throw new IllegalArgumentException("defaultDeadlineMs");
+			}
+			this.priorityWeightMs = priorityWeightMs;
+			this.defaultDeadlineMs = defaultDeadlineMs;
+		}
+		
+		@Override
+		public int compare(Runnable r1, Runnable r2) {
+			long d1 = getDeadline(((CallRunner)r1).getCall());
+			long d2 = getDeadline(((CallRunner)r2).getCall());
+			return d1 < d2 ? -1 : (d1 == d2 ? 0 : 1);
+		}
+		
+		/**
+		 * @param call
+		 * @return the deadline of the call, brought forward by its priority.
+		 */
+		long getDeadline( PendingServerCallState call ) {
+			long deadline = call.getController().getDeadline();
+			if ( deadline <= 0 ) {
+				deadline = call.getStartTS() + (call.getTimeoutMs() > 0 ? call.getTimeoutMs() : defaultDeadlineMs);
+			}
+			return deadline - call.getPriority() * priorityWeightMs;
+		}
+	}
+	
+	/**
+	 * A PriorityBlockingQueue which refuses offers beyond its capacity, so that
+	 * the ThreadPoolExecutor rejects the calls.
+	 */
+	private static class BoundedPriorityQueue extends PriorityBlockingQueue<Runnable> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final int capacity;
+		
+		BoundedPriorityQueue( int capacity, Comparator<Runnable> order ) {
+			super(Math.max(1, Math.min(capacity, 64)), order);
+			if ( capacity <= 0 ) {
+				throw new IllegalArgumentException("maxQueuedCalls");
+			}
+			this.capacity = capacity;
+		}
+		
+		// offers are serialized, so the check holds since removals only shrink the queue.
+		@Override
+		public synchronized boolean offer(Runnable e) {
+			if ( size() >= capacity ) {
+				return false;
+			}
+			return super.offer(e);
+		}
+		
+		@Override
+		public int remainingCapacity() {
+			return Math.max(0, capacity - size());
+		}
+	}
+}
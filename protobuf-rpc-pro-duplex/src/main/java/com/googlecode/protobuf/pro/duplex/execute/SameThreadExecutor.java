@@ -65,36 +65,37 @@ public class SameThreadExecutor implements RpcServerCallExecutor {
 		call.setExecutor((Runnable)Thread.currentThread());
 		
 		BlockingRpcCallback callback = new BlockingRpcCallback();
-		if ( call.getService() != null ) {
-			call.getService().callMethod(call.getMethodDesc(), call.getController(), call.getRequest(), callback);
-			if ( !callback.isDone() ) {
-				// this is only likely to come in here if another thread executes the callback than the
-				// one calling callMethod.
-				synchronized(callback) {
-					while(!callback.isDone()) {
-						try {
-							callback.wait();
-						} catch (InterruptedException e) {
-							// if the service off-loaded running to a different thread, the currentThread
-							// could be waiting here and be interrupted when cancel comes in.
-							
-							// we "consume" the thread's current thread's interrupt status and finish.
-							break;
-						}
+		ServerRpcController previous = ServerRpcController.getCurrentCall();
+		ServerRpcController.setCurrentCall(call.getController());
+		try {
+			if ( call.getService() != null ) {
+				call.getService().callMethod(call.getMethodDesc(), call.getController(), call.getRequest(), callback);
+				if ( !callback.isDone() ) {
+					// this is only likely to come in here if another thread executes the callback than the
+					// one calling callMethod.
+					try {
+						callback.await();
+					} catch (InterruptedException e) {
+						// if the service off-loaded running to a different thread, the currentThread
+						// could be waiting here and be interrupted when cancel comes in.
+					
+						// we "consume" the thread's current thread's interrupt status and finish.
 					}
+					// callback may or may not have finished
+				}
+			} else {
+				// handle blocking call service
+				try {
+					Message response = call.getBlockingService().callBlockingMethod(call.getMethodDesc(), call.getController(), call.getRequest());
+					callback.run(response);
+				} catch ( com.google.protobuf.ServiceException se ) {
+					log.warn("BlockingService threw ServiceException.", se);
+					callback.run(null);
+					call.getController().setFailed("ServiceException");
 				}
-				// callback may or may not have finished
-			}
-		} else {
-			// handle blocking call service
-			try {
-				Message response = call.getBlockingService().callBlockingMethod(call.getMethodDesc(), call.getController(), call.getRequest());
-				callback.run(response);
-			} catch ( com.google.protobuf.ServiceException se ) {
-				log.warn("BlockingService threw ServiceException.", se);
-				callback.run(null);
-				call.getController().setFailed("ServiceException");
 			}
+		} finally {
+			ServerRpcController.setCurrentCall(previous);
 		}
 		
 		runningCalls.remove(Thread.currentThread());
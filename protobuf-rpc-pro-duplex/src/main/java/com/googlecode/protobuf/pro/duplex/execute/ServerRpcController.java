@@ -27,6 +27,11 @@ import com.google.protobuf.RpcController;
 import com.googlecode.protobuf.pro.duplex.LocalCallVariableHolder;
 import com.googlecode.protobuf.pro.duplex.RpcClient;
 import com.googlecode.protobuf.pro.duplex.RpcClientChannel;
+import com.googlecode.protobuf.pro.duplex.stream.OobResponseSubscriber;
+import com.googlecode.protobuf.pro.duplex.stream.Publisher;
+import com.googlecode.protobuf.pro.duplex.stream.RequestStreamSubscription;
+import com.googlecode.protobuf.pro.duplex.stream.Subscriber;
+import com.googlecode.protobuf.pro.duplex.stream.Subscription;
 
 /**
  * @author Peter Klauser
@@ -34,6 +39,12 @@ import com.googlecode.protobuf.pro.duplex.RpcClientChannel;
  */
 public class ServerRpcController implements RpcController, LocalCallVariableHolder {
 
+	/**
+	 * The call being run by the current thread, whose remaining budget the
+	 * RpcClient calls it makes inherit.
+	 */
+	private static final ThreadLocal<ServerRpcController> currentCall = new ThreadLocal<ServerRpcController>();
+	
 	private String failureReason;
 	private final AtomicBoolean canceled = new AtomicBoolean(false);
 	private final AtomicBoolean cancelCallbackNotified = new AtomicBoolean(false);
@@ -42,12 +53,35 @@ public class ServerRpcController implements RpcController, LocalCallVariableHold
 	private int correlationId;
 	private String serviceName;
 	
+	/**
+	 * The Subscription of a Publisher streaming the OobResponses, and the
+	 * OobCredits received from the client before it subscribed.
+	 */
+	private Subscription oobSubscription;
+	private long oobCredits;
+	
+	/**
+	 * The request stream published by the client, created on subscription or
+	 * receipt of the first StreamChunk or StreamEnd.
+	 */
+	private RequestStreamSubscription requestStream;
+	
 	/**
 	 * A convenient store of call local variables.
 	 * The values are not transmitted, just kept locally. Is cleared on {@link #reset()}
 	 */
 	private Map<String, Object> callLocalVariables;
 	
+	/**
+	 * The wall clock time by which the client expects the response, 0 for none.
+	 */
+	private volatile long deadline;
+	
+	/**
+	 * Whether the failure is reported to the client as retryable.
+	 */
+	private volatile boolean retryable;
+	
 	public ServerRpcController( RpcClient rpcClient, String serviceName, int correlationId ) {
 		this.rpcClient = rpcClient;
 		this.correlationId = correlationId;
@@ -64,6 +98,29 @@ public class ServerRpcController implements RpcController, LocalCallVariableHold
 		return c.getRpcClient();
 	}
 
+	/**
+	 * The controller of the call which the current thread runs, set by the
+	 * RpcServerCallExecutors while calling the service method. RPC calls made on
+	 * that thread inherit the call's remaining budget. Services which make calls
+	 * on other threads can pass the budget on with {@link #getDeadline()}.
+	 * 
+	 * @return the controller of the current thread's call, or null.
+	 */
+	public static ServerRpcController getCurrentCall() {
+		return currentCall.get();
+	}
+	
+	/**
+	 * @param controller the controller of the current thread's call, or null.
+	 */
+	static void setCurrentCall( ServerRpcController controller ) {
+		if ( controller != null ) {
+			currentCall.set(controller);
+		} else {
+			currentCall.remove();
+		}
+	}
+
 	@Override
 	public synchronized Object getCallLocalVariable( String key ) {
 		if ( callLocalVariables != null ) {
@@ -93,6 +150,14 @@ public class ServerRpcController implements RpcController, LocalCallVariableHold
 	@Override
 	public void startCancel() {
 		this.canceled.set(true);
+		// only a streaming call has a request stream to end, others allocate none.
+		RequestStreamSubscription stream = null;
+		synchronized(this) {
+			stream = requestStream;
+		}
+		if ( stream != null ) {
+			stream.receiveEnd("Cancel");
+		}
 	}
 
 	@Override
@@ -133,6 +198,36 @@ public class ServerRpcController implements RpcController, LocalCallVariableHold
 		return cancelNotifyCallback;
 	}
 
+	/**
+	 * @return the wall clock time by which the client expects the response, 0 for none.
+	 */
+	public long getDeadline() {
+		return deadline;
+	}
+
+	/**
+	 * @param deadline the wall clock time by which the client expects the response, 0 for none.
+	 */
+	public void setDeadline(long deadline) {
+		this.deadline = deadline;
+	}
+
+	/**
+	 * @return whether the failure is reported to the client as retryable.
+	 */
+	public boolean isRetryable() {
+		return retryable;
+	}
+
+	/**
+	 * Report the failure to the client as retryable, when the call did not run.
+	 * 
+	 * @param retryable
+	 */
+	public void setRetryable(boolean retryable) {
+		this.retryable = retryable;
+	}
+
 	/**
 	 * @return the correlationId
 	 */
@@ -163,10 +258,108 @@ public class ServerRpcController implements RpcController, LocalCallVariableHold
 		return rpcClient.sendOobResponse(serviceName, correlationId, msg);
 	}
 
+	/**
+	 * Stream the items of the publisher as OobResponses back to the client,
+	 * as fast as the client's Subscriber requests them, then finish the call
+	 * with the response.
+	 * 
+	 * @param publisher
+	 * @param done the RPC call's done callback.
+	 * @param response the RPC call's response once the publisher completes.
+	 */
+	public <R extends Message> void streamOobResponses( Publisher<? extends Message> publisher, RpcCallback<R> done, R response ) {
+		publisher.subscribe(new OobResponseSubscriber<R>(this, done, response));
+	}
+	
+	/**
+	 * Set the Subscription of the Publisher streaming the OobResponses, requesting
+	 * the OobCredits received so far.
+	 * 
+	 * @param subscription
+	 */
+	public void setOobSubscription( Subscription subscription ) {
+		long credits = 0;
+		synchronized(this) {
+			oobSubscription = subscription;
+			credits = oobCredits;
+			oobCredits = 0;
+		}
+		if ( credits > 0 ) {
+			subscription.request(credits);
+		}
+	}
+	
+	/**
+	 * The client's Subscriber requested further OobResponses.
+	 * 
+	 * @param credits
+	 */
+	public void receiveOobCredit( int credits ) {
+		Subscription subscription = null;
+		synchronized(this) {
+			subscription = oobSubscription;
+			if ( subscription == null ) {
+				oobCredits += credits;
+				return;
+			}
+		}
+		subscription.request(credits);
+	}
+
+	/**
+	 * Subscribe to the stream of request messages which the client publishes
+	 * with {@link com.googlecode.protobuf.pro.duplex.ClientRpcController#setRequestPublisher(Publisher)}
+	 * following the call's request. The messages are of the method's request type.
+	 * 
+	 * The subscriber receives the messages on the IO thread as they arrive,
+	 * and must not block. The client only sends as many messages as the
+	 * subscriber requests. Cancellation of the call fails the subscriber.
+	 * 
+	 * The call must not run on the IO thread, i.e. with the {@link SameThreadExecutor},
+	 * since it would wait there for the messages which that thread is to deliver.
+	 * 
+	 * Together with {@link #streamOobResponses(Publisher, RpcCallback, Message)}
+	 * this makes a bidirectional stream.
+	 * 
+	 * @param subscriber
+	 */
+	public <T extends Message> void subscribeRequestStream( Subscriber<? super T> subscriber ) {
+		getRequestStream().subscribe(subscriber);
+	}
+	
+	/**
+	 * Receipt of a message of the client's request stream.
+	 * 
+	 * @param message
+	 */
+	public void receiveStreamChunk( Message message ) {
+		getRequestStream().receiveChunk(message);
+	}
+	
+	/**
+	 * Receipt of the end of the client's request stream.
+	 * 
+	 * @param errorMessage null if the client's Publisher completed.
+	 */
+	public void receiveStreamEnd( String errorMessage ) {
+		getRequestStream().receiveEnd(errorMessage);
+	}
+	
+	private synchronized RequestStreamSubscription getRequestStream() {
+		if ( requestStream == null ) {
+			requestStream = new RequestStreamSubscription(rpcClient, correlationId);
+			if ( canceled.get() ) {
+				// subscribed after the call was cancelled.
+				requestStream.receiveEnd("Cancel");
+			}
+		}
+		return requestStream;
+	}
+
 	/**
 	 * @return the serviceName
 	 */
 	public String getServiceName() {
 		return serviceName;
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
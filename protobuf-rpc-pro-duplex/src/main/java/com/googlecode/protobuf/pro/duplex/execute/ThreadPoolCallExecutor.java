@@ -30,6 +30,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.protobuf.Message;
 import com.google.protobuf.RpcCallback;
+import com.googlecode.protobuf.pro.duplex.limit.CoDelLoadShedder;
 import com.googlecode.protobuf.pro.duplex.util.RenamingThreadFactoryProxy;
 
 /**
@@ -58,6 +59,9 @@ import com.googlecode.protobuf.pro.duplex.util.RenamingThreadFactoryProxy;
  * requests. If a RPC call comes in where a Thread is not ready to handle, you will receive
  * a "Server Overload" error.
  * 
+ * Calls which the executor cannot take are handed to the overflow executor if one is set, for instance
+ * when the executor is a bulkhead for some methods and those may spill over into the default executor.
+ * 
  * TODO find out the queue type which is linked and not blocking unlimited size.
  *  
  * @author Peter Klauser
@@ -69,10 +73,25 @@ public class ThreadPoolCallExecutor extends ThreadPoolExecutor implements RpcSer
 
 	Map<CallRunner,CallRunner> runningCalls = new ConcurrentHashMap<CallRunner, CallRunner>();
 	
+	/**
+	 * Where calls go which this executor rejects, null to fail them with "Server Overload".
+	 */
+	private volatile RpcServerCallExecutor overflowExecutor;
+	
 	public ThreadPoolCallExecutor(int corePoolSize, int maximumPoolSize) {
 		this(corePoolSize, maximumPoolSize, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(corePoolSize, false), new RenamingThreadFactoryProxy("rpc", Executors.defaultThreadFactory()) );
 	}
 	
+	/**
+	 * @param corePoolSize
+	 * @param maximumPoolSize the number of calls running at once.
+	 * @param maxQueuedCalls the number of calls waiting for a thread, beyond which calls are rejected.
+	 * @param threadNamePrefix
+	 */
+	public ThreadPoolCallExecutor(int corePoolSize, int maximumPoolSize, int maxQueuedCalls, String threadNamePrefix) {
+		this(corePoolSize, maximumPoolSize, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(maxQueuedCalls, false), new RenamingThreadFactoryProxy(threadNamePrefix, Executors.defaultThreadFactory()) );
+	}
+	
 	public ThreadPoolCallExecutor(int corePoolSize, int maximumPoolSize, ThreadFactory threadFactory) {
 		this(corePoolSize, maximumPoolSize, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(corePoolSize, false), threadFactory );
 	}
@@ -145,23 +164,7 @@ public class ThreadPoolCallExecutor extends ThreadPoolExecutor implements RpcSer
 		
 		CallRunner runner = runningCalls.remove(r);
 		if ( runner != null ) {
-			ServerRpcController controller = runner.getCall().getController();
-			if ( controller.isCanceled() ) {
-				// we don't care if there was a response created or error, the
-				// client is not interested anymore. Just to the notification
-				if ( controller.getAndSetCancelCallbackNotified() ) {
-					RpcCallback<Object> cancelCallback = controller.getCancelNotifyCallback();
-					if ( cancelCallback != null ) {
-						cancelCallback.run(null);
-					}
-				}
-			} else {
-				if ( !runner.getServiceCallback().isDone() ) {
-					log.warn("RpcCallRunner did not finish RpcCall afterExecute. RpcCallRunner expected to complete calls, not offload them.");
-				}
-				runner.getCall().getExecutorCallback().onFinish(runner.getCall().getController().getCorrelationId(), runner.getServiceCallback().getMessage());
-			}
-			
+			finishCall(runner.getCall(), runner.getServiceCallback());
 		} else {
 			if ( log.isDebugEnabled() ) {
 				log.debug("Unable to find RpcCallRunner afterExecute - normal for a RpcCancel.");
@@ -177,14 +180,21 @@ public class ThreadPoolCallExecutor extends ThreadPoolExecutor implements RpcSer
 		CallRunner runner = runningCalls.remove(r);
 		if ( runner != null ) {
 			PendingServerCallState call = runner.getCall();
+			RpcServerCallExecutor overflow = overflowExecutor;
+			if ( overflow != null && overflow != this ) {
+				call.setCallExecutor(overflow);
+				overflow.execute(call);
+				return;
+			}
 			call.getController().setFailed("Server Overload");
+			call.getController().setRetryable(true);
 			call.getExecutorCallback().onFinish(call.getController().getCorrelationId(), null);
 			// if we didn't even start to run, we don't have to worry about on cancel notify because
 			// the cancel notification callback could never have been set!
 		}
 	}
 
-	private static class CallRunner implements Runnable {
+	static class CallRunner implements Runnable {
 
 		private final PendingServerCallState call;
 		private final BlockingRpcCallback serviceCallback = new BlockingRpcCallback();
@@ -197,52 +207,7 @@ public class ThreadPoolCallExecutor extends ThreadPoolExecutor implements RpcSer
 		
 		@Override
 		public void run() {
-			if ( call.getController().isCanceled() ) {
-				// canceled before start - return immediately
-				return;
-			}
-			// due to buffering in the RpcServerCallExecutor, we may already be timed-out
-			// so we dont want to process the call towards the RPC service.
-			if( call.isTimeoutExceeded() ) {
-				// set the controller's cancel indicator
-				call.getController().startCancel();
-				serviceCallback.run(null);
-				return;
-			}
-			if ( call.getService() != null ) {
-				call.getService().callMethod(call.getMethodDesc(), call.getController(), call.getRequest(), serviceCallback);
-				if ( !serviceCallback.isDone() ) {
-					// this is only likely to come in here if another thread executes the callback that the
-					// one calling callMethod.
-					synchronized(serviceCallback) {
-						while(!serviceCallback.isDone()) {
-							try {
-								serviceCallback.wait();
-							} catch (InterruptedException e) {
-								// if the service off-loaded running to a different thread, the currentThread
-								// could be waiting here and be interrupted when cancel comes in.
-								
-								// we "consume" the thread's current thread's interrupt status and finish.
-								break;
-							}
-						}
-					}
-					// callback may or may not have finished
-				}
-			} else {
-				try {
-					Message responseMessage = call.getBlockingService().callBlockingMethod(call.getMethodDesc(), call.getController(), call.getRequest());
-					serviceCallback.run(responseMessage);
-				} catch ( com.google.protobuf.ServiceException se ) {
-					log.warn("BlockingService threw ServiceException.", se);
-					serviceCallback.run(null);
-					call.getController().setFailed(se.getMessage());
-				}
-			}
-			if ( Thread.interrupted() ) {
-				//log clearing interrupted flag, which might have been set if we were interrupted
-				//but not in a blocking wait before.
-			}
+			runCall(call, serviceCallback);
 		}
 
 		/**
@@ -274,5 +239,120 @@ public class ThreadPoolCallExecutor extends ThreadPoolExecutor implements RpcSer
 		}
 		
 	}
+	
+	/**
+	 * @return the executor taking the calls this executor rejects, or null.
+	 */
+	public RpcServerCallExecutor getOverflowExecutor() {
+		return overflowExecutor;
+	}
+
+	/**
+	 * @param overflowExecutor the executor taking the calls this executor rejects,
+	 * null to fail them with "Server Overload".
+	 */
+	public void setOverflowExecutor(RpcServerCallExecutor overflowExecutor) {
+		this.overflowExecutor = overflowExecutor;
+	}
+
+	/**
+	 * Notify the cancel callback of a cancelled call, or the executor
+	 * callback of the call's outcome.
+	 * 
+	 * @param call
+	 * @param serviceCallback
+	 */
+	static void finishCall( PendingServerCallState call, BlockingRpcCallback serviceCallback ) {
+		ServerRpcController controller = call.getController();
+		if ( controller.isCanceled() ) {
+			// we don't care if there was a response created or error, the
+			// client is not interested anymore. Just to the notification
+			if ( controller.getAndSetCancelCallbackNotified() ) {
+				RpcCallback<Object> cancelCallback = controller.getCancelNotifyCallback();
+				if ( cancelCallback != null ) {
+					cancelCallback.run(null);
+				}
+			}
+		} else {
+			if ( !serviceCallback.isDone() ) {
+				log.warn("RpcCallRunner did not finish RpcCall afterExecute. RpcCallRunner expected to complete calls, not offload them.");
+			}
+			call.getExecutorCallback().onFinish(controller.getCorrelationId(), serviceCallback.getMessage());
+		}
+	}
+	
+	/**
+	 * Run the call's service method on the current thread, unless cancelled
+	 * or timed out before, until the serviceCallback is done or the thread
+	 * is interrupted by a cancel.
+	 * 
+	 * @param call
+	 * @param serviceCallback
+	 */
+	static void runCall( PendingServerCallState call, BlockingRpcCallback serviceCallback ) {
+		if ( call.getController().isCanceled() ) {
+			// canceled before start - return immediately
+			return;
+		}
+		CoDelLoadShedder loadShedder = call.takeLoadShedder();
+		if ( loadShedder != null && !loadShedder.onStart(call.getMethodDesc().getFullName(), System.nanoTime() - call.getAdmittedNanos()) ) {
+			// waited too long in an overloaded queue.
+			call.getController().setFailed(CoDelLoadShedder.LOAD_SHED);
+			call.getController().setRetryable(true);
+			serviceCallback.run(null);
+			return;
+		}
+		// due to buffering in the RpcServerCallExecutor, we may already be timed-out
+		// so we dont want to process the call towards the RPC service.
+		if( call.isTimeoutExceeded() ) {
+			// set the controller's cancel indicator
+			call.getController().startCancel();
+			serviceCallback.run(null);
+			return;
+		}
+		ServerRpcController previous = ServerRpcController.getCurrentCall();
+		ServerRpcController.setCurrentCall(call.getController());
+		try {
+			invoke(call, serviceCallback);
+		} finally {
+			ServerRpcController.setCurrentCall(previous);
+		}
+		if ( Thread.interrupted() ) {
+			//log clearing interrupted flag, which might have been set if we were interrupted
+			//but not in a blocking wait before.
+		}
+	}
+	
+	/**
+	 * Call the blocking or non blocking service method, waiting for the
+	 * serviceCallback if the service completes on another thread.
+	 */
+	private static void invoke( PendingServerCallState call, BlockingRpcCallback serviceCallback ) {
+		if ( call.getService() != null ) {
+			call.getService().callMethod(call.getMethodDesc(), call.getController(), call.getRequest(), serviceCallback);
+			if ( !serviceCallback.isDone() ) {
+				// this is only likely to come in here if another thread executes the callback that the
+				// one calling callMethod.
+				try {
+					serviceCallback.await();
+				} catch (InterruptedException e) {
+					// if the service off-loaded running to a different thread, the currentThread
+					// could be waiting here and be interrupted when cancel comes in.
+					
+					// we "consume" the thread's current thread's interrupt status and finish.
+				}
+				// callback may or may not have finished
+			}
+		} else {
+			try {
+				Message responseMessage = call.getBlockingService().callBlockingMethod(call.getMethodDesc(), call.getController(), call.getRequest());
+				serviceCallback.run(responseMessage);
+			} catch ( com.google.protobuf.ServiceException se ) {
+				log.warn("BlockingService threw ServiceException.", se);
+				serviceCallback.run(null);
+				call.getController().setFailed(se.getMessage());
+			}
+		}
+	}
 
 }
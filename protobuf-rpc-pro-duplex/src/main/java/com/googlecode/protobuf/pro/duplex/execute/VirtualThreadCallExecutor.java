@@ -0,0 +1,76 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.execute;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ThreadPoolCallExecutor} which runs each RPC call on a new virtual
+ * thread, so blocking services can serve many thousands of concurrent calls
+ * without a platform thread each. Requires a Java 21 or later runtime,
+ * see {@link #isSupported()}.
+ * 
+ * Calls are not queued, each call is handed directly to a new thread. Once
+ * maxConcurrentCalls calls are running, further calls fail with "Server Overload".
+ * Cancellation interrupts the call's virtual thread, as with the ThreadPoolCallExecutor.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class VirtualThreadCallExecutor extends ThreadPoolCallExecutor {
+
+	public VirtualThreadCallExecutor( int maxConcurrentCalls ) {
+		super(0, maxConcurrentCalls, 0, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), newVirtualThreadFactory("rpc-virtual-"));
+	}
+	
+	/**
+	 * @return whether the runtime supports virtual threads.
+	 */
+	public static boolean isSupported() {
+		try {
+			Thread.class.getMethod("ofVirtual");
+			return true;
+		} catch ( NoSuchMethodException e ) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Create a ThreadFactory of virtual threads, looked up reflectively
+	 * since we compile against older Java versions.
+	 * 
+	 * @param namePrefix the threads are named with the prefix and a counter.
+	 * @return the ThreadFactory.
+	 * @throws IllegalStateException if the runtime does not support virtual threads.
+	 */
+	public static ThreadFactory newVirtualThreadFactory( String namePrefix ) {
+		if ( !isSupported() ) {
+			throw new IllegalStateException("Virtual threads require Java 21 or later.");
+		}
+		try {
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Method name = builderClass.getMethod("name", String.class, long.class);
+			builder = name.invoke(builder, namePrefix, 0l);
+			return (ThreadFactory)builderClass.getMethod("factory").invoke(builder);
+		} catch ( Exception e ) {
+			throw new IllegalStateException("Unable to create virtual thread factory.", e);
+		}
+	}
+}
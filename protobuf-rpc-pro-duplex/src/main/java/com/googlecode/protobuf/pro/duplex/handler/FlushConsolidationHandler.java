@@ -0,0 +1,234 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consolidates the flushes of a Channel, so that the writes of many small
+ * RPC calls and responses are sent with one syscall.
+ * 
+ * A flush requested while the Channel is reading is performed when the read
+ * completes. Otherwise the flush is deferred until the end of the current
+ * event loop tick, or until maxFlushDelay has passed if set, collecting the
+ * writes made by other threads in the meantime. A flush is performed
+ * immediately once maxWrites or maxBytes are pending.
+ * 
+ * The flush metrics can be read from any thread. The handler of an
+ * RpcClientChannel is found with
+ * {@code channel.getPipeline().get(Handler.FLUSH_CONSOLIDATION)}.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class FlushConsolidationHandler extends ChannelDuplexHandler {
+
+	public static final int DEFAULT_MAX_WRITES = 64;
+	public static final int DEFAULT_MAX_BYTES = 65536;
+	
+	private final int maxWrites;
+	private final int maxBytes;
+	private final long maxFlushDelayNanos;
+	
+	private ChannelHandlerContext ctx;
+	private boolean readInProgress;
+	private boolean flushPending;
+	private boolean flushScheduled;
+	private int pendingWrites;
+	private long pendingBytes;
+
+	// metrics, only updated on the Channel's event loop
+	private volatile long writes;
+	private volatile long flushesRequested;
+	private volatile long flushesPerformed;
+	
+	private final Runnable flushTask = new Runnable() {
+		@Override
+		public void run() {
+			flushScheduled = false;
+			if ( flushPending ) {
+				flushNow(ctx);
+			}
+		}
+	};
+	
+	public FlushConsolidationHandler() {
+		this(DEFAULT_MAX_WRITES, DEFAULT_MAX_BYTES, 0, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * @param maxWrites the number of pending writes which cause an immediate flush.
+	 * @param maxBytes the number of pending bytes which cause an immediate flush.
+	 * @param maxFlushDelay the longest a flush is deferred outside of a read,
+	 *  0 to flush at the end of the event loop's current tick.
+	 * @param unit the unit of maxFlushDelay.
+	 */
+	public FlushConsolidationHandler( int maxWrites, int maxBytes, long maxFlushDelay, TimeUnit unit ) {
+		if ( maxWrites <= 0 ) {
+			throw new IllegalArgumentException("maxWrites");
+		}
+		if ( maxBytes <= 0 ) {
+			throw new IllegalArgumentException("maxBytes");
+		}
+		if ( maxFlushDelay < 0 ) {
+			throw new IllegalArgumentException("maxFlushDelay");
+		}
+		this.maxWrites = maxWrites;
+		this.maxBytes = maxBytes;
+		this.maxFlushDelayNanos = unit.toNanos(maxFlushDelay);
+	}
+
+	@Override
+	public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+		this.ctx = ctx;
+	}
+
+	@Override
+	public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+		flushIfPending(ctx);
+	}
+
+	@Override
+	public void write(ChannelHandlerContext ctx, Object msg,
+			ChannelPromise promise) throws Exception {
+		writes++;
+		pendingWrites++;
+		if ( msg instanceof ByteBuf ) {
+			pendingBytes += ((ByteBuf)msg).readableBytes();
+		}
+		ctx.write(msg, promise);
+	}
+
+	@Override
+	public void flush(ChannelHandlerContext ctx) throws Exception {
+		flushesRequested++;
+		flushPending = true;
+		if ( pendingWrites >= maxWrites || pendingBytes >= maxBytes ) {
+			flushNow(ctx);
+		} else if ( !readInProgress && !flushScheduled ) {
+			// during a read the flush is performed when the read completes.
+			flushScheduled = true;
+			if ( maxFlushDelayNanos > 0 ) {
+				ctx.executor().schedule(flushTask, maxFlushDelayNanos, TimeUnit.NANOSECONDS);
+			} else {
+				ctx.executor().execute(flushTask);
+			}
+		}
+	}
+
+	@Override
+	public void channelRead(ChannelHandlerContext ctx, Object msg)
+			throws Exception {
+		readInProgress = true;
+		ctx.fireChannelRead(msg);
+	}
+
+	@Override
+	public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+		readInProgress = false;
+		flushIfPending(ctx);
+		ctx.fireChannelReadComplete();
+	}
+
+	@Override
+	public void channelWritabilityChanged(ChannelHandlerContext ctx)
+			throws Exception {
+		if ( !ctx.channel().isWritable() ) {
+			// let the transport drain what is pending
+			flushIfPending(ctx);
+		}
+		ctx.fireChannelWritabilityChanged();
+	}
+
+	@Override
+	public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause)
+			throws Exception {
+		flushIfPending(ctx);
+		ctx.fireExceptionCaught(cause);
+	}
+
+	@Override
+	public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise)
+			throws Exception {
+		flushIfPending(ctx);
+		ctx.disconnect(promise);
+	}
+
+	@Override
+	public void close(ChannelHandlerContext ctx, ChannelPromise promise)
+			throws Exception {
+		flushIfPending(ctx);
+		ctx.close(promise);
+	}
+
+	private void flushIfPending( ChannelHandlerContext ctx ) {
+		if ( flushPending ) {
+			flushNow(ctx);
+		}
+	}
+	
+	private void flushNow( ChannelHandlerContext ctx ) {
+		flushPending = false;
+		pendingWrites = 0;
+		pendingBytes = 0;
+		flushesPerformed++;
+		ctx.flush();
+	}
+
+	/**
+	 * @return the number of writes passed through.
+	 */
+	public long getWrites() {
+		return writes;
+	}
+
+	/**
+	 * @return the number of flushes requested by the pipeline.
+	 */
+	public long getFlushesRequested() {
+		return flushesRequested;
+	}
+
+	/**
+	 * @return the number of flushes actually performed.
+	 */
+	public long getFlushesPerformed() {
+		return flushesPerformed;
+	}
+
+	/**
+	 * The batching efficiency of the Channel.
+	 * 
+	 * @return the average number of writes sent per performed flush.
+	 */
+	public double getWritesPerFlush() {
+		long flushes = flushesPerformed;
+		if ( flushes == 0 ) {
+			return 0;
+		}
+		return (double)writes / flushes;
+	}
+
+	@Override
+	public String toString() {
+		return "FlushConsolidationHandler[writes=" + writes + ", flushesRequested=" + flushesRequested + ", flushesPerformed=" + flushesPerformed + "]";
+	}
+}
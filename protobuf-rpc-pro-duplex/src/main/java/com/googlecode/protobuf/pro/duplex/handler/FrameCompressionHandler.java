@@ -0,0 +1,241 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.handler;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.DecoderException;
+
+import java.io.IOException;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.ExtensionRegistry;
+import com.google.protobuf.MessageLite;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredCompressedPayload;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayloadBatch;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.FrameCompressor;
+
+/**
+ * Compresses outgoing WirePayloads with the negotiated
+ * {@link CompressionCodec}, and sends them wrapped in a CompressedPayload.
+ * By default, if compression is enabled, each frame whose serialized size
+ * reaches the compression threshold is compressed. Individual RpcRequests
+ * and RpcResponses can be compressed or not regardless of the default,
+ * see {@link DeferredWirePayload#setCompress(Boolean)}. Frames which do not
+ * compress are sent as they are, so unlike the GZIP stream compression no
+ * CPU is spent on the many small RPC calls.
+ * 
+ * Received CompressedPayloads are decompressed straight from the frame and
+ * decoded into the payload they wrap. Only the negotiated codec is accepted,
+ * and frames claiming an uncompressed size above the limit are rejected
+ * before anything is allocated for them.
+ * 
+ * This handler is only placed into the pipeline of an RpcClient if both
+ * peers negotiated a codec during the connection handshake.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class FrameCompressionHandler extends ChannelDuplexHandler {
+
+	public static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+	public static final int DEFAULT_MAX_UNCOMPRESSED_SIZE = 64 * 1024 * 1024;
+	
+	private final FrameCompressor compressor;
+	private final int compressionThreshold;
+	private final boolean compressByDefault;
+	private final int maxUncompressedSize;
+	private final ExtensionRegistry extensionRegistry;
+
+	// metrics, only updated on the Channel's event loop
+	private volatile long framesCompressed;
+	private volatile long uncompressedBytes;
+	private volatile long compressedBytes;
+	
+	/**
+	 * @param codec the codec to compress with.
+	 * @param compressionThreshold the serialized size from which frames are compressed by default.
+	 * @param compressByDefault whether frames without a compression hint are compressed.
+	 * @param extensionRegistry optional WirePayload extension registry.
+	 */
+	public FrameCompressionHandler( CompressionCodec codec, int compressionThreshold, boolean compressByDefault, ExtensionRegistry extensionRegistry ) {
+		this(codec, compressionThreshold, compressByDefault, DEFAULT_MAX_UNCOMPRESSED_SIZE, extensionRegistry);
+	}
+	
+	/**
+	 * @param codec the codec to compress with.
+	 * @param compressionThreshold the serialized size from which frames are compressed by default.
+	 * @param compressByDefault whether frames without a compression hint are compressed.
+	 * @param maxUncompressedSize the largest uncompressed size a received frame may claim.
+	 * @param extensionRegistry optional WirePayload extension registry.
+	 */
+	public FrameCompressionHandler( CompressionCodec codec, int compressionThreshold, boolean compressByDefault, int maxUncompressedSize, ExtensionRegistry extensionRegistry ) {
+		if ( codec == null ) {
+			throw new IllegalArgumentException("codec");
+		}
+		if ( compressionThreshold < 0 ) {
+			throw new IllegalArgumentException("compressionThreshold");
+		}
+		if ( maxUncompressedSize < 0 ) {
+			throw new IllegalArgumentException("maxUncompressedSize");
+		}
+		this.compressor = FrameCompressor.newInstance(codec);
+		this.compressionThreshold = compressionThreshold;
+		this.compressByDefault = compressByDefault;
+		this.maxUncompressedSize = maxUncompressedSize;
+		this.extensionRegistry = extensionRegistry;
+	}
+
+	@Override
+	public void write(ChannelHandlerContext ctx, Object msg,
+			ChannelPromise promise) throws Exception {
+		ctx.write(compress(msg), promise);
+	}
+
+	@Override
+	public void channelRead(ChannelHandlerContext ctx, Object msg)
+			throws Exception {
+		if ( msg instanceof DeferredCompressedPayload ) {
+			ctx.fireChannelRead(decompress((DeferredCompressedPayload)msg));
+		} else if ( msg instanceof WirePayload && ((WirePayload)msg).hasCompressedPayload() ) {
+			ctx.fireChannelRead(decompress(((WirePayload)msg).getCompressedPayload()));
+		} else {
+			ctx.fireChannelRead(msg);
+		}
+	}
+
+	@Override
+	public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+		compressor.release();
+	}
+
+	/**
+	 * @param msg the outgoing message.
+	 * @return the DeferredCompressedPayload wrapping the message, or the message itself.
+	 * @throws IOException
+	 */
+	protected Object compress( Object msg ) throws IOException {
+		int size;
+		Boolean compress = null;
+		if ( msg instanceof DeferredWirePayload ) {
+			size = ((DeferredWirePayload)msg).getSerializedSize();
+			compress = ((DeferredWirePayload)msg).getCompress();
+		} else if ( msg instanceof DeferredWirePayloadBatch ) {
+			size = ((DeferredWirePayloadBatch)msg).getSerializedSize();
+			compress = ((DeferredWirePayloadBatch)msg).getCompress();
+		} else if ( msg instanceof WirePayload && !((WirePayload)msg).hasCompressedPayload() ) {
+			size = ((WirePayload)msg).getSerializedSize();
+		} else {
+			return msg;
+		}
+		if ( compress == null ) {
+			compress = compressByDefault && size >= compressionThreshold;
+		}
+		if ( !compress ) {
+			return msg;
+		}
+		
+		byte[] serialized = new byte[size];
+		CodedOutputStream output = CodedOutputStream.newInstance(serialized);
+		if ( msg instanceof DeferredWirePayload ) {
+			((DeferredWirePayload)msg).writeTo(output);
+		} else if ( msg instanceof DeferredWirePayloadBatch ) {
+			((DeferredWirePayloadBatch)msg).writeTo(output);
+		} else {
+			((MessageLite)msg).writeTo(output);
+		}
+		output.checkNoSpaceLeft();
+		
+		byte[] compressed = new byte[compressor.maxCompressedLength(size)];
+		int compressedSize = compressor.compress(serialized, 0, size, compressed, 0);
+		if ( compressedSize >= size ) {
+			// incompressible
+			return msg;
+		}
+		framesCompressed++;
+		uncompressedBytes += size;
+		compressedBytes += compressedSize;
+		
+		// the compressed bytes are written straight from the array by the WirePayloadEncoder.
+		return new DeferredCompressedPayload(compressor.getCodec(), size, compressed, 0, compressedSize);
+	}
+
+	/**
+	 * @param compressedPayload a received frame's CompressedPayload, whose data refers to the frame.
+	 * @return the decoded payload which was compressed.
+	 * @throws DecoderException
+	 */
+	protected Object decompress( DeferredCompressedPayload compressedPayload ) throws DecoderException {
+		return decompress(compressedPayload.getCodec(), compressedPayload.getUncompressedSize(), compressedPayload.getData(), compressedPayload.getDataOffset(), compressedPayload.getDataLength());
+	}
+
+	/**
+	 * @param compressedPayload
+	 * @return the decoded payload which was compressed.
+	 * @throws DecoderException
+	 */
+	protected Object decompress( CompressedPayload compressedPayload ) throws DecoderException {
+		byte[] data = compressedPayload.getData().toByteArray();
+		return decompress(compressedPayload.getCodec(), compressedPayload.getUncompressedSize(), data, 0, data.length);
+	}
+
+	private Object decompress( CompressionCodec codec, int size, byte[] data, int offset, int length ) throws DecoderException {
+		if ( codec != compressor.getCodec() ) {
+			throw new DecoderException("CompressedPayload codec " + codec + " was not negotiated.");
+		}
+		if ( size < 0 || size > maxUncompressedSize ) {
+			throw new DecoderException("CompressedPayload uncompressedSize " + size + " exceeds " + maxUncompressedSize);
+		}
+		byte[] serialized = new byte[size];
+		try {
+			compressor.decompress(data, offset, length, serialized, 0, size);
+		} catch ( IOException e ) {
+			throw new DecoderException(e);
+		}
+		return WirePayloadDecoder.decode(serialized, 0, size, extensionRegistry);
+	}
+
+	/**
+	 * @return the number of frames sent compressed.
+	 */
+	public long getFramesCompressed() {
+		return framesCompressed;
+	}
+
+	/**
+	 * @return the uncompressed size of the frames sent compressed.
+	 */
+	public long getUncompressedBytes() {
+		return uncompressedBytes;
+	}
+
+	/**
+	 * @return the compressed size of the frames sent compressed.
+	 */
+	public long getCompressedBytes() {
+		return compressedBytes;
+	}
+
+	@Override
+	public String toString() {
+		return "FrameCompressionHandler[codec=" + compressor.getCodec() + ", compressByDefault=" + compressByDefault + ", framesCompressed=" + framesCompressed + ", uncompressedBytes=" + uncompressedBytes + ", compressedBytes=" + compressedBytes + "]";
+	}
+}
@@ -24,6 +24,7 @@ package com.googlecode.protobuf.pro.duplex.handler;
 public abstract class Handler {
 
 	public static final String SSL = "ssl";
+	public static final String FLUSH_CONSOLIDATION = "flushConsolidation";
 	
 	public static final String COMPRESSOR = "deflater";
 	public static final String DECOMPRESSOR = "inflater";
@@ -32,7 +33,10 @@ public abstract class Handler {
 	public static final String FRAME_ENCODER = "frameEncoder";
 	public static final String PROTOBUF_DECODER = "protobufDecoder";
 	public static final String PROTOBUF_ENCODER = "protobufEncoder";
+	public static final String WIRE_CODEC = "wireCodec";
 	
+	public static final String FRAME_COMPRESSION = "frameCompression";
+	public static final String BATCHING = "batching";
 	public static final String RPC_CLIENT = "rpcClient";
 	public static final String RPC_SERVER = "rpcServer";
 	public static final String CLIENT_CONNECT = "clientConnect";
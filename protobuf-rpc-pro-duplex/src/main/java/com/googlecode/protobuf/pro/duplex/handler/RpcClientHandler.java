@@ -22,17 +22,21 @@ import java.util.List;
 
 import com.googlecode.protobuf.pro.duplex.RpcClient;
 import com.googlecode.protobuf.pro.duplex.listener.TcpConnectionEventListener;
+import com.googlecode.protobuf.pro.duplex.listener.TcpConnectionWritabilityListener;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayloadBatch;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
 
 /**
- * Handles returning RpcResponse and RpcError messages
- * in the IO-Layer, delegating them to the Netty
+ * Handles returning RpcResponse and RpcError messages, OobResponses
+ * and StreamCredits in the IO-Layer, delegating them to the Netty
  * Channel's {@link RpcClient}.
  * 
  * @author Peter Klauser
  *
  */
-public class RpcClientHandler extends MessageToMessageDecoder<WirePayload> {
+public class RpcClientHandler extends MessageToMessageDecoder<Object> {
 
     private RpcClient rpcClient;
     private TcpConnectionEventListener eventListener;
@@ -52,8 +56,49 @@ public class RpcClientHandler extends MessageToMessageDecoder<WirePayload> {
 	 * @see io.netty.channel.ChannelInboundMessageHandlerAdapter#decode(io.netty.channel.ChannelHandlerContext, java.lang.Object)
 	 */
 	@Override
-	protected void decode(ChannelHandlerContext ctx, WirePayload msg,
+	protected void decode(ChannelHandlerContext ctx, Object in,
 			List<Object> out) throws Exception {
+		if ( in instanceof DeferredWirePayload ) {
+			DeferredWirePayload payload = (DeferredWirePayload)in;
+			if ( payload.hasRpcResponse() ) {
+				rpcClient.response(payload);
+			} else if ( payload.hasOobResponse() ) {
+				rpcClient.receiveOobResponse(payload);
+			} else if ( payload.hasOobMessage() ) {
+				rpcClient.receiveOobMessage(payload);
+			} else {
+				// rpcRequest goes further up to the RpcServerHandler
+				out.add(payload);
+			}
+			return;
+		}
+		if ( in instanceof DeferredWirePayloadBatch ) {
+			DeferredWirePayloadBatch batch = (DeferredWirePayloadBatch)in;
+			for( DeferredWirePayload payload : batch.getPayloads() ) {
+				if ( payload.hasRpcResponse() ) {
+					rpcClient.response(payload);
+				}
+			}
+			if ( batch.hasRpcRequest() ) {
+				// batched rpcRequests go further up to the RpcServerHandler
+				out.add(batch);
+			}
+			return;
+		}
+		if ( !(in instanceof WirePayload) ) {
+			out.add(in);
+			return;
+		}
+		WirePayload msg = (WirePayload)in;
+		if ( msg.getBatchedRpcResponseCount() > 0 ) {
+			for( RpcResponse rpcResponse : msg.getBatchedRpcResponseList() ) {
+				rpcClient.response(rpcResponse);
+			}
+			if ( msg.getBatchedRpcRequestCount() > 0 ) {
+				out.add(msg);
+			}
+			return;
+		}
     	if ( msg.hasRpcResponse() ) {
     		rpcClient.response(msg.getRpcResponse());
     		return;
@@ -66,6 +111,9 @@ public class RpcClientHandler extends MessageToMessageDecoder<WirePayload> {
     	} else if ( msg.hasOobMessage() ) {
     		rpcClient.receiveOobMessage(msg.getOobMessage());
     		return;
+    	} else if ( msg.hasStreamCredit() ) {
+    		rpcClient.receiveStreamCredit(msg.getStreamCredit());
+    		return;
     	} else if ( msg.hasTransparentMessage() ) {
     		// just so that it's not forgotten sometime...
     		out.add(msg);
@@ -86,6 +134,19 @@ public class RpcClientHandler extends MessageToMessageDecoder<WirePayload> {
         notifyClosed();
 	}
 
+	/* (non-Javadoc)
+	 * @see io.netty.channel.ChannelInboundHandlerAdapter#channelWritabilityChanged(io.netty.channel.ChannelHandlerContext)
+	 */
+	@Override
+	public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+		boolean writable = ctx.channel().isWritable();
+		rpcClient.writabilityChanged(writable);
+		if ( eventListener instanceof TcpConnectionWritabilityListener ) {
+			((TcpConnectionWritabilityListener)eventListener).connectionWritabilityChanged(rpcClient, writable);
+		}
+		super.channelWritabilityChanged(ctx);
+	}
+
     public void notifyClosed() {
     	eventListener.connectionClosed(rpcClient);
     }
@@ -25,16 +25,19 @@ import org.slf4j.LoggerFactory;
 
 import com.googlecode.protobuf.pro.duplex.RpcServer;
 import com.googlecode.protobuf.pro.duplex.server.RpcClientRegistry;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayloadBatch;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
 
 /**
- * A pipeline handler which handles incoming RpcRequest and
- * RpcCancel payloads towards a {@link RpcServer}.
+ * A pipeline handler which handles incoming RpcRequest, RpcCancel,
+ * OobCredit, StreamChunk and StreamEnd payloads towards a {@link RpcServer}.
  * 
  * @author Peter Klauser
  *
  */
-public class RpcServerHandler extends MessageToMessageDecoder<WirePayload> {
+public class RpcServerHandler extends MessageToMessageDecoder<Object> {
 
 	private static Logger log = LoggerFactory.getLogger(RpcServerHandler.class);
 
@@ -56,14 +59,50 @@ public class RpcServerHandler extends MessageToMessageDecoder<WirePayload> {
 	 * @see io.netty.channel.ChannelInboundMessageHandlerAdapter#decode(io.netty.channel.ChannelHandlerContext, java.lang.Object)
 	 */
 	@Override
-	protected void decode(ChannelHandlerContext ctx, WirePayload msg,
+	protected void decode(ChannelHandlerContext ctx, Object in,
 			List<Object> out) throws Exception {
+		if ( in instanceof DeferredWirePayload && ((DeferredWirePayload)in).hasRpcRequest() ) {
+			rpcServer.request((DeferredWirePayload)in);
+			return;
+		}
+		if ( in instanceof DeferredWirePayload && ((DeferredWirePayload)in).hasStreamChunk() ) {
+			rpcServer.streamChunk((DeferredWirePayload)in);
+			return;
+		}
+		if ( in instanceof DeferredWirePayloadBatch ) {
+			for( DeferredWirePayload payload : ((DeferredWirePayloadBatch)in).getPayloads() ) {
+				if ( payload.hasRpcRequest() ) {
+					rpcServer.request(payload);
+				}
+			}
+			return;
+		}
+		if ( !(in instanceof WirePayload) ) {
+			out.add(in);
+			return;
+		}
+		WirePayload msg = (WirePayload)in;
+		if ( msg.getBatchedRpcRequestCount() > 0 ) {
+			for( RpcRequest rpcRequest : msg.getBatchedRpcRequestList() ) {
+				rpcServer.request(rpcRequest);
+			}
+			return;
+		}
     	if ( msg.hasRpcRequest() ) {
     		rpcServer.request(msg.getRpcRequest());
     		return;
     	} else if ( msg.hasRpcCancel() ) {
     		rpcServer.cancel(msg.getRpcCancel());
     		return;
+    	} else if ( msg.hasOobCredit() ) {
+    		rpcServer.oobCredit(msg.getOobCredit());
+    		return;
+    	} else if ( msg.hasStreamChunk() ) {
+    		rpcServer.streamChunk(msg.getStreamChunk());
+    		return;
+    	} else if ( msg.hasStreamEnd() ) {
+    		rpcServer.streamEnd(msg.getStreamEnd());
+    		return;
     	} else {
     	// serverMessage, unsolicitedMessage, rpcResponse, rpcError were consumed further down by RpcClientHandler.
     	// everything else is passed through to potentially later channel handlers which are modified by using code.
@@ -30,6 +30,7 @@ import com.googlecode.protobuf.pro.duplex.PeerInfo;
 import com.googlecode.protobuf.pro.duplex.RpcClient;
 import com.googlecode.protobuf.pro.duplex.server.DuplexTcpServerPipelineFactory;
 import com.googlecode.protobuf.pro.duplex.server.RpcClientRegistry;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectErrorCode;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest;
 import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse;
@@ -75,12 +76,34 @@ public class ServerConnectRequestHandler extends MessageToMessageDecoder<WirePay
     		PeerInfo connectingClientInfo = new PeerInfo(connectRequest.getClientHostName(), connectRequest.getClientPort(), connectRequest.getClientPID());
     		ConnectResponse connectResponse = null;
     		
+    		// the first codec offered by the client which we support replaces GZIP stream compression,
+    		// compress then only being the default for each frame.
+    		CompressionCodec compressionCodec = null;
+    		for( CompressionCodec codec : connectRequest.getCompressionCodecList() ) {
+    			if ( pipelineFactory.getCompressionCodecs().contains(codec) ) {
+    				compressionCodec = codec;
+    				break;
+    			}
+    		}
+    		
     		RpcClient rpcClient = new RpcClient(ctx.channel(), pipelineFactory.getServerInfo(), connectingClientInfo, connectRequest.getCompress(), pipelineFactory.getLogger(), pipelineFactory.getExtensionRegistry() );
+    		rpcClient.setBatching(connectRequest.getBatching() && pipelineFactory.isBatching());
+    		rpcClient.setCompressionCodec(compressionCodec);
+    		rpcClient.setMethodIds(connectRequest.getMethodIds());
+    		if ( connectRequest.hasClientTimeMs() ) {
+    			rpcClient.setClockOffsetMs(System.currentTimeMillis() - connectRequest.getClientTimeMs());
+    		}
     		if ( pipelineFactory.getRpcClientRegistry().registerRpcClient(rpcClient) ) {
-    			connectResponse = ConnectResponse.newBuilder().setCorrelationId(connectRequest.getCorrelationId())
+    			ConnectResponse.Builder connectResponseBuilder = ConnectResponse.newBuilder().setCorrelationId(connectRequest.getCorrelationId())
     					.setServerPID(pipelineFactory.getServerInfo().getPid())
     					.setCompress(connectRequest.getCompress())
-    					.build();
+    					.setBatching(rpcClient.isBatching())
+    					.setMethodIds(rpcClient.isMethodIds())
+    					.setServerTimeMs(System.currentTimeMillis());
+    			if ( compressionCodec != null ) {
+    				connectResponseBuilder.setCompressionCodec(compressionCodec);
+    			}
+    			connectResponse = connectResponseBuilder.build();
         		WirePayload payload = WirePayload.newBuilder().setConnectResponse(connectResponse).build();
         		
         		if ( log.isDebugEnabled() ) {
@@ -0,0 +1,276 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.handler;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayloadBatch;
+
+/**
+ * Collects the RpcRequests and RpcResponses written to a Channel, and sends
+ * them together as a {@link DeferredWirePayloadBatch} in a single frame.
+ * 
+ * A flush requested while the Channel is reading is performed when the read
+ * completes. Otherwise a flush is only deferred until the end of the event
+ * loop's current tick if the event loop has further tasks queued, so that
+ * the calls written by other threads in the meantime join the batch. A
+ * single call on an idle connection is sent at once.
+ * The batch is written once maxBatchSize payloads or maxBatchBytes are
+ * pending. Any other write first writes the pending batch, so that the
+ * order of the Channel's messages is kept.
+ * 
+ * This handler is only placed into the pipeline of an RpcClient if both
+ * peers negotiated batching during the connection handshake.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class WirePayloadBatchingHandler extends ChannelDuplexHandler {
+
+	public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+	public static final int DEFAULT_MAX_BATCH_BYTES = 65536;
+	
+	private final int maxBatchSize;
+	private final int maxBatchBytes;
+	
+	private ChannelHandlerContext ctx;
+	private List<DeferredWirePayload> pendingPayloads = new ArrayList<DeferredWirePayload>();
+	private List<ChannelPromise> pendingPromises = new ArrayList<ChannelPromise>();
+	private int pendingBytes;
+	private boolean readInProgress;
+	private boolean flushPending;
+	private boolean flushScheduled;
+
+	// metrics, only updated on the Channel's event loop
+	private volatile long payloads;
+	private volatile long frames;
+	
+	private final Runnable flushTask = new Runnable() {
+		@Override
+		public void run() {
+			flushScheduled = false;
+			if ( flushPending ) {
+				flushPending = false;
+				writePending(ctx);
+				ctx.flush();
+			}
+		}
+	};
+	
+	public WirePayloadBatchingHandler() {
+		this(DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_BATCH_BYTES);
+	}
+	
+	/**
+	 * @param maxBatchSize the number of payloads which are sent at most in one batch.
+	 * @param maxBatchBytes the serialized size of a batch which causes it to be sent.
+	 */
+	public WirePayloadBatchingHandler( int maxBatchSize, int maxBatchBytes ) {
+		if ( maxBatchSize <= 0 ) {
+			throw new IllegalArgumentException("maxBatchSize");
+		}
+		if ( maxBatchBytes <= 0 ) {
+			throw new IllegalArgumentException("maxBatchBytes");
+		}
+		this.maxBatchSize = maxBatchSize;
+		this.maxBatchBytes = maxBatchBytes;
+	}
+
+	@Override
+	public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+		this.ctx = ctx;
+	}
+
+	@Override
+	public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+		if ( !pendingPayloads.isEmpty() ) {
+			writePending(ctx);
+			ctx.flush();
+		}
+	}
+
+	@Override
+	public void write(ChannelHandlerContext ctx, Object msg,
+			ChannelPromise promise) throws Exception {
+		payloads++;
+		if ( msg instanceof DeferredWirePayload && DeferredWirePayloadBatch.isBatchable((DeferredWirePayload)msg) ) {
+			DeferredWirePayload payload = (DeferredWirePayload)msg;
+			int size = payload.getSerializedSize();
+			if ( !pendingPayloads.isEmpty() && pendingBytes + size > maxBatchBytes ) {
+				writePending(ctx);
+			}
+			pendingPayloads.add(payload);
+			pendingPromises.add(promise);
+			pendingBytes += size;
+			if ( pendingPayloads.size() >= maxBatchSize ) {
+				writePending(ctx);
+			}
+		} else {
+			writePending(ctx);
+			frames++;
+			ctx.write(msg, promise);
+		}
+	}
+
+	@Override
+	public void flush(ChannelHandlerContext ctx) throws Exception {
+		if ( pendingPayloads.isEmpty() ) {
+			ctx.flush();
+			return;
+		}
+		if ( readInProgress ) {
+			// performed when the read completes.
+			flushPending = true;
+			return;
+		}
+		if ( !flushScheduled && !hasPendingTasks(ctx.executor()) ) {
+			// nothing else can join the batch this tick.
+			writePending(ctx);
+			ctx.flush();
+			return;
+		}
+		flushPending = true;
+		if ( !flushScheduled ) {
+			flushScheduled = true;
+			ctx.executor().execute(flushTask);
+		}
+	}
+
+	@Override
+	public void channelRead(ChannelHandlerContext ctx, Object msg)
+			throws Exception {
+		readInProgress = true;
+		ctx.fireChannelRead(msg);
+	}
+
+	@Override
+	public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+		readInProgress = false;
+		if ( flushPending ) {
+			flushPending = false;
+			writePending(ctx);
+			ctx.flush();
+		}
+		ctx.fireChannelReadComplete();
+	}
+	
+	/**
+	 * @return whether tasks are queued on the executor, true if it cannot tell.
+	 */
+	private static boolean hasPendingTasks( EventExecutor executor ) {
+		if ( executor instanceof SingleThreadEventExecutor ) {
+			return ((SingleThreadEventExecutor)executor).pendingTasks() > 0;
+		}
+		return true;
+	}
+
+	@Override
+	public void close(ChannelHandlerContext ctx, ChannelPromise promise)
+			throws Exception {
+		if ( !pendingPayloads.isEmpty() ) {
+			writePending(ctx);
+			ctx.flush();
+		}
+		ctx.close(promise);
+	}
+
+	private void writePending( ChannelHandlerContext ctx ) {
+		if ( pendingPayloads.isEmpty() ) {
+			return;
+		}
+		frames++;
+		if ( pendingPayloads.size() == 1 ) {
+			ctx.write(pendingPayloads.get(0), pendingPromises.get(0));
+			pendingPayloads.clear();
+			pendingPromises.clear();
+		} else {
+			ChannelPromise batchPromise = ctx.newPromise();
+			batchPromise.addListener(new BatchPromiseNotifier(pendingPromises));
+			ctx.write(new DeferredWirePayloadBatch(pendingPayloads), batchPromise);
+			pendingPayloads = new ArrayList<DeferredWirePayload>();
+			pendingPromises = new ArrayList<ChannelPromise>();
+		}
+		pendingBytes = 0;
+	}
+
+	/**
+	 * @return the number of messages written.
+	 */
+	public long getPayloads() {
+		return payloads;
+	}
+
+	/**
+	 * @return the number of frames sent for the messages written.
+	 */
+	public long getFrames() {
+		return frames;
+	}
+
+	/**
+	 * The batching efficiency of the Channel.
+	 * 
+	 * @return the average number of messages sent per frame.
+	 */
+	public double getPayloadsPerFrame() {
+		long f = frames;
+		if ( f == 0 ) {
+			return 0;
+		}
+		return (double)payloads / f;
+	}
+
+	@Override
+	public String toString() {
+		return "WirePayloadBatchingHandler[payloads=" + payloads + ", frames=" + frames + "]";
+	}
+
+	/**
+	 * Completes the promises of the batched payloads with the outcome of the
+	 * batch's write.
+	 */
+	private static class BatchPromiseNotifier implements ChannelFutureListener {
+		
+		private final List<ChannelPromise> promises;
+		
+		public BatchPromiseNotifier( List<ChannelPromise> promises ) {
+			this.promises = promises;
+		}
+		
+		@Override
+		public void operationComplete(ChannelFuture future) throws Exception {
+			if ( future.isSuccess() ) {
+				for( ChannelPromise promise : promises ) {
+					promise.trySuccess();
+				}
+			} else {
+				for( ChannelPromise promise : promises ) {
+					promise.tryFailure(future.cause());
+				}
+			}
+		}
+	}
+}
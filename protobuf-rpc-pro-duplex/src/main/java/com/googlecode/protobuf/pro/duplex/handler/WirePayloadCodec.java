@@ -0,0 +1,57 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.handler;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.CombinedChannelDuplexHandler;
+
+import com.google.protobuf.ExtensionRegistry;
+
+/**
+ * The combination of the {@link WirePayloadFrameDecoder} and a length
+ * prepending {@link WirePayloadEncoder}, replacing the four Netty frame and
+ * protobuf codec handlers with a single handler.
+ * 
+ * Each outbound WirePayload is written with its varint32 length into one
+ * exactly sized direct buffer, by default from the channel's allocator, as
+ * configured by the ChannelOption.ALLOCATOR.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class WirePayloadCodec extends CombinedChannelDuplexHandler<WirePayloadFrameDecoder, WirePayloadEncoder> {
+
+	public WirePayloadCodec( ExtensionRegistry extensionRegistry ) {
+		this(extensionRegistry, null);
+	}
+	
+	/**
+	 * @param extensionRegistry optional WirePayload extension registry.
+	 * @param allocator the allocator for the output buffers, or null to use the channel's allocator.
+	 */
+	public WirePayloadCodec( ExtensionRegistry extensionRegistry, ByteBufAllocator allocator ) {
+		this(extensionRegistry, WirePayloadFrameDecoder.DEFAULT_MAX_FRAME_LENGTH, allocator);
+	}
+	
+	/**
+	 * @param extensionRegistry optional WirePayload extension registry.
+	 * @param maxFrameLength the length of the longest frame received.
+	 * @param allocator the allocator for the output buffers, or null to use the channel's allocator.
+	 */
+	public WirePayloadCodec( ExtensionRegistry extensionRegistry, int maxFrameLength, ByteBufAllocator allocator ) {
+		super(new WirePayloadFrameDecoder(extensionRegistry, maxFrameLength), new WirePayloadEncoder(true, allocator));
+	}
+}
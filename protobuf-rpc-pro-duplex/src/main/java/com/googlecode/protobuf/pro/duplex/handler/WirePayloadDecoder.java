@@ -0,0 +1,120 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.DecoderException;
+import io.netty.util.ReferenceCountUtil;
+
+import com.google.protobuf.ExtensionRegistry;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredCompressedPayload;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayloadBatch;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
+
+/**
+ * Decodes frames into WirePayload messages. Frames carrying an RpcRequest,
+ * RpcResponse, OobResponse or OobMessage are decoded into a
+ * DeferredWirePayload, whose user message is parsed later directly from the
+ * frame by the RpcServer or RpcClient, without an intermediate ByteString.
+ * Frames carrying only batched RpcRequests and RpcResponses are decoded into
+ * a DeferredWirePayloadBatch, and frames carrying only a CompressedPayload
+ * into a DeferredCompressedPayload.
+ * 
+ * Since a DeferredWirePayload refers to the frame's bytes, the frame is only
+ * released once the payload has passed through the rest of the pipeline.
+ * 
+ * @author Peter Klauser
+ *
+ */
+@Sharable
+public class WirePayloadDecoder extends ChannelInboundHandlerAdapter {
+
+	private final ExtensionRegistry extensionRegistry;
+	
+	public WirePayloadDecoder( ExtensionRegistry extensionRegistry ) {
+		this.extensionRegistry = extensionRegistry;
+	}
+	
+	@Override
+	public void channelRead(ChannelHandlerContext ctx, Object msg)
+			throws Exception {
+		if ( !(msg instanceof ByteBuf) ) {
+			ctx.fireChannelRead(msg);
+			return;
+		}
+		ByteBuf frame = (ByteBuf)msg;
+		try {
+			Object payload = decode(frame);
+			ctx.fireChannelRead(payload);
+		} finally {
+			ReferenceCountUtil.release(frame);
+		}
+	}
+
+	protected Object decode( ByteBuf frame ) throws DecoderException {
+		byte[] array;
+		int offset;
+		int length = frame.readableBytes();
+		if ( frame.hasArray() ) {
+			array = frame.array();
+			offset = frame.arrayOffset() + frame.readerIndex();
+		} else {
+			array = new byte[length];
+			frame.getBytes(frame.readerIndex(), array, 0, length);
+			offset = 0;
+		}
+		return decode(array, offset, length, extensionRegistry);
+	}
+
+	/**
+	 * Decode a frame into either a DeferredWirePayload, a
+	 * DeferredWirePayloadBatch, a DeferredCompressedPayload or a WirePayload.
+	 * 
+	 * @param array
+	 * @param offset
+	 * @param length
+	 * @param extensionRegistry optional WirePayload extension registry.
+	 * @return the decoded payload.
+	 * @throws DecoderException
+	 */
+	static Object decode( byte[] array, int offset, int length, ExtensionRegistry extensionRegistry ) throws DecoderException {
+		try {
+			Object payload = DeferredWirePayload.parseFrom(array, offset, length);
+			if ( payload == null ) {
+				payload = DeferredWirePayloadBatch.parseFrom(array, offset, length);
+			}
+			if ( payload == null ) {
+				payload = DeferredCompressedPayload.parseFrom(array, offset, length);
+			}
+			if ( payload == null ) {
+				WirePayload.Builder builder = WirePayload.newBuilder();
+				if ( extensionRegistry != null ) {
+					builder.mergeFrom(array, offset, length, extensionRegistry);
+				} else {
+					builder.mergeFrom(array, offset, length);
+				}
+				payload = builder.build();
+			}
+			return payload;
+		} catch ( Exception e ) {
+			throw new DecoderException(e);
+		}
+	}
+}
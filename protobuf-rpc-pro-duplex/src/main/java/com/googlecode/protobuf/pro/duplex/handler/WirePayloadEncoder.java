@@ -0,0 +1,130 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredCompressedPayload;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayloadBatch;
+
+/**
+ * Encodes WirePayload, DeferredWirePayload, DeferredWirePayloadBatch and
+ * DeferredCompressedPayload messages into a single
+ * exactly sized buffer taken from the channel's allocator.
+ * 
+ * Unlike Netty's ProtobufEncoder, there is no intermediate byte[] and the
+ * user message of a DeferredWirePayload is serialized straight into the
+ * buffer behind its envelope fields.
+ * 
+ * When constructed to prepend the length, the varint32 frame length is
+ * written into the same buffer, replacing a separate
+ * ProtobufVarint32LengthFieldPrepender.
+ * 
+ * @author Peter Klauser
+ *
+ */
+@Sharable
+public class WirePayloadEncoder extends MessageToByteEncoder<Object> {
+
+	private final boolean prependLength;
+	private final ByteBufAllocator allocator;
+	
+	public WirePayloadEncoder() {
+		this(false, null);
+	}
+	
+	/**
+	 * @param prependLength whether to write the varint32 frame length before the WirePayload.
+	 * @param allocator the allocator for the output buffers, or null to use the channel's allocator.
+	 */
+	public WirePayloadEncoder( boolean prependLength, ByteBufAllocator allocator ) {
+		this.prependLength = prependLength;
+		this.allocator = allocator;
+	}
+
+	@Override
+	public boolean acceptOutboundMessage(Object msg) throws Exception {
+		return msg instanceof DeferredWirePayload || msg instanceof DeferredWirePayloadBatch || msg instanceof DeferredCompressedPayload || msg instanceof MessageLite;
+	}
+
+	@Override
+	protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Object msg,
+			boolean preferDirect) throws Exception {
+		int size = getFrameSize(getSerializedSize(msg));
+		ByteBufAllocator alloc = allocator != null ? allocator : ctx.alloc();
+		if ( preferDirect ) {
+			return alloc.ioBuffer(size, size);
+		}
+		return alloc.heapBuffer(size, size);
+	}
+
+	@Override
+	protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out)
+			throws Exception {
+		int bodySize = getSerializedSize(msg);
+		int size = getFrameSize(bodySize);
+		int writerIndex = out.writerIndex();
+		out.ensureWritable(size);
+
+		CodedOutputStream output = null;
+		if ( out.hasArray() ) {
+			output = CodedOutputStream.newInstance(out.array(), out.arrayOffset() + writerIndex, size);
+		} else {
+			output = CodedOutputStream.newInstance(out.nioBuffer(writerIndex, size));
+		}
+		if ( prependLength ) {
+			output.writeRawVarint32(bodySize);
+		}
+		if ( msg instanceof DeferredWirePayload ) {
+			((DeferredWirePayload)msg).writeTo(output);
+		} else if ( msg instanceof DeferredWirePayloadBatch ) {
+			((DeferredWirePayloadBatch)msg).writeTo(output);
+		} else if ( msg instanceof DeferredCompressedPayload ) {
+			((DeferredCompressedPayload)msg).writeTo(output);
+		} else {
+			((MessageLite)msg).writeTo(output);
+		}
+		output.flush();
+		out.writerIndex(writerIndex + size);
+	}
+
+	private int getFrameSize( int bodySize ) {
+		if ( prependLength ) {
+			return CodedOutputStream.computeRawVarint32Size(bodySize) + bodySize;
+		}
+		return bodySize;
+	}
+
+	private static int getSerializedSize( Object msg ) {
+		if ( msg instanceof DeferredWirePayload ) {
+			return ((DeferredWirePayload)msg).getSerializedSize();
+		}
+		if ( msg instanceof DeferredWirePayloadBatch ) {
+			return ((DeferredWirePayloadBatch)msg).getSerializedSize();
+		}
+		if ( msg instanceof DeferredCompressedPayload ) {
+			return ((DeferredCompressedPayload)msg).getSerializedSize();
+		}
+		return ((MessageLite)msg).getSerializedSize();
+	}
+}
@@ -0,0 +1,164 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.TooLongFrameException;
+
+import java.util.List;
+
+import com.google.protobuf.ExtensionRegistry;
+
+/**
+ * Decodes varint32 length prefixed frames directly into WirePayload and
+ * DeferredWirePayload messages, replacing the pair of Netty's
+ * ProtobufVarint32FrameDecoder and ProtobufDecoder.
+ * 
+ * Frames are not copied out of the received buffer. Each decoded payload is
+ * passed up the pipeline immediately, while the buffer it refers to is still
+ * intact. Frames held in direct buffers are read with a single bulk copy
+ * into an array, since protobuf can only parse a byte[] in place. The array
+ * is reused for frames up to {@link #MAX_REUSED_FRAME_LENGTH}, so that a
+ * connection does not keep the array of its largest frame.
+ * 
+ * Frames longer than the maxFrameLength fail with a TooLongFrameException.
+ * 
+ * This decoder is stateful and is therefore not sharable between channels.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class WirePayloadFrameDecoder extends ByteToMessageDecoder {
+
+	public static final int DEFAULT_MAX_FRAME_LENGTH = 64 * 1024 * 1024;
+	public static final int MAX_REUSED_FRAME_LENGTH = 16 * 1024;
+	
+	private static final int MAX_VARINT32_BYTES = 5;
+	
+	private final ExtensionRegistry extensionRegistry;
+	private final int maxFrameLength;
+	
+	private byte[] frameBuffer = new byte[0];
+	
+	public WirePayloadFrameDecoder( ExtensionRegistry extensionRegistry ) {
+		this(extensionRegistry, DEFAULT_MAX_FRAME_LENGTH);
+	}
+	
+	/**
+	 * @param extensionRegistry optional WirePayload extension registry.
+	 * @param maxFrameLength the length of the longest frame received.
+	 */
+	public WirePayloadFrameDecoder( ExtensionRegistry extensionRegistry, int maxFrameLength ) {
+		if ( maxFrameLength <= 0 ) {
+			throw new IllegalArgumentException("maxFrameLength");
+		}
+		this.extensionRegistry = extensionRegistry;
+		this.maxFrameLength = maxFrameLength;
+	}
+	
+	@Override
+	protected void callDecode(ChannelHandlerContext ctx, ByteBuf in,
+			List<Object> out) {
+		try {
+			while( in.isReadable() ) {
+				int length = readFrameLength(in);
+				if ( length < 0 ) {
+					return;
+				}
+				Object payload = null;
+				if ( in.hasArray() ) {
+					payload = WirePayloadDecoder.decode(in.array(), in.arrayOffset() + in.readerIndex(), length, extensionRegistry);
+				} else {
+					byte[] frame = frameBuffer;
+					if ( length > MAX_REUSED_FRAME_LENGTH ) {
+						frame = new byte[length];
+					} else if ( frame.length < length ) {
+						frame = frameBuffer = new byte[length];
+					}
+					in.getBytes(in.readerIndex(), frame, 0, length);
+					payload = WirePayloadDecoder.decode(frame, 0, length, extensionRegistry);
+				}
+				in.skipBytes(length);
+				
+				ctx.fireChannelRead(payload);
+				if ( ctx.isRemoved() ) {
+					return;
+				}
+			}
+		} catch ( DecoderException e ) {
+			throw e;
+		} catch ( Throwable t ) {
+			throw new DecoderException(t);
+		}
+	}
+
+	/**
+	 * Only used to decode the remaining input when the channel becomes
+	 * inactive, so the frame is copied out of the input.
+	 */
+	@Override
+	protected void decode(ChannelHandlerContext ctx, ByteBuf in,
+			List<Object> out) throws Exception {
+		int length = readFrameLength(in);
+		if ( length < 0 ) {
+			return;
+		}
+		byte[] frame = new byte[length];
+		in.readBytes(frame);
+		out.add(WirePayloadDecoder.decode(frame, 0, length, extensionRegistry));
+	}
+
+	/**
+	 * Read the varint32 frame length.
+	 * 
+	 * @param in
+	 * @return the frame length, or -1 if the frame is not completely received,
+	 *  in which case the reader index is left unchanged.
+	 * @throws TooLongFrameException if the frame is longer than the maxFrameLength.
+	 */
+	private int readFrameLength( ByteBuf in ) {
+		int readerIndex = in.readerIndex();
+		int length = 0;
+		int shift = 0;
+		for( int i = 0; i < MAX_VARINT32_BYTES; i++ ) {
+			if ( !in.isReadable() ) {
+				in.readerIndex(readerIndex);
+				return -1;
+			}
+			byte b = in.readByte();
+			length |= (b & 0x7F) << shift;
+			if ( b >= 0 ) {
+				if ( length < 0 ) {
+					throw new CorruptedFrameException("negative length: " + length);
+				}
+				if ( length > maxFrameLength ) {
+					throw new TooLongFrameException("frame length exceeds " + maxFrameLength + ": " + length);
+				}
+				if ( in.readableBytes() < length ) {
+					in.readerIndex(readerIndex);
+					return -1;
+				}
+				return length;
+			}
+			shift += 7;
+		}
+		throw new CorruptedFrameException("length wider than 32-bit");
+	}
+}
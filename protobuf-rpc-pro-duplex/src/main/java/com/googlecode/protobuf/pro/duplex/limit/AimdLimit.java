@@ -0,0 +1,96 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.limit;
+
+/**
+ * An additive increase, multiplicative decrease {@link ConcurrencyLimit}.
+ * The limit grows by one for each call completing in time while at least
+ * half the limit is in use, and is cut back by the backoff ratio for each
+ * dropped call, or call whose round trip time exceeds the threshold.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class AimdLimit implements ConcurrencyLimit {
+
+	public static final int DEFAULT_INITIAL_LIMIT = 20;
+	public static final int DEFAULT_MAX_LIMIT = 1000;
+	public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+	
+	private final int minLimit;
+	private final int maxLimit;
+	private final double backoffRatio;
+	private final long rttThresholdNanos;
+	
+	private int limit;
+	
+	public AimdLimit() {
+		this(DEFAULT_INITIAL_LIMIT, 1, DEFAULT_MAX_LIMIT, DEFAULT_BACKOFF_RATIO, 0);
+	}
+	
+	/**
+	 * @param initialLimit
+	 * @param minLimit
+	 * @param maxLimit
+	 * @param backoffRatio the factor applied to the limit on a drop, between 0 and 1.
+	 * @param rttThresholdNanos the round trip time beyond which a call counts as a drop, 0 for none.
+	 */
+	public AimdLimit( int initialLimit, int minLimit, int maxLimit, double backoffRatio, long rttThresholdNanos ) {
+		if ( minLimit <= 0 || maxLimit < minLimit ) {
+			throw new IllegalArgumentException("minLimit/maxLimit");
+		}
+		if ( initialLimit < minLimit || initialLimit > maxLimit ) {
+			throw new IllegalArgumentException("initialLimit");
+		}
+		if ( backoffRatio <= 0 || backoffRatio >= 1 ) {
+			throw new IllegalArgumentException("backoffRatio");
+		}
+		if ( rttThresholdNanos < 0 ) {
+			throw new IllegalArgumentException("rttThresholdNanos");
+		}
+		this.limit = initialLimit;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.backoffRatio = backoffRatio;
+		this.rttThresholdNanos = rttThresholdNanos;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.limit.ConcurrencyLimit#getLimit()
+	 */
+	@Override
+	public int getLimit() {
+		return limit;
+	}
+
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.limit.ConcurrencyLimit#onSample(long, int, boolean)
+	 */
+	@Override
+	public void onSample(long rttNanos, int inFlight, boolean dropped) {
+		if ( dropped || (rttThresholdNanos > 0 && rttNanos > rttThresholdNanos) ) {
+			limit = Math.max(minLimit, (int)(limit * backoffRatio));
+		} else if ( inFlight * 2 >= limit ) {
+			// only grow while the limit is actually being used.
+			limit = Math.min(maxLimit, limit + 1);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "AimdLimit[limit=" + limit + "]";
+	}
+}
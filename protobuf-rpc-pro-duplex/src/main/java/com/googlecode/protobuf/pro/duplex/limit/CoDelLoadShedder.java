@@ -0,0 +1,209 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.limit;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A CoDelLoadShedder sheds server calls when the queueing delay of the
+ * RpcServerCallExecutor stays above a target, following the CoDel ( controlled
+ * delay ) algorithm: a queue is overloaded once the time calls wait before
+ * they start has not dropped below the target for a whole interval.
+ * 
+ * While overloaded, calls which waited longer than the target are shed when
+ * they would start, and new calls are rejected on arrival before their request
+ * is parsed. Calls are admitted again once a call starts within the target, or
+ * once every admitted call has left the queue. Shed calls fail with the
+ * retryable {@link #LOAD_SHED} error, since they never ran.
+ * 
+ * The sojourn time is only measured by executors which queue calls, which
+ * report each call's start through {@link #onStart(String, long)}. The RpcServer
+ * reports each admitted call queued, and any which leave the queue without
+ * starting, to know when the queue has drained.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class CoDelLoadShedder {
+
+	public static final long DEFAULT_TARGET_MS = 5;
+	public static final long DEFAULT_INTERVAL_MS = 100;
+	
+	/**
+	 * The error message of shed calls.
+	 */
+	public static final String LOAD_SHED = "Load Shed";
+	
+	private final long targetNanos;
+	private final long intervalNanos;
+	
+	// when the sojourn time will have been above target for an interval, 0 if below.
+	private long firstAboveNanos;
+	private volatile boolean overloaded;
+	
+	// admitted calls which have not yet left the queue.
+	private final AtomicInteger queued = new AtomicInteger();
+	
+	// method full name to number of calls shed.
+	private final ConcurrentHashMap<String, AtomicLong> shedCounts = new ConcurrentHashMap<String, AtomicLong>();
+	
+	public CoDelLoadShedder() {
+		this(DEFAULT_TARGET_MS, DEFAULT_INTERVAL_MS);
+	}
+	
+	/**
+	 * @param targetMs the acceptable time calls wait before they start.
+	 * @param intervalMs how long the waiting time must exceed the target to shed calls.
+	 */
+	public CoDelLoadShedder( long targetMs, long intervalMs ) {
+		if ( targetMs <= 0 ) {
+			throw new IllegalArgumentException("targetMs");
+		}
+		if ( intervalMs <= 0 ) {
+			throw new IllegalArgumentException("intervalMs");
+		}
+		this.targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMs);
+		this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+	}
+	
+	/**
+	 * Admit an arriving call, unless overloaded.
+	 * 
+	 * @param method the full name of the called method.
+	 * @return whether the call is admitted, else it is shed.
+	 */
+	public boolean admit( String method ) {
+		if ( overloaded ) {
+			synchronized( this ) {
+				if ( overloaded && queued.get() == 0 ) {
+					// every admitted call left the queue, it drained.
+					overloaded = false;
+					firstAboveNanos = 0;
+				}
+			}
+			if ( overloaded ) {
+				shed(method);
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * An admitted call is queued on the executor.
+	 */
+	public void onQueued() {
+		queued.incrementAndGet();
+	}
+	
+	/**
+	 * A queued call left the queue without starting, for instance when
+	 * cancelled or rejected by the executor.
+	 */
+	public void onRemoved() {
+		queued.decrementAndGet();
+	}
+	
+	/**
+	 * A queued call is about to start after waiting in the executor's queue.
+	 * 
+	 * @param method the full name of the called method.
+	 * @param sojournNanos the time the call waited since its arrival.
+	 * @return whether the call runs, else it is shed.
+	 */
+	public boolean onStart( String method, long sojournNanos ) {
+		return onStart(method, sojournNanos, System.nanoTime());
+	}
+	
+	boolean onStart( String method, long sojournNanos, long now ) {
+		queued.decrementAndGet();
+		synchronized( this ) {
+			if ( sojournNanos < targetNanos ) {
+				firstAboveNanos = 0;
+				overloaded = false;
+				return true;
+			}
+			if ( firstAboveNanos == 0 ) {
+				firstAboveNanos = now + intervalNanos;
+			} else if ( now >= firstAboveNanos ) {
+				overloaded = true;
+			}
+			if ( !overloaded ) {
+				return true;
+			}
+		}
+		shed(method);
+		return false;
+	}
+	
+	private void shed( String method ) {
+		AtomicLong count = shedCounts.get(method);
+		if ( count == null ) {
+			AtomicLong existing = shedCounts.putIfAbsent(method, count = new AtomicLong());
+			if ( existing != null ) {
+				count = existing;
+			}
+		}
+		count.incrementAndGet();
+	}
+	
+	/**
+	 * @return the number of admitted calls which have not yet left the queue.
+	 */
+	public int getQueued() {
+		return queued.get();
+	}
+	
+	/**
+	 * @return whether calls are currently shed.
+	 */
+	public boolean isOverloaded() {
+		return overloaded;
+	}
+	
+	/**
+	 * @return a snapshot of the number of calls shed, by method full name.
+	 */
+	public Map<String, Long> getShedCounts() {
+		Map<String, Long> counts = new HashMap<String, Long>();
+		for( Map.Entry<String, AtomicLong> e : shedCounts.entrySet() ) {
+			counts.put(e.getKey(), e.getValue().get());
+		}
+		return Collections.unmodifiableMap(counts);
+	}
+	
+	/**
+	 * @return the number of calls shed of all methods.
+	 */
+	public long getShed() {
+		long shed = 0;
+		for( AtomicLong count : shedCounts.values() ) {
+			shed += count.get();
+		}
+		return shed;
+	}
+
+	@Override
+	public String toString() {
+		return "CoDelLoadShedder[target=" + TimeUnit.NANOSECONDS.toMillis(targetNanos) + "ms, interval=" + TimeUnit.NANOSECONDS.toMillis(intervalNanos) + "ms, overloaded=" + overloaded + ", queued=" + queued.get() + ", shed=" + getShed() + "]";
+	}
+}
@@ -0,0 +1,44 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.limit;
+
+/**
+ * A ConcurrencyLimit determines how many calls a {@link ConcurrencyLimiter}
+ * lets be in flight at once, adjusting the limit from the round trip
+ * time of each completed call.
+ * 
+ * Implementations are only called while holding the ConcurrencyLimiter's
+ * lock, so they need not be thread-safe themselves.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public interface ConcurrencyLimit {
+
+	/**
+	 * @return the current number of calls allowed to be in flight.
+	 */
+	public int getLimit();
+	
+	/**
+	 * Update the limit with the sample of a completed call.
+	 * 
+	 * @param rttNanos the round trip time of the call.
+	 * @param inFlight the number of calls in flight, including this call.
+	 * @param dropped whether the call timed out, signaling overload.
+	 */
+	public void onSample( long rttNanos, int inFlight, boolean dropped );
+}
@@ -0,0 +1,194 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.limit;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * A ConcurrencyLimiter caps the number of calls in flight on an RpcClient
+ * at the limit of its {@link ConcurrencyLimit}. Calls beyond the limit wait
+ * in a bounded queue for a permit to be released to them, or are rejected
+ * once the queue is full. Each permit released with a round trip time
+ * sample adjusts the limit.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class ConcurrencyLimiter {
+
+	public static final int DEFAULT_MAX_QUEUE_DEPTH = 1024;
+	
+	/**
+	 * The outcome of {@link ConcurrencyLimiter#acquire(Runnable)}.
+	 */
+	public static enum Admission {
+		/**
+		 * A permit was acquired, the call proceeds.
+		 */
+		ACQUIRED,
+		/**
+		 * The waiter was queued, and runs holding a permit once one is released.
+		 */
+		QUEUED,
+		/**
+		 * The limit is reached and the queue is full, the call is rejected.
+		 */
+		REJECTED
+	}
+	
+	private final ConcurrencyLimit limit;
+	private final int maxQueueDepth;
+	
+	private final Queue<Runnable> waiters = new ArrayDeque<Runnable>();
+	private int inFlight;
+	private long rejected;
+	
+	public ConcurrencyLimiter( ConcurrencyLimit limit ) {
+		this(limit, DEFAULT_MAX_QUEUE_DEPTH);
+	}
+	
+	/**
+	 * @param limit
+	 * @param maxQueueDepth the number of calls waiting for a permit, beyond which
+	 * calls are rejected, 0 to reject calls beyond the limit immediately.
+	 */
+	public ConcurrencyLimiter( ConcurrencyLimit limit, int maxQueueDepth ) {
+		if ( limit == null ) {
+			throw new IllegalArgumentException("limit");
+		}
+		if ( maxQueueDepth < 0 ) {
+			throw new IllegalArgumentException("maxQueueDepth");
+		}
+		this.limit = limit;
+		this.maxQueueDepth = maxQueueDepth;
+	}
+	
+	/**
+	 * Acquire a permit, or queue the waiter to be run once a permit is
+	 * released to it. The waiter runs on the releasing thread, and must
+	 * itself release the permit when its call completes.
+	 * 
+	 * @param waiter
+	 * @return whether the permit was acquired, the waiter queued or rejected.
+	 */
+	public synchronized Admission acquire( Runnable waiter ) {
+		if ( inFlight < limit.getLimit() && waiters.isEmpty() ) {
+			inFlight++;
+			return Admission.ACQUIRED;
+		}
+		if ( waiters.size() < maxQueueDepth ) {
+			waiters.add(waiter);
+			return Admission.QUEUED;
+		}
+		rejected++;
+		return Admission.REJECTED;
+	}
+	
+	/**
+	 * Remove a queued waiter, i.e. of a call which timed out or was cancelled
+	 * before a permit was released to it.
+	 * 
+	 * @param waiter
+	 * @return whether the waiter was still queued, false if it holds a permit.
+	 */
+	public synchronized boolean remove( Runnable waiter ) {
+		return waiters.remove(waiter);
+	}
+	
+	/**
+	 * Release a permit without a sample, i.e. for a call which was never sent.
+	 */
+	public void release() {
+		dispatch(releasePermit(0, false, false));
+	}
+	
+	/**
+	 * Release the permit of a completed call, updating the limit.
+	 * 
+	 * @param rttNanos the round trip time of the call.
+	 * @param dropped whether the call timed out.
+	 */
+	public void release( long rttNanos, boolean dropped ) {
+		dispatch(releasePermit(rttNanos, dropped, true));
+	}
+	
+	private synchronized Runnable[] releasePermit( long rttNanos, boolean dropped, boolean sample ) {
+		if ( sample ) {
+			limit.onSample(rttNanos, inFlight, dropped);
+		}
+		inFlight--;
+		int permits = Math.min(waiters.size(), limit.getLimit() - inFlight);
+		if ( permits <= 0 ) {
+			return null;
+		}
+		Runnable[] granted = new Runnable[permits];
+		for( int i = 0; i < permits; i++ ) {
+			granted[i] = waiters.poll();
+		}
+		inFlight += permits;
+		return granted;
+	}
+	
+	private void dispatch( Runnable[] granted ) {
+		// waiters run outside the lock, they may acquire or release themselves.
+		if ( granted != null ) {
+			for( Runnable waiter : granted ) {
+				waiter.run();
+			}
+		}
+	}
+	
+	/**
+	 * @return the current limit of calls in flight.
+	 */
+	public synchronized int getLimit() {
+		return limit.getLimit();
+	}
+	
+	/**
+	 * @return the number of calls holding a permit.
+	 */
+	public synchronized int getInFlight() {
+		return inFlight;
+	}
+	
+	/**
+	 * @return the number of calls waiting for a permit.
+	 */
+	public synchronized int getQueueDepth() {
+		return waiters.size();
+	}
+	
+	/**
+	 * @return the number of calls rejected so far.
+	 */
+	public synchronized long getRejected() {
+		return rejected;
+	}
+
+	/**
+	 * @return the maxQueueDepth
+	 */
+	public int getMaxQueueDepth() {
+		return maxQueueDepth;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "ConcurrencyLimiter[limit=" + limit.getLimit() + ", inFlight=" + inFlight + ", queueDepth=" + waiters.size() + ", rejected=" + rejected + "]";
+	}
+}
@@ -0,0 +1,136 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.limit;
+
+/**
+ * A delay based {@link ConcurrencyLimit} after TCP Vegas. The smallest
+ * round trip time observed is taken as the time without queueing, from
+ * which each sample estimates the number of calls queued at the server:
+ * 
+ * <pre>queued = limit * ( 1 - rttNoLoad / rtt )</pre>
+ * 
+ * The limit grows while fewer than alpha calls are queued, and shrinks
+ * once more than beta calls are queued, both thresholds and the step
+ * scaling with log10(limit) so that large limits converge quickly. Dropped
+ * calls cut the limit in half. Since the minimum round trip time can only
+ * go down, it is re-measured every probeInterval samples.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class VegasLimit implements ConcurrencyLimit {
+
+	public static final int DEFAULT_INITIAL_LIMIT = 20;
+	public static final int DEFAULT_MAX_LIMIT = 1000;
+	public static final int DEFAULT_ALPHA = 3;
+	public static final int DEFAULT_BETA = 6;
+	public static final int DEFAULT_PROBE_INTERVAL = 1000;
+	
+	private final int minLimit;
+	private final int maxLimit;
+	private final int alpha;
+	private final int beta;
+	private final int probeInterval;
+	
+	private int limit;
+	private long rttNoLoadNanos;
+	private int samples;
+	
+	public VegasLimit() {
+		this(DEFAULT_INITIAL_LIMIT, 1, DEFAULT_MAX_LIMIT, DEFAULT_ALPHA, DEFAULT_BETA, DEFAULT_PROBE_INTERVAL);
+	}
+	
+	/**
+	 * @param initialLimit
+	 * @param minLimit
+	 * @param maxLimit
+	 * @param alpha the number of queued calls below which the limit grows.
+	 * @param beta the number of queued calls above which the limit shrinks.
+	 * @param probeInterval the number of samples after which the minimum round trip time is re-measured.
+	 */
+	public VegasLimit( int initialLimit, int minLimit, int maxLimit, int alpha, int beta, int probeInterval ) {
+		if ( minLimit <= 0 || maxLimit < minLimit ) {
+			throw new IllegalArgumentException("minLimit/maxLimit");
+		}
+		if ( initialLimit < minLimit || initialLimit > maxLimit ) {
+			throw new IllegalArgumentException("initialLimit");
+		}
+		if ( alpha < 0 || beta <= alpha ) {
+			throw new IllegalArgumentException("alpha/beta");
+		}
+		if ( probeInterval <= 0 ) {
+			throw new IllegalArgumentException("probeInterval");
+		}
+		this.limit = initialLimit;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.alpha = alpha;
+		this.beta = beta;
+		this.probeInterval = probeInterval;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.limit.ConcurrencyLimit#getLimit()
+	 */
+	@Override
+	public int getLimit() {
+		return limit;
+	}
+
+	/* (non-Javadoc)
+	 * @see com.googlecode.protobuf.pro.duplex.limit.ConcurrencyLimit#onSample(long, int, boolean)
+	 */
+	@Override
+	public void onSample(long rttNanos, int inFlight, boolean dropped) {
+		if ( ++samples >= probeInterval ) {
+			samples = 0;
+			rttNoLoadNanos = 0;
+		}
+		if ( dropped ) {
+			limit = Math.max(minLimit, limit / 2);
+			return;
+		}
+		if ( rttNanos <= 0 ) {
+			return;
+		}
+		if ( rttNoLoadNanos == 0 || rttNanos < rttNoLoadNanos ) {
+			rttNoLoadNanos = rttNanos;
+			return;
+		}
+		int step = Math.max(1, (int)Math.log10(limit));
+		int queued = (int)Math.ceil(limit * (1 - (double)rttNoLoadNanos / rttNanos));
+		if ( queued < alpha * step ) {
+			if ( inFlight * 2 >= limit ) {
+				// only grow while the limit is actually being used.
+				limit = Math.min(maxLimit, limit + step);
+			}
+		} else if ( queued > beta * step ) {
+			limit = Math.max(minLimit, limit - step);
+		}
+	}
+
+	/**
+	 * @return the minimum round trip time observed since the last probe.
+	 */
+	public long getRttNoLoadNanos() {
+		return rttNoLoadNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "VegasLimit[limit=" + limit + ", rttNoLoad=" + rttNoLoadNanos + "ns]";
+	}
+}
@@ -0,0 +1,42 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.listener;
+
+import com.googlecode.protobuf.pro.duplex.RpcClientChannel;
+
+
+/**
+ * A TcpConnectionEventListener which also implements
+ * TcpConnectionWritabilityListener is informed when TCP
+ * connections to a remote peer become writable or not.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public interface TcpConnectionWritabilityListener {
+
+	/**
+	 * Notification that a RpcClientChannel's writability changed. It
+	 * becomes unwritable when its outbound buffer exceeds the write buffer
+	 * high water mark, and writable again once the buffer falls below the
+	 * low water mark. The notification is made on the Channel's IO thread.
+	 * 
+	 * @param clientChannel
+	 * @param writable
+	 */
+	public void connectionWritabilityChanged( RpcClientChannel clientChannel, boolean writable );
+	
+}
@@ -16,19 +16,20 @@
 package com.googlecode.protobuf.pro.duplex.server;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.compression.ZlibCodecFactory;
 import io.netty.handler.codec.compression.ZlibWrapper;
-import io.netty.handler.codec.protobuf.ProtobufDecoder;
-import io.netty.handler.codec.protobuf.ProtobufEncoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
 import io.netty.handler.ssl.SslHandler;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import com.google.protobuf.ExtensionRegistry;
 import com.googlecode.protobuf.pro.duplex.PeerInfo;
@@ -39,14 +40,23 @@ import com.googlecode.protobuf.pro.duplex.RpcServer;
 import com.googlecode.protobuf.pro.duplex.RpcServiceRegistry;
 import com.googlecode.protobuf.pro.duplex.execute.RpcServerCallExecutor;
 import com.googlecode.protobuf.pro.duplex.execute.SameThreadExecutor;
+import com.googlecode.protobuf.pro.duplex.handler.FlushConsolidationHandler;
+import com.googlecode.protobuf.pro.duplex.handler.FrameCompressionHandler;
 import com.googlecode.protobuf.pro.duplex.handler.Handler;
 import com.googlecode.protobuf.pro.duplex.handler.RpcClientHandler;
 import com.googlecode.protobuf.pro.duplex.handler.RpcServerHandler;
 import com.googlecode.protobuf.pro.duplex.handler.ServerConnectRequestHandler;
+import com.googlecode.protobuf.pro.duplex.handler.WirePayloadBatchingHandler;
+import com.googlecode.protobuf.pro.duplex.handler.WirePayloadCodec;
+import com.googlecode.protobuf.pro.duplex.handler.WirePayloadDecoder;
+import com.googlecode.protobuf.pro.duplex.handler.WirePayloadEncoder;
+import com.googlecode.protobuf.pro.duplex.handler.WirePayloadFrameDecoder;
+import com.googlecode.protobuf.pro.duplex.limit.CoDelLoadShedder;
 import com.googlecode.protobuf.pro.duplex.listener.TcpConnectionEventListener;
+import com.googlecode.protobuf.pro.duplex.listener.TcpConnectionWritabilityListener;
 import com.googlecode.protobuf.pro.duplex.logging.CategoryPerServiceLogger;
 import com.googlecode.protobuf.pro.duplex.logging.RpcLogger;
-import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec;
 
 public class DuplexTcpServerPipelineFactory extends ChannelInitializer<Channel> {
 
@@ -58,10 +68,23 @@ public class DuplexTcpServerPipelineFactory extends ChannelInitializer<Channel>
 	private final RpcServiceRegistry rpcServiceRegistry = new RpcServiceRegistry();
 	private final RpcClientRegistry rpcClientRegistry = new RpcClientRegistry();
 	private RpcServerCallExecutor rpcServerCallExecutor = new SameThreadExecutor();
+	private CoDelLoadShedder loadShedder;
 	private ExtensionRegistry extensionRegistry;
 	private ExtensionRegistry wirelinePayloadExtensionRegistry;
 	private RpcSSLContext sslContext;
 	private RpcLogger logger = new CategoryPerServiceLogger();
+	private boolean fusedWireCodec = true;
+	private boolean flushConsolidation = false;
+	private int flushConsolidationMaxWrites = FlushConsolidationHandler.DEFAULT_MAX_WRITES;
+	private int flushConsolidationMaxBytes = FlushConsolidationHandler.DEFAULT_MAX_BYTES;
+	private long flushConsolidationMaxDelayMicros = 0;
+	private boolean batching = false;
+	private List<CompressionCodec> compressionCodecs = Arrays.asList(CompressionCodec.LZ4, CompressionCodec.DEFLATE);
+	private int compressionThreshold = FrameCompressionHandler.DEFAULT_COMPRESSION_THRESHOLD;
+	private int maxUncompressedSize = FrameCompressionHandler.DEFAULT_MAX_UNCOMPRESSED_SIZE;
+	private int maxFrameLength = WirePayloadFrameDecoder.DEFAULT_MAX_FRAME_LENGTH;
+	private int writeBufferLowWaterMark = 0;
+	private int writeBufferHighWaterMark = 0;
 
 	private final ServerConnectRequestHandler connectRequestHandler;
 	
@@ -80,12 +103,32 @@ public class DuplexTcpServerPipelineFactory extends ChannelInitializer<Channel>
         if ( getSslContext() != null ) {
         	p.addLast(Handler.SSL, new SslHandler(getSslContext().createServerEngine()) );
         }
-        
-        p.addLast(Handler.FRAME_DECODER, new ProtobufVarint32FrameDecoder());
-        p.addLast(Handler.PROTOBUF_DECODER, new ProtobufDecoder(DuplexProtocol.WirePayload.getDefaultInstance(), getWirelinePayloadExtensionRegistry()));
 
-        p.addLast(Handler.FRAME_ENCODER, new ProtobufVarint32LengthFieldPrepender());
-        p.addLast(Handler.PROTOBUF_ENCODER, new ProtobufEncoder());
+        if ( getWriteBufferHighWaterMark() > 0 ) {
+        	// the low water mark may never exceed the high water mark, so their order matters.
+        	ChannelConfig config = ch.config();
+        	if ( getWriteBufferHighWaterMark() < config.getWriteBufferLowWaterMark() ) {
+        		config.setWriteBufferLowWaterMark(getWriteBufferLowWaterMark());
+        		config.setWriteBufferHighWaterMark(getWriteBufferHighWaterMark());
+        	} else {
+        		config.setWriteBufferHighWaterMark(getWriteBufferHighWaterMark());
+        		config.setWriteBufferLowWaterMark(getWriteBufferLowWaterMark());
+        	}
+        }
+        
+        if ( isFlushConsolidation() ) {
+        	p.addLast(Handler.FLUSH_CONSOLIDATION, new FlushConsolidationHandler(getFlushConsolidationMaxWrites(), getFlushConsolidationMaxBytes(), getFlushConsolidationMaxDelayMicros(), TimeUnit.MICROSECONDS));
+        }
+        
+        if ( isFusedWireCodec() ) {
+        	p.addLast(Handler.WIRE_CODEC, new WirePayloadCodec(getWirelinePayloadExtensionRegistry(), getMaxFrameLength(), null));
+        } else {
+	        p.addLast(Handler.FRAME_DECODER, new ProtobufVarint32FrameDecoder());
+	        p.addLast(Handler.PROTOBUF_DECODER, new WirePayloadDecoder(getWirelinePayloadExtensionRegistry()));
+	
+	        p.addLast(Handler.FRAME_ENCODER, new ProtobufVarint32LengthFieldPrepender());
+	        p.addLast(Handler.PROTOBUF_ENCODER, new WirePayloadEncoder());
+        }
 
         p.addLast(Handler.SERVER_CONNECT, connectRequestHandler); // one instance shared by all channels
 	}
@@ -93,30 +136,25 @@ public class DuplexTcpServerPipelineFactory extends ChannelInitializer<Channel>
     public RpcClientHandler completePipeline( RpcClient rpcClient ) {
     	ChannelPipeline p = rpcClient.getChannel().pipeline();
 
-    	if ( rpcClient.isCompression() ) {
-	    	p.addBefore(Handler.FRAME_DECODER, Handler.COMPRESSOR, ZlibCodecFactory.newZlibEncoder(ZlibWrapper.GZIP));
+    	if ( rpcClient.isCompression() && rpcClient.getCompressionCodec() == null ) {
+	    	String framing = p.get(Handler.WIRE_CODEC) != null ? Handler.WIRE_CODEC : Handler.FRAME_DECODER;
+	    	p.addBefore(framing, Handler.COMPRESSOR, ZlibCodecFactory.newZlibEncoder(ZlibWrapper.GZIP));
 	    	p.addAfter(Handler.COMPRESSOR, Handler.DECOMPRESSOR, ZlibCodecFactory.newZlibDecoder(ZlibWrapper.GZIP));
     	}
     	
-		TcpConnectionEventListener informer = new TcpConnectionEventListener(){
-			@Override
-			public void connectionClosed(RpcClientChannel client) {
-				for( TcpConnectionEventListener listener : getListenersCopy() ) {
-					listener.connectionClosed(client);
-				}
-			}
-			@Override
-			public void connectionOpened(RpcClientChannel client) {
-				for( TcpConnectionEventListener listener : getListenersCopy() ) {
-					listener.connectionOpened(client);
-				}
-			}
-		};
+		TcpConnectionEventListener informer = new ConnectionEventInformer();
     	
     	RpcClientHandler rpcClientHandler = new RpcClientHandler(rpcClient, informer);
     	p.replace(Handler.SERVER_CONNECT, Handler.RPC_CLIENT, rpcClientHandler);
+    	if ( rpcClient.getCompressionCodec() != null ) {
+    		p.addBefore(Handler.RPC_CLIENT, Handler.FRAME_COMPRESSION, new FrameCompressionHandler(rpcClient.getCompressionCodec(), getCompressionThreshold(), rpcClient.isCompression(), getMaxUncompressedSize(), getWirelinePayloadExtensionRegistry()));
+    	}
+    	if ( rpcClient.isBatching() ) {
+    		p.addBefore(Handler.RPC_CLIENT, Handler.BATCHING, new WirePayloadBatchingHandler());
+    	}
     	
     	RpcServer rpcServer = new RpcServer(rpcClient, getRpcServiceRegistry(), getRpcServerCallExecutor(), getLogger()); 
+    	rpcServer.setLoadShedder(getLoadShedder());
     	RpcServerHandler rpcServerHandler = new RpcServerHandler(rpcServer,getRpcClientRegistry());
     	p.addAfter(Handler.RPC_CLIENT, Handler.RPC_SERVER, rpcServerHandler);
     	return rpcClientHandler;
@@ -251,9 +289,232 @@ public class DuplexTcpServerPipelineFactory extends ChannelInitializer<Channel>
 	}
 
 	/**
-	 * @param rpcServerCallExecutor the rpcServerCallExecutor to set
+	 * @param rpcServerCallExecutor the executor of the calls of methods which the
+	 * RpcServiceRegistry does not assign an executor of their own.
 	 */
 	public void setRpcServerCallExecutor(RpcServerCallExecutor rpcServerCallExecutor) {
 		this.rpcServerCallExecutor = rpcServerCallExecutor;
 	}
+
+	/**
+	 * @return the loadShedder
+	 */
+	public CoDelLoadShedder getLoadShedder() {
+		return loadShedder;
+	}
+
+	/**
+	 * @param loadShedder sheds the calls queued on the rpcServerCallExecutor,
+	 * shared by all connections, when their queueing delay stays too high.
+	 */
+	public void setLoadShedder(CoDelLoadShedder loadShedder) {
+		this.loadShedder = loadShedder;
+	}
+
+	/**
+	 * @return whether the single {@link WirePayloadCodec} is used instead of separate frame and protobuf codecs.
+	 */
+	public boolean isFusedWireCodec() {
+		return fusedWireCodec;
+	}
+
+	/**
+	 * @param fusedWireCodec whether to use the single {@link WirePayloadCodec}, which encodes
+	 * the frame length and WirePayload into one buffer of the channel's allocator, instead of separate frame
+	 * and protobuf codecs.
+	 */
+	public void setFusedWireCodec(boolean fusedWireCodec) {
+		this.fusedWireCodec = fusedWireCodec;
+	}
+
+	/**
+	 * @return whether the flushes of each Channel are consolidated by a {@link FlushConsolidationHandler}.
+	 */
+	public boolean isFlushConsolidation() {
+		return flushConsolidation;
+	}
+
+	/**
+	 * Enable the consolidation of each Channel's flushes by a {@link FlushConsolidationHandler},
+	 * trading a bounded amount of latency for fewer syscalls with many small calls.
+	 * 
+	 * @param flushConsolidation the flushConsolidation to set
+	 */
+	public void setFlushConsolidation(boolean flushConsolidation) {
+		this.flushConsolidation = flushConsolidation;
+	}
+
+	/**
+	 * Set the limits of the {@link FlushConsolidationHandler}.
+	 * 
+	 * @param maxWrites the number of pending writes which cause an immediate flush.
+	 * @param maxBytes the number of pending bytes which cause an immediate flush.
+	 * @param maxFlushDelayMicros the longest a flush is deferred, 0 to flush at the end of the event loop's tick.
+	 */
+	public void setFlushConsolidationLimits(int maxWrites, int maxBytes, long maxFlushDelayMicros) {
+		this.flushConsolidationMaxWrites = maxWrites;
+		this.flushConsolidationMaxBytes = maxBytes;
+		this.flushConsolidationMaxDelayMicros = maxFlushDelayMicros;
+	}
+
+	/**
+	 * @return the number of pending writes which cause an immediate flush.
+	 */
+	public int getFlushConsolidationMaxWrites() {
+		return flushConsolidationMaxWrites;
+	}
+
+	/**
+	 * @return the number of pending bytes which cause an immediate flush.
+	 */
+	public int getFlushConsolidationMaxBytes() {
+		return flushConsolidationMaxBytes;
+	}
+
+	/**
+	 * @return the longest a flush is deferred, 0 flushes at the end of the event loop's tick.
+	 */
+	public long getFlushConsolidationMaxDelayMicros() {
+		return flushConsolidationMaxDelayMicros;
+	}
+
+	/**
+	 * @return whether RpcRequests and RpcResponses are batched into shared frames when the peer supports it.
+	 */
+	public boolean isBatching() {
+		return batching;
+	}
+
+	/**
+	 * Enable the batching of RpcRequests and RpcResponses into shared frames by a
+	 * {@link WirePayloadBatchingHandler}. Batching is only used with peers which
+	 * also support it, which is negotiated during the connection handshake.
+	 * 
+	 * @param batching the batching to set
+	 */
+	public void setBatching(boolean batching) {
+		this.batching = batching;
+	}
+
+	/**
+	 * @return the per frame compression codecs supported by the server.
+	 */
+	public List<CompressionCodec> getCompressionCodecs() {
+		return compressionCodecs;
+	}
+
+	/**
+	 * Set the per frame compression codecs supported by the server, used with clients
+	 * offering one of them. Frames are compressed by default if the client enabled
+	 * compression, and otherwise only when requested per call or per method with
+	 * {@link RpcServiceRegistry#setCompressResponse(com.google.protobuf.Descriptors.MethodDescriptor, boolean)}.
+	 * 
+	 * @param compressionCodecs the compressionCodecs to set, empty to only use GZIP stream compression.
+	 */
+	public void setCompressionCodecs(List<CompressionCodec> compressionCodecs) {
+		this.compressionCodecs = compressionCodecs;
+	}
+
+	/**
+	 * @return the Channel's write buffer low water mark, 0 for Netty's default.
+	 */
+	public int getWriteBufferLowWaterMark() {
+		return writeBufferLowWaterMark;
+	}
+
+	/**
+	 * @return the Channel's write buffer high water mark, 0 for Netty's default.
+	 */
+	public int getWriteBufferHighWaterMark() {
+		return writeBufferHighWaterMark;
+	}
+
+	/**
+	 * Set the bounds of each Channel's outbound buffer. The Channel becomes
+	 * unwritable once the buffer exceeds the high water mark, and writable
+	 * again when it falls below the low water mark, which is notified to the
+	 * TcpConnectionEventListeners which are TcpConnectionWritabilityListeners.
+	 * 
+	 * @param lowWaterMark
+	 * @param highWaterMark
+	 */
+	public void setWriteBufferWaterMarks(int lowWaterMark, int highWaterMark) {
+		if ( lowWaterMark < 0 || highWaterMark <= 0 || lowWaterMark > highWaterMark ) {
+			throw new IllegalArgumentException("lowWaterMark " + lowWaterMark + " highWaterMark " + highWaterMark);
+		}
+		this.writeBufferLowWaterMark = lowWaterMark;
+		this.writeBufferHighWaterMark = highWaterMark;
+	}
+
+	/**
+	 * @return the serialized size from which frames are compressed.
+	 */
+	public int getCompressionThreshold() {
+		return compressionThreshold;
+	}
+
+	/**
+	 * @param compressionThreshold the serialized size from which frames are compressed
+	 * by the {@link FrameCompressionHandler}, smaller frames are sent uncompressed.
+	 */
+	public void setCompressionThreshold(int compressionThreshold) {
+		this.compressionThreshold = compressionThreshold;
+	}
+
+	/**
+	 * @return the largest uncompressed size a received compressed frame may claim.
+	 */
+	public int getMaxUncompressedSize() {
+		return maxUncompressedSize;
+	}
+
+	/**
+	 * @param maxUncompressedSize the largest uncompressed size a received compressed
+	 * frame may claim, larger frames fail the {@link FrameCompressionHandler}.
+	 */
+	public void setMaxUncompressedSize(int maxUncompressedSize) {
+		this.maxUncompressedSize = maxUncompressedSize;
+	}
+
+	/**
+	 * @return the length of the longest frame the {@link WirePayloadCodec} receives.
+	 */
+	public int getMaxFrameLength() {
+		return maxFrameLength;
+	}
+
+	/**
+	 * @param maxFrameLength the length of the longest frame the {@link WirePayloadCodec}
+	 * receives, longer frames fail with a TooLongFrameException.
+	 */
+	public void setMaxFrameLength(int maxFrameLength) {
+		this.maxFrameLength = maxFrameLength;
+	}
+
+	/**
+	 * Informs the registered TcpConnectionEventListeners, and those which are
+	 * TcpConnectionWritabilityListeners of writability changes.
+	 */
+	private class ConnectionEventInformer implements TcpConnectionEventListener, TcpConnectionWritabilityListener {
+		@Override
+		public void connectionClosed(RpcClientChannel client) {
+			for( TcpConnectionEventListener listener : getListenersCopy() ) {
+				listener.connectionClosed(client);
+			}
+		}
+		@Override
+		public void connectionOpened(RpcClientChannel client) {
+			for( TcpConnectionEventListener listener : getListenersCopy() ) {
+				listener.connectionOpened(client);
+			}
+		}
+		@Override
+		public void connectionWritabilityChanged(RpcClientChannel client, boolean writable) {
+			for( TcpConnectionEventListener listener : getListenersCopy() ) {
+				if ( listener instanceof TcpConnectionWritabilityListener ) {
+					((TcpConnectionWritabilityListener)listener).connectionWritabilityChanged(client, writable);
+				}
+			}
+		}
+	}
 }
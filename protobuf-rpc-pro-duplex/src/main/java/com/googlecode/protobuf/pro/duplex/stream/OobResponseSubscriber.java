@@ -0,0 +1,94 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.stream;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.protobuf.Message;
+import com.google.protobuf.RpcCallback;
+import com.googlecode.protobuf.pro.duplex.ClientRpcController;
+import com.googlecode.protobuf.pro.duplex.execute.ServerRpcController;
+
+/**
+ * Streams the items of a Publisher as the OobResponses of a server side RPC
+ * call, and finishes the call once the Publisher completes.
+ * 
+ * Items are only requested from the Publisher as the client grants OobCredits
+ * through its {@link ClientRpcController#setOobResponseSubscriber(Message, Subscriber)},
+ * so neither the server nor the client buffers more than the client requested.
+ * Cancellation of the RPC call cancels the Subscription.
+ * 
+ * @see ServerRpcController#streamOobResponses(Publisher, RpcCallback, Message)
+ * @author Peter Klauser
+ *
+ */
+public class OobResponseSubscriber<R extends Message> implements Subscriber<Message> {
+
+	private final ServerRpcController controller;
+	private final RpcCallback<R> done;
+	private final R response;
+	private final AtomicBoolean finished = new AtomicBoolean(false);
+	
+	/**
+	 * @param controller the RPC call's controller.
+	 * @param done the RPC call's done callback.
+	 * @param response the RPC call's response once the Publisher completes.
+	 */
+	public OobResponseSubscriber( ServerRpcController controller, RpcCallback<R> done, R response ) {
+		if ( controller == null ) {
+			throw new IllegalArgumentException("controller");
+		}
+		if ( done == null ) {
+			throw new IllegalArgumentException("done");
+		}
+		this.controller = controller;
+		this.done = done;
+		this.response = response;
+	}
+	
+	@Override
+	public void onSubscribe(final Subscription subscription) {
+		controller.notifyOnCancel(new RpcCallback<Object>() {
+			@Override
+			public void run(Object parameter) {
+				subscription.cancel();
+			}
+		});
+		controller.setOobSubscription(subscription);
+	}
+
+	@Override
+	public void onNext(Message item) {
+		if ( !finished.get() ) {
+			controller.sendOobResponse(item);
+		}
+	}
+
+	@Override
+	public void onError(Throwable throwable) {
+		if ( finished.compareAndSet(false, true) ) {
+			controller.setFailed(throwable.getMessage() != null ? throwable.getMessage() : throwable.toString());
+			done.run(null);
+		}
+	}
+
+	@Override
+	public void onComplete() {
+		if ( finished.compareAndSet(false, true) ) {
+			done.run(response);
+		}
+	}
+}
@@ -0,0 +1,34 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.stream;
+
+/**
+ * A source of a stream of items, which it publishes to each Subscriber
+ * no faster than the Subscriber requests them. Mirrors
+ * java.util.concurrent.Flow.Publisher for Java versions without it.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public interface Publisher<T> {
+
+	/**
+	 * Add a Subscriber, which is then called with onSubscribe.
+	 * 
+	 * @param subscriber
+	 */
+	public void subscribe( Subscriber<? super T> subscriber );
+}
@@ -0,0 +1,205 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.protobuf.Message;
+import com.google.protobuf.ServiceException;
+import com.googlecode.protobuf.pro.duplex.ClientRpcController;
+import com.googlecode.protobuf.pro.duplex.RpcClient;
+import com.googlecode.protobuf.pro.duplex.execute.ServerRpcController;
+
+/**
+ * The server side of the request stream of a RPC call, which the client
+ * publishes with {@link ClientRpcController#setRequestPublisher(Publisher)}.
+ * 
+ * The messages received in StreamChunks are passed to the Subscriber as they
+ * arrive, on the Channel's IO thread. The Subscriber's demand is sent to the
+ * client as StreamCredits, so the client only sends what was requested. A
+ * StreamEnd completes the Subscriber, or fails it if the client's Publisher
+ * failed. Cancellation of the RPC call also fails the Subscriber.
+ * 
+ * @see ServerRpcController#subscribeRequestStream(Subscriber)
+ * @author Peter Klauser
+ *
+ */
+public class RequestStreamSubscription implements Subscription {
+
+	private static Logger log = LoggerFactory.getLogger(RequestStreamSubscription.class);
+
+	private final RpcClient rpcClient;
+	private final int correlationId;
+	
+	private Subscriber<Message> subscriber;
+	
+	/**
+	 * Whether the Subscriber's onSubscribe returned, and the credits it
+	 * requested until then.
+	 */
+	private boolean started;
+	private long credits;
+	
+	private boolean cancelled;
+	
+	/**
+	 * Whether the end of the stream was received, possibly before the
+	 * Subscriber started, and whether it was notified.
+	 */
+	private boolean endReceived;
+	private String endErrorMessage;
+	private boolean ended;
+	
+	public RequestStreamSubscription( RpcClient rpcClient, int correlationId ) {
+		this.rpcClient = rpcClient;
+		this.correlationId = correlationId;
+	}
+	
+	/**
+	 * Subscribe the subscriber to the request stream.
+	 * 
+	 * @param subscriber
+	 * @throws IllegalStateException if the request stream is already subscribed to.
+	 */
+	@SuppressWarnings("unchecked")
+	public void subscribe( Subscriber<?> subscriber ) {
+		if ( subscriber == null ) {
+			throw new IllegalArgumentException("subscriber");
+		}
+		synchronized(this) {
+			if ( this.subscriber != null ) {
+				throw new IllegalStateException("Request stream already subscribed.");
+			}
+			this.subscriber = (Subscriber<Message>)subscriber;
+		}
+		this.subscriber.onSubscribe(this);
+		
+		long requested = 0;
+		boolean end = false;
+		synchronized(this) {
+			started = true;
+			requested = credits;
+			credits = 0;
+			end = endReceived;
+		}
+		// the client only streams once granted credits, so nothing arrives before now.
+		if ( requested > 0 ) {
+			sendCredit(requested);
+		}
+		if ( end ) {
+			notifyEnd();
+		}
+	}
+	
+	@Override
+	public void request(long n) {
+		if ( n <= 0 ) {
+			// as Flow.Subscription, the subscriber fails instead of the caller.
+			Subscriber<Message> s = null;
+			synchronized(this) {
+				if ( cancelled || ended ) {
+					return;
+				}
+				cancelled = true;
+				ended = true;
+				s = subscriber;
+			}
+			s.onError(new IllegalArgumentException("non-positive request: " + n));
+			return;
+		}
+		synchronized(this) {
+			if ( cancelled || endReceived ) {
+				return;
+			}
+			if ( !started ) {
+				credits += n;
+				return;
+			}
+		}
+		sendCredit(n);
+	}
+
+	@Override
+	public void cancel() {
+		synchronized(this) {
+			cancelled = true;
+		}
+	}
+	
+	/**
+	 * Receipt of a message of the request stream.
+	 * 
+	 * @param message
+	 */
+	public void receiveChunk( Message message ) {
+		Subscriber<Message> s = null;
+		synchronized(this) {
+			if ( !started || cancelled || endReceived ) {
+				if ( log.isDebugEnabled() ) {
+					log.debug("Discarding ["+correlationId+"]StreamChunk.");
+				}
+				return;
+			}
+			s = subscriber;
+		}
+		s.onNext(message);
+	}
+	
+	/**
+	 * Receipt of the end of the request stream.
+	 * 
+	 * @param errorMessage null if the client's Publisher completed.
+	 */
+	public void receiveEnd( String errorMessage ) {
+		synchronized(this) {
+			if ( endReceived ) {
+				return;
+			}
+			endReceived = true;
+			endErrorMessage = errorMessage;
+			if ( !started ) {
+				return;
+			}
+		}
+		notifyEnd();
+	}
+	
+	private void notifyEnd() {
+		synchronized(this) {
+			if ( ended || cancelled ) {
+				return;
+			}
+			ended = true;
+		}
+		if ( endErrorMessage == null ) {
+			subscriber.onComplete();
+		} else {
+			subscriber.onError(new ServiceException(endErrorMessage));
+		}
+	}
+	
+	private void sendCredit( long n ) {
+		rpcClient.sendStreamCredit(correlationId, (int)Math.min(n, Integer.MAX_VALUE));
+	}
+	
+	/**
+	 * @return the correlationId
+	 */
+	public int getCorrelationId() {
+		return correlationId;
+	}
+}
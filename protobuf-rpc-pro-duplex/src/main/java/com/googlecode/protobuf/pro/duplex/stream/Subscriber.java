@@ -0,0 +1,57 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.stream;
+
+/**
+ * A receiver of a stream of items, which signals demand through its
+ * {@link Subscription}. Mirrors java.util.concurrent.Flow.Subscriber for
+ * Java versions without it.
+ * 
+ * The methods are called sequentially, onSubscribe first, and at most one
+ * of onError or onComplete last.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public interface Subscriber<T> {
+
+	/**
+	 * Called before any other method. No items are received until
+	 * requested with the subscription.
+	 * 
+	 * @param subscription
+	 */
+	public void onSubscribe( Subscription subscription );
+	
+	/**
+	 * The next item, never more than requested.
+	 * 
+	 * @param item
+	 */
+	public void onNext( T item );
+	
+	/**
+	 * The stream failed, no further methods are called.
+	 * 
+	 * @param throwable
+	 */
+	public void onError( Throwable throwable );
+	
+	/**
+	 * The stream is complete, no further methods are called.
+	 */
+	public void onComplete();
+}
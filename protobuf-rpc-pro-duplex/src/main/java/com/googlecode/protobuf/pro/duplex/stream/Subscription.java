@@ -0,0 +1,39 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.stream;
+
+/**
+ * Links a Publisher and Subscriber. Mirrors
+ * java.util.concurrent.Flow.Subscription for Java versions without it.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public interface Subscription {
+
+	/**
+	 * Add n items to the Subscriber's outstanding demand. A non-positive n
+	 * fails the Subscriber with an IllegalArgumentException and cancels.
+	 * 
+	 * @param n a positive number of items, Long.MAX_VALUE for unbounded.
+	 */
+	public void request( long n );
+	
+	/**
+	 * Stop receiving items, eventually.
+	 */
+	public void cancel();
+}
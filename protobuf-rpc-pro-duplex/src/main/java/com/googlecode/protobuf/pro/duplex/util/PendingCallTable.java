@@ -0,0 +1,176 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A concurrent table of pending calls keyed by their int correlationId,
+ * replacing a ConcurrentHashMap&lt;Integer, V&gt; without boxing the key or
+ * allocating a node per call.
+ * 
+ * Correlation ids are handed out sequentially, so a call's id modulo the
+ * table's capacity indexes its slot in a ring. A slot is claimed by CAS, so
+ * callers and the event loop can put and remove concurrently without
+ * locking. Should the slot still be held by a call with an older id, which
+ * only happens if more calls than the capacity are pending, the call goes
+ * into an overflow map.
+ * 
+ * A value may only be put into the table once at a time.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class PendingCallTable<V> {
+
+	public static final int DEFAULT_CAPACITY = 1024;
+	
+	// a slot claimed by a put, whose key is not yet written.
+	private static final Object RESERVED = new Object();
+	
+	private final int mask;
+	private final AtomicIntegerArray keys;
+	private final AtomicReferenceArray<Object> values;
+	private final ConcurrentHashMap<Integer, V> overflow = new ConcurrentHashMap<Integer, V>();
+	
+	public PendingCallTable() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * @param capacity the number of slots, rounded up to a power of 2.
+	 */
+	public PendingCallTable( int capacity ) {
+		if ( capacity <= 0 || capacity > 1 << 30 ) {
+			throw new IllegalArgumentException("capacity");
+		}
+		int size = Integer.highestOneBit(capacity);
+		if ( size < capacity ) {
+			size <<= 1;
+		}
+		this.mask = size - 1;
+		this.keys = new AtomicIntegerArray(size);
+		this.values = new AtomicReferenceArray<Object>(size);
+	}
+	
+	/**
+	 * Put a value into the table, unless one with the same key is pending.
+	 * 
+	 * @param key
+	 * @param value
+	 * @return true if put, false if the key is already pending.
+	 */
+	public boolean put( int key, V value ) {
+		if ( value == null ) {
+			throw new IllegalArgumentException("value");
+		}
+		if ( get(key) != null ) {
+			return false;
+		}
+		int i = key & mask;
+		if ( values.compareAndSet(i, null, RESERVED) ) {
+			keys.set(i, key);
+			values.set(i, value);
+			return true;
+		}
+		return overflow.putIfAbsent(key, value) == null;
+	}
+	
+	/**
+	 * @param key
+	 * @return the pending value with the key, or null.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get( int key ) {
+		int i = key & mask;
+		Object value = values.get(i);
+		if ( value != null && value != RESERVED && keys.get(i) == key ) {
+			return (V)value;
+		}
+		return overflow.isEmpty() ? null : overflow.get(key);
+	}
+	
+	/**
+	 * @param key
+	 * @return the removed value with the key, or null if none is pending.
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove( int key ) {
+		int i = key & mask;
+		Object value = values.get(i);
+		if ( value != null && value != RESERVED && keys.get(i) == key && values.compareAndSet(i, value, null) ) {
+			return (V)value;
+		}
+		return overflow.isEmpty() ? null : overflow.remove(key);
+	}
+	
+	/**
+	 * @return the keys of the values pending at the time of the call.
+	 */
+	public int[] keys() {
+		int[] result = new int[values.length() + overflow.size()];
+		int count = 0;
+		for( int i = 0; i < values.length(); i++ ) {
+			Object value = values.get(i);
+			if ( value != null && value != RESERVED ) {
+				result[count++] = keys.get(i);
+			}
+		}
+		for( Integer key : overflow.keySet() ) {
+			if ( count == result.length ) {
+				result = Arrays.copyOf(result, count * 2);
+			}
+			result[count++] = key;
+		}
+		return Arrays.copyOf(result, count);
+	}
+	
+	/**
+	 * @return whether no value is pending.
+	 */
+	public boolean isEmpty() {
+		for( int i = 0; i < values.length(); i++ ) {
+			if ( values.get(i) != null ) {
+				return false;
+			}
+		}
+		return overflow.isEmpty();
+	}
+	
+	/**
+	 * @return the number of pending values, scanning the table.
+	 */
+	public int size() {
+		int count = 0;
+		for( int i = 0; i < values.length(); i++ ) {
+			Object value = values.get(i);
+			if ( value != null && value != RESERVED ) {
+				count++;
+			}
+		}
+		return count + overflow.size();
+	}
+	
+	/**
+	 * @return the number of slots.
+	 */
+	public int getCapacity() {
+		return mask + 1;
+	}
+}
@@ -0,0 +1,207 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.wire;
+
+import java.io.IOException;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
+
+/**
+ * A WirePayload carrying only a CompressedPayload, whose compressed data is
+ * referred to in place rather than held in a ByteString.
+ *
+ * On receipt the data refers to the frame's bytes, so it is decompressed
+ * straight from the frame, and must be before the frame is released. On
+ * sending the data refers to the compressor's output, which is serialized
+ * straight into the IO buffer.
+ *
+ * @author Peter Klauser
+ *
+ */
+public final class DeferredCompressedPayload {
+
+	private final CompressionCodec codec;
+	private final int uncompressedSize;
+	private final byte[] data;
+	private final int dataOffset;
+	private final int dataLength;
+
+	/**
+	 * @param codec the codec the data is compressed with, null if unknown.
+	 * @param uncompressedSize the size of the serialized WirePayload compressed.
+	 * @param data
+	 * @param dataOffset
+	 * @param dataLength
+	 */
+	public DeferredCompressedPayload( CompressionCodec codec, int uncompressedSize, byte[] data, int dataOffset, int dataLength ) {
+		this.codec = codec;
+		this.uncompressedSize = uncompressedSize;
+		this.data = data;
+		this.dataOffset = dataOffset;
+		this.dataLength = dataLength;
+	}
+
+	/**
+	 * Decode a received frame consisting solely of a compressedPayload field.
+	 *
+	 * @param frame the received frame bytes.
+	 * @param offset
+	 * @param length
+	 * @return null if the frame has any other WirePayload field, in which
+	 *  case it must be decoded as a WirePayload.
+	 * @throws IOException if the frame is not a valid protobuf.
+	 */
+	public static DeferredCompressedPayload parseFrom( byte[] frame, int offset, int length ) throws IOException {
+		CodedInputStream input = CodedInputStream.newInstance(frame, offset, length);
+		if ( input.isAtEnd() ) {
+			return null;
+		}
+		int tag = input.readTag();
+		if ( WireFormat.getTagFieldNumber(tag) != WirePayload.COMPRESSEDPAYLOAD_FIELD_NUMBER || (tag & TAG_TYPE_MASK) != WireFormat.WIRETYPE_LENGTH_DELIMITED ) {
+			return null;
+		}
+		int size = input.readRawVarint32();
+		int start = offset + input.getTotalBytesRead();
+		input.skipRawBytes(size);
+		if ( !input.isAtEnd() ) {
+			return null;
+		}
+
+		CodedInputStream element = CodedInputStream.newInstance(frame, start, size);
+		CompressionCodec codec = null;
+		boolean hasCodec = false;
+		int uncompressedSize = -1;
+		int dataOffset = -1;
+		int dataLength = 0;
+		while( !element.isAtEnd() ) {
+			tag = element.readTag();
+			switch( WireFormat.getTagFieldNumber(tag) ) {
+			case CompressedPayload.CODEC_FIELD_NUMBER:
+				codec = CompressionCodec.valueOf(element.readEnum());
+				hasCodec = true;
+				break;
+			case CompressedPayload.UNCOMPRESSEDSIZE_FIELD_NUMBER:
+				uncompressedSize = element.readInt32();
+				break;
+			case CompressedPayload.DATA_FIELD_NUMBER:
+				dataLength = element.readRawVarint32();
+				dataOffset = start + element.getTotalBytesRead();
+				element.skipRawBytes(dataLength);
+				break;
+			default:
+				element.skipField(tag);
+			}
+		}
+		if ( !hasCodec || uncompressedSize < 0 || dataOffset < 0 ) {
+			throw new InvalidProtocolBufferException("CompressedPayload is missing required fields.");
+		}
+		return new DeferredCompressedPayload(codec, uncompressedSize, frame, dataOffset, dataLength);
+	}
+
+	/**
+	 * @return the codec the data is compressed with, or null if unknown.
+	 */
+	public CompressionCodec getCodec() {
+		return codec;
+	}
+
+	/**
+	 * @return the size of the serialized WirePayload compressed.
+	 */
+	public int getUncompressedSize() {
+		return uncompressedSize;
+	}
+
+	/**
+	 * @return the array holding the compressed data.
+	 */
+	public byte[] getData() {
+		return data;
+	}
+
+	/**
+	 * @return the offset of the compressed data in {@link #getData()}.
+	 */
+	public int getDataOffset() {
+		return dataOffset;
+	}
+
+	/**
+	 * @return the length of the compressed data.
+	 */
+	public int getDataLength() {
+		return dataLength;
+	}
+
+	/**
+	 * @return the serialized size of the entire WirePayload.
+	 */
+	public int getSerializedSize() {
+		int elementSize = getElementSize();
+		return CodedOutputStream.computeTagSize(WirePayload.COMPRESSEDPAYLOAD_FIELD_NUMBER) + CodedOutputStream.computeRawVarint32Size(elementSize) + elementSize;
+	}
+
+	/**
+	 * Serialize the WirePayload, the compressed data copied straight from its array.
+	 *
+	 * @param output
+	 * @throws IOException
+	 */
+	public void writeTo( CodedOutputStream output ) throws IOException {
+		output.writeTag(WirePayload.COMPRESSEDPAYLOAD_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+		output.writeRawVarint32(getElementSize());
+		output.writeEnum(CompressedPayload.CODEC_FIELD_NUMBER, codec.getNumber());
+		output.writeInt32(CompressedPayload.UNCOMPRESSEDSIZE_FIELD_NUMBER, uncompressedSize);
+		output.writeTag(CompressedPayload.DATA_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+		output.writeRawVarint32(dataLength);
+		output.writeRawBytes(data, dataOffset, dataLength);
+	}
+
+	/**
+	 * @return the equivalent fully serialized WirePayload.
+	 */
+	public WirePayload toWirePayload() {
+		byte[] bytes = new byte[getSerializedSize()];
+		CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+		try {
+			writeTo(output);
+			output.checkNoSpaceLeft();
+			return WirePayload.parseFrom(bytes);
+		} catch ( IOException e ) {
+			throw new IllegalStateException("WirePayload serialization failed.", e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "DeferredCompressedPayload codec=" + codec + " uncompressedSize=" + uncompressedSize + " dataLength=" + dataLength;
+	}
+
+	private static final int TAG_TYPE_MASK = 7;
+
+	private int getElementSize() {
+		return CodedOutputStream.computeEnumSize(CompressedPayload.CODEC_FIELD_NUMBER, codec.getNumber())
+				+ CodedOutputStream.computeInt32Size(CompressedPayload.UNCOMPRESSEDSIZE_FIELD_NUMBER, uncompressedSize)
+				+ CodedOutputStream.computeTagSize(CompressedPayload.DATA_FIELD_NUMBER)
+				+ CodedOutputStream.computeRawVarint32Size(dataLength) + dataLength;
+	}
+}
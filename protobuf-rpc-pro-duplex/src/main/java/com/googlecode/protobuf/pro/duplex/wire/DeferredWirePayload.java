@@ -0,0 +1,448 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.wire;
+
+import java.io.IOException;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.ExtensionRegistryLite;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.WireFormat;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
+
+/**
+ * A WirePayload carrying a single RpcRequest, RpcResponse, OobResponse,
+ * OobMessage or StreamChunk, whose user message "body" is kept apart from the envelope
+ * fields instead of being nested as a ByteString.
+ *
+ * Outbound, the body is the unserialized user Message, which is written
+ * straight behind the envelope fields into the IO buffer by the
+ * {@link #writeTo(CodedOutputStream)} method. Inbound, the body is the
+ * byte range of the received frame, which is parsed directly into the
+ * user's message builder by {@link #mergeBodyTo(MessageLite.Builder, ExtensionRegistryLite)}.
+ *
+ * The serialized form is wire compatible with the equivalent WirePayload,
+ * since a protobuf bytes field and an embedded message field are encoded
+ * identically.
+ *
+ * Note: the body of an inbound DeferredWirePayload refers to the IO buffer
+ * of the frame it was decoded from, and is only valid during the dispatch
+ * of the frame through the Netty pipeline.
+ *
+ * @author Peter Klauser
+ *
+ */
+public final class DeferredWirePayload {
+
+	private final int payloadFieldNumber;
+	private final MessageLite envelope;
+	private final int bodyFieldNumber;
+
+	// outbound body
+	private final MessageLite bodyMessage;
+
+	// inbound body
+	private final byte[] bodyArray;
+	private final int bodyOffset;
+
+	private final int bodySize;
+	private final int payloadSize;
+
+	// not serialized
+	private Boolean compress;
+
+	private DeferredWirePayload( int payloadFieldNumber, MessageLite envelope, int bodyFieldNumber, MessageLite bodyMessage, byte[] bodyArray, int bodyOffset, int bodySize ) {
+		this.payloadFieldNumber = payloadFieldNumber;
+		this.envelope = envelope;
+		this.bodyFieldNumber = bodyFieldNumber;
+		this.bodyMessage = bodyMessage;
+		this.bodyArray = bodyArray;
+		this.bodyOffset = bodyOffset;
+		this.bodySize = bodySize;
+		this.payloadSize = envelope.getSerializedSize()
+				+ CodedOutputStream.computeTagSize(bodyFieldNumber)
+				+ CodedOutputStream.computeRawVarint32Size(bodySize)
+				+ bodySize;
+	}
+
+	private DeferredWirePayload( int payloadFieldNumber, MessageLite envelope, int bodyFieldNumber, MessageLite bodyMessage ) {
+		this(payloadFieldNumber, envelope, bodyFieldNumber, bodyMessage, null, 0, bodyMessage.getSerializedSize());
+	}
+
+	/**
+	 * @param envelope the RpcRequest without requestBytes.
+	 * @param request the RPC request message.
+	 * @return a WirePayload with an RpcRequest.
+	 */
+	public static DeferredWirePayload newRpcRequest( RpcRequest.Builder envelope, MessageLite request ) {
+		return new DeferredWirePayload(WirePayload.RPCREQUEST_FIELD_NUMBER, envelope.buildPartial(), RpcRequest.REQUESTBYTES_FIELD_NUMBER, request);
+	}
+
+	/**
+	 * @param envelope the RpcResponse without responseBytes.
+	 * @param response the RPC response message.
+	 * @return a WirePayload with an RpcResponse.
+	 */
+	public static DeferredWirePayload newRpcResponse( RpcResponse.Builder envelope, MessageLite response ) {
+		return new DeferredWirePayload(WirePayload.RPCRESPONSE_FIELD_NUMBER, envelope.buildPartial(), RpcResponse.RESPONSEBYTES_FIELD_NUMBER, response);
+	}
+
+	/**
+	 * @param envelope the OobResponse without messageBytes.
+	 * @param message the out-of-band response message.
+	 * @return a WirePayload with an OobResponse.
+	 */
+	public static DeferredWirePayload newOobResponse( OobResponse.Builder envelope, MessageLite message ) {
+		return new DeferredWirePayload(WirePayload.OOBRESPONSE_FIELD_NUMBER, envelope.buildPartial(), OobResponse.MESSAGEBYTES_FIELD_NUMBER, message);
+	}
+
+	/**
+	 * @param envelope the StreamChunk without messageBytes.
+	 * @param message the message of the request stream.
+	 * @return a WirePayload with a StreamChunk.
+	 */
+	public static DeferredWirePayload newStreamChunk( StreamChunk.Builder envelope, MessageLite message ) {
+		return new DeferredWirePayload(WirePayload.STREAMCHUNK_FIELD_NUMBER, envelope.buildPartial(), StreamChunk.MESSAGEBYTES_FIELD_NUMBER, message);
+	}
+
+	/**
+	 * @param message the out-of-band message.
+	 * @return a WirePayload with an OobMessage.
+	 */
+	public static DeferredWirePayload newOobMessage( MessageLite message ) {
+		return new DeferredWirePayload(WirePayload.OOBMESSAGE_FIELD_NUMBER, OobMessage.newBuilder().buildPartial(), OobMessage.MESSAGEBYTES_FIELD_NUMBER, message);
+	}
+
+	/**
+	 * Decode a received frame, without copying the body of the contained
+	 * RpcRequest, RpcResponse, OobResponse, OobMessage or StreamChunk.
+	 *
+	 * @param frame the received frame bytes.
+	 * @param offset
+	 * @param length
+	 * @return null if the frame does not consist solely of one of the
+	 *  deferrable payload types, in which case it must be decoded as a
+	 *  WirePayload.
+	 * @throws IOException if the frame is not a valid protobuf.
+	 */
+	public static DeferredWirePayload parseFrom( byte[] frame, int offset, int length ) throws IOException {
+		CodedInputStream input = CodedInputStream.newInstance(frame, offset, length);
+		int tag = input.readTag();
+		if ( (tag & TAG_TYPE_MASK) != WireFormat.WIRETYPE_LENGTH_DELIMITED ) {
+			return null;
+		}
+		int payloadFieldNumber = WireFormat.getTagFieldNumber(tag);
+		if ( getBodyFieldNumber(payloadFieldNumber) == 0 ) {
+			return null;
+		}
+		int size = input.readRawVarint32();
+		int start = offset + input.getTotalBytesRead();
+		if ( start + size != offset + length ) {
+			// other WirePayload fields (i.e. extensions) follow.
+			return null;
+		}
+		return parseElement(frame, payloadFieldNumber, start, size);
+	}
+
+	/**
+	 * Decode the serialized RpcRequest, RpcResponse, OobResponse, OobMessage
+	 * or StreamChunk occupying the byte range [start, start+size) of the frame.
+	 *
+	 * @param frame
+	 * @param payloadFieldNumber the WirePayload field number of the payload type.
+	 * @param start
+	 * @param size
+	 * @return the DeferredWirePayload.
+	 * @throws IOException
+	 */
+	static DeferredWirePayload parseElement( byte[] frame, int payloadFieldNumber, int start, int size ) throws IOException {
+		int bodyFieldNumber = getBodyFieldNumber(payloadFieldNumber);
+		int end = start + size;
+
+		// locate the body within the envelope's fields.
+		CodedInputStream envelopeInput = CodedInputStream.newInstance(frame, start, size);
+		int bodyTagStart = -1;
+		int bodyOffset = -1;
+		int bodySize = -1;
+		while( !envelopeInput.isAtEnd() ) {
+			int fieldStart = start + envelopeInput.getTotalBytesRead();
+			int fieldTag = envelopeInput.readTag();
+			if ( WireFormat.getTagFieldNumber(fieldTag) == bodyFieldNumber && (fieldTag & TAG_TYPE_MASK) == WireFormat.WIRETYPE_LENGTH_DELIMITED ) {
+				bodyTagStart = fieldStart;
+				bodySize = envelopeInput.readRawVarint32();
+				bodyOffset = start + envelopeInput.getTotalBytesRead();
+				envelopeInput.skipRawBytes(bodySize);
+			} else {
+				envelopeInput.skipField(fieldTag);
+			}
+		}
+		if ( bodyTagStart < 0 ) {
+			throw new InvalidProtocolBufferException("Missing body field " + bodyFieldNumber + " of WirePayload field " + payloadFieldNumber);
+		}
+		int bodyEnd = bodyOffset + bodySize;
+
+		MessageLite envelope = null;
+		switch( payloadFieldNumber ) {
+		case WirePayload.RPCREQUEST_FIELD_NUMBER:
+			RpcRequest.Builder rpcRequest = RpcRequest.newBuilder();
+			rpcRequest.mergeFrom(frame, start, bodyTagStart - start).mergeFrom(frame, bodyEnd, end - bodyEnd);
+			checkInitialized(rpcRequest.setRequestBytes(ByteString.EMPTY));
+			envelope = rpcRequest.clearRequestBytes().buildPartial();
+			break;
+		case WirePayload.RPCRESPONSE_FIELD_NUMBER:
+			RpcResponse.Builder rpcResponse = RpcResponse.newBuilder();
+			rpcResponse.mergeFrom(frame, start, bodyTagStart - start).mergeFrom(frame, bodyEnd, end - bodyEnd);
+			checkInitialized(rpcResponse.setResponseBytes(ByteString.EMPTY));
+			envelope = rpcResponse.clearResponseBytes().buildPartial();
+			break;
+		case WirePayload.OOBRESPONSE_FIELD_NUMBER:
+			OobResponse.Builder oobResponse = OobResponse.newBuilder();
+			oobResponse.mergeFrom(frame, start, bodyTagStart - start).mergeFrom(frame, bodyEnd, end - bodyEnd);
+			checkInitialized(oobResponse.setMessageBytes(ByteString.EMPTY));
+			envelope = oobResponse.clearMessageBytes().buildPartial();
+			break;
+		case WirePayload.STREAMCHUNK_FIELD_NUMBER:
+			StreamChunk.Builder streamChunk = StreamChunk.newBuilder();
+			streamChunk.mergeFrom(frame, start, bodyTagStart - start).mergeFrom(frame, bodyEnd, end - bodyEnd);
+			checkInitialized(streamChunk.setMessageBytes(ByteString.EMPTY));
+			envelope = streamChunk.clearMessageBytes().buildPartial();
+			break;
+		default:
+			OobMessage.Builder oobMessage = OobMessage.newBuilder();
+			oobMessage.mergeFrom(frame, start, bodyTagStart - start).mergeFrom(frame, bodyEnd, end - bodyEnd);
+			checkInitialized(oobMessage.setMessageBytes(ByteString.EMPTY));
+			envelope = oobMessage.clearMessageBytes().buildPartial();
+			break;
+		}
+		return new DeferredWirePayload(payloadFieldNumber, envelope, bodyFieldNumber, null, frame, bodyOffset, bodySize);
+	}
+
+	/**
+	 * Convert a WirePayload with an RpcRequest, RpcResponse, OobResponse,
+	 * OobMessage or StreamChunk into its deferred form.
+	 *
+	 * @param payload
+	 * @return null if the payload has none of the deferrable payload types.
+	 */
+	public static DeferredWirePayload valueOf( WirePayload payload ) {
+		try {
+			byte[] bytes = payload.toByteArray();
+			return parseFrom(bytes, 0, bytes.length);
+		} catch ( IOException e ) {
+			throw new IllegalStateException("WirePayload reserialization failed.", e);
+		}
+	}
+
+	/**
+	 * Merge the body into the builder of the user's message.
+	 *
+	 * @param builder
+	 * @param extensionRegistry optional, may be null.
+	 * @return the builder.
+	 * @throws InvalidProtocolBufferException
+	 */
+	public <T extends MessageLite.Builder> T mergeBodyTo( T builder, ExtensionRegistryLite extensionRegistry ) throws InvalidProtocolBufferException {
+		if ( bodyMessage != null ) {
+			builder.mergeFrom(bodyMessage.toByteString(), extensionRegistry != null ? extensionRegistry : ExtensionRegistryLite.getEmptyRegistry());
+		} else if ( extensionRegistry != null ) {
+			builder.mergeFrom(bodyArray, bodyOffset, bodySize, extensionRegistry);
+		} else {
+			builder.mergeFrom(bodyArray, bodyOffset, bodySize);
+		}
+		return builder;
+	}
+
+	/**
+	 * @return the serialized size of the entire WirePayload.
+	 */
+	public int getSerializedSize() {
+		return getSerializedSize(payloadFieldNumber);
+	}
+
+	/**
+	 * @param asFieldNumber the WirePayload field number to serialize as.
+	 * @return the serialized size of the payload as the given field.
+	 */
+	int getSerializedSize( int asFieldNumber ) {
+		return CodedOutputStream.computeTagSize(asFieldNumber)
+				+ CodedOutputStream.computeRawVarint32Size(payloadSize)
+				+ payloadSize;
+	}
+
+	/**
+	 * Serialize the WirePayload, envelope first and then the body.
+	 *
+	 * @param output
+	 * @throws IOException
+	 */
+	public void writeTo( CodedOutputStream output ) throws IOException {
+		writeTo(output, payloadFieldNumber);
+	}
+
+	/**
+	 * Serialize the payload as the given WirePayload field, which must be of
+	 * the same message type, i.e. as an element of a batch.
+	 *
+	 * @param output
+	 * @param asFieldNumber
+	 * @throws IOException
+	 */
+	void writeTo( CodedOutputStream output, int asFieldNumber ) throws IOException {
+		output.writeTag(asFieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+		output.writeRawVarint32(payloadSize);
+		envelope.writeTo(output);
+		output.writeTag(bodyFieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+		output.writeRawVarint32(bodySize);
+		if ( bodyMessage != null ) {
+			bodyMessage.writeTo(output);
+		} else {
+			output.writeRawBytes(bodyArray, bodyOffset, bodySize);
+		}
+	}
+
+	/**
+	 * @return the equivalent fully serialized WirePayload.
+	 */
+	public WirePayload toWirePayload() {
+		byte[] bytes = new byte[getSerializedSize()];
+		CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+		try {
+			writeTo(output);
+			output.checkNoSpaceLeft();
+			return WirePayload.parseFrom(bytes);
+		} catch ( IOException e ) {
+			throw new IllegalStateException("WirePayload serialization failed.", e);
+		}
+	}
+
+	public boolean hasRpcRequest() {
+		return payloadFieldNumber == WirePayload.RPCREQUEST_FIELD_NUMBER;
+	}
+
+	/**
+	 * @return the RpcRequest without requestBytes, or null.
+	 */
+	public RpcRequest getRpcRequest() {
+		return hasRpcRequest() ? (RpcRequest)envelope : null;
+	}
+
+	public boolean hasRpcResponse() {
+		return payloadFieldNumber == WirePayload.RPCRESPONSE_FIELD_NUMBER;
+	}
+
+	/**
+	 * @return the RpcResponse without responseBytes, or null.
+	 */
+	public RpcResponse getRpcResponse() {
+		return hasRpcResponse() ? (RpcResponse)envelope : null;
+	}
+
+	public boolean hasOobResponse() {
+		return payloadFieldNumber == WirePayload.OOBRESPONSE_FIELD_NUMBER;
+	}
+
+	/**
+	 * @return the OobResponse without messageBytes, or null.
+	 */
+	public OobResponse getOobResponse() {
+		return hasOobResponse() ? (OobResponse)envelope : null;
+	}
+
+	public boolean hasOobMessage() {
+		return payloadFieldNumber == WirePayload.OOBMESSAGE_FIELD_NUMBER;
+	}
+
+	/**
+	 * @return the OobMessage without messageBytes, or null.
+	 */
+	public OobMessage getOobMessage() {
+		return hasOobMessage() ? (OobMessage)envelope : null;
+	}
+
+	public boolean hasStreamChunk() {
+		return payloadFieldNumber == WirePayload.STREAMCHUNK_FIELD_NUMBER;
+	}
+
+	/**
+	 * @return the StreamChunk without messageBytes, or null.
+	 */
+	public StreamChunk getStreamChunk() {
+		return hasStreamChunk() ? (StreamChunk)envelope : null;
+	}
+
+	/**
+	 * @return the serialized size of the body.
+	 */
+	public int getBodySize() {
+		return bodySize;
+	}
+
+	/**
+	 * @return whether the payload is to be compressed, or null for the
+	 *  Channel's default.
+	 */
+	public Boolean getCompress() {
+		return compress;
+	}
+
+	/**
+	 * A hint for the FrameCompressionHandler, which is not serialized.
+	 * 
+	 * @param compress whether the payload is to be compressed regardless of
+	 *  its size, or null for the Channel's default.
+	 */
+	public void setCompress( Boolean compress ) {
+		this.compress = compress;
+	}
+
+	@Override
+	public String toString() {
+		return "DeferredWirePayload[" + payloadFieldNumber + "] bodySize=" + bodySize;
+	}
+
+	private static final int TAG_TYPE_MASK = 7;
+
+	private static void checkInitialized( MessageLite.Builder envelope ) throws InvalidProtocolBufferException {
+		if ( !envelope.isInitialized() ) {
+			throw new InvalidProtocolBufferException("Message missing required fields.");
+		}
+	}
+
+	private static int getBodyFieldNumber( int payloadFieldNumber ) {
+		switch( payloadFieldNumber ) {
+		case WirePayload.RPCREQUEST_FIELD_NUMBER:
+			return RpcRequest.REQUESTBYTES_FIELD_NUMBER;
+		case WirePayload.RPCRESPONSE_FIELD_NUMBER:
+			return RpcResponse.RESPONSEBYTES_FIELD_NUMBER;
+		case WirePayload.OOBRESPONSE_FIELD_NUMBER:
+			return OobResponse.MESSAGEBYTES_FIELD_NUMBER;
+		case WirePayload.OOBMESSAGE_FIELD_NUMBER:
+			return OobMessage.MESSAGEBYTES_FIELD_NUMBER;
+		case WirePayload.STREAMCHUNK_FIELD_NUMBER:
+			return StreamChunk.MESSAGEBYTES_FIELD_NUMBER;
+		default:
+			return 0;
+		}
+	}
+}
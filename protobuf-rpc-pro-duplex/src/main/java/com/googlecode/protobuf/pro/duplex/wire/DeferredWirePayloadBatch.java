@@ -0,0 +1,202 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.wire;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
+
+/**
+ * A WirePayload carrying several RpcRequests and RpcResponses in its
+ * batchedRpcRequest and batchedRpcResponse fields, so that many RPC calls
+ * share one frame.
+ *
+ * Each element is a {@link DeferredWirePayload}, so the bodies of the
+ * batched calls are neither copied on sending nor on receipt. A batch may
+ * only be sent to a peer which negotiated batching in the
+ * ConnectRequest / ConnectResponse handshake.
+ *
+ * @author Peter Klauser
+ *
+ */
+public final class DeferredWirePayloadBatch {
+
+	private final List<DeferredWirePayload> payloads;
+
+	public DeferredWirePayloadBatch( List<DeferredWirePayload> payloads ) {
+		for( DeferredWirePayload payload : payloads ) {
+			if ( !isBatchable(payload) ) {
+				throw new IllegalArgumentException("Only RpcRequests and RpcResponses can be batched.");
+			}
+		}
+		this.payloads = Collections.unmodifiableList(payloads);
+	}
+
+	/**
+	 * @param payload
+	 * @return true if the payload is an RpcRequest or an RpcResponse.
+	 */
+	public static boolean isBatchable( DeferredWirePayload payload ) {
+		return payload.hasRpcRequest() || payload.hasRpcResponse();
+	}
+
+	/**
+	 * Decode a received frame consisting solely of batchedRpcRequest and
+	 * batchedRpcResponse fields.
+	 *
+	 * @param frame the received frame bytes.
+	 * @param offset
+	 * @param length
+	 * @return null if the frame has any other WirePayload field, in which
+	 *  case it must be decoded as a WirePayload.
+	 * @throws IOException if the frame is not a valid protobuf.
+	 */
+	public static DeferredWirePayloadBatch parseFrom( byte[] frame, int offset, int length ) throws IOException {
+		CodedInputStream input = CodedInputStream.newInstance(frame, offset, length);
+		List<DeferredWirePayload> payloads = new ArrayList<DeferredWirePayload>();
+		while( !input.isAtEnd() ) {
+			int tag = input.readTag();
+			if ( (tag & TAG_TYPE_MASK) != WireFormat.WIRETYPE_LENGTH_DELIMITED ) {
+				return null;
+			}
+			int payloadFieldNumber = getElementFieldNumber(WireFormat.getTagFieldNumber(tag));
+			if ( payloadFieldNumber == 0 ) {
+				return null;
+			}
+			int size = input.readRawVarint32();
+			int start = offset + input.getTotalBytesRead();
+			payloads.add(DeferredWirePayload.parseElement(frame, payloadFieldNumber, start, size));
+			input.skipRawBytes(size);
+		}
+		if ( payloads.isEmpty() ) {
+			return null;
+		}
+		return new DeferredWirePayloadBatch(payloads);
+	}
+
+	/**
+	 * @return the batched RpcRequests and RpcResponses, in order.
+	 */
+	public List<DeferredWirePayload> getPayloads() {
+		return payloads;
+	}
+
+	/**
+	 * @return true if any of the batched payloads is an RpcRequest.
+	 */
+	public boolean hasRpcRequest() {
+		for( DeferredWirePayload payload : payloads ) {
+			if ( payload.hasRpcRequest() ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return true if any of the batched payloads is an RpcResponse.
+	 */
+	public boolean hasRpcResponse() {
+		for( DeferredWirePayload payload : payloads ) {
+			if ( payload.hasRpcResponse() ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return true if any batched payload is to be compressed, false if all
+	 *  are not to be compressed, otherwise null for the Channel's default.
+	 */
+	public Boolean getCompress() {
+		boolean none = true;
+		for( DeferredWirePayload payload : payloads ) {
+			Boolean compress = payload.getCompress();
+			if ( Boolean.TRUE.equals(compress) ) {
+				return Boolean.TRUE;
+			}
+			none &= Boolean.FALSE.equals(compress);
+		}
+		return none ? Boolean.FALSE : null;
+	}
+
+	/**
+	 * @return the serialized size of the entire WirePayload.
+	 */
+	public int getSerializedSize() {
+		int size = 0;
+		for( DeferredWirePayload payload : payloads ) {
+			size += payload.getSerializedSize(getBatchFieldNumber(payload));
+		}
+		return size;
+	}
+
+	/**
+	 * Serialize the WirePayload, the batched payloads in order.
+	 *
+	 * @param output
+	 * @throws IOException
+	 */
+	public void writeTo( CodedOutputStream output ) throws IOException {
+		for( DeferredWirePayload payload : payloads ) {
+			payload.writeTo(output, getBatchFieldNumber(payload));
+		}
+	}
+
+	/**
+	 * @return the equivalent fully serialized WirePayload.
+	 */
+	public WirePayload toWirePayload() {
+		byte[] bytes = new byte[getSerializedSize()];
+		CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+		try {
+			writeTo(output);
+			output.checkNoSpaceLeft();
+			return WirePayload.parseFrom(bytes);
+		} catch ( IOException e ) {
+			throw new IllegalStateException("WirePayload serialization failed.", e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "DeferredWirePayloadBatch size=" + payloads.size();
+	}
+
+	private static final int TAG_TYPE_MASK = 7;
+
+	private static int getBatchFieldNumber( DeferredWirePayload payload ) {
+		return payload.hasRpcRequest() ? WirePayload.BATCHEDRPCREQUEST_FIELD_NUMBER : WirePayload.BATCHEDRPCRESPONSE_FIELD_NUMBER;
+	}
+
+	private static int getElementFieldNumber( int batchFieldNumber ) {
+		switch( batchFieldNumber ) {
+		case WirePayload.BATCHEDRPCREQUEST_FIELD_NUMBER:
+			return WirePayload.RPCREQUEST_FIELD_NUMBER;
+		case WirePayload.BATCHEDRPCRESPONSE_FIELD_NUMBER:
+			return WirePayload.RPCRESPONSE_FIELD_NUMBER;
+		default:
+			return 0;
+		}
+	}
+}
@@ -89,6 +89,104 @@ public final class DuplexProtocol {
     // @@protoc_insertion_point(enum_scope:ConnectErrorCode)
   }
 
+  /**
+   * Protobuf enum {@code CompressionCodec}
+   */
+  public enum CompressionCodec
+      implements com.google.protobuf.ProtocolMessageEnum {
+    /**
+     * <code>LZ4 = 1;</code>
+     *
+     * <pre>
+     * LZ4 block format, fast.
+     * </pre>
+     */
+    LZ4(0, 1),
+    /**
+     * <code>DEFLATE = 2;</code>
+     *
+     * <pre>
+     * raw deflate at best speed, better ratio.
+     * </pre>
+     */
+    DEFLATE(1, 2),
+    ;
+
+    /**
+     * <code>LZ4 = 1;</code>
+     *
+     * <pre>
+     * LZ4 block format, fast.
+     * </pre>
+     */
+    public static final int LZ4_VALUE = 1;
+    /**
+     * <code>DEFLATE = 2;</code>
+     *
+     * <pre>
+     * raw deflate at best speed, better ratio.
+     * </pre>
+     */
+    public static final int DEFLATE_VALUE = 2;
+
+
+    public final int getNumber() { return value; }
+
+    public static CompressionCodec valueOf(int value) {
+      switch (value) {
+        case 1: return LZ4;
+        case 2: return DEFLATE;
+        default: return null;
+      }
+    }
+
+    public static com.google.protobuf.Internal.EnumLiteMap<CompressionCodec>
+        internalGetValueMap() {
+      return internalValueMap;
+    }
+    private static com.google.protobuf.Internal.EnumLiteMap<CompressionCodec>
+        internalValueMap =
+          new com.google.protobuf.Internal.EnumLiteMap<CompressionCodec>() {
+            public CompressionCodec findValueByNumber(int number) {
+              return CompressionCodec.valueOf(number);
+            }
+          };
+
+    public final com.google.protobuf.Descriptors.EnumValueDescriptor
+        getValueDescriptor() {
+      return getDescriptor().getValues().get(index);
+    }
+    public final com.google.protobuf.Descriptors.EnumDescriptor
+        getDescriptorForType() {
+      return getDescriptor();
+    }
+    public static final com.google.protobuf.Descriptors.EnumDescriptor
+        getDescriptor() {
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.getDescriptor().getEnumTypes().get(1);
+    }
+
+    private static final CompressionCodec[] VALUES = values();
+
+    public static CompressionCodec valueOf(
+        com.google.protobuf.Descriptors.EnumValueDescriptor desc) {
+      if (desc.getType() != getDescriptor()) {
+        throw new java.lang.IllegalArgumentException(
+          "EnumValueDescriptor is not for this type.");
+      }
+      return VALUES[desc.getIndex()];
+    }
+
+    private final int index;
+    private final int value;
+
+    private CompressionCodec(int index, int value) {
+      this.index = index;
+      this.value = value;
+    }
+
+    // @@protoc_insertion_point(enum_scope:CompressionCodec)
+  }
+
   public interface ConnectRequestOrBuilder extends
       // @@protoc_insertion_point(interface_extends:ConnectRequest)
       com.google.protobuf.MessageOrBuilder {
@@ -147,6 +245,78 @@ public final class DuplexProtocol {
      * <code>optional bool compress = 5;</code>
      */
     boolean getCompress();
+
+    /**
+     * <code>optional bool batching = 6;</code>
+     */
+    boolean hasBatching();
+    /**
+     * <code>optional bool batching = 6;</code>
+     */
+    boolean getBatching();
+
+    /**
+     * <code>repeated .CompressionCodec compressionCodec = 7;</code>
+     *
+     * <pre>
+     * the client can receive batchedRpcRequest and batchedRpcResponse.
+     * </pre>
+     */
+    java.util.List<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec> getCompressionCodecList();
+    /**
+     * <code>repeated .CompressionCodec compressionCodec = 7;</code>
+     *
+     * <pre>
+     * the client can receive batchedRpcRequest and batchedRpcResponse.
+     * </pre>
+     */
+    int getCompressionCodecCount();
+    /**
+     * <code>repeated .CompressionCodec compressionCodec = 7;</code>
+     *
+     * <pre>
+     * the client can receive batchedRpcRequest and batchedRpcResponse.
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec getCompressionCodec(int index);
+
+    /**
+     * <code>optional bool methodIds = 8;</code>
+     *
+     * <pre>
+     * the per frame compression codecs supported by the client, in order
+     * of preference. Used instead of GZIP if the server supports one, 
+     * compress then only sets whether frames are compressed by default.
+     * </pre>
+     */
+    boolean hasMethodIds();
+    /**
+     * <code>optional bool methodIds = 8;</code>
+     *
+     * <pre>
+     * the per frame compression codecs supported by the client, in order
+     * of preference. Used instead of GZIP if the server supports one, 
+     * compress then only sets whether frames are compressed by default.
+     * </pre>
+     */
+    boolean getMethodIds();
+
+    /**
+     * <code>optional int64 clientTimeMs = 9;</code>
+     *
+     * <pre>
+     * the client can call and be called by methodId.
+     * </pre>
+     */
+    boolean hasClientTimeMs();
+    /**
+     * <code>optional int64 clientTimeMs = 9;</code>
+     *
+     * <pre>
+     * the client can call and be called by methodId.
+     * </pre>
+     */
+    long getClientTimeMs();
   }
   /**
    * Protobuf type {@code ConnectRequest}
@@ -227,6 +397,54 @@ public final class DuplexProtocol {
               compress_ = input.readBool();
               break;
             }
+            case 48: {
+              bitField0_ |= 0x00000020;
+              batching_ = input.readBool();
+              break;
+            }
+            case 56: {
+              int rawValue = input.readEnum();
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec value = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec.valueOf(rawValue);
+              if (value == null) {
+                unknownFields.mergeVarintField(7, rawValue);
+                } else {
+                if (!((mutable_bitField0_ & 0x00000040) == 0x00000040)) {
+                  compressionCodec_ = new java.util.ArrayList<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec>();
+                  mutable_bitField0_ |= 0x00000040;
+                }
+                compressionCodec_.add(value);
+              }
+              break;
+            }
+            case 58: {
+              int length = input.readRawVarint32();
+              int oldLimit = input.pushLimit(length);
+              while(input.getBytesUntilLimit() > 0) {
+                int rawValue = input.readEnum();
+                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec value = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec.valueOf(rawValue);
+                if (value == null) {
+                  unknownFields.mergeVarintField(7, rawValue);
+                  } else {
+                  if (!((mutable_bitField0_ & 0x00000040) == 0x00000040)) {
+                    compressionCodec_ = new java.util.ArrayList<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec>();
+                    mutable_bitField0_ |= 0x00000040;
+                  }
+                  compressionCodec_.add(value);
+                }
+              }
+              input.popLimit(oldLimit);
+              break;
+            }
+            case 64: {
+              bitField0_ |= 0x00000040;
+              methodIds_ = input.readBool();
+              break;
+            }
+            case 72: {
+              bitField0_ |= 0x00000080;
+              clientTimeMs_ = input.readInt64();
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -235,6 +453,9 @@ public final class DuplexProtocol {
         throw new com.google.protobuf.InvalidProtocolBufferException(
             e.getMessage()).setUnfinishedMessage(this);
       } finally {
+        if (((mutable_bitField0_ & 0x00000040) == 0x00000040)) {
+          compressionCodec_ = java.util.Collections.unmodifiableList(compressionCodec_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -396,12 +617,114 @@ public final class DuplexProtocol {
       return compress_;
     }
 
+    public static final int BATCHING_FIELD_NUMBER = 6;
+    private boolean batching_;
+    /**
+     * <code>optional bool batching = 6;</code>
+     */
+    public boolean hasBatching() {
+      return ((bitField0_ & 0x00000020) == 0x00000020);
+    }
+    /**
+     * <code>optional bool batching = 6;</code>
+     */
+    public boolean getBatching() {
+      return batching_;
+    }
+
+    public static final int COMPRESSIONCODEC_FIELD_NUMBER = 7;
+    private java.util.List<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec> compressionCodec_;
+    /**
+     * <code>repeated .CompressionCodec compressionCodec = 7;</code>
+     *
+     * <pre>
+     * the client can receive batchedRpcRequest and batchedRpcResponse.
+     * </pre>
+     */
+    public java.util.List<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec> getCompressionCodecList() {
+      return compressionCodec_;
+    }
+    /**
+     * <code>repeated .CompressionCodec compressionCodec = 7;</code>
+     *
+     * <pre>
+     * the client can receive batchedRpcRequest and batchedRpcResponse.
+     * </pre>
+     */
+    public int getCompressionCodecCount() {
+      return compressionCodec_.size();
+    }
+    /**
+     * <code>repeated .CompressionCodec compressionCodec = 7;</code>
+     *
+     * <pre>
+     * the client can receive batchedRpcRequest and batchedRpcResponse.
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec getCompressionCodec(int index) {
+      return compressionCodec_.get(index);
+    }
+
+    public static final int METHODIDS_FIELD_NUMBER = 8;
+    private boolean methodIds_;
+    /**
+     * <code>optional bool methodIds = 8;</code>
+     *
+     * <pre>
+     * the per frame compression codecs supported by the client, in order
+     * of preference. Used instead of GZIP if the server supports one, 
+     * compress then only sets whether frames are compressed by default.
+     * </pre>
+     */
+    public boolean hasMethodIds() {
+      return ((bitField0_ & 0x00000040) == 0x00000040);
+    }
+    /**
+     * <code>optional bool methodIds = 8;</code>
+     *
+     * <pre>
+     * the per frame compression codecs supported by the client, in order
+     * of preference. Used instead of GZIP if the server supports one, 
+     * compress then only sets whether frames are compressed by default.
+     * </pre>
+     */
+    public boolean getMethodIds() {
+      return methodIds_;
+    }
+
+    public static final int CLIENTTIMEMS_FIELD_NUMBER = 9;
+    private long clientTimeMs_;
+    /**
+     * <code>optional int64 clientTimeMs = 9;</code>
+     *
+     * <pre>
+     * the client can call and be called by methodId.
+     * </pre>
+     */
+    public boolean hasClientTimeMs() {
+      return ((bitField0_ & 0x00000080) == 0x00000080);
+    }
+    /**
+     * <code>optional int64 clientTimeMs = 9;</code>
+     *
+     * <pre>
+     * the client can call and be called by methodId.
+     * </pre>
+     */
+    public long getClientTimeMs() {
+      return clientTimeMs_;
+    }
+
     private void initFields() {
       correlationId_ = 0;
       clientHostName_ = "";
       clientPort_ = 0;
       clientPID_ = "";
       compress_ = false;
+      batching_ = false;
+      compressionCodec_ = java.util.Collections.emptyList();
+      methodIds_ = false;
+      clientTimeMs_ = 0L;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -447,6 +770,18 @@ public final class DuplexProtocol {
       if (((bitField0_ & 0x00000010) == 0x00000010)) {
         output.writeBool(5, compress_);
       }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        output.writeBool(6, batching_);
+      }
+      for (int i = 0; i < compressionCodec_.size(); i++) {
+        output.writeEnum(7, compressionCodec_.get(i).getNumber());
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        output.writeBool(8, methodIds_);
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+        output.writeInt64(9, clientTimeMs_);
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -476,6 +811,27 @@ public final class DuplexProtocol {
         size += com.google.protobuf.CodedOutputStream
           .computeBoolSize(5, compress_);
       }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(6, batching_);
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < compressionCodec_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeEnumSizeNoTag(compressionCodec_.get(i).getNumber());
+        }
+        size += dataSize;
+        size += 1 * compressionCodec_.size();
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(8, methodIds_);
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(9, clientTimeMs_);
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
       return size;
@@ -603,6 +959,14 @@ public final class DuplexProtocol {
         bitField0_ = (bitField0_ & ~0x00000008);
         compress_ = false;
         bitField0_ = (bitField0_ & ~0x00000010);
+        batching_ = false;
+        bitField0_ = (bitField0_ & ~0x00000020);
+        compressionCodec_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000040);
+        methodIds_ = false;
+        bitField0_ = (bitField0_ & ~0x00000080);
+        clientTimeMs_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000100);
         return this;
       }
 
@@ -651,6 +1015,23 @@ public final class DuplexProtocol {
           to_bitField0_ |= 0x00000010;
         }
         result.compress_ = compress_;
+        if (((from_bitField0_ & 0x00000020) == 0x00000020)) {
+          to_bitField0_ |= 0x00000020;
+        }
+        result.batching_ = batching_;
+        if (((bitField0_ & 0x00000040) == 0x00000040)) {
+          compressionCodec_ = java.util.Collections.unmodifiableList(compressionCodec_);
+          bitField0_ = (bitField0_ & ~0x00000040);
+        }
+        result.compressionCodec_ = compressionCodec_;
+        if (((from_bitField0_ & 0x00000080) == 0x00000080)) {
+          to_bitField0_ |= 0x00000040;
+        }
+        result.methodIds_ = methodIds_;
+        if (((from_bitField0_ & 0x00000100) == 0x00000100)) {
+          to_bitField0_ |= 0x00000080;
+        }
+        result.clientTimeMs_ = clientTimeMs_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -686,6 +1067,25 @@ public final class DuplexProtocol {
         if (other.hasCompress()) {
           setCompress(other.getCompress());
         }
+        if (other.hasBatching()) {
+          setBatching(other.getBatching());
+        }
+        if (!other.compressionCodec_.isEmpty()) {
+          if (compressionCodec_.isEmpty()) {
+            compressionCodec_ = other.compressionCodec_;
+            bitField0_ = (bitField0_ & ~0x00000040);
+          } else {
+            ensureCompressionCodecIsMutable();
+            compressionCodec_.addAll(other.compressionCodec_);
+          }
+          onChanged();
+        }
+        if (other.hasMethodIds()) {
+          setMethodIds(other.getMethodIds());
+        }
+        if (other.hasClientTimeMs()) {
+          setClientTimeMs(other.getClientTimeMs());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -977,16 +1377,252 @@ public final class DuplexProtocol {
         return this;
       }
 
-      // @@protoc_insertion_point(builder_scope:ConnectRequest)
-    }
-
-    static {
-      defaultInstance = new ConnectRequest(true);
-      defaultInstance.initFields();
-    }
-
-    // @@protoc_insertion_point(class_scope:ConnectRequest)
-  }
+      private boolean batching_ ;
+      /**
+       * <code>optional bool batching = 6;</code>
+       */
+      public boolean hasBatching() {
+        return ((bitField0_ & 0x00000020) == 0x00000020);
+      }
+      /**
+       * <code>optional bool batching = 6;</code>
+       */
+      public boolean getBatching() {
+        return batching_;
+      }
+      /**
+       * <code>optional bool batching = 6;</code>
+       */
+      public Builder setBatching(boolean value) {
+        bitField0_ |= 0x00000020;
+        batching_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool batching = 6;</code>
+       */
+      public Builder clearBatching() {
+        bitField0_ = (bitField0_ & ~0x00000020);
+        batching_ = false;
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec> compressionCodec_ =
+        java.util.Collections.emptyList();
+      private void ensureCompressionCodecIsMutable() {
+        if (!((bitField0_ & 0x00000040) == 0x00000040)) {
+          compressionCodec_ = new java.util.ArrayList<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec>(compressionCodec_);
+          bitField0_ |= 0x00000040;
+        }
+      }
+      /**
+       * <code>repeated .CompressionCodec compressionCodec = 7;</code>
+       *
+       * <pre>
+       * the client can receive batchedRpcRequest and batchedRpcResponse.
+       * </pre>
+       */
+      public java.util.List<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec> getCompressionCodecList() {
+        return java.util.Collections.unmodifiableList(compressionCodec_);
+      }
+      /**
+       * <code>repeated .CompressionCodec compressionCodec = 7;</code>
+       *
+       * <pre>
+       * the client can receive batchedRpcRequest and batchedRpcResponse.
+       * </pre>
+       */
+      public int getCompressionCodecCount() {
+        return compressionCodec_.size();
+      }
+      /**
+       * <code>repeated .CompressionCodec compressionCodec = 7;</code>
+       *
+       * <pre>
+       * the client can receive batchedRpcRequest and batchedRpcResponse.
+       * </pre>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec getCompressionCodec(int index) {
+        return compressionCodec_.get(index);
+      }
+      /**
+       * <code>repeated .CompressionCodec compressionCodec = 7;</code>
+       *
+       * <pre>
+       * the client can receive batchedRpcRequest and batchedRpcResponse.
+       * </pre>
+       */
+      public Builder setCompressionCodec(
+          int index, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureCompressionCodecIsMutable();
+        compressionCodec_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated .CompressionCodec compressionCodec = 7;</code>
+       *
+       * <pre>
+       * the client can receive batchedRpcRequest and batchedRpcResponse.
+       * </pre>
+       */
+      public Builder addCompressionCodec(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureCompressionCodecIsMutable();
+        compressionCodec_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated .CompressionCodec compressionCodec = 7;</code>
+       *
+       * <pre>
+       * the client can receive batchedRpcRequest and batchedRpcResponse.
+       * </pre>
+       */
+      public Builder addAllCompressionCodec(
+          java.lang.Iterable<? extends com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec> values) {
+        ensureCompressionCodecIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, compressionCodec_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated .CompressionCodec compressionCodec = 7;</code>
+       *
+       * <pre>
+       * the client can receive batchedRpcRequest and batchedRpcResponse.
+       * </pre>
+       */
+      public Builder clearCompressionCodec() {
+        compressionCodec_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000040);
+        onChanged();
+        return this;
+      }
+
+      private boolean methodIds_ ;
+      /**
+       * <code>optional bool methodIds = 8;</code>
+       *
+       * <pre>
+       * the per frame compression codecs supported by the client, in order
+       * of preference. Used instead of GZIP if the server supports one, 
+       * compress then only sets whether frames are compressed by default.
+       * </pre>
+       */
+      public boolean hasMethodIds() {
+        return ((bitField0_ & 0x00000080) == 0x00000080);
+      }
+      /**
+       * <code>optional bool methodIds = 8;</code>
+       *
+       * <pre>
+       * the per frame compression codecs supported by the client, in order
+       * of preference. Used instead of GZIP if the server supports one, 
+       * compress then only sets whether frames are compressed by default.
+       * </pre>
+       */
+      public boolean getMethodIds() {
+        return methodIds_;
+      }
+      /**
+       * <code>optional bool methodIds = 8;</code>
+       *
+       * <pre>
+       * the per frame compression codecs supported by the client, in order
+       * of preference. Used instead of GZIP if the server supports one, 
+       * compress then only sets whether frames are compressed by default.
+       * </pre>
+       */
+      public Builder setMethodIds(boolean value) {
+        bitField0_ |= 0x00000080;
+        methodIds_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool methodIds = 8;</code>
+       *
+       * <pre>
+       * the per frame compression codecs supported by the client, in order
+       * of preference. Used instead of GZIP if the server supports one, 
+       * compress then only sets whether frames are compressed by default.
+       * </pre>
+       */
+      public Builder clearMethodIds() {
+        bitField0_ = (bitField0_ & ~0x00000080);
+        methodIds_ = false;
+        onChanged();
+        return this;
+      }
+
+      private long clientTimeMs_ ;
+      /**
+       * <code>optional int64 clientTimeMs = 9;</code>
+       *
+       * <pre>
+       * the client can call and be called by methodId.
+       * </pre>
+       */
+      public boolean hasClientTimeMs() {
+        return ((bitField0_ & 0x00000100) == 0x00000100);
+      }
+      /**
+       * <code>optional int64 clientTimeMs = 9;</code>
+       *
+       * <pre>
+       * the client can call and be called by methodId.
+       * </pre>
+       */
+      public long getClientTimeMs() {
+        return clientTimeMs_;
+      }
+      /**
+       * <code>optional int64 clientTimeMs = 9;</code>
+       *
+       * <pre>
+       * the client can call and be called by methodId.
+       * </pre>
+       */
+      public Builder setClientTimeMs(long value) {
+        bitField0_ |= 0x00000100;
+        clientTimeMs_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 clientTimeMs = 9;</code>
+       *
+       * <pre>
+       * the client can call and be called by methodId.
+       * </pre>
+       */
+      public Builder clearClientTimeMs() {
+        bitField0_ = (bitField0_ & ~0x00000100);
+        clientTimeMs_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:ConnectRequest)
+    }
+
+    static {
+      defaultInstance = new ConnectRequest(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:ConnectRequest)
+  }
 
   public interface ConnectResponseOrBuilder extends
       // @@protoc_insertion_point(interface_extends:ConnectResponse)
@@ -1032,6 +1668,66 @@ public final class DuplexProtocol {
      * <code>optional bool compress = 4;</code>
      */
     boolean getCompress();
+
+    /**
+     * <code>optional bool batching = 5;</code>
+     */
+    boolean hasBatching();
+    /**
+     * <code>optional bool batching = 5;</code>
+     */
+    boolean getBatching();
+
+    /**
+     * <code>optional .CompressionCodec compressionCodec = 6;</code>
+     *
+     * <pre>
+     * both peers can receive batchedRpcRequest and batchedRpcResponse.
+     * </pre>
+     */
+    boolean hasCompressionCodec();
+    /**
+     * <code>optional .CompressionCodec compressionCodec = 6;</code>
+     *
+     * <pre>
+     * both peers can receive batchedRpcRequest and batchedRpcResponse.
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec getCompressionCodec();
+
+    /**
+     * <code>optional bool methodIds = 7;</code>
+     *
+     * <pre>
+     * the per frame compression codec chosen by the server.
+     * </pre>
+     */
+    boolean hasMethodIds();
+    /**
+     * <code>optional bool methodIds = 7;</code>
+     *
+     * <pre>
+     * the per frame compression codec chosen by the server.
+     * </pre>
+     */
+    boolean getMethodIds();
+
+    /**
+     * <code>optional int64 serverTimeMs = 8;</code>
+     *
+     * <pre>
+     * both peers can call and be called by methodId.
+     * </pre>
+     */
+    boolean hasServerTimeMs();
+    /**
+     * <code>optional int64 serverTimeMs = 8;</code>
+     *
+     * <pre>
+     * both peers can call and be called by methodId.
+     * </pre>
+     */
+    long getServerTimeMs();
   }
   /**
    * Protobuf type {@code ConnectResponse}
@@ -1112,6 +1808,32 @@ public final class DuplexProtocol {
               compress_ = input.readBool();
               break;
             }
+            case 40: {
+              bitField0_ |= 0x00000010;
+              batching_ = input.readBool();
+              break;
+            }
+            case 48: {
+              int rawValue = input.readEnum();
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec value = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec.valueOf(rawValue);
+              if (value == null) {
+                unknownFields.mergeVarintField(6, rawValue);
+              } else {
+                bitField0_ |= 0x00000020;
+                compressionCodec_ = value;
+              }
+              break;
+            }
+            case 56: {
+              bitField0_ |= 0x00000040;
+              methodIds_ = input.readBool();
+              break;
+            }
+            case 64: {
+              bitField0_ |= 0x00000080;
+              serverTimeMs_ = input.readInt64();
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -1239,11 +1961,99 @@ public final class DuplexProtocol {
       return compress_;
     }
 
+    public static final int BATCHING_FIELD_NUMBER = 5;
+    private boolean batching_;
+    /**
+     * <code>optional bool batching = 5;</code>
+     */
+    public boolean hasBatching() {
+      return ((bitField0_ & 0x00000010) == 0x00000010);
+    }
+    /**
+     * <code>optional bool batching = 5;</code>
+     */
+    public boolean getBatching() {
+      return batching_;
+    }
+
+    public static final int COMPRESSIONCODEC_FIELD_NUMBER = 6;
+    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec compressionCodec_;
+    /**
+     * <code>optional .CompressionCodec compressionCodec = 6;</code>
+     *
+     * <pre>
+     * both peers can receive batchedRpcRequest and batchedRpcResponse.
+     * </pre>
+     */
+    public boolean hasCompressionCodec() {
+      return ((bitField0_ & 0x00000020) == 0x00000020);
+    }
+    /**
+     * <code>optional .CompressionCodec compressionCodec = 6;</code>
+     *
+     * <pre>
+     * both peers can receive batchedRpcRequest and batchedRpcResponse.
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec getCompressionCodec() {
+      return compressionCodec_;
+    }
+
+    public static final int METHODIDS_FIELD_NUMBER = 7;
+    private boolean methodIds_;
+    /**
+     * <code>optional bool methodIds = 7;</code>
+     *
+     * <pre>
+     * the per frame compression codec chosen by the server.
+     * </pre>
+     */
+    public boolean hasMethodIds() {
+      return ((bitField0_ & 0x00000040) == 0x00000040);
+    }
+    /**
+     * <code>optional bool methodIds = 7;</code>
+     *
+     * <pre>
+     * the per frame compression codec chosen by the server.
+     * </pre>
+     */
+    public boolean getMethodIds() {
+      return methodIds_;
+    }
+
+    public static final int SERVERTIMEMS_FIELD_NUMBER = 8;
+    private long serverTimeMs_;
+    /**
+     * <code>optional int64 serverTimeMs = 8;</code>
+     *
+     * <pre>
+     * both peers can call and be called by methodId.
+     * </pre>
+     */
+    public boolean hasServerTimeMs() {
+      return ((bitField0_ & 0x00000080) == 0x00000080);
+    }
+    /**
+     * <code>optional int64 serverTimeMs = 8;</code>
+     *
+     * <pre>
+     * both peers can call and be called by methodId.
+     * </pre>
+     */
+    public long getServerTimeMs() {
+      return serverTimeMs_;
+    }
+
     private void initFields() {
       correlationId_ = 0;
       serverPID_ = "";
       errorCode_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectErrorCode.ALREADY_CONNECTED;
       compress_ = false;
+      batching_ = false;
+      compressionCodec_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec.LZ4;
+      methodIds_ = false;
+      serverTimeMs_ = 0L;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -1274,6 +2084,18 @@ public final class DuplexProtocol {
       if (((bitField0_ & 0x00000008) == 0x00000008)) {
         output.writeBool(4, compress_);
       }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        output.writeBool(5, batching_);
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        output.writeEnum(6, compressionCodec_.getNumber());
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        output.writeBool(7, methodIds_);
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+        output.writeInt64(8, serverTimeMs_);
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -1299,15 +2121,31 @@ public final class DuplexProtocol {
         size += com.google.protobuf.CodedOutputStream
           .computeBoolSize(4, compress_);
       }
-      size += getUnknownFields().getSerializedSize();
-      memoizedSerializedSize = size;
-      return size;
-    }
-
-    private static final long serialVersionUID = 0L;
-    @java.lang.Override
-    protected java.lang.Object writeReplace()
-        throws java.io.ObjectStreamException {
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(5, batching_);
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeEnumSize(6, compressionCodec_.getNumber());
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(7, methodIds_);
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(8, serverTimeMs_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
       return super.writeReplace();
     }
 
@@ -1424,6 +2262,14 @@ public final class DuplexProtocol {
         bitField0_ = (bitField0_ & ~0x00000004);
         compress_ = false;
         bitField0_ = (bitField0_ & ~0x00000008);
+        batching_ = false;
+        bitField0_ = (bitField0_ & ~0x00000010);
+        compressionCodec_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec.LZ4;
+        bitField0_ = (bitField0_ & ~0x00000020);
+        methodIds_ = false;
+        bitField0_ = (bitField0_ & ~0x00000040);
+        serverTimeMs_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000080);
         return this;
       }
 
@@ -1468,6 +2314,22 @@ public final class DuplexProtocol {
           to_bitField0_ |= 0x00000008;
         }
         result.compress_ = compress_;
+        if (((from_bitField0_ & 0x00000010) == 0x00000010)) {
+          to_bitField0_ |= 0x00000010;
+        }
+        result.batching_ = batching_;
+        if (((from_bitField0_ & 0x00000020) == 0x00000020)) {
+          to_bitField0_ |= 0x00000020;
+        }
+        result.compressionCodec_ = compressionCodec_;
+        if (((from_bitField0_ & 0x00000040) == 0x00000040)) {
+          to_bitField0_ |= 0x00000040;
+        }
+        result.methodIds_ = methodIds_;
+        if (((from_bitField0_ & 0x00000080) == 0x00000080)) {
+          to_bitField0_ |= 0x00000080;
+        }
+        result.serverTimeMs_ = serverTimeMs_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -1498,6 +2360,18 @@ public final class DuplexProtocol {
         if (other.hasCompress()) {
           setCompress(other.getCompress());
         }
+        if (other.hasBatching()) {
+          setBatching(other.getBatching());
+        }
+        if (other.hasCompressionCodec()) {
+          setCompressionCodec(other.getCompressionCodec());
+        }
+        if (other.hasMethodIds()) {
+          setMethodIds(other.getMethodIds());
+        }
+        if (other.hasServerTimeMs()) {
+          setServerTimeMs(other.getServerTimeMs());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -1704,6 +2578,185 @@ public final class DuplexProtocol {
         return this;
       }
 
+      private boolean batching_ ;
+      /**
+       * <code>optional bool batching = 5;</code>
+       */
+      public boolean hasBatching() {
+        return ((bitField0_ & 0x00000010) == 0x00000010);
+      }
+      /**
+       * <code>optional bool batching = 5;</code>
+       */
+      public boolean getBatching() {
+        return batching_;
+      }
+      /**
+       * <code>optional bool batching = 5;</code>
+       */
+      public Builder setBatching(boolean value) {
+        bitField0_ |= 0x00000010;
+        batching_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool batching = 5;</code>
+       */
+      public Builder clearBatching() {
+        bitField0_ = (bitField0_ & ~0x00000010);
+        batching_ = false;
+        onChanged();
+        return this;
+      }
+
+      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec compressionCodec_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec.LZ4;
+      /**
+       * <code>optional .CompressionCodec compressionCodec = 6;</code>
+       *
+       * <pre>
+       * both peers can receive batchedRpcRequest and batchedRpcResponse.
+       * </pre>
+       */
+      public boolean hasCompressionCodec() {
+        return ((bitField0_ & 0x00000020) == 0x00000020);
+      }
+      /**
+       * <code>optional .CompressionCodec compressionCodec = 6;</code>
+       *
+       * <pre>
+       * both peers can receive batchedRpcRequest and batchedRpcResponse.
+       * </pre>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec getCompressionCodec() {
+        return compressionCodec_;
+      }
+      /**
+       * <code>optional .CompressionCodec compressionCodec = 6;</code>
+       *
+       * <pre>
+       * both peers can receive batchedRpcRequest and batchedRpcResponse.
+       * </pre>
+       */
+      public Builder setCompressionCodec(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        bitField0_ |= 0x00000020;
+        compressionCodec_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional .CompressionCodec compressionCodec = 6;</code>
+       *
+       * <pre>
+       * both peers can receive batchedRpcRequest and batchedRpcResponse.
+       * </pre>
+       */
+      public Builder clearCompressionCodec() {
+        bitField0_ = (bitField0_ & ~0x00000020);
+        compressionCodec_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec.LZ4;
+        onChanged();
+        return this;
+      }
+
+      private boolean methodIds_ ;
+      /**
+       * <code>optional bool methodIds = 7;</code>
+       *
+       * <pre>
+       * the per frame compression codec chosen by the server.
+       * </pre>
+       */
+      public boolean hasMethodIds() {
+        return ((bitField0_ & 0x00000040) == 0x00000040);
+      }
+      /**
+       * <code>optional bool methodIds = 7;</code>
+       *
+       * <pre>
+       * the per frame compression codec chosen by the server.
+       * </pre>
+       */
+      public boolean getMethodIds() {
+        return methodIds_;
+      }
+      /**
+       * <code>optional bool methodIds = 7;</code>
+       *
+       * <pre>
+       * the per frame compression codec chosen by the server.
+       * </pre>
+       */
+      public Builder setMethodIds(boolean value) {
+        bitField0_ |= 0x00000040;
+        methodIds_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool methodIds = 7;</code>
+       *
+       * <pre>
+       * the per frame compression codec chosen by the server.
+       * </pre>
+       */
+      public Builder clearMethodIds() {
+        bitField0_ = (bitField0_ & ~0x00000040);
+        methodIds_ = false;
+        onChanged();
+        return this;
+      }
+
+      private long serverTimeMs_ ;
+      /**
+       * <code>optional int64 serverTimeMs = 8;</code>
+       *
+       * <pre>
+       * both peers can call and be called by methodId.
+       * </pre>
+       */
+      public boolean hasServerTimeMs() {
+        return ((bitField0_ & 0x00000080) == 0x00000080);
+      }
+      /**
+       * <code>optional int64 serverTimeMs = 8;</code>
+       *
+       * <pre>
+       * both peers can call and be called by methodId.
+       * </pre>
+       */
+      public long getServerTimeMs() {
+        return serverTimeMs_;
+      }
+      /**
+       * <code>optional int64 serverTimeMs = 8;</code>
+       *
+       * <pre>
+       * both peers can call and be called by methodId.
+       * </pre>
+       */
+      public Builder setServerTimeMs(long value) {
+        bitField0_ |= 0x00000080;
+        serverTimeMs_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 serverTimeMs = 8;</code>
+       *
+       * <pre>
+       * both peers can call and be called by methodId.
+       * </pre>
+       */
+      public Builder clearServerTimeMs() {
+        bitField0_ = (bitField0_ & ~0x00000080);
+        serverTimeMs_ = 0L;
+        onChanged();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:ConnectResponse)
     }
 
@@ -1715,85 +2768,65 @@ public final class DuplexProtocol {
     // @@protoc_insertion_point(class_scope:ConnectResponse)
   }
 
-  public interface RpcRequestOrBuilder extends
-      // @@protoc_insertion_point(interface_extends:RpcRequest)
+  public interface CompressedPayloadOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:CompressedPayload)
       com.google.protobuf.MessageOrBuilder {
 
     /**
-     * <code>required int32 correlationId = 1;</code>
-     */
-    boolean hasCorrelationId();
-    /**
-     * <code>required int32 correlationId = 1;</code>
-     */
-    int getCorrelationId();
-
-    /**
-     * <code>required string serviceIdentifier = 2;</code>
-     */
-    boolean hasServiceIdentifier();
-    /**
-     * <code>required string serviceIdentifier = 2;</code>
-     */
-    java.lang.String getServiceIdentifier();
-    /**
-     * <code>required string serviceIdentifier = 2;</code>
-     */
-    com.google.protobuf.ByteString
-        getServiceIdentifierBytes();
-
-    /**
-     * <code>required string methodIdentifier = 3;</code>
-     */
-    boolean hasMethodIdentifier();
-    /**
-     * <code>required string methodIdentifier = 3;</code>
+     * <code>required .CompressionCodec codec = 1;</code>
      */
-    java.lang.String getMethodIdentifier();
+    boolean hasCodec();
     /**
-     * <code>required string methodIdentifier = 3;</code>
+     * <code>required .CompressionCodec codec = 1;</code>
      */
-    com.google.protobuf.ByteString
-        getMethodIdentifierBytes();
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec getCodec();
 
     /**
-     * <code>required bytes requestBytes = 4;</code>
+     * <code>required int32 uncompressedSize = 2;</code>
      */
-    boolean hasRequestBytes();
+    boolean hasUncompressedSize();
     /**
-     * <code>required bytes requestBytes = 4;</code>
+     * <code>required int32 uncompressedSize = 2;</code>
      */
-    com.google.protobuf.ByteString getRequestBytes();
+    int getUncompressedSize();
 
     /**
-     * <code>optional int32 timeoutMs = 5;</code>
+     * <code>required bytes data = 3;</code>
+     *
+     * <pre>
+     * a compressed serialized WirePayload.
+     * </pre>
      */
-    boolean hasTimeoutMs();
+    boolean hasData();
     /**
-     * <code>optional int32 timeoutMs = 5;</code>
+     * <code>required bytes data = 3;</code>
+     *
+     * <pre>
+     * a compressed serialized WirePayload.
+     * </pre>
      */
-    int getTimeoutMs();
+    com.google.protobuf.ByteString getData();
   }
   /**
-   * Protobuf type {@code RpcRequest}
+   * Protobuf type {@code CompressedPayload}
    */
-  public static final class RpcRequest extends
+  public static final class CompressedPayload extends
       com.google.protobuf.GeneratedMessage implements
-      // @@protoc_insertion_point(message_implements:RpcRequest)
-      RpcRequestOrBuilder {
-    // Use RpcRequest.newBuilder() to construct.
-    private RpcRequest(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      // @@protoc_insertion_point(message_implements:CompressedPayload)
+      CompressedPayloadOrBuilder {
+    // Use CompressedPayload.newBuilder() to construct.
+    private CompressedPayload(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
       super(builder);
       this.unknownFields = builder.getUnknownFields();
     }
-    private RpcRequest(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+    private CompressedPayload(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
 
-    private static final RpcRequest defaultInstance;
-    public static RpcRequest getDefaultInstance() {
+    private static final CompressedPayload defaultInstance;
+    public static CompressedPayload getDefaultInstance() {
       return defaultInstance;
     }
 
-    public RpcRequest getDefaultInstanceForType() {
+    public CompressedPayload getDefaultInstanceForType() {
       return defaultInstance;
     }
 
@@ -1803,7 +2836,7 @@ public final class DuplexProtocol {
         getUnknownFields() {
       return this.unknownFields;
     }
-    private RpcRequest(
+    private CompressedPayload(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
@@ -1827,30 +2860,24 @@ public final class DuplexProtocol {
               break;
             }
             case 8: {
-              bitField0_ |= 0x00000001;
-              correlationId_ = input.readInt32();
+              int rawValue = input.readEnum();
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec value = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec.valueOf(rawValue);
+              if (value == null) {
+                unknownFields.mergeVarintField(1, rawValue);
+              } else {
+                bitField0_ |= 0x00000001;
+                codec_ = value;
+              }
               break;
             }
-            case 18: {
-              com.google.protobuf.ByteString bs = input.readBytes();
+            case 16: {
               bitField0_ |= 0x00000002;
-              serviceIdentifier_ = bs;
+              uncompressedSize_ = input.readInt32();
               break;
             }
             case 26: {
-              com.google.protobuf.ByteString bs = input.readBytes();
               bitField0_ |= 0x00000004;
-              methodIdentifier_ = bs;
-              break;
-            }
-            case 34: {
-              bitField0_ |= 0x00000008;
-              requestBytes_ = input.readBytes();
-              break;
-            }
-            case 40: {
-              bitField0_ |= 0x00000010;
-              timeoutMs_ = input.readInt32();
+              data_ = input.readBytes();
               break;
             }
           }
@@ -1867,167 +2894,89 @@ public final class DuplexProtocol {
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcRequest_descriptor;
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_CompressedPayload_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcRequest_fieldAccessorTable
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_CompressedPayload_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder.class);
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.Builder.class);
     }
 
-    public static com.google.protobuf.Parser<RpcRequest> PARSER =
-        new com.google.protobuf.AbstractParser<RpcRequest>() {
-      public RpcRequest parsePartialFrom(
+    public static com.google.protobuf.Parser<CompressedPayload> PARSER =
+        new com.google.protobuf.AbstractParser<CompressedPayload>() {
+      public CompressedPayload parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-        return new RpcRequest(input, extensionRegistry);
+        return new CompressedPayload(input, extensionRegistry);
       }
     };
 
     @java.lang.Override
-    public com.google.protobuf.Parser<RpcRequest> getParserForType() {
+    public com.google.protobuf.Parser<CompressedPayload> getParserForType() {
       return PARSER;
     }
 
     private int bitField0_;
-    public static final int CORRELATIONID_FIELD_NUMBER = 1;
-    private int correlationId_;
+    public static final int CODEC_FIELD_NUMBER = 1;
+    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec codec_;
     /**
-     * <code>required int32 correlationId = 1;</code>
+     * <code>required .CompressionCodec codec = 1;</code>
      */
-    public boolean hasCorrelationId() {
+    public boolean hasCodec() {
       return ((bitField0_ & 0x00000001) == 0x00000001);
     }
     /**
-     * <code>required int32 correlationId = 1;</code>
+     * <code>required .CompressionCodec codec = 1;</code>
      */
-    public int getCorrelationId() {
-      return correlationId_;
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec getCodec() {
+      return codec_;
     }
 
-    public static final int SERVICEIDENTIFIER_FIELD_NUMBER = 2;
-    private java.lang.Object serviceIdentifier_;
+    public static final int UNCOMPRESSEDSIZE_FIELD_NUMBER = 2;
+    private int uncompressedSize_;
     /**
-     * <code>required string serviceIdentifier = 2;</code>
+     * <code>required int32 uncompressedSize = 2;</code>
      */
-    public boolean hasServiceIdentifier() {
+    public boolean hasUncompressedSize() {
       return ((bitField0_ & 0x00000002) == 0x00000002);
     }
     /**
-     * <code>required string serviceIdentifier = 2;</code>
+     * <code>required int32 uncompressedSize = 2;</code>
      */
-    public java.lang.String getServiceIdentifier() {
-      java.lang.Object ref = serviceIdentifier_;
-      if (ref instanceof java.lang.String) {
-        return (java.lang.String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        java.lang.String s = bs.toStringUtf8();
-        if (bs.isValidUtf8()) {
-          serviceIdentifier_ = s;
-        }
-        return s;
-      }
-    }
-    /**
-     * <code>required string serviceIdentifier = 2;</code>
-     */
-    public com.google.protobuf.ByteString
-        getServiceIdentifierBytes() {
-      java.lang.Object ref = serviceIdentifier_;
-      if (ref instanceof java.lang.String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8(
-                (java.lang.String) ref);
-        serviceIdentifier_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
+    public int getUncompressedSize() {
+      return uncompressedSize_;
     }
 
-    public static final int METHODIDENTIFIER_FIELD_NUMBER = 3;
-    private java.lang.Object methodIdentifier_;
+    public static final int DATA_FIELD_NUMBER = 3;
+    private com.google.protobuf.ByteString data_;
     /**
-     * <code>required string methodIdentifier = 3;</code>
+     * <code>required bytes data = 3;</code>
+     *
+     * <pre>
+     * a compressed serialized WirePayload.
+     * </pre>
      */
-    public boolean hasMethodIdentifier() {
+    public boolean hasData() {
       return ((bitField0_ & 0x00000004) == 0x00000004);
     }
     /**
-     * <code>required string methodIdentifier = 3;</code>
-     */
-    public java.lang.String getMethodIdentifier() {
-      java.lang.Object ref = methodIdentifier_;
-      if (ref instanceof java.lang.String) {
-        return (java.lang.String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        java.lang.String s = bs.toStringUtf8();
-        if (bs.isValidUtf8()) {
-          methodIdentifier_ = s;
-        }
-        return s;
-      }
-    }
-    /**
-     * <code>required string methodIdentifier = 3;</code>
-     */
-    public com.google.protobuf.ByteString
-        getMethodIdentifierBytes() {
-      java.lang.Object ref = methodIdentifier_;
-      if (ref instanceof java.lang.String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8(
-                (java.lang.String) ref);
-        methodIdentifier_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
-    }
-
-    public static final int REQUESTBYTES_FIELD_NUMBER = 4;
-    private com.google.protobuf.ByteString requestBytes_;
-    /**
-     * <code>required bytes requestBytes = 4;</code>
-     */
-    public boolean hasRequestBytes() {
-      return ((bitField0_ & 0x00000008) == 0x00000008);
-    }
-    /**
-     * <code>required bytes requestBytes = 4;</code>
-     */
-    public com.google.protobuf.ByteString getRequestBytes() {
-      return requestBytes_;
-    }
-
-    public static final int TIMEOUTMS_FIELD_NUMBER = 5;
-    private int timeoutMs_;
-    /**
-     * <code>optional int32 timeoutMs = 5;</code>
-     */
-    public boolean hasTimeoutMs() {
-      return ((bitField0_ & 0x00000010) == 0x00000010);
-    }
-    /**
-     * <code>optional int32 timeoutMs = 5;</code>
+     * <code>required bytes data = 3;</code>
+     *
+     * <pre>
+     * a compressed serialized WirePayload.
+     * </pre>
      */
-    public int getTimeoutMs() {
-      return timeoutMs_;
+    public com.google.protobuf.ByteString getData() {
+      return data_;
     }
 
     private void initFields() {
-      correlationId_ = 0;
-      serviceIdentifier_ = "";
-      methodIdentifier_ = "";
-      requestBytes_ = com.google.protobuf.ByteString.EMPTY;
-      timeoutMs_ = 0;
+      codec_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec.LZ4;
+      uncompressedSize_ = 0;
+      data_ = com.google.protobuf.ByteString.EMPTY;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -2035,19 +2984,15 @@ public final class DuplexProtocol {
       if (isInitialized == 1) return true;
       if (isInitialized == 0) return false;
 
-      if (!hasCorrelationId()) {
-        memoizedIsInitialized = 0;
-        return false;
-      }
-      if (!hasServiceIdentifier()) {
+      if (!hasCodec()) {
         memoizedIsInitialized = 0;
         return false;
       }
-      if (!hasMethodIdentifier()) {
+      if (!hasUncompressedSize()) {
         memoizedIsInitialized = 0;
         return false;
       }
-      if (!hasRequestBytes()) {
+      if (!hasData()) {
         memoizedIsInitialized = 0;
         return false;
       }
@@ -2059,19 +3004,13 @@ public final class DuplexProtocol {
                         throws java.io.IOException {
       getSerializedSize();
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
-        output.writeInt32(1, correlationId_);
+        output.writeEnum(1, codec_.getNumber());
       }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
-        output.writeBytes(2, getServiceIdentifierBytes());
+        output.writeInt32(2, uncompressedSize_);
       }
       if (((bitField0_ & 0x00000004) == 0x00000004)) {
-        output.writeBytes(3, getMethodIdentifierBytes());
-      }
-      if (((bitField0_ & 0x00000008) == 0x00000008)) {
-        output.writeBytes(4, requestBytes_);
-      }
-      if (((bitField0_ & 0x00000010) == 0x00000010)) {
-        output.writeInt32(5, timeoutMs_);
+        output.writeBytes(3, data_);
       }
       getUnknownFields().writeTo(output);
     }
@@ -2084,23 +3023,15 @@ public final class DuplexProtocol {
       size = 0;
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeInt32Size(1, correlationId_);
+          .computeEnumSize(1, codec_.getNumber());
       }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeBytesSize(2, getServiceIdentifierBytes());
+          .computeInt32Size(2, uncompressedSize_);
       }
       if (((bitField0_ & 0x00000004) == 0x00000004)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeBytesSize(3, getMethodIdentifierBytes());
-      }
-      if (((bitField0_ & 0x00000008) == 0x00000008)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeBytesSize(4, requestBytes_);
-      }
-      if (((bitField0_ & 0x00000010) == 0x00000010)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeInt32Size(5, timeoutMs_);
+          .computeBytesSize(3, data_);
       }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -2114,53 +3045,53 @@ public final class DuplexProtocol {
       return super.writeReplace();
     }
 
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseFrom(byte[] data)
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseFrom(java.io.InputStream input)
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseFrom(input, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseDelimitedFrom(java.io.InputStream input)
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseDelimitedFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -2169,7 +3100,7 @@ public final class DuplexProtocol {
 
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest prototype) {
+    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -2181,25 +3112,25 @@ public final class DuplexProtocol {
       return builder;
     }
     /**
-     * Protobuf type {@code RpcRequest}
+     * Protobuf type {@code CompressedPayload}
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder> implements
-        // @@protoc_insertion_point(builder_implements:RpcRequest)
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder {
+        // @@protoc_insertion_point(builder_implements:CompressedPayload)
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayloadOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcRequest_descriptor;
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_CompressedPayload_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcRequest_fieldAccessorTable
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_CompressedPayload_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder.class);
+                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.Builder.class);
       }
 
-      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.newBuilder()
+      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -2219,16 +3150,12 @@ public final class DuplexProtocol {
 
       public Builder clear() {
         super.clear();
-        correlationId_ = 0;
+        codec_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec.LZ4;
         bitField0_ = (bitField0_ & ~0x00000001);
-        serviceIdentifier_ = "";
+        uncompressedSize_ = 0;
         bitField0_ = (bitField0_ & ~0x00000002);
-        methodIdentifier_ = "";
+        data_ = com.google.protobuf.ByteString.EMPTY;
         bitField0_ = (bitField0_ & ~0x00000004);
-        requestBytes_ = com.google.protobuf.ByteString.EMPTY;
-        bitField0_ = (bitField0_ & ~0x00000008);
-        timeoutMs_ = 0;
-        bitField0_ = (bitField0_ & ~0x00000010);
         return this;
       }
 
@@ -2238,98 +3165,76 @@ public final class DuplexProtocol {
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcRequest_descriptor;
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_CompressedPayload_descriptor;
       }
 
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest getDefaultInstanceForType() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.getDefaultInstance();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload getDefaultInstanceForType() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.getDefaultInstance();
       }
 
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest build() {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest result = buildPartial();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload build() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest buildPartial() {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest(this);
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload buildPartial() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
         if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
           to_bitField0_ |= 0x00000001;
         }
-        result.correlationId_ = correlationId_;
+        result.codec_ = codec_;
         if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
           to_bitField0_ |= 0x00000002;
         }
-        result.serviceIdentifier_ = serviceIdentifier_;
+        result.uncompressedSize_ = uncompressedSize_;
         if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
           to_bitField0_ |= 0x00000004;
         }
-        result.methodIdentifier_ = methodIdentifier_;
-        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
-          to_bitField0_ |= 0x00000008;
-        }
-        result.requestBytes_ = requestBytes_;
-        if (((from_bitField0_ & 0x00000010) == 0x00000010)) {
-          to_bitField0_ |= 0x00000010;
-        }
-        result.timeoutMs_ = timeoutMs_;
+        result.data_ = data_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
 
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest) {
-          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest)other);
+        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload) {
+          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest other) {
-        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.getDefaultInstance()) return this;
-        if (other.hasCorrelationId()) {
-          setCorrelationId(other.getCorrelationId());
-        }
-        if (other.hasServiceIdentifier()) {
-          bitField0_ |= 0x00000002;
-          serviceIdentifier_ = other.serviceIdentifier_;
-          onChanged();
-        }
-        if (other.hasMethodIdentifier()) {
-          bitField0_ |= 0x00000004;
-          methodIdentifier_ = other.methodIdentifier_;
-          onChanged();
+      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload other) {
+        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.getDefaultInstance()) return this;
+        if (other.hasCodec()) {
+          setCodec(other.getCodec());
         }
-        if (other.hasRequestBytes()) {
-          setRequestBytes(other.getRequestBytes());
+        if (other.hasUncompressedSize()) {
+          setUncompressedSize(other.getUncompressedSize());
         }
-        if (other.hasTimeoutMs()) {
-          setTimeoutMs(other.getTimeoutMs());
+        if (other.hasData()) {
+          setData(other.getData());
         }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
 
       public final boolean isInitialized() {
-        if (!hasCorrelationId()) {
-          
-          return false;
-        }
-        if (!hasServiceIdentifier()) {
+        if (!hasCodec()) {
           
           return false;
         }
-        if (!hasMethodIdentifier()) {
+        if (!hasUncompressedSize()) {
           
           return false;
         }
-        if (!hasRequestBytes()) {
+        if (!hasData()) {
           
           return false;
         }
@@ -2340,11 +3245,11 @@ public final class DuplexProtocol {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parsedMessage = null;
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest) e.getUnfinishedMessage();
+          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload) e.getUnfinishedMessage();
           throw e;
         } finally {
           if (parsedMessage != null) {
@@ -2355,270 +3260,137 @@ public final class DuplexProtocol {
       }
       private int bitField0_;
 
-      private int correlationId_ ;
+      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec codec_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec.LZ4;
       /**
-       * <code>required int32 correlationId = 1;</code>
+       * <code>required .CompressionCodec codec = 1;</code>
        */
-      public boolean hasCorrelationId() {
+      public boolean hasCodec() {
         return ((bitField0_ & 0x00000001) == 0x00000001);
       }
       /**
-       * <code>required int32 correlationId = 1;</code>
+       * <code>required .CompressionCodec codec = 1;</code>
        */
-      public int getCorrelationId() {
-        return correlationId_;
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec getCodec() {
+        return codec_;
       }
       /**
-       * <code>required int32 correlationId = 1;</code>
+       * <code>required .CompressionCodec codec = 1;</code>
        */
-      public Builder setCorrelationId(int value) {
+      public Builder setCodec(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
         bitField0_ |= 0x00000001;
-        correlationId_ = value;
+        codec_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>required int32 correlationId = 1;</code>
+       * <code>required .CompressionCodec codec = 1;</code>
        */
-      public Builder clearCorrelationId() {
+      public Builder clearCodec() {
         bitField0_ = (bitField0_ & ~0x00000001);
-        correlationId_ = 0;
+        codec_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec.LZ4;
         onChanged();
         return this;
       }
 
-      private java.lang.Object serviceIdentifier_ = "";
+      private int uncompressedSize_ ;
       /**
-       * <code>required string serviceIdentifier = 2;</code>
+       * <code>required int32 uncompressedSize = 2;</code>
        */
-      public boolean hasServiceIdentifier() {
+      public boolean hasUncompressedSize() {
         return ((bitField0_ & 0x00000002) == 0x00000002);
       }
       /**
-       * <code>required string serviceIdentifier = 2;</code>
-       */
-      public java.lang.String getServiceIdentifier() {
-        java.lang.Object ref = serviceIdentifier_;
-        if (!(ref instanceof java.lang.String)) {
-          com.google.protobuf.ByteString bs =
-              (com.google.protobuf.ByteString) ref;
-          java.lang.String s = bs.toStringUtf8();
-          if (bs.isValidUtf8()) {
-            serviceIdentifier_ = s;
-          }
-          return s;
-        } else {
-          return (java.lang.String) ref;
-        }
-      }
-      /**
-       * <code>required string serviceIdentifier = 2;</code>
+       * <code>required int32 uncompressedSize = 2;</code>
        */
-      public com.google.protobuf.ByteString
-          getServiceIdentifierBytes() {
-        java.lang.Object ref = serviceIdentifier_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (java.lang.String) ref);
-          serviceIdentifier_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
+      public int getUncompressedSize() {
+        return uncompressedSize_;
       }
       /**
-       * <code>required string serviceIdentifier = 2;</code>
+       * <code>required int32 uncompressedSize = 2;</code>
        */
-      public Builder setServiceIdentifier(
-          java.lang.String value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  bitField0_ |= 0x00000002;
-        serviceIdentifier_ = value;
+      public Builder setUncompressedSize(int value) {
+        bitField0_ |= 0x00000002;
+        uncompressedSize_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>required string serviceIdentifier = 2;</code>
+       * <code>required int32 uncompressedSize = 2;</code>
        */
-      public Builder clearServiceIdentifier() {
+      public Builder clearUncompressedSize() {
         bitField0_ = (bitField0_ & ~0x00000002);
-        serviceIdentifier_ = getDefaultInstance().getServiceIdentifier();
+        uncompressedSize_ = 0;
         onChanged();
         return this;
       }
+
+      private com.google.protobuf.ByteString data_ = com.google.protobuf.ByteString.EMPTY;
       /**
-       * <code>required string serviceIdentifier = 2;</code>
+       * <code>required bytes data = 3;</code>
+       *
+       * <pre>
+       * a compressed serialized WirePayload.
+       * </pre>
        */
-      public Builder setServiceIdentifierBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  bitField0_ |= 0x00000002;
-        serviceIdentifier_ = value;
-        onChanged();
-        return this;
-      }
-
-      private java.lang.Object methodIdentifier_ = "";
-      /**
-       * <code>required string methodIdentifier = 3;</code>
-       */
-      public boolean hasMethodIdentifier() {
+      public boolean hasData() {
         return ((bitField0_ & 0x00000004) == 0x00000004);
       }
       /**
-       * <code>required string methodIdentifier = 3;</code>
-       */
-      public java.lang.String getMethodIdentifier() {
-        java.lang.Object ref = methodIdentifier_;
-        if (!(ref instanceof java.lang.String)) {
-          com.google.protobuf.ByteString bs =
-              (com.google.protobuf.ByteString) ref;
-          java.lang.String s = bs.toStringUtf8();
-          if (bs.isValidUtf8()) {
-            methodIdentifier_ = s;
-          }
-          return s;
-        } else {
-          return (java.lang.String) ref;
-        }
-      }
-      /**
-       * <code>required string methodIdentifier = 3;</code>
+       * <code>required bytes data = 3;</code>
+       *
+       * <pre>
+       * a compressed serialized WirePayload.
+       * </pre>
        */
-      public com.google.protobuf.ByteString
-          getMethodIdentifierBytes() {
-        java.lang.Object ref = methodIdentifier_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (java.lang.String) ref);
-          methodIdentifier_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
+      public com.google.protobuf.ByteString getData() {
+        return data_;
       }
       /**
-       * <code>required string methodIdentifier = 3;</code>
+       * <code>required bytes data = 3;</code>
+       *
+       * <pre>
+       * a compressed serialized WirePayload.
+       * </pre>
        */
-      public Builder setMethodIdentifier(
-          java.lang.String value) {
+      public Builder setData(com.google.protobuf.ByteString value) {
         if (value == null) {
     throw new NullPointerException();
   }
   bitField0_ |= 0x00000004;
-        methodIdentifier_ = value;
+        data_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>required string methodIdentifier = 3;</code>
+       * <code>required bytes data = 3;</code>
+       *
+       * <pre>
+       * a compressed serialized WirePayload.
+       * </pre>
        */
-      public Builder clearMethodIdentifier() {
+      public Builder clearData() {
         bitField0_ = (bitField0_ & ~0x00000004);
-        methodIdentifier_ = getDefaultInstance().getMethodIdentifier();
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>required string methodIdentifier = 3;</code>
-       */
-      public Builder setMethodIdentifierBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  bitField0_ |= 0x00000004;
-        methodIdentifier_ = value;
-        onChanged();
-        return this;
-      }
-
-      private com.google.protobuf.ByteString requestBytes_ = com.google.protobuf.ByteString.EMPTY;
-      /**
-       * <code>required bytes requestBytes = 4;</code>
-       */
-      public boolean hasRequestBytes() {
-        return ((bitField0_ & 0x00000008) == 0x00000008);
-      }
-      /**
-       * <code>required bytes requestBytes = 4;</code>
-       */
-      public com.google.protobuf.ByteString getRequestBytes() {
-        return requestBytes_;
-      }
-      /**
-       * <code>required bytes requestBytes = 4;</code>
-       */
-      public Builder setRequestBytes(com.google.protobuf.ByteString value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  bitField0_ |= 0x00000008;
-        requestBytes_ = value;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>required bytes requestBytes = 4;</code>
-       */
-      public Builder clearRequestBytes() {
-        bitField0_ = (bitField0_ & ~0x00000008);
-        requestBytes_ = getDefaultInstance().getRequestBytes();
-        onChanged();
-        return this;
-      }
-
-      private int timeoutMs_ ;
-      /**
-       * <code>optional int32 timeoutMs = 5;</code>
-       */
-      public boolean hasTimeoutMs() {
-        return ((bitField0_ & 0x00000010) == 0x00000010);
-      }
-      /**
-       * <code>optional int32 timeoutMs = 5;</code>
-       */
-      public int getTimeoutMs() {
-        return timeoutMs_;
-      }
-      /**
-       * <code>optional int32 timeoutMs = 5;</code>
-       */
-      public Builder setTimeoutMs(int value) {
-        bitField0_ |= 0x00000010;
-        timeoutMs_ = value;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>optional int32 timeoutMs = 5;</code>
-       */
-      public Builder clearTimeoutMs() {
-        bitField0_ = (bitField0_ & ~0x00000010);
-        timeoutMs_ = 0;
+        data_ = getDefaultInstance().getData();
         onChanged();
         return this;
       }
 
-      // @@protoc_insertion_point(builder_scope:RpcRequest)
+      // @@protoc_insertion_point(builder_scope:CompressedPayload)
     }
 
     static {
-      defaultInstance = new RpcRequest(true);
+      defaultInstance = new CompressedPayload(true);
       defaultInstance.initFields();
     }
 
-    // @@protoc_insertion_point(class_scope:RpcRequest)
+    // @@protoc_insertion_point(class_scope:CompressedPayload)
   }
 
-  public interface RpcResponseOrBuilder extends
-      // @@protoc_insertion_point(interface_extends:RpcResponse)
+  public interface RpcRequestOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:RpcRequest)
       com.google.protobuf.MessageOrBuilder {
 
     /**
@@ -2631,34 +3403,145 @@ public final class DuplexProtocol {
     int getCorrelationId();
 
     /**
-     * <code>required bytes responseBytes = 2;</code>
+     * <code>optional string serviceIdentifier = 2;</code>
      */
-    boolean hasResponseBytes();
+    boolean hasServiceIdentifier();
     /**
-     * <code>required bytes responseBytes = 2;</code>
+     * <code>optional string serviceIdentifier = 2;</code>
      */
-    com.google.protobuf.ByteString getResponseBytes();
+    java.lang.String getServiceIdentifier();
+    /**
+     * <code>optional string serviceIdentifier = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getServiceIdentifierBytes();
+
+    /**
+     * <code>optional string methodIdentifier = 3;</code>
+     */
+    boolean hasMethodIdentifier();
+    /**
+     * <code>optional string methodIdentifier = 3;</code>
+     */
+    java.lang.String getMethodIdentifier();
+    /**
+     * <code>optional string methodIdentifier = 3;</code>
+     */
+    com.google.protobuf.ByteString
+        getMethodIdentifierBytes();
+
+    /**
+     * <code>required bytes requestBytes = 4;</code>
+     *
+     * <pre>
+     * required unless methodId is set.
+     * </pre>
+     */
+    boolean hasRequestBytes();
+    /**
+     * <code>required bytes requestBytes = 4;</code>
+     *
+     * <pre>
+     * required unless methodId is set.
+     * </pre>
+     */
+    com.google.protobuf.ByteString getRequestBytes();
+
+    /**
+     * <code>optional int32 timeoutMs = 5;</code>
+     */
+    boolean hasTimeoutMs();
+    /**
+     * <code>optional int32 timeoutMs = 5;</code>
+     */
+    int getTimeoutMs();
+
+    /**
+     * <code>optional bool compressResponse = 6;</code>
+     */
+    boolean hasCompressResponse();
+    /**
+     * <code>optional bool compressResponse = 6;</code>
+     */
+    boolean getCompressResponse();
+
+    /**
+     * <code>optional int32 methodId = 7;</code>
+     *
+     * <pre>
+     * whether the RpcResponse should be compressed, overriding the 
+     * server's default for the method.
+     * </pre>
+     */
+    boolean hasMethodId();
+    /**
+     * <code>optional int32 methodId = 7;</code>
+     *
+     * <pre>
+     * whether the RpcResponse should be compressed, overriding the 
+     * server's default for the method.
+     * </pre>
+     */
+    int getMethodId();
+
+    /**
+     * <code>optional int32 priority = 8;</code>
+     *
+     * <pre>
+     * identifies the service and method instead of the serviceIdentifier 
+     * and methodIdentifier, once the server returned it in an RpcResponse.
+     * </pre>
+     */
+    boolean hasPriority();
+    /**
+     * <code>optional int32 priority = 8;</code>
+     *
+     * <pre>
+     * identifies the service and method instead of the serviceIdentifier 
+     * and methodIdentifier, once the server returned it in an RpcResponse.
+     * </pre>
+     */
+    int getPriority();
+
+    /**
+     * <code>optional int64 deadlineMs = 9;</code>
+     *
+     * <pre>
+     * calls with a higher priority run first on servers which order
+     * calls by priority, 0 is normal.
+     * </pre>
+     */
+    boolean hasDeadlineMs();
+    /**
+     * <code>optional int64 deadlineMs = 9;</code>
+     *
+     * <pre>
+     * calls with a higher priority run first on servers which order
+     * calls by priority, 0 is normal.
+     * </pre>
+     */
+    long getDeadlineMs();
   }
   /**
-   * Protobuf type {@code RpcResponse}
+   * Protobuf type {@code RpcRequest}
    */
-  public static final class RpcResponse extends
+  public static final class RpcRequest extends
       com.google.protobuf.GeneratedMessage implements
-      // @@protoc_insertion_point(message_implements:RpcResponse)
-      RpcResponseOrBuilder {
-    // Use RpcResponse.newBuilder() to construct.
-    private RpcResponse(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      // @@protoc_insertion_point(message_implements:RpcRequest)
+      RpcRequestOrBuilder {
+    // Use RpcRequest.newBuilder() to construct.
+    private RpcRequest(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
       super(builder);
       this.unknownFields = builder.getUnknownFields();
     }
-    private RpcResponse(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+    private RpcRequest(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
 
-    private static final RpcResponse defaultInstance;
-    public static RpcResponse getDefaultInstance() {
+    private static final RpcRequest defaultInstance;
+    public static RpcRequest getDefaultInstance() {
       return defaultInstance;
     }
 
-    public RpcResponse getDefaultInstanceForType() {
+    public RpcRequest getDefaultInstanceForType() {
       return defaultInstance;
     }
 
@@ -2668,7 +3551,7 @@ public final class DuplexProtocol {
         getUnknownFields() {
       return this.unknownFields;
     }
-    private RpcResponse(
+    private RpcRequest(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
@@ -2697,46 +3580,83 @@ public final class DuplexProtocol {
               break;
             }
             case 18: {
+              com.google.protobuf.ByteString bs = input.readBytes();
               bitField0_ |= 0x00000002;
-              responseBytes_ = input.readBytes();
+              serviceIdentifier_ = bs;
               break;
             }
-          }
-        }
-      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-        throw e.setUnfinishedMessage(this);
-      } catch (java.io.IOException e) {
-        throw new com.google.protobuf.InvalidProtocolBufferException(
-            e.getMessage()).setUnfinishedMessage(this);
-      } finally {
-        this.unknownFields = unknownFields.build();
-        makeExtensionsImmutable();
-      }
+            case 26: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000004;
+              methodIdentifier_ = bs;
+              break;
+            }
+            case 34: {
+              bitField0_ |= 0x00000008;
+              requestBytes_ = input.readBytes();
+              break;
+            }
+            case 40: {
+              bitField0_ |= 0x00000010;
+              timeoutMs_ = input.readInt32();
+              break;
+            }
+            case 48: {
+              bitField0_ |= 0x00000020;
+              compressResponse_ = input.readBool();
+              break;
+            }
+            case 56: {
+              bitField0_ |= 0x00000040;
+              methodId_ = input.readInt32();
+              break;
+            }
+            case 64: {
+              bitField0_ |= 0x00000080;
+              priority_ = input.readInt32();
+              break;
+            }
+            case 72: {
+              bitField0_ |= 0x00000100;
+              deadlineMs_ = input.readInt64();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcResponse_descriptor;
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcRequest_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcResponse_fieldAccessorTable
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcRequest_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder.class);
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder.class);
     }
 
-    public static com.google.protobuf.Parser<RpcResponse> PARSER =
-        new com.google.protobuf.AbstractParser<RpcResponse>() {
-      public RpcResponse parsePartialFrom(
+    public static com.google.protobuf.Parser<RpcRequest> PARSER =
+        new com.google.protobuf.AbstractParser<RpcRequest>() {
+      public RpcRequest parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-        return new RpcResponse(input, extensionRegistry);
+        return new RpcRequest(input, extensionRegistry);
       }
     };
 
     @java.lang.Override
-    public com.google.protobuf.Parser<RpcResponse> getParserForType() {
+    public com.google.protobuf.Parser<RpcRequest> getParserForType() {
       return PARSER;
     }
 
@@ -2756,24 +3676,228 @@ public final class DuplexProtocol {
       return correlationId_;
     }
 
-    public static final int RESPONSEBYTES_FIELD_NUMBER = 2;
-    private com.google.protobuf.ByteString responseBytes_;
+    public static final int SERVICEIDENTIFIER_FIELD_NUMBER = 2;
+    private java.lang.Object serviceIdentifier_;
     /**
-     * <code>required bytes responseBytes = 2;</code>
+     * <code>optional string serviceIdentifier = 2;</code>
      */
-    public boolean hasResponseBytes() {
+    public boolean hasServiceIdentifier() {
       return ((bitField0_ & 0x00000002) == 0x00000002);
     }
     /**
-     * <code>required bytes responseBytes = 2;</code>
+     * <code>optional string serviceIdentifier = 2;</code>
      */
-    public com.google.protobuf.ByteString getResponseBytes() {
-      return responseBytes_;
+    public java.lang.String getServiceIdentifier() {
+      java.lang.Object ref = serviceIdentifier_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          serviceIdentifier_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string serviceIdentifier = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getServiceIdentifierBytes() {
+      java.lang.Object ref = serviceIdentifier_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        serviceIdentifier_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int METHODIDENTIFIER_FIELD_NUMBER = 3;
+    private java.lang.Object methodIdentifier_;
+    /**
+     * <code>optional string methodIdentifier = 3;</code>
+     */
+    public boolean hasMethodIdentifier() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    /**
+     * <code>optional string methodIdentifier = 3;</code>
+     */
+    public java.lang.String getMethodIdentifier() {
+      java.lang.Object ref = methodIdentifier_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          methodIdentifier_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string methodIdentifier = 3;</code>
+     */
+    public com.google.protobuf.ByteString
+        getMethodIdentifierBytes() {
+      java.lang.Object ref = methodIdentifier_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        methodIdentifier_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int REQUESTBYTES_FIELD_NUMBER = 4;
+    private com.google.protobuf.ByteString requestBytes_;
+    /**
+     * <code>required bytes requestBytes = 4;</code>
+     *
+     * <pre>
+     * required unless methodId is set.
+     * </pre>
+     */
+    public boolean hasRequestBytes() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    /**
+     * <code>required bytes requestBytes = 4;</code>
+     *
+     * <pre>
+     * required unless methodId is set.
+     * </pre>
+     */
+    public com.google.protobuf.ByteString getRequestBytes() {
+      return requestBytes_;
+    }
+
+    public static final int TIMEOUTMS_FIELD_NUMBER = 5;
+    private int timeoutMs_;
+    /**
+     * <code>optional int32 timeoutMs = 5;</code>
+     */
+    public boolean hasTimeoutMs() {
+      return ((bitField0_ & 0x00000010) == 0x00000010);
+    }
+    /**
+     * <code>optional int32 timeoutMs = 5;</code>
+     */
+    public int getTimeoutMs() {
+      return timeoutMs_;
+    }
+
+    public static final int COMPRESSRESPONSE_FIELD_NUMBER = 6;
+    private boolean compressResponse_;
+    /**
+     * <code>optional bool compressResponse = 6;</code>
+     */
+    public boolean hasCompressResponse() {
+      return ((bitField0_ & 0x00000020) == 0x00000020);
+    }
+    /**
+     * <code>optional bool compressResponse = 6;</code>
+     */
+    public boolean getCompressResponse() {
+      return compressResponse_;
+    }
+
+    public static final int METHODID_FIELD_NUMBER = 7;
+    private int methodId_;
+    /**
+     * <code>optional int32 methodId = 7;</code>
+     *
+     * <pre>
+     * whether the RpcResponse should be compressed, overriding the 
+     * server's default for the method.
+     * </pre>
+     */
+    public boolean hasMethodId() {
+      return ((bitField0_ & 0x00000040) == 0x00000040);
+    }
+    /**
+     * <code>optional int32 methodId = 7;</code>
+     *
+     * <pre>
+     * whether the RpcResponse should be compressed, overriding the 
+     * server's default for the method.
+     * </pre>
+     */
+    public int getMethodId() {
+      return methodId_;
+    }
+
+    public static final int PRIORITY_FIELD_NUMBER = 8;
+    private int priority_;
+    /**
+     * <code>optional int32 priority = 8;</code>
+     *
+     * <pre>
+     * identifies the service and method instead of the serviceIdentifier 
+     * and methodIdentifier, once the server returned it in an RpcResponse.
+     * </pre>
+     */
+    public boolean hasPriority() {
+      return ((bitField0_ & 0x00000080) == 0x00000080);
+    }
+    /**
+     * <code>optional int32 priority = 8;</code>
+     *
+     * <pre>
+     * identifies the service and method instead of the serviceIdentifier 
+     * and methodIdentifier, once the server returned it in an RpcResponse.
+     * </pre>
+     */
+    public int getPriority() {
+      return priority_;
+    }
+
+    public static final int DEADLINEMS_FIELD_NUMBER = 9;
+    private long deadlineMs_;
+    /**
+     * <code>optional int64 deadlineMs = 9;</code>
+     *
+     * <pre>
+     * calls with a higher priority run first on servers which order
+     * calls by priority, 0 is normal.
+     * </pre>
+     */
+    public boolean hasDeadlineMs() {
+      return ((bitField0_ & 0x00000100) == 0x00000100);
+    }
+    /**
+     * <code>optional int64 deadlineMs = 9;</code>
+     *
+     * <pre>
+     * calls with a higher priority run first on servers which order
+     * calls by priority, 0 is normal.
+     * </pre>
+     */
+    public long getDeadlineMs() {
+      return deadlineMs_;
     }
 
     private void initFields() {
       correlationId_ = 0;
-      responseBytes_ = com.google.protobuf.ByteString.EMPTY;
+      serviceIdentifier_ = "";
+      methodIdentifier_ = "";
+      requestBytes_ = com.google.protobuf.ByteString.EMPTY;
+      timeoutMs_ = 0;
+      compressResponse_ = false;
+      methodId_ = 0;
+      priority_ = 0;
+      deadlineMs_ = 0L;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -2785,7 +3909,7 @@ public final class DuplexProtocol {
         memoizedIsInitialized = 0;
         return false;
       }
-      if (!hasResponseBytes()) {
+      if (!hasRequestBytes()) {
         memoizedIsInitialized = 0;
         return false;
       }
@@ -2800,7 +3924,28 @@ public final class DuplexProtocol {
         output.writeInt32(1, correlationId_);
       }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
-        output.writeBytes(2, responseBytes_);
+        output.writeBytes(2, getServiceIdentifierBytes());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeBytes(3, getMethodIdentifierBytes());
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeBytes(4, requestBytes_);
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        output.writeInt32(5, timeoutMs_);
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        output.writeBool(6, compressResponse_);
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        output.writeInt32(7, methodId_);
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+        output.writeInt32(8, priority_);
+      }
+      if (((bitField0_ & 0x00000100) == 0x00000100)) {
+        output.writeInt64(9, deadlineMs_);
       }
       getUnknownFields().writeTo(output);
     }
@@ -2817,67 +3962,95 @@ public final class DuplexProtocol {
       }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeBytesSize(2, responseBytes_);
+          .computeBytesSize(2, getServiceIdentifierBytes());
       }
-      size += getUnknownFields().getSerializedSize();
-      memoizedSerializedSize = size;
-      return size;
-    }
-
-    private static final long serialVersionUID = 0L;
-    @java.lang.Override
-    protected java.lang.Object writeReplace()
-        throws java.io.ObjectStreamException {
-      return super.writeReplace();
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(3, getMethodIdentifierBytes());
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(4, requestBytes_);
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(5, timeoutMs_);
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(6, compressResponse_);
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(7, methodId_);
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(8, priority_);
+      }
+      if (((bitField0_ & 0x00000100) == 0x00000100)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(9, deadlineMs_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
     }
 
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseFrom(
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseFrom(byte[] data)
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseFrom(java.io.InputStream input)
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseFrom(input, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseDelimitedFrom(java.io.InputStream input)
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseDelimitedFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -2886,7 +4059,7 @@ public final class DuplexProtocol {
 
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse prototype) {
+    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -2898,25 +4071,25 @@ public final class DuplexProtocol {
       return builder;
     }
     /**
-     * Protobuf type {@code RpcResponse}
+     * Protobuf type {@code RpcRequest}
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder> implements
-        // @@protoc_insertion_point(builder_implements:RpcResponse)
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder {
+        // @@protoc_insertion_point(builder_implements:RpcRequest)
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcResponse_descriptor;
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcRequest_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcResponse_fieldAccessorTable
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcRequest_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder.class);
+                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder.class);
       }
 
-      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.newBuilder()
+      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -2938,8 +4111,22 @@ public final class DuplexProtocol {
         super.clear();
         correlationId_ = 0;
         bitField0_ = (bitField0_ & ~0x00000001);
-        responseBytes_ = com.google.protobuf.ByteString.EMPTY;
+        serviceIdentifier_ = "";
         bitField0_ = (bitField0_ & ~0x00000002);
+        methodIdentifier_ = "";
+        bitField0_ = (bitField0_ & ~0x00000004);
+        requestBytes_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000008);
+        timeoutMs_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000010);
+        compressResponse_ = false;
+        bitField0_ = (bitField0_ & ~0x00000020);
+        methodId_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000040);
+        priority_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000080);
+        deadlineMs_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000100);
         return this;
       }
 
@@ -2949,23 +4136,23 @@ public final class DuplexProtocol {
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcResponse_descriptor;
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcRequest_descriptor;
       }
 
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse getDefaultInstanceForType() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.getDefaultInstance();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest getDefaultInstanceForType() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.getDefaultInstance();
       }
 
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse build() {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse result = buildPartial();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest build() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse buildPartial() {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse(this);
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest buildPartial() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
         if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
@@ -2975,28 +4162,81 @@ public final class DuplexProtocol {
         if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
           to_bitField0_ |= 0x00000002;
         }
-        result.responseBytes_ = responseBytes_;
+        result.serviceIdentifier_ = serviceIdentifier_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.methodIdentifier_ = methodIdentifier_;
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        result.requestBytes_ = requestBytes_;
+        if (((from_bitField0_ & 0x00000010) == 0x00000010)) {
+          to_bitField0_ |= 0x00000010;
+        }
+        result.timeoutMs_ = timeoutMs_;
+        if (((from_bitField0_ & 0x00000020) == 0x00000020)) {
+          to_bitField0_ |= 0x00000020;
+        }
+        result.compressResponse_ = compressResponse_;
+        if (((from_bitField0_ & 0x00000040) == 0x00000040)) {
+          to_bitField0_ |= 0x00000040;
+        }
+        result.methodId_ = methodId_;
+        if (((from_bitField0_ & 0x00000080) == 0x00000080)) {
+          to_bitField0_ |= 0x00000080;
+        }
+        result.priority_ = priority_;
+        if (((from_bitField0_ & 0x00000100) == 0x00000100)) {
+          to_bitField0_ |= 0x00000100;
+        }
+        result.deadlineMs_ = deadlineMs_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
 
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse) {
-          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse)other);
+        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest) {
+          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse other) {
-        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.getDefaultInstance()) return this;
+      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest other) {
+        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.getDefaultInstance()) return this;
         if (other.hasCorrelationId()) {
           setCorrelationId(other.getCorrelationId());
         }
-        if (other.hasResponseBytes()) {
-          setResponseBytes(other.getResponseBytes());
+        if (other.hasServiceIdentifier()) {
+          bitField0_ |= 0x00000002;
+          serviceIdentifier_ = other.serviceIdentifier_;
+          onChanged();
+        }
+        if (other.hasMethodIdentifier()) {
+          bitField0_ |= 0x00000004;
+          methodIdentifier_ = other.methodIdentifier_;
+          onChanged();
+        }
+        if (other.hasRequestBytes()) {
+          setRequestBytes(other.getRequestBytes());
+        }
+        if (other.hasTimeoutMs()) {
+          setTimeoutMs(other.getTimeoutMs());
+        }
+        if (other.hasCompressResponse()) {
+          setCompressResponse(other.getCompressResponse());
+        }
+        if (other.hasMethodId()) {
+          setMethodId(other.getMethodId());
+        }
+        if (other.hasPriority()) {
+          setPriority(other.getPriority());
+        }
+        if (other.hasDeadlineMs()) {
+          setDeadlineMs(other.getDeadlineMs());
         }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
@@ -3007,7 +4247,7 @@ public final class DuplexProtocol {
           
           return false;
         }
-        if (!hasResponseBytes()) {
+        if (!hasRequestBytes()) {
           
           return false;
         }
@@ -3018,11 +4258,11 @@ public final class DuplexProtocol {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parsedMessage = null;
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse) e.getUnfinishedMessage();
+          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest) e.getUnfinishedMessage();
           throw e;
         } finally {
           if (parsedMessage != null) {
@@ -3065,624 +4305,442 @@ public final class DuplexProtocol {
         return this;
       }
 
-      private com.google.protobuf.ByteString responseBytes_ = com.google.protobuf.ByteString.EMPTY;
+      private java.lang.Object serviceIdentifier_ = "";
       /**
-       * <code>required bytes responseBytes = 2;</code>
+       * <code>optional string serviceIdentifier = 2;</code>
        */
-      public boolean hasResponseBytes() {
+      public boolean hasServiceIdentifier() {
         return ((bitField0_ & 0x00000002) == 0x00000002);
       }
       /**
-       * <code>required bytes responseBytes = 2;</code>
+       * <code>optional string serviceIdentifier = 2;</code>
        */
-      public com.google.protobuf.ByteString getResponseBytes() {
-        return responseBytes_;
+      public java.lang.String getServiceIdentifier() {
+        java.lang.Object ref = serviceIdentifier_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            serviceIdentifier_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
       }
       /**
-       * <code>required bytes responseBytes = 2;</code>
+       * <code>optional string serviceIdentifier = 2;</code>
        */
-      public Builder setResponseBytes(com.google.protobuf.ByteString value) {
+      public com.google.protobuf.ByteString
+          getServiceIdentifierBytes() {
+        java.lang.Object ref = serviceIdentifier_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          serviceIdentifier_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string serviceIdentifier = 2;</code>
+       */
+      public Builder setServiceIdentifier(
+          java.lang.String value) {
         if (value == null) {
     throw new NullPointerException();
   }
   bitField0_ |= 0x00000002;
-        responseBytes_ = value;
+        serviceIdentifier_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>required bytes responseBytes = 2;</code>
+       * <code>optional string serviceIdentifier = 2;</code>
        */
-      public Builder clearResponseBytes() {
+      public Builder clearServiceIdentifier() {
         bitField0_ = (bitField0_ & ~0x00000002);
-        responseBytes_ = getDefaultInstance().getResponseBytes();
+        serviceIdentifier_ = getDefaultInstance().getServiceIdentifier();
         onChanged();
         return this;
       }
-
-      // @@protoc_insertion_point(builder_scope:RpcResponse)
-    }
-
-    static {
-      defaultInstance = new RpcResponse(true);
-      defaultInstance.initFields();
-    }
-
-    // @@protoc_insertion_point(class_scope:RpcResponse)
+      /**
+       * <code>optional string serviceIdentifier = 2;</code>
+       */
+      public Builder setServiceIdentifierBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
   }
+  bitField0_ |= 0x00000002;
+        serviceIdentifier_ = value;
+        onChanged();
+        return this;
+      }
 
-  public interface RpcErrorOrBuilder extends
-      // @@protoc_insertion_point(interface_extends:RpcError)
-      com.google.protobuf.MessageOrBuilder {
-
-    /**
-     * <code>required int32 correlationId = 1;</code>
-     */
-    boolean hasCorrelationId();
-    /**
-     * <code>required int32 correlationId = 1;</code>
-     */
-    int getCorrelationId();
-
-    /**
-     * <code>required string errorMessage = 2;</code>
-     */
-    boolean hasErrorMessage();
-    /**
-     * <code>required string errorMessage = 2;</code>
-     */
-    java.lang.String getErrorMessage();
-    /**
-     * <code>required string errorMessage = 2;</code>
-     */
-    com.google.protobuf.ByteString
-        getErrorMessageBytes();
-  }
-  /**
-   * Protobuf type {@code RpcError}
-   */
-  public static final class RpcError extends
-      com.google.protobuf.GeneratedMessage implements
-      // @@protoc_insertion_point(message_implements:RpcError)
-      RpcErrorOrBuilder {
-    // Use RpcError.newBuilder() to construct.
-    private RpcError(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
-      super(builder);
-      this.unknownFields = builder.getUnknownFields();
-    }
-    private RpcError(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
-
-    private static final RpcError defaultInstance;
-    public static RpcError getDefaultInstance() {
-      return defaultInstance;
-    }
-
-    public RpcError getDefaultInstanceForType() {
-      return defaultInstance;
-    }
-
-    private final com.google.protobuf.UnknownFieldSet unknownFields;
-    @java.lang.Override
-    public final com.google.protobuf.UnknownFieldSet
-        getUnknownFields() {
-      return this.unknownFields;
-    }
-    private RpcError(
-        com.google.protobuf.CodedInputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      initFields();
-      int mutable_bitField0_ = 0;
-      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
-          com.google.protobuf.UnknownFieldSet.newBuilder();
-      try {
-        boolean done = false;
-        while (!done) {
-          int tag = input.readTag();
-          switch (tag) {
-            case 0:
-              done = true;
-              break;
-            default: {
-              if (!parseUnknownField(input, unknownFields,
-                                     extensionRegistry, tag)) {
-                done = true;
-              }
-              break;
-            }
-            case 8: {
-              bitField0_ |= 0x00000001;
-              correlationId_ = input.readInt32();
-              break;
-            }
-            case 18: {
-              com.google.protobuf.ByteString bs = input.readBytes();
-              bitField0_ |= 0x00000002;
-              errorMessage_ = bs;
-              break;
-            }
+      private java.lang.Object methodIdentifier_ = "";
+      /**
+       * <code>optional string methodIdentifier = 3;</code>
+       */
+      public boolean hasMethodIdentifier() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional string methodIdentifier = 3;</code>
+       */
+      public java.lang.String getMethodIdentifier() {
+        java.lang.Object ref = methodIdentifier_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            methodIdentifier_ = s;
           }
+          return s;
+        } else {
+          return (java.lang.String) ref;
         }
-      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-        throw e.setUnfinishedMessage(this);
-      } catch (java.io.IOException e) {
-        throw new com.google.protobuf.InvalidProtocolBufferException(
-            e.getMessage()).setUnfinishedMessage(this);
-      } finally {
-        this.unknownFields = unknownFields.build();
-        makeExtensionsImmutable();
-      }
-    }
-    public static final com.google.protobuf.Descriptors.Descriptor
-        getDescriptor() {
-      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcError_descriptor;
-    }
-
-    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
-        internalGetFieldAccessorTable() {
-      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcError_fieldAccessorTable
-          .ensureFieldAccessorsInitialized(
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.Builder.class);
-    }
-
-    public static com.google.protobuf.Parser<RpcError> PARSER =
-        new com.google.protobuf.AbstractParser<RpcError>() {
-      public RpcError parsePartialFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws com.google.protobuf.InvalidProtocolBufferException {
-        return new RpcError(input, extensionRegistry);
       }
-    };
-
-    @java.lang.Override
-    public com.google.protobuf.Parser<RpcError> getParserForType() {
-      return PARSER;
-    }
-
-    private int bitField0_;
-    public static final int CORRELATIONID_FIELD_NUMBER = 1;
-    private int correlationId_;
-    /**
-     * <code>required int32 correlationId = 1;</code>
-     */
-    public boolean hasCorrelationId() {
-      return ((bitField0_ & 0x00000001) == 0x00000001);
-    }
-    /**
-     * <code>required int32 correlationId = 1;</code>
-     */
-    public int getCorrelationId() {
-      return correlationId_;
-    }
-
-    public static final int ERRORMESSAGE_FIELD_NUMBER = 2;
-    private java.lang.Object errorMessage_;
-    /**
-     * <code>required string errorMessage = 2;</code>
-     */
-    public boolean hasErrorMessage() {
-      return ((bitField0_ & 0x00000002) == 0x00000002);
-    }
-    /**
-     * <code>required string errorMessage = 2;</code>
-     */
-    public java.lang.String getErrorMessage() {
-      java.lang.Object ref = errorMessage_;
-      if (ref instanceof java.lang.String) {
-        return (java.lang.String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        java.lang.String s = bs.toStringUtf8();
-        if (bs.isValidUtf8()) {
-          errorMessage_ = s;
+      /**
+       * <code>optional string methodIdentifier = 3;</code>
+       */
+      public com.google.protobuf.ByteString
+          getMethodIdentifierBytes() {
+        java.lang.Object ref = methodIdentifier_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          methodIdentifier_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
         }
-        return s;
       }
-    }
-    /**
-     * <code>required string errorMessage = 2;</code>
-     */
-    public com.google.protobuf.ByteString
-        getErrorMessageBytes() {
-      java.lang.Object ref = errorMessage_;
-      if (ref instanceof java.lang.String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8(
-                (java.lang.String) ref);
-        errorMessage_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
+      /**
+       * <code>optional string methodIdentifier = 3;</code>
+       */
+      public Builder setMethodIdentifier(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        methodIdentifier_ = value;
+        onChanged();
+        return this;
       }
-    }
-
-    private void initFields() {
-      correlationId_ = 0;
-      errorMessage_ = "";
-    }
-    private byte memoizedIsInitialized = -1;
-    public final boolean isInitialized() {
-      byte isInitialized = memoizedIsInitialized;
-      if (isInitialized == 1) return true;
-      if (isInitialized == 0) return false;
-
-      if (!hasCorrelationId()) {
-        memoizedIsInitialized = 0;
-        return false;
+      /**
+       * <code>optional string methodIdentifier = 3;</code>
+       */
+      public Builder clearMethodIdentifier() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        methodIdentifier_ = getDefaultInstance().getMethodIdentifier();
+        onChanged();
+        return this;
       }
-      if (!hasErrorMessage()) {
-        memoizedIsInitialized = 0;
-        return false;
+      /**
+       * <code>optional string methodIdentifier = 3;</code>
+       */
+      public Builder setMethodIdentifierBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        methodIdentifier_ = value;
+        onChanged();
+        return this;
       }
-      memoizedIsInitialized = 1;
-      return true;
-    }
 
-    public void writeTo(com.google.protobuf.CodedOutputStream output)
-                        throws java.io.IOException {
-      getSerializedSize();
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
-        output.writeInt32(1, correlationId_);
+      private com.google.protobuf.ByteString requestBytes_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>required bytes requestBytes = 4;</code>
+       *
+       * <pre>
+       * required unless methodId is set.
+       * </pre>
+       */
+      public boolean hasRequestBytes() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
-        output.writeBytes(2, getErrorMessageBytes());
+      /**
+       * <code>required bytes requestBytes = 4;</code>
+       *
+       * <pre>
+       * required unless methodId is set.
+       * </pre>
+       */
+      public com.google.protobuf.ByteString getRequestBytes() {
+        return requestBytes_;
       }
-      getUnknownFields().writeTo(output);
-    }
-
-    private int memoizedSerializedSize = -1;
-    public int getSerializedSize() {
-      int size = memoizedSerializedSize;
-      if (size != -1) return size;
-
-      size = 0;
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeInt32Size(1, correlationId_);
+      /**
+       * <code>required bytes requestBytes = 4;</code>
+       *
+       * <pre>
+       * required unless methodId is set.
+       * </pre>
+       */
+      public Builder setRequestBytes(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000008;
+        requestBytes_ = value;
+        onChanged();
+        return this;
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeBytesSize(2, getErrorMessageBytes());
+      /**
+       * <code>required bytes requestBytes = 4;</code>
+       *
+       * <pre>
+       * required unless methodId is set.
+       * </pre>
+       */
+      public Builder clearRequestBytes() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        requestBytes_ = getDefaultInstance().getRequestBytes();
+        onChanged();
+        return this;
       }
-      size += getUnknownFields().getSerializedSize();
-      memoizedSerializedSize = size;
-      return size;
-    }
-
-    private static final long serialVersionUID = 0L;
-    @java.lang.Override
-    protected java.lang.Object writeReplace()
-        throws java.io.ObjectStreamException {
-      return super.writeReplace();
-    }
-
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseFrom(
-        com.google.protobuf.ByteString data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseFrom(
-        com.google.protobuf.ByteString data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseFrom(byte[] data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseFrom(
-        byte[] data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseFrom(java.io.InputStream input)
-        throws java.io.IOException {
-      return PARSER.parseFrom(input);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseFrom(
-        java.io.InputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return PARSER.parseFrom(input, extensionRegistry);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseDelimitedFrom(java.io.InputStream input)
-        throws java.io.IOException {
-      return PARSER.parseDelimitedFrom(input);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseDelimitedFrom(
-        java.io.InputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return PARSER.parseDelimitedFrom(input, extensionRegistry);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseFrom(
-        com.google.protobuf.CodedInputStream input)
-        throws java.io.IOException {
-      return PARSER.parseFrom(input);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseFrom(
-        com.google.protobuf.CodedInputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return PARSER.parseFrom(input, extensionRegistry);
-    }
-
-    public static Builder newBuilder() { return Builder.create(); }
-    public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError prototype) {
-      return newBuilder().mergeFrom(prototype);
-    }
-    public Builder toBuilder() { return newBuilder(this); }
 
-    @java.lang.Override
-    protected Builder newBuilderForType(
-        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
-      Builder builder = new Builder(parent);
-      return builder;
-    }
-    /**
-     * Protobuf type {@code RpcError}
-     */
-    public static final class Builder extends
-        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
-        // @@protoc_insertion_point(builder_implements:RpcError)
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcErrorOrBuilder {
-      public static final com.google.protobuf.Descriptors.Descriptor
-          getDescriptor() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcError_descriptor;
+      private int timeoutMs_ ;
+      /**
+       * <code>optional int32 timeoutMs = 5;</code>
+       */
+      public boolean hasTimeoutMs() {
+        return ((bitField0_ & 0x00000010) == 0x00000010);
       }
-
-      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
-          internalGetFieldAccessorTable() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcError_fieldAccessorTable
-            .ensureFieldAccessorsInitialized(
-                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.Builder.class);
+      /**
+       * <code>optional int32 timeoutMs = 5;</code>
+       */
+      public int getTimeoutMs() {
+        return timeoutMs_;
       }
-
-      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.newBuilder()
-      private Builder() {
-        maybeForceBuilderInitialization();
+      /**
+       * <code>optional int32 timeoutMs = 5;</code>
+       */
+      public Builder setTimeoutMs(int value) {
+        bitField0_ |= 0x00000010;
+        timeoutMs_ = value;
+        onChanged();
+        return this;
       }
-
-      private Builder(
-          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
-        super(parent);
-        maybeForceBuilderInitialization();
+      /**
+       * <code>optional int32 timeoutMs = 5;</code>
+       */
+      public Builder clearTimeoutMs() {
+        bitField0_ = (bitField0_ & ~0x00000010);
+        timeoutMs_ = 0;
+        onChanged();
+        return this;
       }
-      private void maybeForceBuilderInitialization() {
-        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
-        }
+
+      private boolean compressResponse_ ;
+      /**
+       * <code>optional bool compressResponse = 6;</code>
+       */
+      public boolean hasCompressResponse() {
+        return ((bitField0_ & 0x00000020) == 0x00000020);
       }
-      private static Builder create() {
-        return new Builder();
+      /**
+       * <code>optional bool compressResponse = 6;</code>
+       */
+      public boolean getCompressResponse() {
+        return compressResponse_;
       }
-
-      public Builder clear() {
-        super.clear();
-        correlationId_ = 0;
-        bitField0_ = (bitField0_ & ~0x00000001);
-        errorMessage_ = "";
-        bitField0_ = (bitField0_ & ~0x00000002);
+      /**
+       * <code>optional bool compressResponse = 6;</code>
+       */
+      public Builder setCompressResponse(boolean value) {
+        bitField0_ |= 0x00000020;
+        compressResponse_ = value;
+        onChanged();
         return this;
       }
-
-      public Builder clone() {
-        return create().mergeFrom(buildPartial());
+      /**
+       * <code>optional bool compressResponse = 6;</code>
+       */
+      public Builder clearCompressResponse() {
+        bitField0_ = (bitField0_ & ~0x00000020);
+        compressResponse_ = false;
+        onChanged();
+        return this;
       }
 
-      public com.google.protobuf.Descriptors.Descriptor
-          getDescriptorForType() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcError_descriptor;
+      private int methodId_ ;
+      /**
+       * <code>optional int32 methodId = 7;</code>
+       *
+       * <pre>
+       * whether the RpcResponse should be compressed, overriding the 
+       * server's default for the method.
+       * </pre>
+       */
+      public boolean hasMethodId() {
+        return ((bitField0_ & 0x00000040) == 0x00000040);
       }
-
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError getDefaultInstanceForType() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.getDefaultInstance();
+      /**
+       * <code>optional int32 methodId = 7;</code>
+       *
+       * <pre>
+       * whether the RpcResponse should be compressed, overriding the 
+       * server's default for the method.
+       * </pre>
+       */
+      public int getMethodId() {
+        return methodId_;
       }
-
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError build() {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError result = buildPartial();
-        if (!result.isInitialized()) {
-          throw newUninitializedMessageException(result);
-        }
-        return result;
+      /**
+       * <code>optional int32 methodId = 7;</code>
+       *
+       * <pre>
+       * whether the RpcResponse should be compressed, overriding the 
+       * server's default for the method.
+       * </pre>
+       */
+      public Builder setMethodId(int value) {
+        bitField0_ |= 0x00000040;
+        methodId_ = value;
+        onChanged();
+        return this;
       }
-
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError buildPartial() {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError(this);
-        int from_bitField0_ = bitField0_;
-        int to_bitField0_ = 0;
-        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
-          to_bitField0_ |= 0x00000001;
-        }
-        result.correlationId_ = correlationId_;
-        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
-          to_bitField0_ |= 0x00000002;
-        }
-        result.errorMessage_ = errorMessage_;
-        result.bitField0_ = to_bitField0_;
-        onBuilt();
-        return result;
+      /**
+       * <code>optional int32 methodId = 7;</code>
+       *
+       * <pre>
+       * whether the RpcResponse should be compressed, overriding the 
+       * server's default for the method.
+       * </pre>
+       */
+      public Builder clearMethodId() {
+        bitField0_ = (bitField0_ & ~0x00000040);
+        methodId_ = 0;
+        onChanged();
+        return this;
       }
 
-      public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError) {
-          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError)other);
-        } else {
-          super.mergeFrom(other);
-          return this;
-        }
-      }
-
-      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError other) {
-        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.getDefaultInstance()) return this;
-        if (other.hasCorrelationId()) {
-          setCorrelationId(other.getCorrelationId());
-        }
-        if (other.hasErrorMessage()) {
-          bitField0_ |= 0x00000002;
-          errorMessage_ = other.errorMessage_;
-          onChanged();
-        }
-        this.mergeUnknownFields(other.getUnknownFields());
-        return this;
-      }
-
-      public final boolean isInitialized() {
-        if (!hasCorrelationId()) {
-          
-          return false;
-        }
-        if (!hasErrorMessage()) {
-          
-          return false;
-        }
-        return true;
-      }
-
-      public Builder mergeFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws java.io.IOException {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parsedMessage = null;
-        try {
-          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
-        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError) e.getUnfinishedMessage();
-          throw e;
-        } finally {
-          if (parsedMessage != null) {
-            mergeFrom(parsedMessage);
-          }
-        }
-        return this;
-      }
-      private int bitField0_;
-
-      private int correlationId_ ;
+      private int priority_ ;
       /**
-       * <code>required int32 correlationId = 1;</code>
+       * <code>optional int32 priority = 8;</code>
+       *
+       * <pre>
+       * identifies the service and method instead of the serviceIdentifier 
+       * and methodIdentifier, once the server returned it in an RpcResponse.
+       * </pre>
        */
-      public boolean hasCorrelationId() {
-        return ((bitField0_ & 0x00000001) == 0x00000001);
+      public boolean hasPriority() {
+        return ((bitField0_ & 0x00000080) == 0x00000080);
       }
       /**
-       * <code>required int32 correlationId = 1;</code>
+       * <code>optional int32 priority = 8;</code>
+       *
+       * <pre>
+       * identifies the service and method instead of the serviceIdentifier 
+       * and methodIdentifier, once the server returned it in an RpcResponse.
+       * </pre>
        */
-      public int getCorrelationId() {
-        return correlationId_;
+      public int getPriority() {
+        return priority_;
       }
       /**
-       * <code>required int32 correlationId = 1;</code>
+       * <code>optional int32 priority = 8;</code>
+       *
+       * <pre>
+       * identifies the service and method instead of the serviceIdentifier 
+       * and methodIdentifier, once the server returned it in an RpcResponse.
+       * </pre>
        */
-      public Builder setCorrelationId(int value) {
-        bitField0_ |= 0x00000001;
-        correlationId_ = value;
+      public Builder setPriority(int value) {
+        bitField0_ |= 0x00000080;
+        priority_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>required int32 correlationId = 1;</code>
+       * <code>optional int32 priority = 8;</code>
+       *
+       * <pre>
+       * identifies the service and method instead of the serviceIdentifier 
+       * and methodIdentifier, once the server returned it in an RpcResponse.
+       * </pre>
        */
-      public Builder clearCorrelationId() {
-        bitField0_ = (bitField0_ & ~0x00000001);
-        correlationId_ = 0;
+      public Builder clearPriority() {
+        bitField0_ = (bitField0_ & ~0x00000080);
+        priority_ = 0;
         onChanged();
         return this;
       }
 
-      private java.lang.Object errorMessage_ = "";
-      /**
-       * <code>required string errorMessage = 2;</code>
-       */
-      public boolean hasErrorMessage() {
-        return ((bitField0_ & 0x00000002) == 0x00000002);
-      }
-      /**
-       * <code>required string errorMessage = 2;</code>
-       */
-      public java.lang.String getErrorMessage() {
-        java.lang.Object ref = errorMessage_;
-        if (!(ref instanceof java.lang.String)) {
-          com.google.protobuf.ByteString bs =
-              (com.google.protobuf.ByteString) ref;
-          java.lang.String s = bs.toStringUtf8();
-          if (bs.isValidUtf8()) {
-            errorMessage_ = s;
-          }
-          return s;
-        } else {
-          return (java.lang.String) ref;
-        }
-      }
+      private long deadlineMs_ ;
       /**
-       * <code>required string errorMessage = 2;</code>
+       * <code>optional int64 deadlineMs = 9;</code>
+       *
+       * <pre>
+       * calls with a higher priority run first on servers which order
+       * calls by priority, 0 is normal.
+       * </pre>
        */
-      public com.google.protobuf.ByteString
-          getErrorMessageBytes() {
-        java.lang.Object ref = errorMessage_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (java.lang.String) ref);
-          errorMessage_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
+      public boolean hasDeadlineMs() {
+        return ((bitField0_ & 0x00000100) == 0x00000100);
       }
       /**
-       * <code>required string errorMessage = 2;</code>
+       * <code>optional int64 deadlineMs = 9;</code>
+       *
+       * <pre>
+       * calls with a higher priority run first on servers which order
+       * calls by priority, 0 is normal.
+       * </pre>
        */
-      public Builder setErrorMessage(
-          java.lang.String value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  bitField0_ |= 0x00000002;
-        errorMessage_ = value;
-        onChanged();
-        return this;
+      public long getDeadlineMs() {
+        return deadlineMs_;
       }
       /**
-       * <code>required string errorMessage = 2;</code>
+       * <code>optional int64 deadlineMs = 9;</code>
+       *
+       * <pre>
+       * calls with a higher priority run first on servers which order
+       * calls by priority, 0 is normal.
+       * </pre>
        */
-      public Builder clearErrorMessage() {
-        bitField0_ = (bitField0_ & ~0x00000002);
-        errorMessage_ = getDefaultInstance().getErrorMessage();
+      public Builder setDeadlineMs(long value) {
+        bitField0_ |= 0x00000100;
+        deadlineMs_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>required string errorMessage = 2;</code>
+       * <code>optional int64 deadlineMs = 9;</code>
+       *
+       * <pre>
+       * calls with a higher priority run first on servers which order
+       * calls by priority, 0 is normal.
+       * </pre>
        */
-      public Builder setErrorMessageBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  bitField0_ |= 0x00000002;
-        errorMessage_ = value;
+      public Builder clearDeadlineMs() {
+        bitField0_ = (bitField0_ & ~0x00000100);
+        deadlineMs_ = 0L;
         onChanged();
         return this;
       }
 
-      // @@protoc_insertion_point(builder_scope:RpcError)
+      // @@protoc_insertion_point(builder_scope:RpcRequest)
     }
 
     static {
-      defaultInstance = new RpcError(true);
+      defaultInstance = new RpcRequest(true);
       defaultInstance.initFields();
     }
 
-    // @@protoc_insertion_point(class_scope:RpcError)
+    // @@protoc_insertion_point(class_scope:RpcRequest)
   }
 
-  public interface RpcCancelOrBuilder extends
-      // @@protoc_insertion_point(interface_extends:RpcCancel)
+  public interface RpcResponseOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:RpcResponse)
       com.google.protobuf.MessageOrBuilder {
 
     /**
@@ -3693,27 +4751,55 @@ public final class DuplexProtocol {
      * <code>required int32 correlationId = 1;</code>
      */
     int getCorrelationId();
+
+    /**
+     * <code>required bytes responseBytes = 2;</code>
+     */
+    boolean hasResponseBytes();
+    /**
+     * <code>required bytes responseBytes = 2;</code>
+     */
+    com.google.protobuf.ByteString getResponseBytes();
+
+    /**
+     * <code>optional int32 methodId = 3;</code>
+     *
+     * <pre>
+     * the id of the method called by serviceIdentifier and methodIdentifier,
+     * if methodIds were negotiated.
+     * </pre>
+     */
+    boolean hasMethodId();
+    /**
+     * <code>optional int32 methodId = 3;</code>
+     *
+     * <pre>
+     * the id of the method called by serviceIdentifier and methodIdentifier,
+     * if methodIds were negotiated.
+     * </pre>
+     */
+    int getMethodId();
   }
   /**
-   * Protobuf type {@code RpcCancel}
+   * Protobuf type {@code RpcResponse}
    */
-  public static final class RpcCancel extends
+  public static final class RpcResponse extends
       com.google.protobuf.GeneratedMessage implements
-      // @@protoc_insertion_point(message_implements:RpcCancel)
-      RpcCancelOrBuilder {
-    // Use RpcCancel.newBuilder() to construct.
-    private RpcCancel(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      // @@protoc_insertion_point(message_implements:RpcResponse)
+      RpcResponseOrBuilder {
+    // Use RpcResponse.newBuilder() to construct.
+    private RpcResponse(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
       super(builder);
       this.unknownFields = builder.getUnknownFields();
     }
-    private RpcCancel(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+    private RpcResponse(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
 
-    private static final RpcCancel defaultInstance;
-    public static RpcCancel getDefaultInstance() {
+    private static final RpcResponse defaultInstance;
+    public static RpcResponse getDefaultInstance() {
       return defaultInstance;
     }
 
-    public RpcCancel getDefaultInstanceForType() {
+    public RpcResponse getDefaultInstanceForType() {
       return defaultInstance;
     }
 
@@ -3723,7 +4809,7 @@ public final class DuplexProtocol {
         getUnknownFields() {
       return this.unknownFields;
     }
-    private RpcCancel(
+    private RpcResponse(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
@@ -3751,6 +4837,16 @@ public final class DuplexProtocol {
               correlationId_ = input.readInt32();
               break;
             }
+            case 18: {
+              bitField0_ |= 0x00000002;
+              responseBytes_ = input.readBytes();
+              break;
+            }
+            case 24: {
+              bitField0_ |= 0x00000004;
+              methodId_ = input.readInt32();
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -3765,28 +4861,28 @@ public final class DuplexProtocol {
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcCancel_descriptor;
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcResponse_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcCancel_fieldAccessorTable
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcResponse_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.Builder.class);
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder.class);
     }
 
-    public static com.google.protobuf.Parser<RpcCancel> PARSER =
-        new com.google.protobuf.AbstractParser<RpcCancel>() {
-      public RpcCancel parsePartialFrom(
+    public static com.google.protobuf.Parser<RpcResponse> PARSER =
+        new com.google.protobuf.AbstractParser<RpcResponse>() {
+      public RpcResponse parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-        return new RpcCancel(input, extensionRegistry);
+        return new RpcResponse(input, extensionRegistry);
       }
     };
 
     @java.lang.Override
-    public com.google.protobuf.Parser<RpcCancel> getParserForType() {
+    public com.google.protobuf.Parser<RpcResponse> getParserForType() {
       return PARSER;
     }
 
@@ -3806,19 +4902,65 @@ public final class DuplexProtocol {
       return correlationId_;
     }
 
-    private void initFields() {
-      correlationId_ = 0;
+    public static final int RESPONSEBYTES_FIELD_NUMBER = 2;
+    private com.google.protobuf.ByteString responseBytes_;
+    /**
+     * <code>required bytes responseBytes = 2;</code>
+     */
+    public boolean hasResponseBytes() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>required bytes responseBytes = 2;</code>
+     */
+    public com.google.protobuf.ByteString getResponseBytes() {
+      return responseBytes_;
     }
-    private byte memoizedIsInitialized = -1;
-    public final boolean isInitialized() {
-      byte isInitialized = memoizedIsInitialized;
-      if (isInitialized == 1) return true;
-      if (isInitialized == 0) return false;
 
-      if (!hasCorrelationId()) {
-        memoizedIsInitialized = 0;
-        return false;
-      }
+    public static final int METHODID_FIELD_NUMBER = 3;
+    private int methodId_;
+    /**
+     * <code>optional int32 methodId = 3;</code>
+     *
+     * <pre>
+     * the id of the method called by serviceIdentifier and methodIdentifier,
+     * if methodIds were negotiated.
+     * </pre>
+     */
+    public boolean hasMethodId() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    /**
+     * <code>optional int32 methodId = 3;</code>
+     *
+     * <pre>
+     * the id of the method called by serviceIdentifier and methodIdentifier,
+     * if methodIds were negotiated.
+     * </pre>
+     */
+    public int getMethodId() {
+      return methodId_;
+    }
+
+    private void initFields() {
+      correlationId_ = 0;
+      responseBytes_ = com.google.protobuf.ByteString.EMPTY;
+      methodId_ = 0;
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      if (!hasCorrelationId()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      if (!hasResponseBytes()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
       memoizedIsInitialized = 1;
       return true;
     }
@@ -3829,6 +4971,12 @@ public final class DuplexProtocol {
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
         output.writeInt32(1, correlationId_);
       }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(2, responseBytes_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeInt32(3, methodId_);
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -3842,6 +4990,14 @@ public final class DuplexProtocol {
         size += com.google.protobuf.CodedOutputStream
           .computeInt32Size(1, correlationId_);
       }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, responseBytes_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(3, methodId_);
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
       return size;
@@ -3854,53 +5010,53 @@ public final class DuplexProtocol {
       return super.writeReplace();
     }
 
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseFrom(byte[] data)
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseFrom(java.io.InputStream input)
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseFrom(input, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseDelimitedFrom(java.io.InputStream input)
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseDelimitedFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -3909,7 +5065,7 @@ public final class DuplexProtocol {
 
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel prototype) {
+    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -3921,25 +5077,25 @@ public final class DuplexProtocol {
       return builder;
     }
     /**
-     * Protobuf type {@code RpcCancel}
+     * Protobuf type {@code RpcResponse}
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder> implements
-        // @@protoc_insertion_point(builder_implements:RpcCancel)
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancelOrBuilder {
+        // @@protoc_insertion_point(builder_implements:RpcResponse)
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcCancel_descriptor;
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcResponse_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcCancel_fieldAccessorTable
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcResponse_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.Builder.class);
+                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder.class);
       }
 
-      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.newBuilder()
+      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -3961,6 +5117,10 @@ public final class DuplexProtocol {
         super.clear();
         correlationId_ = 0;
         bitField0_ = (bitField0_ & ~0x00000001);
+        responseBytes_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        methodId_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000004);
         return this;
       }
 
@@ -3970,48 +5130,62 @@ public final class DuplexProtocol {
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcCancel_descriptor;
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcResponse_descriptor;
       }
 
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel getDefaultInstanceForType() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.getDefaultInstance();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse getDefaultInstanceForType() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.getDefaultInstance();
       }
 
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel build() {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel result = buildPartial();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse build() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel buildPartial() {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel(this);
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse buildPartial() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
         if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
           to_bitField0_ |= 0x00000001;
         }
         result.correlationId_ = correlationId_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.responseBytes_ = responseBytes_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.methodId_ = methodId_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
 
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel) {
-          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel)other);
+        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse) {
+          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel other) {
-        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.getDefaultInstance()) return this;
+      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse other) {
+        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.getDefaultInstance()) return this;
         if (other.hasCorrelationId()) {
           setCorrelationId(other.getCorrelationId());
         }
+        if (other.hasResponseBytes()) {
+          setResponseBytes(other.getResponseBytes());
+        }
+        if (other.hasMethodId()) {
+          setMethodId(other.getMethodId());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -4021,6 +5195,10 @@ public final class DuplexProtocol {
           
           return false;
         }
+        if (!hasResponseBytes()) {
+          
+          return false;
+        }
         return true;
       }
 
@@ -4028,11 +5206,11 @@ public final class DuplexProtocol {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parsedMessage = null;
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel) e.getUnfinishedMessage();
+          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse) e.getUnfinishedMessage();
           throw e;
         } finally {
           if (parsedMessage != null) {
@@ -4075,19 +5253,106 @@ public final class DuplexProtocol {
         return this;
       }
 
-      // @@protoc_insertion_point(builder_scope:RpcCancel)
+      private com.google.protobuf.ByteString responseBytes_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>required bytes responseBytes = 2;</code>
+       */
+      public boolean hasResponseBytes() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>required bytes responseBytes = 2;</code>
+       */
+      public com.google.protobuf.ByteString getResponseBytes() {
+        return responseBytes_;
+      }
+      /**
+       * <code>required bytes responseBytes = 2;</code>
+       */
+      public Builder setResponseBytes(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        responseBytes_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required bytes responseBytes = 2;</code>
+       */
+      public Builder clearResponseBytes() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        responseBytes_ = getDefaultInstance().getResponseBytes();
+        onChanged();
+        return this;
+      }
+
+      private int methodId_ ;
+      /**
+       * <code>optional int32 methodId = 3;</code>
+       *
+       * <pre>
+       * the id of the method called by serviceIdentifier and methodIdentifier,
+       * if methodIds were negotiated.
+       * </pre>
+       */
+      public boolean hasMethodId() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional int32 methodId = 3;</code>
+       *
+       * <pre>
+       * the id of the method called by serviceIdentifier and methodIdentifier,
+       * if methodIds were negotiated.
+       * </pre>
+       */
+      public int getMethodId() {
+        return methodId_;
+      }
+      /**
+       * <code>optional int32 methodId = 3;</code>
+       *
+       * <pre>
+       * the id of the method called by serviceIdentifier and methodIdentifier,
+       * if methodIds were negotiated.
+       * </pre>
+       */
+      public Builder setMethodId(int value) {
+        bitField0_ |= 0x00000004;
+        methodId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int32 methodId = 3;</code>
+       *
+       * <pre>
+       * the id of the method called by serviceIdentifier and methodIdentifier,
+       * if methodIds were negotiated.
+       * </pre>
+       */
+      public Builder clearMethodId() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        methodId_ = 0;
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:RpcResponse)
     }
 
     static {
-      defaultInstance = new RpcCancel(true);
+      defaultInstance = new RpcResponse(true);
       defaultInstance.initFields();
     }
 
-    // @@protoc_insertion_point(class_scope:RpcCancel)
+    // @@protoc_insertion_point(class_scope:RpcResponse)
   }
 
-  public interface OobResponseOrBuilder extends
-      // @@protoc_insertion_point(interface_extends:OobResponse)
+  public interface RpcErrorOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:RpcError)
       com.google.protobuf.MessageOrBuilder {
 
     /**
@@ -4100,34 +5365,58 @@ public final class DuplexProtocol {
     int getCorrelationId();
 
     /**
-     * <code>required bytes messageBytes = 2;</code>
+     * <code>required string errorMessage = 2;</code>
      */
-    boolean hasMessageBytes();
+    boolean hasErrorMessage();
     /**
-     * <code>required bytes messageBytes = 2;</code>
+     * <code>required string errorMessage = 2;</code>
      */
-    com.google.protobuf.ByteString getMessageBytes();
+    java.lang.String getErrorMessage();
+    /**
+     * <code>required string errorMessage = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getErrorMessageBytes();
+
+    /**
+     * <code>optional bool retryable = 3;</code>
+     *
+     * <pre>
+     * the call was not run, for instance shed by an overloaded server,
+     * and can safely be retried.
+     * </pre>
+     */
+    boolean hasRetryable();
+    /**
+     * <code>optional bool retryable = 3;</code>
+     *
+     * <pre>
+     * the call was not run, for instance shed by an overloaded server,
+     * and can safely be retried.
+     * </pre>
+     */
+    boolean getRetryable();
   }
   /**
-   * Protobuf type {@code OobResponse}
+   * Protobuf type {@code RpcError}
    */
-  public static final class OobResponse extends
+  public static final class RpcError extends
       com.google.protobuf.GeneratedMessage implements
-      // @@protoc_insertion_point(message_implements:OobResponse)
-      OobResponseOrBuilder {
-    // Use OobResponse.newBuilder() to construct.
-    private OobResponse(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      // @@protoc_insertion_point(message_implements:RpcError)
+      RpcErrorOrBuilder {
+    // Use RpcError.newBuilder() to construct.
+    private RpcError(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
       super(builder);
       this.unknownFields = builder.getUnknownFields();
     }
-    private OobResponse(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+    private RpcError(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
 
-    private static final OobResponse defaultInstance;
-    public static OobResponse getDefaultInstance() {
+    private static final RpcError defaultInstance;
+    public static RpcError getDefaultInstance() {
       return defaultInstance;
     }
 
-    public OobResponse getDefaultInstanceForType() {
+    public RpcError getDefaultInstanceForType() {
       return defaultInstance;
     }
 
@@ -4137,7 +5426,7 @@ public final class DuplexProtocol {
         getUnknownFields() {
       return this.unknownFields;
     }
-    private OobResponse(
+    private RpcError(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
@@ -4166,8 +5455,14 @@ public final class DuplexProtocol {
               break;
             }
             case 18: {
+              com.google.protobuf.ByteString bs = input.readBytes();
               bitField0_ |= 0x00000002;
-              messageBytes_ = input.readBytes();
+              errorMessage_ = bs;
+              break;
+            }
+            case 24: {
+              bitField0_ |= 0x00000004;
+              retryable_ = input.readBool();
               break;
             }
           }
@@ -4184,28 +5479,28 @@ public final class DuplexProtocol {
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobResponse_descriptor;
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcError_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobResponse_fieldAccessorTable
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcError_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.Builder.class);
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.Builder.class);
     }
 
-    public static com.google.protobuf.Parser<OobResponse> PARSER =
-        new com.google.protobuf.AbstractParser<OobResponse>() {
-      public OobResponse parsePartialFrom(
+    public static com.google.protobuf.Parser<RpcError> PARSER =
+        new com.google.protobuf.AbstractParser<RpcError>() {
+      public RpcError parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-        return new OobResponse(input, extensionRegistry);
+        return new RpcError(input, extensionRegistry);
       }
     };
 
     @java.lang.Override
-    public com.google.protobuf.Parser<OobResponse> getParserForType() {
+    public com.google.protobuf.Parser<RpcError> getParserForType() {
       return PARSER;
     }
 
@@ -4225,24 +5520,77 @@ public final class DuplexProtocol {
       return correlationId_;
     }
 
-    public static final int MESSAGEBYTES_FIELD_NUMBER = 2;
-    private com.google.protobuf.ByteString messageBytes_;
+    public static final int ERRORMESSAGE_FIELD_NUMBER = 2;
+    private java.lang.Object errorMessage_;
     /**
-     * <code>required bytes messageBytes = 2;</code>
+     * <code>required string errorMessage = 2;</code>
      */
-    public boolean hasMessageBytes() {
+    public boolean hasErrorMessage() {
       return ((bitField0_ & 0x00000002) == 0x00000002);
     }
     /**
-     * <code>required bytes messageBytes = 2;</code>
+     * <code>required string errorMessage = 2;</code>
      */
-    public com.google.protobuf.ByteString getMessageBytes() {
-      return messageBytes_;
+    public java.lang.String getErrorMessage() {
+      java.lang.Object ref = errorMessage_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          errorMessage_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>required string errorMessage = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getErrorMessageBytes() {
+      java.lang.Object ref = errorMessage_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        errorMessage_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int RETRYABLE_FIELD_NUMBER = 3;
+    private boolean retryable_;
+    /**
+     * <code>optional bool retryable = 3;</code>
+     *
+     * <pre>
+     * the call was not run, for instance shed by an overloaded server,
+     * and can safely be retried.
+     * </pre>
+     */
+    public boolean hasRetryable() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    /**
+     * <code>optional bool retryable = 3;</code>
+     *
+     * <pre>
+     * the call was not run, for instance shed by an overloaded server,
+     * and can safely be retried.
+     * </pre>
+     */
+    public boolean getRetryable() {
+      return retryable_;
     }
 
     private void initFields() {
       correlationId_ = 0;
-      messageBytes_ = com.google.protobuf.ByteString.EMPTY;
+      errorMessage_ = "";
+      retryable_ = false;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -4254,7 +5602,7 @@ public final class DuplexProtocol {
         memoizedIsInitialized = 0;
         return false;
       }
-      if (!hasMessageBytes()) {
+      if (!hasErrorMessage()) {
         memoizedIsInitialized = 0;
         return false;
       }
@@ -4269,7 +5617,10 @@ public final class DuplexProtocol {
         output.writeInt32(1, correlationId_);
       }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
-        output.writeBytes(2, messageBytes_);
+        output.writeBytes(2, getErrorMessageBytes());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeBool(3, retryable_);
       }
       getUnknownFields().writeTo(output);
     }
@@ -4286,7 +5637,11 @@ public final class DuplexProtocol {
       }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeBytesSize(2, messageBytes_);
+          .computeBytesSize(2, getErrorMessageBytes());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(3, retryable_);
       }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -4300,53 +5655,53 @@ public final class DuplexProtocol {
       return super.writeReplace();
     }
 
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseFrom(byte[] data)
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseFrom(java.io.InputStream input)
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseFrom(input, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseDelimitedFrom(java.io.InputStream input)
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseDelimitedFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -4355,7 +5710,7 @@ public final class DuplexProtocol {
 
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse prototype) {
+    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -4367,25 +5722,25 @@ public final class DuplexProtocol {
       return builder;
     }
     /**
-     * Protobuf type {@code OobResponse}
+     * Protobuf type {@code RpcError}
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder> implements
-        // @@protoc_insertion_point(builder_implements:OobResponse)
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponseOrBuilder {
+        // @@protoc_insertion_point(builder_implements:RpcError)
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcErrorOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobResponse_descriptor;
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcError_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobResponse_fieldAccessorTable
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcError_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.Builder.class);
+                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.Builder.class);
       }
 
-      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.newBuilder()
+      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -4407,8 +5762,10 @@ public final class DuplexProtocol {
         super.clear();
         correlationId_ = 0;
         bitField0_ = (bitField0_ & ~0x00000001);
-        messageBytes_ = com.google.protobuf.ByteString.EMPTY;
+        errorMessage_ = "";
         bitField0_ = (bitField0_ & ~0x00000002);
+        retryable_ = false;
+        bitField0_ = (bitField0_ & ~0x00000004);
         return this;
       }
 
@@ -4418,23 +5775,23 @@ public final class DuplexProtocol {
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobResponse_descriptor;
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcError_descriptor;
       }
 
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse getDefaultInstanceForType() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.getDefaultInstance();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError getDefaultInstanceForType() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.getDefaultInstance();
       }
 
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse build() {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse result = buildPartial();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError build() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse buildPartial() {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse(this);
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError buildPartial() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
         if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
@@ -4444,28 +5801,37 @@ public final class DuplexProtocol {
         if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
           to_bitField0_ |= 0x00000002;
         }
-        result.messageBytes_ = messageBytes_;
+        result.errorMessage_ = errorMessage_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.retryable_ = retryable_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
 
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse) {
-          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse)other);
+        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError) {
+          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse other) {
-        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.getDefaultInstance()) return this;
+      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError other) {
+        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.getDefaultInstance()) return this;
         if (other.hasCorrelationId()) {
           setCorrelationId(other.getCorrelationId());
         }
-        if (other.hasMessageBytes()) {
-          setMessageBytes(other.getMessageBytes());
+        if (other.hasErrorMessage()) {
+          bitField0_ |= 0x00000002;
+          errorMessage_ = other.errorMessage_;
+          onChanged();
+        }
+        if (other.hasRetryable()) {
+          setRetryable(other.getRetryable());
         }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
@@ -4476,7 +5842,7 @@ public final class DuplexProtocol {
           
           return false;
         }
-        if (!hasMessageBytes()) {
+        if (!hasErrorMessage()) {
           
           return false;
         }
@@ -4487,11 +5853,11 @@ public final class DuplexProtocol {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parsedMessage = null;
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse) e.getUnfinishedMessage();
+          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError) e.getUnfinishedMessage();
           throw e;
         } finally {
           if (parsedMessage != null) {
@@ -4534,85 +5900,178 @@ public final class DuplexProtocol {
         return this;
       }
 
-      private com.google.protobuf.ByteString messageBytes_ = com.google.protobuf.ByteString.EMPTY;
+      private java.lang.Object errorMessage_ = "";
       /**
-       * <code>required bytes messageBytes = 2;</code>
+       * <code>required string errorMessage = 2;</code>
        */
-      public boolean hasMessageBytes() {
+      public boolean hasErrorMessage() {
         return ((bitField0_ & 0x00000002) == 0x00000002);
       }
       /**
-       * <code>required bytes messageBytes = 2;</code>
+       * <code>required string errorMessage = 2;</code>
        */
-      public com.google.protobuf.ByteString getMessageBytes() {
-        return messageBytes_;
+      public java.lang.String getErrorMessage() {
+        java.lang.Object ref = errorMessage_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            errorMessage_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
       }
       /**
-       * <code>required bytes messageBytes = 2;</code>
+       * <code>required string errorMessage = 2;</code>
        */
-      public Builder setMessageBytes(com.google.protobuf.ByteString value) {
+      public com.google.protobuf.ByteString
+          getErrorMessageBytes() {
+        java.lang.Object ref = errorMessage_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          errorMessage_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>required string errorMessage = 2;</code>
+       */
+      public Builder setErrorMessage(
+          java.lang.String value) {
         if (value == null) {
     throw new NullPointerException();
   }
   bitField0_ |= 0x00000002;
-        messageBytes_ = value;
+        errorMessage_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>required bytes messageBytes = 2;</code>
+       * <code>required string errorMessage = 2;</code>
        */
-      public Builder clearMessageBytes() {
+      public Builder clearErrorMessage() {
         bitField0_ = (bitField0_ & ~0x00000002);
-        messageBytes_ = getDefaultInstance().getMessageBytes();
+        errorMessage_ = getDefaultInstance().getErrorMessage();
         onChanged();
         return this;
       }
-
-      // @@protoc_insertion_point(builder_scope:OobResponse)
-    }
-
-    static {
-      defaultInstance = new OobResponse(true);
-      defaultInstance.initFields();
-    }
-
-    // @@protoc_insertion_point(class_scope:OobResponse)
+      /**
+       * <code>required string errorMessage = 2;</code>
+       */
+      public Builder setErrorMessageBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
   }
+  bitField0_ |= 0x00000002;
+        errorMessage_ = value;
+        onChanged();
+        return this;
+      }
 
-  public interface OobMessageOrBuilder extends
-      // @@protoc_insertion_point(interface_extends:OobMessage)
-      com.google.protobuf.MessageOrBuilder {
-
-    /**
-     * <code>required bytes messageBytes = 1;</code>
-     */
-    boolean hasMessageBytes();
-    /**
-     * <code>required bytes messageBytes = 1;</code>
-     */
-    com.google.protobuf.ByteString getMessageBytes();
-  }
-  /**
-   * Protobuf type {@code OobMessage}
-   */
-  public static final class OobMessage extends
-      com.google.protobuf.GeneratedMessage implements
-      // @@protoc_insertion_point(message_implements:OobMessage)
-      OobMessageOrBuilder {
-    // Use OobMessage.newBuilder() to construct.
-    private OobMessage(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      private boolean retryable_ ;
+      /**
+       * <code>optional bool retryable = 3;</code>
+       *
+       * <pre>
+       * the call was not run, for instance shed by an overloaded server,
+       * and can safely be retried.
+       * </pre>
+       */
+      public boolean hasRetryable() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional bool retryable = 3;</code>
+       *
+       * <pre>
+       * the call was not run, for instance shed by an overloaded server,
+       * and can safely be retried.
+       * </pre>
+       */
+      public boolean getRetryable() {
+        return retryable_;
+      }
+      /**
+       * <code>optional bool retryable = 3;</code>
+       *
+       * <pre>
+       * the call was not run, for instance shed by an overloaded server,
+       * and can safely be retried.
+       * </pre>
+       */
+      public Builder setRetryable(boolean value) {
+        bitField0_ |= 0x00000004;
+        retryable_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool retryable = 3;</code>
+       *
+       * <pre>
+       * the call was not run, for instance shed by an overloaded server,
+       * and can safely be retried.
+       * </pre>
+       */
+      public Builder clearRetryable() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        retryable_ = false;
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:RpcError)
+    }
+
+    static {
+      defaultInstance = new RpcError(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:RpcError)
+  }
+
+  public interface RpcCancelOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:RpcCancel)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>required int32 correlationId = 1;</code>
+     */
+    boolean hasCorrelationId();
+    /**
+     * <code>required int32 correlationId = 1;</code>
+     */
+    int getCorrelationId();
+  }
+  /**
+   * Protobuf type {@code RpcCancel}
+   */
+  public static final class RpcCancel extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:RpcCancel)
+      RpcCancelOrBuilder {
+    // Use RpcCancel.newBuilder() to construct.
+    private RpcCancel(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
       super(builder);
       this.unknownFields = builder.getUnknownFields();
     }
-    private OobMessage(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+    private RpcCancel(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
 
-    private static final OobMessage defaultInstance;
-    public static OobMessage getDefaultInstance() {
+    private static final RpcCancel defaultInstance;
+    public static RpcCancel getDefaultInstance() {
       return defaultInstance;
     }
 
-    public OobMessage getDefaultInstanceForType() {
+    public RpcCancel getDefaultInstanceForType() {
       return defaultInstance;
     }
 
@@ -4622,7 +6081,7 @@ public final class DuplexProtocol {
         getUnknownFields() {
       return this.unknownFields;
     }
-    private OobMessage(
+    private RpcCancel(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
@@ -4645,9 +6104,9 @@ public final class DuplexProtocol {
               }
               break;
             }
-            case 10: {
+            case 8: {
               bitField0_ |= 0x00000001;
-              messageBytes_ = input.readBytes();
+              correlationId_ = input.readInt32();
               break;
             }
           }
@@ -4664,49 +6123,49 @@ public final class DuplexProtocol {
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobMessage_descriptor;
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcCancel_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobMessage_fieldAccessorTable
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcCancel_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder.class);
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.Builder.class);
     }
 
-    public static com.google.protobuf.Parser<OobMessage> PARSER =
-        new com.google.protobuf.AbstractParser<OobMessage>() {
-      public OobMessage parsePartialFrom(
+    public static com.google.protobuf.Parser<RpcCancel> PARSER =
+        new com.google.protobuf.AbstractParser<RpcCancel>() {
+      public RpcCancel parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-        return new OobMessage(input, extensionRegistry);
+        return new RpcCancel(input, extensionRegistry);
       }
     };
 
     @java.lang.Override
-    public com.google.protobuf.Parser<OobMessage> getParserForType() {
+    public com.google.protobuf.Parser<RpcCancel> getParserForType() {
       return PARSER;
     }
 
     private int bitField0_;
-    public static final int MESSAGEBYTES_FIELD_NUMBER = 1;
-    private com.google.protobuf.ByteString messageBytes_;
+    public static final int CORRELATIONID_FIELD_NUMBER = 1;
+    private int correlationId_;
     /**
-     * <code>required bytes messageBytes = 1;</code>
+     * <code>required int32 correlationId = 1;</code>
      */
-    public boolean hasMessageBytes() {
+    public boolean hasCorrelationId() {
       return ((bitField0_ & 0x00000001) == 0x00000001);
     }
     /**
-     * <code>required bytes messageBytes = 1;</code>
+     * <code>required int32 correlationId = 1;</code>
      */
-    public com.google.protobuf.ByteString getMessageBytes() {
-      return messageBytes_;
+    public int getCorrelationId() {
+      return correlationId_;
     }
 
     private void initFields() {
-      messageBytes_ = com.google.protobuf.ByteString.EMPTY;
+      correlationId_ = 0;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -4714,7 +6173,7 @@ public final class DuplexProtocol {
       if (isInitialized == 1) return true;
       if (isInitialized == 0) return false;
 
-      if (!hasMessageBytes()) {
+      if (!hasCorrelationId()) {
         memoizedIsInitialized = 0;
         return false;
       }
@@ -4726,7 +6185,7 @@ public final class DuplexProtocol {
                         throws java.io.IOException {
       getSerializedSize();
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
-        output.writeBytes(1, messageBytes_);
+        output.writeInt32(1, correlationId_);
       }
       getUnknownFields().writeTo(output);
     }
@@ -4739,7 +6198,7 @@ public final class DuplexProtocol {
       size = 0;
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeBytesSize(1, messageBytes_);
+          .computeInt32Size(1, correlationId_);
       }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -4753,53 +6212,53 @@ public final class DuplexProtocol {
       return super.writeReplace();
     }
 
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseFrom(byte[] data)
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseFrom(java.io.InputStream input)
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseFrom(input, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseDelimitedFrom(java.io.InputStream input)
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseDelimitedFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input, extensionRegistry);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseFrom(
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -4808,7 +6267,7 @@ public final class DuplexProtocol {
 
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage prototype) {
+    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -4820,25 +6279,25 @@ public final class DuplexProtocol {
       return builder;
     }
     /**
-     * Protobuf type {@code OobMessage}
+     * Protobuf type {@code RpcCancel}
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder> implements
-        // @@protoc_insertion_point(builder_implements:OobMessage)
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder {
+        // @@protoc_insertion_point(builder_implements:RpcCancel)
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancelOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobMessage_descriptor;
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcCancel_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobMessage_fieldAccessorTable
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcCancel_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder.class);
+                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.Builder.class);
       }
 
-      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.newBuilder()
+      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -4858,7 +6317,7 @@ public final class DuplexProtocol {
 
       public Builder clear() {
         super.clear();
-        messageBytes_ = com.google.protobuf.ByteString.EMPTY;
+        correlationId_ = 0;
         bitField0_ = (bitField0_ & ~0x00000001);
         return this;
       }
@@ -4869,54 +6328,54 @@ public final class DuplexProtocol {
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobMessage_descriptor;
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_RpcCancel_descriptor;
       }
 
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage getDefaultInstanceForType() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel getDefaultInstanceForType() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.getDefaultInstance();
       }
 
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage build() {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage result = buildPartial();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel build() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage buildPartial() {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage(this);
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel buildPartial() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
         if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
           to_bitField0_ |= 0x00000001;
         }
-        result.messageBytes_ = messageBytes_;
+        result.correlationId_ = correlationId_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
 
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage) {
-          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage)other);
+        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel) {
+          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage other) {
-        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance()) return this;
-        if (other.hasMessageBytes()) {
-          setMessageBytes(other.getMessageBytes());
+      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel other) {
+        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.getDefaultInstance()) return this;
+        if (other.hasCorrelationId()) {
+          setCorrelationId(other.getCorrelationId());
         }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
 
       public final boolean isInitialized() {
-        if (!hasMessageBytes()) {
+        if (!hasCorrelationId()) {
           
           return false;
         }
@@ -4927,11 +6386,11 @@ public final class DuplexProtocol {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parsedMessage = null;
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage) e.getUnfinishedMessage();
+          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel) e.getUnfinishedMessage();
           throw e;
         } finally {
           if (parsedMessage != null) {
@@ -4942,237 +6401,91 @@ public final class DuplexProtocol {
       }
       private int bitField0_;
 
-      private com.google.protobuf.ByteString messageBytes_ = com.google.protobuf.ByteString.EMPTY;
+      private int correlationId_ ;
       /**
-       * <code>required bytes messageBytes = 1;</code>
+       * <code>required int32 correlationId = 1;</code>
        */
-      public boolean hasMessageBytes() {
+      public boolean hasCorrelationId() {
         return ((bitField0_ & 0x00000001) == 0x00000001);
       }
       /**
-       * <code>required bytes messageBytes = 1;</code>
+       * <code>required int32 correlationId = 1;</code>
        */
-      public com.google.protobuf.ByteString getMessageBytes() {
-        return messageBytes_;
+      public int getCorrelationId() {
+        return correlationId_;
       }
       /**
-       * <code>required bytes messageBytes = 1;</code>
+       * <code>required int32 correlationId = 1;</code>
        */
-      public Builder setMessageBytes(com.google.protobuf.ByteString value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  bitField0_ |= 0x00000001;
-        messageBytes_ = value;
+      public Builder setCorrelationId(int value) {
+        bitField0_ |= 0x00000001;
+        correlationId_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>required bytes messageBytes = 1;</code>
+       * <code>required int32 correlationId = 1;</code>
        */
-      public Builder clearMessageBytes() {
+      public Builder clearCorrelationId() {
         bitField0_ = (bitField0_ & ~0x00000001);
-        messageBytes_ = getDefaultInstance().getMessageBytes();
+        correlationId_ = 0;
         onChanged();
         return this;
       }
 
-      // @@protoc_insertion_point(builder_scope:OobMessage)
+      // @@protoc_insertion_point(builder_scope:RpcCancel)
     }
 
     static {
-      defaultInstance = new OobMessage(true);
+      defaultInstance = new RpcCancel(true);
       defaultInstance.initFields();
     }
 
-    // @@protoc_insertion_point(class_scope:OobMessage)
+    // @@protoc_insertion_point(class_scope:RpcCancel)
   }
 
-  public interface WirePayloadOrBuilder extends
-      // @@protoc_insertion_point(interface_extends:WirePayload)
-      com.google.protobuf.GeneratedMessage.
-          ExtendableMessageOrBuilder<WirePayload> {
+  public interface OobResponseOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:OobResponse)
+      com.google.protobuf.MessageOrBuilder {
 
     /**
-     * <code>optional .ConnectRequest connectRequest = 1;</code>
-     */
-    boolean hasConnectRequest();
-    /**
-     * <code>optional .ConnectRequest connectRequest = 1;</code>
+     * <code>required int32 correlationId = 1;</code>
      */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest getConnectRequest();
+    boolean hasCorrelationId();
     /**
-     * <code>optional .ConnectRequest connectRequest = 1;</code>
+     * <code>required int32 correlationId = 1;</code>
      */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequestOrBuilder getConnectRequestOrBuilder();
+    int getCorrelationId();
 
     /**
-     * <code>optional .ConnectResponse connectResponse = 2;</code>
-     */
-    boolean hasConnectResponse();
-    /**
-     * <code>optional .ConnectResponse connectResponse = 2;</code>
+     * <code>required bytes messageBytes = 2;</code>
      */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse getConnectResponse();
+    boolean hasMessageBytes();
     /**
-     * <code>optional .ConnectResponse connectResponse = 2;</code>
+     * <code>required bytes messageBytes = 2;</code>
      */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponseOrBuilder getConnectResponseOrBuilder();
-
-    /**
-     * <code>optional .RpcRequest rpcRequest = 3;</code>
-     */
-    boolean hasRpcRequest();
-    /**
-     * <code>optional .RpcRequest rpcRequest = 3;</code>
-     */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest getRpcRequest();
-    /**
-     * <code>optional .RpcRequest rpcRequest = 3;</code>
-     */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder getRpcRequestOrBuilder();
-
-    /**
-     * <code>optional .RpcResponse rpcResponse = 4;</code>
-     */
-    boolean hasRpcResponse();
-    /**
-     * <code>optional .RpcResponse rpcResponse = 4;</code>
-     */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse getRpcResponse();
-    /**
-     * <code>optional .RpcResponse rpcResponse = 4;</code>
-     */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder getRpcResponseOrBuilder();
-
-    /**
-     * <code>optional .RpcError rpcError = 5;</code>
-     */
-    boolean hasRpcError();
-    /**
-     * <code>optional .RpcError rpcError = 5;</code>
-     */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError getRpcError();
-    /**
-     * <code>optional .RpcError rpcError = 5;</code>
-     */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcErrorOrBuilder getRpcErrorOrBuilder();
-
-    /**
-     * <code>optional .RpcCancel rpcCancel = 6;</code>
-     */
-    boolean hasRpcCancel();
-    /**
-     * <code>optional .RpcCancel rpcCancel = 6;</code>
-     */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel getRpcCancel();
-    /**
-     * <code>optional .RpcCancel rpcCancel = 6;</code>
-     */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancelOrBuilder getRpcCancelOrBuilder();
-
-    /**
-     * <code>optional .OobResponse oobResponse = 7;</code>
-     *
-     * <pre>
-     * out of band responses from RPC server to client during 
-     * the processing of a RPC call
-     * </pre>
-     */
-    boolean hasOobResponse();
-    /**
-     * <code>optional .OobResponse oobResponse = 7;</code>
-     *
-     * <pre>
-     * out of band responses from RPC server to client during 
-     * the processing of a RPC call
-     * </pre>
-     */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse getOobResponse();
-    /**
-     * <code>optional .OobResponse oobResponse = 7;</code>
-     *
-     * <pre>
-     * out of band responses from RPC server to client during 
-     * the processing of a RPC call
-     * </pre>
-     */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponseOrBuilder getOobResponseOrBuilder();
-
-    /**
-     * <code>optional .OobMessage oobMessage = 8;</code>
-     *
-     * <pre>
-     * bidirectional message not related to any particular RPC call. 
-     * </pre>
-     */
-    boolean hasOobMessage();
-    /**
-     * <code>optional .OobMessage oobMessage = 8;</code>
-     *
-     * <pre>
-     * bidirectional message not related to any particular RPC call. 
-     * </pre>
-     */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage getOobMessage();
-    /**
-     * <code>optional .OobMessage oobMessage = 8;</code>
-     *
-     * <pre>
-     * bidirectional message not related to any particular RPC call. 
-     * </pre>
-     */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder getOobMessageOrBuilder();
-
-    /**
-     * <code>optional .OobMessage transparentMessage = 100;</code>
-     *
-     * <pre>
-     *Message just passed through the Pipeline and not touched. 
-     *Reduces need of extension handling for several of customization cases.
-     * </pre>
-     */
-    boolean hasTransparentMessage();
-    /**
-     * <code>optional .OobMessage transparentMessage = 100;</code>
-     *
-     * <pre>
-     *Message just passed through the Pipeline and not touched. 
-     *Reduces need of extension handling for several of customization cases.
-     * </pre>
-     */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage getTransparentMessage();
-    /**
-     * <code>optional .OobMessage transparentMessage = 100;</code>
-     *
-     * <pre>
-     *Message just passed through the Pipeline and not touched. 
-     *Reduces need of extension handling for several of customization cases.
-     * </pre>
-     */
-    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder getTransparentMessageOrBuilder();
+    com.google.protobuf.ByteString getMessageBytes();
   }
   /**
-   * Protobuf type {@code WirePayload}
+   * Protobuf type {@code OobResponse}
    */
-  public static final class WirePayload extends
-      com.google.protobuf.GeneratedMessage.ExtendableMessage<
-        WirePayload> implements
-      // @@protoc_insertion_point(message_implements:WirePayload)
-      WirePayloadOrBuilder {
-    // Use WirePayload.newBuilder() to construct.
-    private WirePayload(com.google.protobuf.GeneratedMessage.ExtendableBuilder<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload, ?> builder) {
+  public static final class OobResponse extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:OobResponse)
+      OobResponseOrBuilder {
+    // Use OobResponse.newBuilder() to construct.
+    private OobResponse(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
       super(builder);
       this.unknownFields = builder.getUnknownFields();
     }
-    private WirePayload(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+    private OobResponse(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
 
-    private static final WirePayload defaultInstance;
-    public static WirePayload getDefaultInstance() {
+    private static final OobResponse defaultInstance;
+    public static OobResponse getDefaultInstance() {
       return defaultInstance;
     }
 
-    public WirePayload getDefaultInstanceForType() {
+    public OobResponse getDefaultInstanceForType() {
       return defaultInstance;
     }
 
@@ -5182,7 +6495,7 @@ public final class DuplexProtocol {
         getUnknownFields() {
       return this.unknownFields;
     }
-    private WirePayload(
+    private OobResponse(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
@@ -5205,121 +6518,14 @@ public final class DuplexProtocol {
               }
               break;
             }
-            case 10: {
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.Builder subBuilder = null;
-              if (((bitField0_ & 0x00000001) == 0x00000001)) {
-                subBuilder = connectRequest_.toBuilder();
-              }
-              connectRequest_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.PARSER, extensionRegistry);
-              if (subBuilder != null) {
-                subBuilder.mergeFrom(connectRequest_);
-                connectRequest_ = subBuilder.buildPartial();
-              }
+            case 8: {
               bitField0_ |= 0x00000001;
+              correlationId_ = input.readInt32();
               break;
             }
             case 18: {
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.Builder subBuilder = null;
-              if (((bitField0_ & 0x00000002) == 0x00000002)) {
-                subBuilder = connectResponse_.toBuilder();
-              }
-              connectResponse_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.PARSER, extensionRegistry);
-              if (subBuilder != null) {
-                subBuilder.mergeFrom(connectResponse_);
-                connectResponse_ = subBuilder.buildPartial();
-              }
               bitField0_ |= 0x00000002;
-              break;
-            }
-            case 26: {
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder subBuilder = null;
-              if (((bitField0_ & 0x00000004) == 0x00000004)) {
-                subBuilder = rpcRequest_.toBuilder();
-              }
-              rpcRequest_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.PARSER, extensionRegistry);
-              if (subBuilder != null) {
-                subBuilder.mergeFrom(rpcRequest_);
-                rpcRequest_ = subBuilder.buildPartial();
-              }
-              bitField0_ |= 0x00000004;
-              break;
-            }
-            case 34: {
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder subBuilder = null;
-              if (((bitField0_ & 0x00000008) == 0x00000008)) {
-                subBuilder = rpcResponse_.toBuilder();
-              }
-              rpcResponse_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.PARSER, extensionRegistry);
-              if (subBuilder != null) {
-                subBuilder.mergeFrom(rpcResponse_);
-                rpcResponse_ = subBuilder.buildPartial();
-              }
-              bitField0_ |= 0x00000008;
-              break;
-            }
-            case 42: {
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.Builder subBuilder = null;
-              if (((bitField0_ & 0x00000010) == 0x00000010)) {
-                subBuilder = rpcError_.toBuilder();
-              }
-              rpcError_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.PARSER, extensionRegistry);
-              if (subBuilder != null) {
-                subBuilder.mergeFrom(rpcError_);
-                rpcError_ = subBuilder.buildPartial();
-              }
-              bitField0_ |= 0x00000010;
-              break;
-            }
-            case 50: {
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.Builder subBuilder = null;
-              if (((bitField0_ & 0x00000020) == 0x00000020)) {
-                subBuilder = rpcCancel_.toBuilder();
-              }
-              rpcCancel_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.PARSER, extensionRegistry);
-              if (subBuilder != null) {
-                subBuilder.mergeFrom(rpcCancel_);
-                rpcCancel_ = subBuilder.buildPartial();
-              }
-              bitField0_ |= 0x00000020;
-              break;
-            }
-            case 58: {
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.Builder subBuilder = null;
-              if (((bitField0_ & 0x00000040) == 0x00000040)) {
-                subBuilder = oobResponse_.toBuilder();
-              }
-              oobResponse_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.PARSER, extensionRegistry);
-              if (subBuilder != null) {
-                subBuilder.mergeFrom(oobResponse_);
-                oobResponse_ = subBuilder.buildPartial();
-              }
-              bitField0_ |= 0x00000040;
-              break;
-            }
-            case 66: {
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder subBuilder = null;
-              if (((bitField0_ & 0x00000080) == 0x00000080)) {
-                subBuilder = oobMessage_.toBuilder();
-              }
-              oobMessage_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.PARSER, extensionRegistry);
-              if (subBuilder != null) {
-                subBuilder.mergeFrom(oobMessage_);
-                oobMessage_ = subBuilder.buildPartial();
-              }
-              bitField0_ |= 0x00000080;
-              break;
-            }
-            case 802: {
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder subBuilder = null;
-              if (((bitField0_ & 0x00000100) == 0x00000100)) {
-                subBuilder = transparentMessage_.toBuilder();
-              }
-              transparentMessage_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.PARSER, extensionRegistry);
-              if (subBuilder != null) {
-                subBuilder.mergeFrom(transparentMessage_);
-                transparentMessage_ = subBuilder.buildPartial();
-              }
-              bitField0_ |= 0x00000100;
+              messageBytes_ = input.readBytes();
               break;
             }
           }
@@ -5336,273 +6542,579 @@ public final class DuplexProtocol {
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_WirePayload_descriptor;
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobResponse_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_WirePayload_fieldAccessorTable
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobResponse_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload.Builder.class);
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.Builder.class);
     }
 
-    public static com.google.protobuf.Parser<WirePayload> PARSER =
-        new com.google.protobuf.AbstractParser<WirePayload>() {
-      public WirePayload parsePartialFrom(
+    public static com.google.protobuf.Parser<OobResponse> PARSER =
+        new com.google.protobuf.AbstractParser<OobResponse>() {
+      public OobResponse parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-        return new WirePayload(input, extensionRegistry);
+        return new OobResponse(input, extensionRegistry);
       }
     };
 
     @java.lang.Override
-    public com.google.protobuf.Parser<WirePayload> getParserForType() {
+    public com.google.protobuf.Parser<OobResponse> getParserForType() {
       return PARSER;
     }
 
     private int bitField0_;
-    public static final int CONNECTREQUEST_FIELD_NUMBER = 1;
-    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest connectRequest_;
+    public static final int CORRELATIONID_FIELD_NUMBER = 1;
+    private int correlationId_;
     /**
-     * <code>optional .ConnectRequest connectRequest = 1;</code>
+     * <code>required int32 correlationId = 1;</code>
      */
-    public boolean hasConnectRequest() {
+    public boolean hasCorrelationId() {
       return ((bitField0_ & 0x00000001) == 0x00000001);
     }
     /**
-     * <code>optional .ConnectRequest connectRequest = 1;</code>
-     */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest getConnectRequest() {
-      return connectRequest_;
-    }
-    /**
-     * <code>optional .ConnectRequest connectRequest = 1;</code>
+     * <code>required int32 correlationId = 1;</code>
      */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequestOrBuilder getConnectRequestOrBuilder() {
-      return connectRequest_;
+    public int getCorrelationId() {
+      return correlationId_;
     }
 
-    public static final int CONNECTRESPONSE_FIELD_NUMBER = 2;
-    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse connectResponse_;
+    public static final int MESSAGEBYTES_FIELD_NUMBER = 2;
+    private com.google.protobuf.ByteString messageBytes_;
     /**
-     * <code>optional .ConnectResponse connectResponse = 2;</code>
+     * <code>required bytes messageBytes = 2;</code>
      */
-    public boolean hasConnectResponse() {
+    public boolean hasMessageBytes() {
       return ((bitField0_ & 0x00000002) == 0x00000002);
     }
     /**
-     * <code>optional .ConnectResponse connectResponse = 2;</code>
+     * <code>required bytes messageBytes = 2;</code>
      */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse getConnectResponse() {
-      return connectResponse_;
+    public com.google.protobuf.ByteString getMessageBytes() {
+      return messageBytes_;
     }
-    /**
-     * <code>optional .ConnectResponse connectResponse = 2;</code>
-     */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponseOrBuilder getConnectResponseOrBuilder() {
-      return connectResponse_;
+
+    private void initFields() {
+      correlationId_ = 0;
+      messageBytes_ = com.google.protobuf.ByteString.EMPTY;
     }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
 
-    public static final int RPCREQUEST_FIELD_NUMBER = 3;
-    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest rpcRequest_;
-    /**
-     * <code>optional .RpcRequest rpcRequest = 3;</code>
-     */
-    public boolean hasRpcRequest() {
-      return ((bitField0_ & 0x00000004) == 0x00000004);
+      if (!hasCorrelationId()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      if (!hasMessageBytes()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
     }
-    /**
-     * <code>optional .RpcRequest rpcRequest = 3;</code>
-     */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest getRpcRequest() {
-      return rpcRequest_;
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeInt32(1, correlationId_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(2, messageBytes_);
+      }
+      getUnknownFields().writeTo(output);
     }
-    /**
-     * <code>optional .RpcRequest rpcRequest = 3;</code>
-     */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder getRpcRequestOrBuilder() {
-      return rpcRequest_;
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(1, correlationId_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, messageBytes_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
     }
 
-    public static final int RPCRESPONSE_FIELD_NUMBER = 4;
-    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse rpcResponse_;
-    /**
-     * <code>optional .RpcResponse rpcResponse = 4;</code>
-     */
-    public boolean hasRpcResponse() {
-      return ((bitField0_ & 0x00000008) == 0x00000008);
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
     }
-    /**
-     * <code>optional .RpcResponse rpcResponse = 4;</code>
-     */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse getRpcResponse() {
-      return rpcResponse_;
+
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
     }
-    /**
-     * <code>optional .RpcResponse rpcResponse = 4;</code>
-     */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder getRpcResponseOrBuilder() {
-      return rpcResponse_;
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
     }
-
-    public static final int RPCERROR_FIELD_NUMBER = 5;
-    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError rpcError_;
-    /**
-     * <code>optional .RpcError rpcError = 5;</code>
-     */
-    public boolean hasRpcError() {
-      return ((bitField0_ & 0x00000010) == 0x00000010);
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
     }
-    /**
-     * <code>optional .RpcError rpcError = 5;</code>
-     */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError getRpcError() {
-      return rpcError_;
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
     }
-    /**
-     * <code>optional .RpcError rpcError = 5;</code>
-     */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcErrorOrBuilder getRpcErrorOrBuilder() {
-      return rpcError_;
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
     }
-
-    public static final int RPCCANCEL_FIELD_NUMBER = 6;
-    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel rpcCancel_;
-    /**
-     * <code>optional .RpcCancel rpcCancel = 6;</code>
-     */
-    public boolean hasRpcCancel() {
-      return ((bitField0_ & 0x00000020) == 0x00000020);
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
     }
-    /**
-     * <code>optional .RpcCancel rpcCancel = 6;</code>
-     */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel getRpcCancel() {
-      return rpcCancel_;
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
     }
-    /**
-     * <code>optional .RpcCancel rpcCancel = 6;</code>
-     */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancelOrBuilder getRpcCancelOrBuilder() {
-      return rpcCancel_;
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
     }
 
-    public static final int OOBRESPONSE_FIELD_NUMBER = 7;
-    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse oobResponse_;
-    /**
-     * <code>optional .OobResponse oobResponse = 7;</code>
-     *
-     * <pre>
-     * out of band responses from RPC server to client during 
-     * the processing of a RPC call
-     * </pre>
-     */
-    public boolean hasOobResponse() {
-      return ((bitField0_ & 0x00000040) == 0x00000040);
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse prototype) {
+      return newBuilder().mergeFrom(prototype);
     }
-    /**
-     * <code>optional .OobResponse oobResponse = 7;</code>
-     *
-     * <pre>
-     * out of band responses from RPC server to client during 
-     * the processing of a RPC call
-     * </pre>
-     */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse getOobResponse() {
-      return oobResponse_;
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
     }
     /**
-     * <code>optional .OobResponse oobResponse = 7;</code>
-     *
-     * <pre>
-     * out of band responses from RPC server to client during 
-     * the processing of a RPC call
-     * </pre>
+     * Protobuf type {@code OobResponse}
      */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponseOrBuilder getOobResponseOrBuilder() {
-      return oobResponse_;
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:OobResponse)
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponseOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobResponse_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobResponse_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.Builder.class);
+      }
+
+      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        correlationId_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        messageBytes_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobResponse_descriptor;
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse getDefaultInstanceForType() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.getDefaultInstance();
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse build() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse buildPartial() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.correlationId_ = correlationId_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.messageBytes_ = messageBytes_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse) {
+          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse other) {
+        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.getDefaultInstance()) return this;
+        if (other.hasCorrelationId()) {
+          setCorrelationId(other.getCorrelationId());
+        }
+        if (other.hasMessageBytes()) {
+          setMessageBytes(other.getMessageBytes());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!hasCorrelationId()) {
+          
+          return false;
+        }
+        if (!hasMessageBytes()) {
+          
+          return false;
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private int correlationId_ ;
+      /**
+       * <code>required int32 correlationId = 1;</code>
+       */
+      public boolean hasCorrelationId() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>required int32 correlationId = 1;</code>
+       */
+      public int getCorrelationId() {
+        return correlationId_;
+      }
+      /**
+       * <code>required int32 correlationId = 1;</code>
+       */
+      public Builder setCorrelationId(int value) {
+        bitField0_ |= 0x00000001;
+        correlationId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required int32 correlationId = 1;</code>
+       */
+      public Builder clearCorrelationId() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        correlationId_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.ByteString messageBytes_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>required bytes messageBytes = 2;</code>
+       */
+      public boolean hasMessageBytes() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>required bytes messageBytes = 2;</code>
+       */
+      public com.google.protobuf.ByteString getMessageBytes() {
+        return messageBytes_;
+      }
+      /**
+       * <code>required bytes messageBytes = 2;</code>
+       */
+      public Builder setMessageBytes(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        messageBytes_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required bytes messageBytes = 2;</code>
+       */
+      public Builder clearMessageBytes() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        messageBytes_ = getDefaultInstance().getMessageBytes();
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:OobResponse)
     }
 
-    public static final int OOBMESSAGE_FIELD_NUMBER = 8;
-    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage oobMessage_;
+    static {
+      defaultInstance = new OobResponse(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:OobResponse)
+  }
+
+  public interface OobCreditOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:OobCredit)
+      com.google.protobuf.MessageOrBuilder {
+
     /**
-     * <code>optional .OobMessage oobMessage = 8;</code>
+     * <code>required int32 correlationId = 1;</code>
+     */
+    boolean hasCorrelationId();
+    /**
+     * <code>required int32 correlationId = 1;</code>
+     */
+    int getCorrelationId();
+
+    /**
+     * <code>required int32 credits = 2;</code>
      *
      * <pre>
-     * bidirectional message not related to any particular RPC call. 
+     * the number of further OobResponses the client's Subscriber of
+     * the call can receive.
      * </pre>
      */
-    public boolean hasOobMessage() {
-      return ((bitField0_ & 0x00000080) == 0x00000080);
-    }
+    boolean hasCredits();
     /**
-     * <code>optional .OobMessage oobMessage = 8;</code>
+     * <code>required int32 credits = 2;</code>
      *
      * <pre>
-     * bidirectional message not related to any particular RPC call. 
+     * the number of further OobResponses the client's Subscriber of
+     * the call can receive.
      * </pre>
      */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage getOobMessage() {
-      return oobMessage_;
-    }
+    int getCredits();
+  }
+  /**
+   * Protobuf type {@code OobCredit}
+   */
+  public static final class OobCredit extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:OobCredit)
+      OobCreditOrBuilder {
+    // Use OobCredit.newBuilder() to construct.
+    private OobCredit(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private OobCredit(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final OobCredit defaultInstance;
+    public static OobCredit getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public OobCredit getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private OobCredit(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 8: {
+              bitField0_ |= 0x00000001;
+              correlationId_ = input.readInt32();
+              break;
+            }
+            case 16: {
+              bitField0_ |= 0x00000002;
+              credits_ = input.readInt32();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobCredit_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobCredit_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<OobCredit> PARSER =
+        new com.google.protobuf.AbstractParser<OobCredit>() {
+      public OobCredit parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new OobCredit(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<OobCredit> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    public static final int CORRELATIONID_FIELD_NUMBER = 1;
+    private int correlationId_;
     /**
-     * <code>optional .OobMessage oobMessage = 8;</code>
-     *
-     * <pre>
-     * bidirectional message not related to any particular RPC call. 
-     * </pre>
+     * <code>required int32 correlationId = 1;</code>
      */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder getOobMessageOrBuilder() {
-      return oobMessage_;
+    public boolean hasCorrelationId() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
     }
-
-    public static final int TRANSPARENTMESSAGE_FIELD_NUMBER = 100;
-    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage transparentMessage_;
     /**
-     * <code>optional .OobMessage transparentMessage = 100;</code>
-     *
-     * <pre>
-     *Message just passed through the Pipeline and not touched. 
-     *Reduces need of extension handling for several of customization cases.
-     * </pre>
+     * <code>required int32 correlationId = 1;</code>
      */
-    public boolean hasTransparentMessage() {
-      return ((bitField0_ & 0x00000100) == 0x00000100);
+    public int getCorrelationId() {
+      return correlationId_;
     }
+
+    public static final int CREDITS_FIELD_NUMBER = 2;
+    private int credits_;
     /**
-     * <code>optional .OobMessage transparentMessage = 100;</code>
+     * <code>required int32 credits = 2;</code>
      *
      * <pre>
-     *Message just passed through the Pipeline and not touched. 
-     *Reduces need of extension handling for several of customization cases.
+     * the number of further OobResponses the client's Subscriber of
+     * the call can receive.
      * </pre>
      */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage getTransparentMessage() {
-      return transparentMessage_;
+    public boolean hasCredits() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
     }
     /**
-     * <code>optional .OobMessage transparentMessage = 100;</code>
+     * <code>required int32 credits = 2;</code>
      *
      * <pre>
-     *Message just passed through the Pipeline and not touched. 
-     *Reduces need of extension handling for several of customization cases.
+     * the number of further OobResponses the client's Subscriber of
+     * the call can receive.
      * </pre>
      */
-    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder getTransparentMessageOrBuilder() {
-      return transparentMessage_;
+    public int getCredits() {
+      return credits_;
     }
 
     private void initFields() {
-      connectRequest_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.getDefaultInstance();
-      connectResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.getDefaultInstance();
-      rpcRequest_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.getDefaultInstance();
-      rpcResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.getDefaultInstance();
-      rpcError_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.getDefaultInstance();
-      rpcCancel_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.getDefaultInstance();
-      oobResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.getDefaultInstance();
-      oobMessage_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance();
-      transparentMessage_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance();
+      correlationId_ = 0;
+      credits_ = 0;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -5610,1565 +7122,6287 @@ public final class DuplexProtocol {
       if (isInitialized == 1) return true;
       if (isInitialized == 0) return false;
 
-      if (hasConnectRequest()) {
-        if (!getConnectRequest().isInitialized()) {
-          memoizedIsInitialized = 0;
-          return false;
-        }
+      if (!hasCorrelationId()) {
+        memoizedIsInitialized = 0;
+        return false;
       }
-      if (hasConnectResponse()) {
-        if (!getConnectResponse().isInitialized()) {
-          memoizedIsInitialized = 0;
-          return false;
-        }
+      if (!hasCredits()) {
+        memoizedIsInitialized = 0;
+        return false;
       }
-      if (hasRpcRequest()) {
-        if (!getRpcRequest().isInitialized()) {
-          memoizedIsInitialized = 0;
-          return false;
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeInt32(1, correlationId_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeInt32(2, credits_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(1, correlationId_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(2, credits_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code OobCredit}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:OobCredit)
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCreditOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobCredit_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobCredit_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.Builder.class);
+      }
+
+      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        correlationId_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        credits_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobCredit_descriptor;
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit getDefaultInstanceForType() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.getDefaultInstance();
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit build() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit buildPartial() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.correlationId_ = correlationId_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.credits_ = credits_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit) {
+          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit other) {
+        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.getDefaultInstance()) return this;
+        if (other.hasCorrelationId()) {
+          setCorrelationId(other.getCorrelationId());
+        }
+        if (other.hasCredits()) {
+          setCredits(other.getCredits());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!hasCorrelationId()) {
+          
+          return false;
+        }
+        if (!hasCredits()) {
+          
+          return false;
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private int correlationId_ ;
+      /**
+       * <code>required int32 correlationId = 1;</code>
+       */
+      public boolean hasCorrelationId() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>required int32 correlationId = 1;</code>
+       */
+      public int getCorrelationId() {
+        return correlationId_;
+      }
+      /**
+       * <code>required int32 correlationId = 1;</code>
+       */
+      public Builder setCorrelationId(int value) {
+        bitField0_ |= 0x00000001;
+        correlationId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required int32 correlationId = 1;</code>
+       */
+      public Builder clearCorrelationId() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        correlationId_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private int credits_ ;
+      /**
+       * <code>required int32 credits = 2;</code>
+       *
+       * <pre>
+       * the number of further OobResponses the client's Subscriber of
+       * the call can receive.
+       * </pre>
+       */
+      public boolean hasCredits() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>required int32 credits = 2;</code>
+       *
+       * <pre>
+       * the number of further OobResponses the client's Subscriber of
+       * the call can receive.
+       * </pre>
+       */
+      public int getCredits() {
+        return credits_;
+      }
+      /**
+       * <code>required int32 credits = 2;</code>
+       *
+       * <pre>
+       * the number of further OobResponses the client's Subscriber of
+       * the call can receive.
+       * </pre>
+       */
+      public Builder setCredits(int value) {
+        bitField0_ |= 0x00000002;
+        credits_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required int32 credits = 2;</code>
+       *
+       * <pre>
+       * the number of further OobResponses the client's Subscriber of
+       * the call can receive.
+       * </pre>
+       */
+      public Builder clearCredits() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        credits_ = 0;
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:OobCredit)
+    }
+
+    static {
+      defaultInstance = new OobCredit(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:OobCredit)
+  }
+
+  public interface StreamChunkOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:StreamChunk)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>required int32 correlationId = 1;</code>
+     */
+    boolean hasCorrelationId();
+    /**
+     * <code>required int32 correlationId = 1;</code>
+     */
+    int getCorrelationId();
+
+    /**
+     * <code>required bytes messageBytes = 2;</code>
+     *
+     * <pre>
+     * one message of the request stream of a RPC call, of the method's
+     * request type.
+     * </pre>
+     */
+    boolean hasMessageBytes();
+    /**
+     * <code>required bytes messageBytes = 2;</code>
+     *
+     * <pre>
+     * one message of the request stream of a RPC call, of the method's
+     * request type.
+     * </pre>
+     */
+    com.google.protobuf.ByteString getMessageBytes();
+  }
+  /**
+   * Protobuf type {@code StreamChunk}
+   */
+  public static final class StreamChunk extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:StreamChunk)
+      StreamChunkOrBuilder {
+    // Use StreamChunk.newBuilder() to construct.
+    private StreamChunk(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private StreamChunk(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final StreamChunk defaultInstance;
+    public static StreamChunk getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public StreamChunk getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private StreamChunk(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 8: {
+              bitField0_ |= 0x00000001;
+              correlationId_ = input.readInt32();
+              break;
+            }
+            case 18: {
+              bitField0_ |= 0x00000002;
+              messageBytes_ = input.readBytes();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_StreamChunk_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_StreamChunk_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<StreamChunk> PARSER =
+        new com.google.protobuf.AbstractParser<StreamChunk>() {
+      public StreamChunk parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new StreamChunk(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<StreamChunk> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    public static final int CORRELATIONID_FIELD_NUMBER = 1;
+    private int correlationId_;
+    /**
+     * <code>required int32 correlationId = 1;</code>
+     */
+    public boolean hasCorrelationId() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>required int32 correlationId = 1;</code>
+     */
+    public int getCorrelationId() {
+      return correlationId_;
+    }
+
+    public static final int MESSAGEBYTES_FIELD_NUMBER = 2;
+    private com.google.protobuf.ByteString messageBytes_;
+    /**
+     * <code>required bytes messageBytes = 2;</code>
+     *
+     * <pre>
+     * one message of the request stream of a RPC call, of the method's
+     * request type.
+     * </pre>
+     */
+    public boolean hasMessageBytes() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>required bytes messageBytes = 2;</code>
+     *
+     * <pre>
+     * one message of the request stream of a RPC call, of the method's
+     * request type.
+     * </pre>
+     */
+    public com.google.protobuf.ByteString getMessageBytes() {
+      return messageBytes_;
+    }
+
+    private void initFields() {
+      correlationId_ = 0;
+      messageBytes_ = com.google.protobuf.ByteString.EMPTY;
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      if (!hasCorrelationId()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      if (!hasMessageBytes()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeInt32(1, correlationId_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(2, messageBytes_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(1, correlationId_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, messageBytes_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code StreamChunk}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:StreamChunk)
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunkOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_StreamChunk_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_StreamChunk_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.Builder.class);
+      }
+
+      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        correlationId_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        messageBytes_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_StreamChunk_descriptor;
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk getDefaultInstanceForType() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.getDefaultInstance();
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk build() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk buildPartial() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.correlationId_ = correlationId_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.messageBytes_ = messageBytes_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk) {
+          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk other) {
+        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.getDefaultInstance()) return this;
+        if (other.hasCorrelationId()) {
+          setCorrelationId(other.getCorrelationId());
+        }
+        if (other.hasMessageBytes()) {
+          setMessageBytes(other.getMessageBytes());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!hasCorrelationId()) {
+          
+          return false;
+        }
+        if (!hasMessageBytes()) {
+          
+          return false;
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private int correlationId_ ;
+      /**
+       * <code>required int32 correlationId = 1;</code>
+       */
+      public boolean hasCorrelationId() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>required int32 correlationId = 1;</code>
+       */
+      public int getCorrelationId() {
+        return correlationId_;
+      }
+      /**
+       * <code>required int32 correlationId = 1;</code>
+       */
+      public Builder setCorrelationId(int value) {
+        bitField0_ |= 0x00000001;
+        correlationId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required int32 correlationId = 1;</code>
+       */
+      public Builder clearCorrelationId() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        correlationId_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.ByteString messageBytes_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>required bytes messageBytes = 2;</code>
+       *
+       * <pre>
+       * one message of the request stream of a RPC call, of the method's
+       * request type.
+       * </pre>
+       */
+      public boolean hasMessageBytes() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>required bytes messageBytes = 2;</code>
+       *
+       * <pre>
+       * one message of the request stream of a RPC call, of the method's
+       * request type.
+       * </pre>
+       */
+      public com.google.protobuf.ByteString getMessageBytes() {
+        return messageBytes_;
+      }
+      /**
+       * <code>required bytes messageBytes = 2;</code>
+       *
+       * <pre>
+       * one message of the request stream of a RPC call, of the method's
+       * request type.
+       * </pre>
+       */
+      public Builder setMessageBytes(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        messageBytes_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required bytes messageBytes = 2;</code>
+       *
+       * <pre>
+       * one message of the request stream of a RPC call, of the method's
+       * request type.
+       * </pre>
+       */
+      public Builder clearMessageBytes() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        messageBytes_ = getDefaultInstance().getMessageBytes();
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:StreamChunk)
+    }
+
+    static {
+      defaultInstance = new StreamChunk(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:StreamChunk)
+  }
+
+  public interface StreamEndOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:StreamEnd)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>required int32 correlationId = 1;</code>
+     */
+    boolean hasCorrelationId();
+    /**
+     * <code>required int32 correlationId = 1;</code>
+     */
+    int getCorrelationId();
+
+    /**
+     * <code>optional string errorMessage = 2;</code>
+     *
+     * <pre>
+     * set if the client's Publisher of the request stream failed,
+     * otherwise it completed.
+     * </pre>
+     */
+    boolean hasErrorMessage();
+    /**
+     * <code>optional string errorMessage = 2;</code>
+     *
+     * <pre>
+     * set if the client's Publisher of the request stream failed,
+     * otherwise it completed.
+     * </pre>
+     */
+    java.lang.String getErrorMessage();
+    /**
+     * <code>optional string errorMessage = 2;</code>
+     *
+     * <pre>
+     * set if the client's Publisher of the request stream failed,
+     * otherwise it completed.
+     * </pre>
+     */
+    com.google.protobuf.ByteString
+        getErrorMessageBytes();
+  }
+  /**
+   * Protobuf type {@code StreamEnd}
+   */
+  public static final class StreamEnd extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:StreamEnd)
+      StreamEndOrBuilder {
+    // Use StreamEnd.newBuilder() to construct.
+    private StreamEnd(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private StreamEnd(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final StreamEnd defaultInstance;
+    public static StreamEnd getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public StreamEnd getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private StreamEnd(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 8: {
+              bitField0_ |= 0x00000001;
+              correlationId_ = input.readInt32();
+              break;
+            }
+            case 18: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000002;
+              errorMessage_ = bs;
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_StreamEnd_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_StreamEnd_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<StreamEnd> PARSER =
+        new com.google.protobuf.AbstractParser<StreamEnd>() {
+      public StreamEnd parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new StreamEnd(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<StreamEnd> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    public static final int CORRELATIONID_FIELD_NUMBER = 1;
+    private int correlationId_;
+    /**
+     * <code>required int32 correlationId = 1;</code>
+     */
+    public boolean hasCorrelationId() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>required int32 correlationId = 1;</code>
+     */
+    public int getCorrelationId() {
+      return correlationId_;
+    }
+
+    public static final int ERRORMESSAGE_FIELD_NUMBER = 2;
+    private java.lang.Object errorMessage_;
+    /**
+     * <code>optional string errorMessage = 2;</code>
+     *
+     * <pre>
+     * set if the client's Publisher of the request stream failed,
+     * otherwise it completed.
+     * </pre>
+     */
+    public boolean hasErrorMessage() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional string errorMessage = 2;</code>
+     *
+     * <pre>
+     * set if the client's Publisher of the request stream failed,
+     * otherwise it completed.
+     * </pre>
+     */
+    public java.lang.String getErrorMessage() {
+      java.lang.Object ref = errorMessage_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          errorMessage_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string errorMessage = 2;</code>
+     *
+     * <pre>
+     * set if the client's Publisher of the request stream failed,
+     * otherwise it completed.
+     * </pre>
+     */
+    public com.google.protobuf.ByteString
+        getErrorMessageBytes() {
+      java.lang.Object ref = errorMessage_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        errorMessage_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    private void initFields() {
+      correlationId_ = 0;
+      errorMessage_ = "";
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      if (!hasCorrelationId()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeInt32(1, correlationId_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(2, getErrorMessageBytes());
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(1, correlationId_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, getErrorMessageBytes());
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code StreamEnd}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:StreamEnd)
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEndOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_StreamEnd_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_StreamEnd_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.Builder.class);
+      }
+
+      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        correlationId_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        errorMessage_ = "";
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_StreamEnd_descriptor;
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd getDefaultInstanceForType() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.getDefaultInstance();
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd build() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd buildPartial() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.correlationId_ = correlationId_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.errorMessage_ = errorMessage_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd) {
+          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd other) {
+        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.getDefaultInstance()) return this;
+        if (other.hasCorrelationId()) {
+          setCorrelationId(other.getCorrelationId());
+        }
+        if (other.hasErrorMessage()) {
+          bitField0_ |= 0x00000002;
+          errorMessage_ = other.errorMessage_;
+          onChanged();
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!hasCorrelationId()) {
+          
+          return false;
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private int correlationId_ ;
+      /**
+       * <code>required int32 correlationId = 1;</code>
+       */
+      public boolean hasCorrelationId() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>required int32 correlationId = 1;</code>
+       */
+      public int getCorrelationId() {
+        return correlationId_;
+      }
+      /**
+       * <code>required int32 correlationId = 1;</code>
+       */
+      public Builder setCorrelationId(int value) {
+        bitField0_ |= 0x00000001;
+        correlationId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required int32 correlationId = 1;</code>
+       */
+      public Builder clearCorrelationId() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        correlationId_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object errorMessage_ = "";
+      /**
+       * <code>optional string errorMessage = 2;</code>
+       *
+       * <pre>
+       * set if the client's Publisher of the request stream failed,
+       * otherwise it completed.
+       * </pre>
+       */
+      public boolean hasErrorMessage() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional string errorMessage = 2;</code>
+       *
+       * <pre>
+       * set if the client's Publisher of the request stream failed,
+       * otherwise it completed.
+       * </pre>
+       */
+      public java.lang.String getErrorMessage() {
+        java.lang.Object ref = errorMessage_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            errorMessage_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string errorMessage = 2;</code>
+       *
+       * <pre>
+       * set if the client's Publisher of the request stream failed,
+       * otherwise it completed.
+       * </pre>
+       */
+      public com.google.protobuf.ByteString
+          getErrorMessageBytes() {
+        java.lang.Object ref = errorMessage_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          errorMessage_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string errorMessage = 2;</code>
+       *
+       * <pre>
+       * set if the client's Publisher of the request stream failed,
+       * otherwise it completed.
+       * </pre>
+       */
+      public Builder setErrorMessage(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        errorMessage_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string errorMessage = 2;</code>
+       *
+       * <pre>
+       * set if the client's Publisher of the request stream failed,
+       * otherwise it completed.
+       * </pre>
+       */
+      public Builder clearErrorMessage() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        errorMessage_ = getDefaultInstance().getErrorMessage();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string errorMessage = 2;</code>
+       *
+       * <pre>
+       * set if the client's Publisher of the request stream failed,
+       * otherwise it completed.
+       * </pre>
+       */
+      public Builder setErrorMessageBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        errorMessage_ = value;
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:StreamEnd)
+    }
+
+    static {
+      defaultInstance = new StreamEnd(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:StreamEnd)
+  }
+
+  public interface OobMessageOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:OobMessage)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>required bytes messageBytes = 1;</code>
+     */
+    boolean hasMessageBytes();
+    /**
+     * <code>required bytes messageBytes = 1;</code>
+     */
+    com.google.protobuf.ByteString getMessageBytes();
+  }
+  /**
+   * Protobuf type {@code OobMessage}
+   */
+  public static final class OobMessage extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:OobMessage)
+      OobMessageOrBuilder {
+    // Use OobMessage.newBuilder() to construct.
+    private OobMessage(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private OobMessage(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final OobMessage defaultInstance;
+    public static OobMessage getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public OobMessage getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private OobMessage(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              bitField0_ |= 0x00000001;
+              messageBytes_ = input.readBytes();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobMessage_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobMessage_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<OobMessage> PARSER =
+        new com.google.protobuf.AbstractParser<OobMessage>() {
+      public OobMessage parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new OobMessage(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<OobMessage> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    public static final int MESSAGEBYTES_FIELD_NUMBER = 1;
+    private com.google.protobuf.ByteString messageBytes_;
+    /**
+     * <code>required bytes messageBytes = 1;</code>
+     */
+    public boolean hasMessageBytes() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>required bytes messageBytes = 1;</code>
+     */
+    public com.google.protobuf.ByteString getMessageBytes() {
+      return messageBytes_;
+    }
+
+    private void initFields() {
+      messageBytes_ = com.google.protobuf.ByteString.EMPTY;
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      if (!hasMessageBytes()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(1, messageBytes_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(1, messageBytes_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code OobMessage}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:OobMessage)
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobMessage_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobMessage_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder.class);
+      }
+
+      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        messageBytes_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_OobMessage_descriptor;
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage getDefaultInstanceForType() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance();
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage build() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage buildPartial() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.messageBytes_ = messageBytes_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage) {
+          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage other) {
+        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance()) return this;
+        if (other.hasMessageBytes()) {
+          setMessageBytes(other.getMessageBytes());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!hasMessageBytes()) {
+          
+          return false;
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private com.google.protobuf.ByteString messageBytes_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>required bytes messageBytes = 1;</code>
+       */
+      public boolean hasMessageBytes() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>required bytes messageBytes = 1;</code>
+       */
+      public com.google.protobuf.ByteString getMessageBytes() {
+        return messageBytes_;
+      }
+      /**
+       * <code>required bytes messageBytes = 1;</code>
+       */
+      public Builder setMessageBytes(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        messageBytes_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required bytes messageBytes = 1;</code>
+       */
+      public Builder clearMessageBytes() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        messageBytes_ = getDefaultInstance().getMessageBytes();
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:OobMessage)
+    }
+
+    static {
+      defaultInstance = new OobMessage(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:OobMessage)
+  }
+
+  public interface WirePayloadOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:WirePayload)
+      com.google.protobuf.GeneratedMessage.
+          ExtendableMessageOrBuilder<WirePayload> {
+
+    /**
+     * <code>optional .ConnectRequest connectRequest = 1;</code>
+     */
+    boolean hasConnectRequest();
+    /**
+     * <code>optional .ConnectRequest connectRequest = 1;</code>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest getConnectRequest();
+    /**
+     * <code>optional .ConnectRequest connectRequest = 1;</code>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequestOrBuilder getConnectRequestOrBuilder();
+
+    /**
+     * <code>optional .ConnectResponse connectResponse = 2;</code>
+     */
+    boolean hasConnectResponse();
+    /**
+     * <code>optional .ConnectResponse connectResponse = 2;</code>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse getConnectResponse();
+    /**
+     * <code>optional .ConnectResponse connectResponse = 2;</code>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponseOrBuilder getConnectResponseOrBuilder();
+
+    /**
+     * <code>optional .RpcRequest rpcRequest = 3;</code>
+     */
+    boolean hasRpcRequest();
+    /**
+     * <code>optional .RpcRequest rpcRequest = 3;</code>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest getRpcRequest();
+    /**
+     * <code>optional .RpcRequest rpcRequest = 3;</code>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder getRpcRequestOrBuilder();
+
+    /**
+     * <code>optional .RpcResponse rpcResponse = 4;</code>
+     */
+    boolean hasRpcResponse();
+    /**
+     * <code>optional .RpcResponse rpcResponse = 4;</code>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse getRpcResponse();
+    /**
+     * <code>optional .RpcResponse rpcResponse = 4;</code>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder getRpcResponseOrBuilder();
+
+    /**
+     * <code>optional .RpcError rpcError = 5;</code>
+     */
+    boolean hasRpcError();
+    /**
+     * <code>optional .RpcError rpcError = 5;</code>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError getRpcError();
+    /**
+     * <code>optional .RpcError rpcError = 5;</code>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcErrorOrBuilder getRpcErrorOrBuilder();
+
+    /**
+     * <code>optional .RpcCancel rpcCancel = 6;</code>
+     */
+    boolean hasRpcCancel();
+    /**
+     * <code>optional .RpcCancel rpcCancel = 6;</code>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel getRpcCancel();
+    /**
+     * <code>optional .RpcCancel rpcCancel = 6;</code>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancelOrBuilder getRpcCancelOrBuilder();
+
+    /**
+     * <code>optional .OobResponse oobResponse = 7;</code>
+     *
+     * <pre>
+     * out of band responses from RPC server to client during 
+     * the processing of a RPC call
+     * </pre>
+     */
+    boolean hasOobResponse();
+    /**
+     * <code>optional .OobResponse oobResponse = 7;</code>
+     *
+     * <pre>
+     * out of band responses from RPC server to client during 
+     * the processing of a RPC call
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse getOobResponse();
+    /**
+     * <code>optional .OobResponse oobResponse = 7;</code>
+     *
+     * <pre>
+     * out of band responses from RPC server to client during 
+     * the processing of a RPC call
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponseOrBuilder getOobResponseOrBuilder();
+
+    /**
+     * <code>optional .OobMessage oobMessage = 8;</code>
+     *
+     * <pre>
+     * bidirectional message not related to any particular RPC call. 
+     * </pre>
+     */
+    boolean hasOobMessage();
+    /**
+     * <code>optional .OobMessage oobMessage = 8;</code>
+     *
+     * <pre>
+     * bidirectional message not related to any particular RPC call. 
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage getOobMessage();
+    /**
+     * <code>optional .OobMessage oobMessage = 8;</code>
+     *
+     * <pre>
+     * bidirectional message not related to any particular RPC call. 
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder getOobMessageOrBuilder();
+
+    /**
+     * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+     */
+    java.util.List<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest> 
+        getBatchedRpcRequestList();
+    /**
+     * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest getBatchedRpcRequest(int index);
+    /**
+     * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+     */
+    int getBatchedRpcRequestCount();
+    /**
+     * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+     */
+    java.util.List<? extends com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder> 
+        getBatchedRpcRequestOrBuilderList();
+    /**
+     * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder getBatchedRpcRequestOrBuilder(
+        int index);
+
+    /**
+     * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+     *
+     * <pre>
+     * several RPC calls sharing one frame, only sent if batching was 
+     * negotiated in the ConnectRequest and ConnectResponse.
+     * </pre>
+     */
+    java.util.List<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse> 
+        getBatchedRpcResponseList();
+    /**
+     * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+     *
+     * <pre>
+     * several RPC calls sharing one frame, only sent if batching was 
+     * negotiated in the ConnectRequest and ConnectResponse.
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse getBatchedRpcResponse(int index);
+    /**
+     * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+     *
+     * <pre>
+     * several RPC calls sharing one frame, only sent if batching was 
+     * negotiated in the ConnectRequest and ConnectResponse.
+     * </pre>
+     */
+    int getBatchedRpcResponseCount();
+    /**
+     * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+     *
+     * <pre>
+     * several RPC calls sharing one frame, only sent if batching was 
+     * negotiated in the ConnectRequest and ConnectResponse.
+     * </pre>
+     */
+    java.util.List<? extends com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder> 
+        getBatchedRpcResponseOrBuilderList();
+    /**
+     * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+     *
+     * <pre>
+     * several RPC calls sharing one frame, only sent if batching was 
+     * negotiated in the ConnectRequest and ConnectResponse.
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder getBatchedRpcResponseOrBuilder(
+        int index);
+
+    /**
+     * <code>optional .CompressedPayload compressedPayload = 11;</code>
+     *
+     * <pre>
+     * a frame compressed with the codec negotiated in the 
+     * ConnectRequest and ConnectResponse.
+     * </pre>
+     */
+    boolean hasCompressedPayload();
+    /**
+     * <code>optional .CompressedPayload compressedPayload = 11;</code>
+     *
+     * <pre>
+     * a frame compressed with the codec negotiated in the 
+     * ConnectRequest and ConnectResponse.
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload getCompressedPayload();
+    /**
+     * <code>optional .CompressedPayload compressedPayload = 11;</code>
+     *
+     * <pre>
+     * a frame compressed with the codec negotiated in the 
+     * ConnectRequest and ConnectResponse.
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayloadOrBuilder getCompressedPayloadOrBuilder();
+
+    /**
+     * <code>optional .OobCredit oobCredit = 12;</code>
+     *
+     * <pre>
+     * flow control of the OobResponses of a RPC call, which the server
+     * streams from a Publisher to the client's Subscriber.
+     * </pre>
+     */
+    boolean hasOobCredit();
+    /**
+     * <code>optional .OobCredit oobCredit = 12;</code>
+     *
+     * <pre>
+     * flow control of the OobResponses of a RPC call, which the server
+     * streams from a Publisher to the client's Subscriber.
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit getOobCredit();
+    /**
+     * <code>optional .OobCredit oobCredit = 12;</code>
+     *
+     * <pre>
+     * flow control of the OobResponses of a RPC call, which the server
+     * streams from a Publisher to the client's Subscriber.
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCreditOrBuilder getOobCreditOrBuilder();
+
+    /**
+     * <code>optional .StreamChunk streamChunk = 13;</code>
+     */
+    boolean hasStreamChunk();
+    /**
+     * <code>optional .StreamChunk streamChunk = 13;</code>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk getStreamChunk();
+    /**
+     * <code>optional .StreamChunk streamChunk = 13;</code>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunkOrBuilder getStreamChunkOrBuilder();
+
+    /**
+     * <code>optional .StreamEnd streamEnd = 14;</code>
+     *
+     * <pre>
+     * the request stream of a RPC call from client to server, which 
+     * follows the RpcRequest.
+     * </pre>
+     */
+    boolean hasStreamEnd();
+    /**
+     * <code>optional .StreamEnd streamEnd = 14;</code>
+     *
+     * <pre>
+     * the request stream of a RPC call from client to server, which 
+     * follows the RpcRequest.
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd getStreamEnd();
+    /**
+     * <code>optional .StreamEnd streamEnd = 14;</code>
+     *
+     * <pre>
+     * the request stream of a RPC call from client to server, which 
+     * follows the RpcRequest.
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEndOrBuilder getStreamEndOrBuilder();
+
+    /**
+     * <code>optional .OobCredit streamCredit = 15;</code>
+     *
+     * <pre>
+     * flow control of the request stream, the number of further 
+     * StreamChunks the server's Subscriber of the call can receive.
+     * </pre>
+     */
+    boolean hasStreamCredit();
+    /**
+     * <code>optional .OobCredit streamCredit = 15;</code>
+     *
+     * <pre>
+     * flow control of the request stream, the number of further 
+     * StreamChunks the server's Subscriber of the call can receive.
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit getStreamCredit();
+    /**
+     * <code>optional .OobCredit streamCredit = 15;</code>
+     *
+     * <pre>
+     * flow control of the request stream, the number of further 
+     * StreamChunks the server's Subscriber of the call can receive.
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCreditOrBuilder getStreamCreditOrBuilder();
+
+    /**
+     * <code>optional .OobMessage transparentMessage = 100;</code>
+     *
+     * <pre>
+     *Message just passed through the Pipeline and not touched. 
+     *Reduces need of extension handling for several of customization cases.
+     * </pre>
+     */
+    boolean hasTransparentMessage();
+    /**
+     * <code>optional .OobMessage transparentMessage = 100;</code>
+     *
+     * <pre>
+     *Message just passed through the Pipeline and not touched. 
+     *Reduces need of extension handling for several of customization cases.
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage getTransparentMessage();
+    /**
+     * <code>optional .OobMessage transparentMessage = 100;</code>
+     *
+     * <pre>
+     *Message just passed through the Pipeline and not touched. 
+     *Reduces need of extension handling for several of customization cases.
+     * </pre>
+     */
+    com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder getTransparentMessageOrBuilder();
+  }
+  /**
+   * Protobuf type {@code WirePayload}
+   */
+  public static final class WirePayload extends
+      com.google.protobuf.GeneratedMessage.ExtendableMessage<
+        WirePayload> implements
+      // @@protoc_insertion_point(message_implements:WirePayload)
+      WirePayloadOrBuilder {
+    // Use WirePayload.newBuilder() to construct.
+    private WirePayload(com.google.protobuf.GeneratedMessage.ExtendableBuilder<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload, ?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private WirePayload(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final WirePayload defaultInstance;
+    public static WirePayload getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public WirePayload getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private WirePayload(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000001) == 0x00000001)) {
+                subBuilder = connectRequest_.toBuilder();
+              }
+              connectRequest_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(connectRequest_);
+                connectRequest_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000001;
+              break;
+            }
+            case 18: {
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000002) == 0x00000002)) {
+                subBuilder = connectResponse_.toBuilder();
+              }
+              connectResponse_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(connectResponse_);
+                connectResponse_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000002;
+              break;
+            }
+            case 26: {
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000004) == 0x00000004)) {
+                subBuilder = rpcRequest_.toBuilder();
+              }
+              rpcRequest_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(rpcRequest_);
+                rpcRequest_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000004;
+              break;
+            }
+            case 34: {
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000008) == 0x00000008)) {
+                subBuilder = rpcResponse_.toBuilder();
+              }
+              rpcResponse_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(rpcResponse_);
+                rpcResponse_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000008;
+              break;
+            }
+            case 42: {
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000010) == 0x00000010)) {
+                subBuilder = rpcError_.toBuilder();
+              }
+              rpcError_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(rpcError_);
+                rpcError_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000010;
+              break;
+            }
+            case 50: {
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000020) == 0x00000020)) {
+                subBuilder = rpcCancel_.toBuilder();
+              }
+              rpcCancel_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(rpcCancel_);
+                rpcCancel_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000020;
+              break;
+            }
+            case 58: {
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000040) == 0x00000040)) {
+                subBuilder = oobResponse_.toBuilder();
+              }
+              oobResponse_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(oobResponse_);
+                oobResponse_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000040;
+              break;
+            }
+            case 66: {
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000080) == 0x00000080)) {
+                subBuilder = oobMessage_.toBuilder();
+              }
+              oobMessage_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(oobMessage_);
+                oobMessage_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000080;
+              break;
+            }
+            case 74: {
+              if (!((mutable_bitField0_ & 0x00000100) == 0x00000100)) {
+                batchedRpcRequest_ = new java.util.ArrayList<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest>();
+                mutable_bitField0_ |= 0x00000100;
+              }
+              batchedRpcRequest_.add(input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.PARSER, extensionRegistry));
+              break;
+            }
+            case 82: {
+              if (!((mutable_bitField0_ & 0x00000200) == 0x00000200)) {
+                batchedRpcResponse_ = new java.util.ArrayList<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse>();
+                mutable_bitField0_ |= 0x00000200;
+              }
+              batchedRpcResponse_.add(input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.PARSER, extensionRegistry));
+              break;
+            }
+            case 90: {
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000100) == 0x00000100)) {
+                subBuilder = compressedPayload_.toBuilder();
+              }
+              compressedPayload_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(compressedPayload_);
+                compressedPayload_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000100;
+              break;
+            }
+            case 98: {
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000200) == 0x00000200)) {
+                subBuilder = oobCredit_.toBuilder();
+              }
+              oobCredit_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(oobCredit_);
+                oobCredit_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000200;
+              break;
+            }
+            case 106: {
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000400) == 0x00000400)) {
+                subBuilder = streamChunk_.toBuilder();
+              }
+              streamChunk_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(streamChunk_);
+                streamChunk_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000400;
+              break;
+            }
+            case 114: {
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000800) == 0x00000800)) {
+                subBuilder = streamEnd_.toBuilder();
+              }
+              streamEnd_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(streamEnd_);
+                streamEnd_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000800;
+              break;
+            }
+            case 122: {
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.Builder subBuilder = null;
+              if (((bitField0_ & 0x00001000) == 0x00001000)) {
+                subBuilder = streamCredit_.toBuilder();
+              }
+              streamCredit_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(streamCredit_);
+                streamCredit_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00001000;
+              break;
+            }
+            case 802: {
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder subBuilder = null;
+              if (((bitField0_ & 0x00002000) == 0x00002000)) {
+                subBuilder = transparentMessage_.toBuilder();
+              }
+              transparentMessage_ = input.readMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(transparentMessage_);
+                transparentMessage_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00002000;
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000100) == 0x00000100)) {
+          batchedRpcRequest_ = java.util.Collections.unmodifiableList(batchedRpcRequest_);
+        }
+        if (((mutable_bitField0_ & 0x00000200) == 0x00000200)) {
+          batchedRpcResponse_ = java.util.Collections.unmodifiableList(batchedRpcResponse_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_WirePayload_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_WirePayload_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<WirePayload> PARSER =
+        new com.google.protobuf.AbstractParser<WirePayload>() {
+      public WirePayload parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new WirePayload(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<WirePayload> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    public static final int CONNECTREQUEST_FIELD_NUMBER = 1;
+    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest connectRequest_;
+    /**
+     * <code>optional .ConnectRequest connectRequest = 1;</code>
+     */
+    public boolean hasConnectRequest() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional .ConnectRequest connectRequest = 1;</code>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest getConnectRequest() {
+      return connectRequest_;
+    }
+    /**
+     * <code>optional .ConnectRequest connectRequest = 1;</code>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequestOrBuilder getConnectRequestOrBuilder() {
+      return connectRequest_;
+    }
+
+    public static final int CONNECTRESPONSE_FIELD_NUMBER = 2;
+    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse connectResponse_;
+    /**
+     * <code>optional .ConnectResponse connectResponse = 2;</code>
+     */
+    public boolean hasConnectResponse() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional .ConnectResponse connectResponse = 2;</code>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse getConnectResponse() {
+      return connectResponse_;
+    }
+    /**
+     * <code>optional .ConnectResponse connectResponse = 2;</code>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponseOrBuilder getConnectResponseOrBuilder() {
+      return connectResponse_;
+    }
+
+    public static final int RPCREQUEST_FIELD_NUMBER = 3;
+    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest rpcRequest_;
+    /**
+     * <code>optional .RpcRequest rpcRequest = 3;</code>
+     */
+    public boolean hasRpcRequest() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    /**
+     * <code>optional .RpcRequest rpcRequest = 3;</code>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest getRpcRequest() {
+      return rpcRequest_;
+    }
+    /**
+     * <code>optional .RpcRequest rpcRequest = 3;</code>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder getRpcRequestOrBuilder() {
+      return rpcRequest_;
+    }
+
+    public static final int RPCRESPONSE_FIELD_NUMBER = 4;
+    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse rpcResponse_;
+    /**
+     * <code>optional .RpcResponse rpcResponse = 4;</code>
+     */
+    public boolean hasRpcResponse() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    /**
+     * <code>optional .RpcResponse rpcResponse = 4;</code>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse getRpcResponse() {
+      return rpcResponse_;
+    }
+    /**
+     * <code>optional .RpcResponse rpcResponse = 4;</code>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder getRpcResponseOrBuilder() {
+      return rpcResponse_;
+    }
+
+    public static final int RPCERROR_FIELD_NUMBER = 5;
+    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError rpcError_;
+    /**
+     * <code>optional .RpcError rpcError = 5;</code>
+     */
+    public boolean hasRpcError() {
+      return ((bitField0_ & 0x00000010) == 0x00000010);
+    }
+    /**
+     * <code>optional .RpcError rpcError = 5;</code>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError getRpcError() {
+      return rpcError_;
+    }
+    /**
+     * <code>optional .RpcError rpcError = 5;</code>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcErrorOrBuilder getRpcErrorOrBuilder() {
+      return rpcError_;
+    }
+
+    public static final int RPCCANCEL_FIELD_NUMBER = 6;
+    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel rpcCancel_;
+    /**
+     * <code>optional .RpcCancel rpcCancel = 6;</code>
+     */
+    public boolean hasRpcCancel() {
+      return ((bitField0_ & 0x00000020) == 0x00000020);
+    }
+    /**
+     * <code>optional .RpcCancel rpcCancel = 6;</code>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel getRpcCancel() {
+      return rpcCancel_;
+    }
+    /**
+     * <code>optional .RpcCancel rpcCancel = 6;</code>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancelOrBuilder getRpcCancelOrBuilder() {
+      return rpcCancel_;
+    }
+
+    public static final int OOBRESPONSE_FIELD_NUMBER = 7;
+    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse oobResponse_;
+    /**
+     * <code>optional .OobResponse oobResponse = 7;</code>
+     *
+     * <pre>
+     * out of band responses from RPC server to client during 
+     * the processing of a RPC call
+     * </pre>
+     */
+    public boolean hasOobResponse() {
+      return ((bitField0_ & 0x00000040) == 0x00000040);
+    }
+    /**
+     * <code>optional .OobResponse oobResponse = 7;</code>
+     *
+     * <pre>
+     * out of band responses from RPC server to client during 
+     * the processing of a RPC call
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse getOobResponse() {
+      return oobResponse_;
+    }
+    /**
+     * <code>optional .OobResponse oobResponse = 7;</code>
+     *
+     * <pre>
+     * out of band responses from RPC server to client during 
+     * the processing of a RPC call
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponseOrBuilder getOobResponseOrBuilder() {
+      return oobResponse_;
+    }
+
+    public static final int OOBMESSAGE_FIELD_NUMBER = 8;
+    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage oobMessage_;
+    /**
+     * <code>optional .OobMessage oobMessage = 8;</code>
+     *
+     * <pre>
+     * bidirectional message not related to any particular RPC call. 
+     * </pre>
+     */
+    public boolean hasOobMessage() {
+      return ((bitField0_ & 0x00000080) == 0x00000080);
+    }
+    /**
+     * <code>optional .OobMessage oobMessage = 8;</code>
+     *
+     * <pre>
+     * bidirectional message not related to any particular RPC call. 
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage getOobMessage() {
+      return oobMessage_;
+    }
+    /**
+     * <code>optional .OobMessage oobMessage = 8;</code>
+     *
+     * <pre>
+     * bidirectional message not related to any particular RPC call. 
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder getOobMessageOrBuilder() {
+      return oobMessage_;
+    }
+
+    public static final int BATCHEDRPCREQUEST_FIELD_NUMBER = 9;
+    private java.util.List<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest> batchedRpcRequest_;
+    /**
+     * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+     */
+    public java.util.List<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest> getBatchedRpcRequestList() {
+      return batchedRpcRequest_;
+    }
+    /**
+     * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+     */
+    public java.util.List<? extends com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder> 
+        getBatchedRpcRequestOrBuilderList() {
+      return batchedRpcRequest_;
+    }
+    /**
+     * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+     */
+    public int getBatchedRpcRequestCount() {
+      return batchedRpcRequest_.size();
+    }
+    /**
+     * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest getBatchedRpcRequest(int index) {
+      return batchedRpcRequest_.get(index);
+    }
+    /**
+     * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder getBatchedRpcRequestOrBuilder(
+        int index) {
+      return batchedRpcRequest_.get(index);
+    }
+
+    public static final int BATCHEDRPCRESPONSE_FIELD_NUMBER = 10;
+    private java.util.List<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse> batchedRpcResponse_;
+    /**
+     * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+     *
+     * <pre>
+     * several RPC calls sharing one frame, only sent if batching was 
+     * negotiated in the ConnectRequest and ConnectResponse.
+     * </pre>
+     */
+    public java.util.List<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse> getBatchedRpcResponseList() {
+      return batchedRpcResponse_;
+    }
+    /**
+     * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+     *
+     * <pre>
+     * several RPC calls sharing one frame, only sent if batching was 
+     * negotiated in the ConnectRequest and ConnectResponse.
+     * </pre>
+     */
+    public java.util.List<? extends com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder> 
+        getBatchedRpcResponseOrBuilderList() {
+      return batchedRpcResponse_;
+    }
+    /**
+     * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+     *
+     * <pre>
+     * several RPC calls sharing one frame, only sent if batching was 
+     * negotiated in the ConnectRequest and ConnectResponse.
+     * </pre>
+     */
+    public int getBatchedRpcResponseCount() {
+      return batchedRpcResponse_.size();
+    }
+    /**
+     * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+     *
+     * <pre>
+     * several RPC calls sharing one frame, only sent if batching was 
+     * negotiated in the ConnectRequest and ConnectResponse.
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse getBatchedRpcResponse(int index) {
+      return batchedRpcResponse_.get(index);
+    }
+    /**
+     * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+     *
+     * <pre>
+     * several RPC calls sharing one frame, only sent if batching was 
+     * negotiated in the ConnectRequest and ConnectResponse.
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder getBatchedRpcResponseOrBuilder(
+        int index) {
+      return batchedRpcResponse_.get(index);
+    }
+
+    public static final int COMPRESSEDPAYLOAD_FIELD_NUMBER = 11;
+    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload compressedPayload_;
+    /**
+     * <code>optional .CompressedPayload compressedPayload = 11;</code>
+     *
+     * <pre>
+     * a frame compressed with the codec negotiated in the 
+     * ConnectRequest and ConnectResponse.
+     * </pre>
+     */
+    public boolean hasCompressedPayload() {
+      return ((bitField0_ & 0x00000100) == 0x00000100);
+    }
+    /**
+     * <code>optional .CompressedPayload compressedPayload = 11;</code>
+     *
+     * <pre>
+     * a frame compressed with the codec negotiated in the 
+     * ConnectRequest and ConnectResponse.
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload getCompressedPayload() {
+      return compressedPayload_;
+    }
+    /**
+     * <code>optional .CompressedPayload compressedPayload = 11;</code>
+     *
+     * <pre>
+     * a frame compressed with the codec negotiated in the 
+     * ConnectRequest and ConnectResponse.
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayloadOrBuilder getCompressedPayloadOrBuilder() {
+      return compressedPayload_;
+    }
+
+    public static final int OOBCREDIT_FIELD_NUMBER = 12;
+    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit oobCredit_;
+    /**
+     * <code>optional .OobCredit oobCredit = 12;</code>
+     *
+     * <pre>
+     * flow control of the OobResponses of a RPC call, which the server
+     * streams from a Publisher to the client's Subscriber.
+     * </pre>
+     */
+    public boolean hasOobCredit() {
+      return ((bitField0_ & 0x00000200) == 0x00000200);
+    }
+    /**
+     * <code>optional .OobCredit oobCredit = 12;</code>
+     *
+     * <pre>
+     * flow control of the OobResponses of a RPC call, which the server
+     * streams from a Publisher to the client's Subscriber.
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit getOobCredit() {
+      return oobCredit_;
+    }
+    /**
+     * <code>optional .OobCredit oobCredit = 12;</code>
+     *
+     * <pre>
+     * flow control of the OobResponses of a RPC call, which the server
+     * streams from a Publisher to the client's Subscriber.
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCreditOrBuilder getOobCreditOrBuilder() {
+      return oobCredit_;
+    }
+
+    public static final int STREAMCHUNK_FIELD_NUMBER = 13;
+    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk streamChunk_;
+    /**
+     * <code>optional .StreamChunk streamChunk = 13;</code>
+     */
+    public boolean hasStreamChunk() {
+      return ((bitField0_ & 0x00000400) == 0x00000400);
+    }
+    /**
+     * <code>optional .StreamChunk streamChunk = 13;</code>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk getStreamChunk() {
+      return streamChunk_;
+    }
+    /**
+     * <code>optional .StreamChunk streamChunk = 13;</code>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunkOrBuilder getStreamChunkOrBuilder() {
+      return streamChunk_;
+    }
+
+    public static final int STREAMEND_FIELD_NUMBER = 14;
+    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd streamEnd_;
+    /**
+     * <code>optional .StreamEnd streamEnd = 14;</code>
+     *
+     * <pre>
+     * the request stream of a RPC call from client to server, which 
+     * follows the RpcRequest.
+     * </pre>
+     */
+    public boolean hasStreamEnd() {
+      return ((bitField0_ & 0x00000800) == 0x00000800);
+    }
+    /**
+     * <code>optional .StreamEnd streamEnd = 14;</code>
+     *
+     * <pre>
+     * the request stream of a RPC call from client to server, which 
+     * follows the RpcRequest.
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd getStreamEnd() {
+      return streamEnd_;
+    }
+    /**
+     * <code>optional .StreamEnd streamEnd = 14;</code>
+     *
+     * <pre>
+     * the request stream of a RPC call from client to server, which 
+     * follows the RpcRequest.
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEndOrBuilder getStreamEndOrBuilder() {
+      return streamEnd_;
+    }
+
+    public static final int STREAMCREDIT_FIELD_NUMBER = 15;
+    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit streamCredit_;
+    /**
+     * <code>optional .OobCredit streamCredit = 15;</code>
+     *
+     * <pre>
+     * flow control of the request stream, the number of further 
+     * StreamChunks the server's Subscriber of the call can receive.
+     * </pre>
+     */
+    public boolean hasStreamCredit() {
+      return ((bitField0_ & 0x00001000) == 0x00001000);
+    }
+    /**
+     * <code>optional .OobCredit streamCredit = 15;</code>
+     *
+     * <pre>
+     * flow control of the request stream, the number of further 
+     * StreamChunks the server's Subscriber of the call can receive.
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit getStreamCredit() {
+      return streamCredit_;
+    }
+    /**
+     * <code>optional .OobCredit streamCredit = 15;</code>
+     *
+     * <pre>
+     * flow control of the request stream, the number of further 
+     * StreamChunks the server's Subscriber of the call can receive.
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCreditOrBuilder getStreamCreditOrBuilder() {
+      return streamCredit_;
+    }
+
+    public static final int TRANSPARENTMESSAGE_FIELD_NUMBER = 100;
+    private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage transparentMessage_;
+    /**
+     * <code>optional .OobMessage transparentMessage = 100;</code>
+     *
+     * <pre>
+     *Message just passed through the Pipeline and not touched. 
+     *Reduces need of extension handling for several of customization cases.
+     * </pre>
+     */
+    public boolean hasTransparentMessage() {
+      return ((bitField0_ & 0x00002000) == 0x00002000);
+    }
+    /**
+     * <code>optional .OobMessage transparentMessage = 100;</code>
+     *
+     * <pre>
+     *Message just passed through the Pipeline and not touched. 
+     *Reduces need of extension handling for several of customization cases.
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage getTransparentMessage() {
+      return transparentMessage_;
+    }
+    /**
+     * <code>optional .OobMessage transparentMessage = 100;</code>
+     *
+     * <pre>
+     *Message just passed through the Pipeline and not touched. 
+     *Reduces need of extension handling for several of customization cases.
+     * </pre>
+     */
+    public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder getTransparentMessageOrBuilder() {
+      return transparentMessage_;
+    }
+
+    private void initFields() {
+      connectRequest_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.getDefaultInstance();
+      connectResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.getDefaultInstance();
+      rpcRequest_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.getDefaultInstance();
+      rpcResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.getDefaultInstance();
+      rpcError_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.getDefaultInstance();
+      rpcCancel_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.getDefaultInstance();
+      oobResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.getDefaultInstance();
+      oobMessage_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance();
+      batchedRpcRequest_ = java.util.Collections.emptyList();
+      batchedRpcResponse_ = java.util.Collections.emptyList();
+      compressedPayload_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.getDefaultInstance();
+      oobCredit_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.getDefaultInstance();
+      streamChunk_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.getDefaultInstance();
+      streamEnd_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.getDefaultInstance();
+      streamCredit_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.getDefaultInstance();
+      transparentMessage_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      if (hasConnectRequest()) {
+        if (!getConnectRequest().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      if (hasConnectResponse()) {
+        if (!getConnectResponse().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      if (hasRpcRequest()) {
+        if (!getRpcRequest().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      if (hasRpcResponse()) {
+        if (!getRpcResponse().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      if (hasRpcError()) {
+        if (!getRpcError().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      if (hasRpcCancel()) {
+        if (!getRpcCancel().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      if (hasOobResponse()) {
+        if (!getOobResponse().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      if (hasOobMessage()) {
+        if (!getOobMessage().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      for (int i = 0; i < getBatchedRpcRequestCount(); i++) {
+        if (!getBatchedRpcRequest(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      for (int i = 0; i < getBatchedRpcResponseCount(); i++) {
+        if (!getBatchedRpcResponse(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      if (hasCompressedPayload()) {
+        if (!getCompressedPayload().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      if (hasOobCredit()) {
+        if (!getOobCredit().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      if (hasStreamChunk()) {
+        if (!getStreamChunk().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      if (hasStreamEnd()) {
+        if (!getStreamEnd().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      if (hasStreamCredit()) {
+        if (!getStreamCredit().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      if (hasTransparentMessage()) {
+        if (!getTransparentMessage().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      if (!extensionsAreInitialized()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      com.google.protobuf.GeneratedMessage
+        .ExtendableMessage<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload>.ExtensionWriter extensionWriter =
+          newExtensionWriter();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeMessage(1, connectRequest_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeMessage(2, connectResponse_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeMessage(3, rpcRequest_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeMessage(4, rpcResponse_);
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        output.writeMessage(5, rpcError_);
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        output.writeMessage(6, rpcCancel_);
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        output.writeMessage(7, oobResponse_);
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+        output.writeMessage(8, oobMessage_);
+      }
+      for (int i = 0; i < batchedRpcRequest_.size(); i++) {
+        output.writeMessage(9, batchedRpcRequest_.get(i));
+      }
+      for (int i = 0; i < batchedRpcResponse_.size(); i++) {
+        output.writeMessage(10, batchedRpcResponse_.get(i));
+      }
+      if (((bitField0_ & 0x00000100) == 0x00000100)) {
+        output.writeMessage(11, compressedPayload_);
+      }
+      if (((bitField0_ & 0x00000200) == 0x00000200)) {
+        output.writeMessage(12, oobCredit_);
+      }
+      if (((bitField0_ & 0x00000400) == 0x00000400)) {
+        output.writeMessage(13, streamChunk_);
+      }
+      if (((bitField0_ & 0x00000800) == 0x00000800)) {
+        output.writeMessage(14, streamEnd_);
+      }
+      if (((bitField0_ & 0x00001000) == 0x00001000)) {
+        output.writeMessage(15, streamCredit_);
+      }
+      if (((bitField0_ & 0x00002000) == 0x00002000)) {
+        output.writeMessage(100, transparentMessage_);
+      }
+      extensionWriter.writeUntil(536870912, output);
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, connectRequest_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, connectResponse_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, rpcRequest_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(4, rpcResponse_);
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(5, rpcError_);
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(6, rpcCancel_);
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(7, oobResponse_);
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(8, oobMessage_);
+      }
+      for (int i = 0; i < batchedRpcRequest_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(9, batchedRpcRequest_.get(i));
+      }
+      for (int i = 0; i < batchedRpcResponse_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(10, batchedRpcResponse_.get(i));
+      }
+      if (((bitField0_ & 0x00000100) == 0x00000100)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(11, compressedPayload_);
+      }
+      if (((bitField0_ & 0x00000200) == 0x00000200)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(12, oobCredit_);
+      }
+      if (((bitField0_ & 0x00000400) == 0x00000400)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(13, streamChunk_);
+      }
+      if (((bitField0_ & 0x00000800) == 0x00000800)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(14, streamEnd_);
+      }
+      if (((bitField0_ & 0x00001000) == 0x00001000)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(15, streamCredit_);
+      }
+      if (((bitField0_ & 0x00002000) == 0x00002000)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(100, transparentMessage_);
+      }
+      size += extensionsSerializedSize();
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code WirePayload}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.ExtendableBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload, Builder> implements
+        // @@protoc_insertion_point(builder_implements:WirePayload)
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayloadOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_WirePayload_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_WirePayload_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload.Builder.class);
+      }
+
+      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getConnectRequestFieldBuilder();
+          getConnectResponseFieldBuilder();
+          getRpcRequestFieldBuilder();
+          getRpcResponseFieldBuilder();
+          getRpcErrorFieldBuilder();
+          getRpcCancelFieldBuilder();
+          getOobResponseFieldBuilder();
+          getOobMessageFieldBuilder();
+          getBatchedRpcRequestFieldBuilder();
+          getBatchedRpcResponseFieldBuilder();
+          getCompressedPayloadFieldBuilder();
+          getOobCreditFieldBuilder();
+          getStreamChunkFieldBuilder();
+          getStreamEndFieldBuilder();
+          getStreamCreditFieldBuilder();
+          getTransparentMessageFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        if (connectRequestBuilder_ == null) {
+          connectRequest_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.getDefaultInstance();
+        } else {
+          connectRequestBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000001);
+        if (connectResponseBuilder_ == null) {
+          connectResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.getDefaultInstance();
+        } else {
+          connectResponseBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        if (rpcRequestBuilder_ == null) {
+          rpcRequest_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.getDefaultInstance();
+        } else {
+          rpcRequestBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000004);
+        if (rpcResponseBuilder_ == null) {
+          rpcResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.getDefaultInstance();
+        } else {
+          rpcResponseBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000008);
+        if (rpcErrorBuilder_ == null) {
+          rpcError_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.getDefaultInstance();
+        } else {
+          rpcErrorBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000010);
+        if (rpcCancelBuilder_ == null) {
+          rpcCancel_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.getDefaultInstance();
+        } else {
+          rpcCancelBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000020);
+        if (oobResponseBuilder_ == null) {
+          oobResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.getDefaultInstance();
+        } else {
+          oobResponseBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000040);
+        if (oobMessageBuilder_ == null) {
+          oobMessage_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance();
+        } else {
+          oobMessageBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000080);
+        if (batchedRpcRequestBuilder_ == null) {
+          batchedRpcRequest_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000100);
+        } else {
+          batchedRpcRequestBuilder_.clear();
+        }
+        if (batchedRpcResponseBuilder_ == null) {
+          batchedRpcResponse_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000200);
+        } else {
+          batchedRpcResponseBuilder_.clear();
+        }
+        if (compressedPayloadBuilder_ == null) {
+          compressedPayload_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.getDefaultInstance();
+        } else {
+          compressedPayloadBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000400);
+        if (oobCreditBuilder_ == null) {
+          oobCredit_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.getDefaultInstance();
+        } else {
+          oobCreditBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000800);
+        if (streamChunkBuilder_ == null) {
+          streamChunk_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.getDefaultInstance();
+        } else {
+          streamChunkBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00001000);
+        if (streamEndBuilder_ == null) {
+          streamEnd_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.getDefaultInstance();
+        } else {
+          streamEndBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00002000);
+        if (streamCreditBuilder_ == null) {
+          streamCredit_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.getDefaultInstance();
+        } else {
+          streamCreditBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00004000);
+        if (transparentMessageBuilder_ == null) {
+          transparentMessage_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance();
+        } else {
+          transparentMessageBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00008000);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_WirePayload_descriptor;
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload getDefaultInstanceForType() {
+        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload.getDefaultInstance();
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload build() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload buildPartial() {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        if (connectRequestBuilder_ == null) {
+          result.connectRequest_ = connectRequest_;
+        } else {
+          result.connectRequest_ = connectRequestBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        if (connectResponseBuilder_ == null) {
+          result.connectResponse_ = connectResponse_;
+        } else {
+          result.connectResponse_ = connectResponseBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        if (rpcRequestBuilder_ == null) {
+          result.rpcRequest_ = rpcRequest_;
+        } else {
+          result.rpcRequest_ = rpcRequestBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        if (rpcResponseBuilder_ == null) {
+          result.rpcResponse_ = rpcResponse_;
+        } else {
+          result.rpcResponse_ = rpcResponseBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000010) == 0x00000010)) {
+          to_bitField0_ |= 0x00000010;
+        }
+        if (rpcErrorBuilder_ == null) {
+          result.rpcError_ = rpcError_;
+        } else {
+          result.rpcError_ = rpcErrorBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000020) == 0x00000020)) {
+          to_bitField0_ |= 0x00000020;
+        }
+        if (rpcCancelBuilder_ == null) {
+          result.rpcCancel_ = rpcCancel_;
+        } else {
+          result.rpcCancel_ = rpcCancelBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000040) == 0x00000040)) {
+          to_bitField0_ |= 0x00000040;
+        }
+        if (oobResponseBuilder_ == null) {
+          result.oobResponse_ = oobResponse_;
+        } else {
+          result.oobResponse_ = oobResponseBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000080) == 0x00000080)) {
+          to_bitField0_ |= 0x00000080;
+        }
+        if (oobMessageBuilder_ == null) {
+          result.oobMessage_ = oobMessage_;
+        } else {
+          result.oobMessage_ = oobMessageBuilder_.build();
+        }
+        if (batchedRpcRequestBuilder_ == null) {
+          if (((bitField0_ & 0x00000100) == 0x00000100)) {
+            batchedRpcRequest_ = java.util.Collections.unmodifiableList(batchedRpcRequest_);
+            bitField0_ = (bitField0_ & ~0x00000100);
+          }
+          result.batchedRpcRequest_ = batchedRpcRequest_;
+        } else {
+          result.batchedRpcRequest_ = batchedRpcRequestBuilder_.build();
+        }
+        if (batchedRpcResponseBuilder_ == null) {
+          if (((bitField0_ & 0x00000200) == 0x00000200)) {
+            batchedRpcResponse_ = java.util.Collections.unmodifiableList(batchedRpcResponse_);
+            bitField0_ = (bitField0_ & ~0x00000200);
+          }
+          result.batchedRpcResponse_ = batchedRpcResponse_;
+        } else {
+          result.batchedRpcResponse_ = batchedRpcResponseBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000400) == 0x00000400)) {
+          to_bitField0_ |= 0x00000100;
+        }
+        if (compressedPayloadBuilder_ == null) {
+          result.compressedPayload_ = compressedPayload_;
+        } else {
+          result.compressedPayload_ = compressedPayloadBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000800) == 0x00000800)) {
+          to_bitField0_ |= 0x00000200;
+        }
+        if (oobCreditBuilder_ == null) {
+          result.oobCredit_ = oobCredit_;
+        } else {
+          result.oobCredit_ = oobCreditBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00001000) == 0x00001000)) {
+          to_bitField0_ |= 0x00000400;
+        }
+        if (streamChunkBuilder_ == null) {
+          result.streamChunk_ = streamChunk_;
+        } else {
+          result.streamChunk_ = streamChunkBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00002000) == 0x00002000)) {
+          to_bitField0_ |= 0x00000800;
+        }
+        if (streamEndBuilder_ == null) {
+          result.streamEnd_ = streamEnd_;
+        } else {
+          result.streamEnd_ = streamEndBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00004000) == 0x00004000)) {
+          to_bitField0_ |= 0x00001000;
+        }
+        if (streamCreditBuilder_ == null) {
+          result.streamCredit_ = streamCredit_;
+        } else {
+          result.streamCredit_ = streamCreditBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00008000) == 0x00008000)) {
+          to_bitField0_ |= 0x00002000;
+        }
+        if (transparentMessageBuilder_ == null) {
+          result.transparentMessage_ = transparentMessage_;
+        } else {
+          result.transparentMessage_ = transparentMessageBuilder_.build();
+        }
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload) {
+          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload other) {
+        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload.getDefaultInstance()) return this;
+        if (other.hasConnectRequest()) {
+          mergeConnectRequest(other.getConnectRequest());
+        }
+        if (other.hasConnectResponse()) {
+          mergeConnectResponse(other.getConnectResponse());
+        }
+        if (other.hasRpcRequest()) {
+          mergeRpcRequest(other.getRpcRequest());
+        }
+        if (other.hasRpcResponse()) {
+          mergeRpcResponse(other.getRpcResponse());
+        }
+        if (other.hasRpcError()) {
+          mergeRpcError(other.getRpcError());
+        }
+        if (other.hasRpcCancel()) {
+          mergeRpcCancel(other.getRpcCancel());
+        }
+        if (other.hasOobResponse()) {
+          mergeOobResponse(other.getOobResponse());
+        }
+        if (other.hasOobMessage()) {
+          mergeOobMessage(other.getOobMessage());
+        }
+        if (batchedRpcRequestBuilder_ == null) {
+          if (!other.batchedRpcRequest_.isEmpty()) {
+            if (batchedRpcRequest_.isEmpty()) {
+              batchedRpcRequest_ = other.batchedRpcRequest_;
+              bitField0_ = (bitField0_ & ~0x00000100);
+            } else {
+              ensureBatchedRpcRequestIsMutable();
+              batchedRpcRequest_.addAll(other.batchedRpcRequest_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.batchedRpcRequest_.isEmpty()) {
+            if (batchedRpcRequestBuilder_.isEmpty()) {
+              batchedRpcRequestBuilder_.dispose();
+              batchedRpcRequestBuilder_ = null;
+              batchedRpcRequest_ = other.batchedRpcRequest_;
+              bitField0_ = (bitField0_ & ~0x00000100);
+              batchedRpcRequestBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getBatchedRpcRequestFieldBuilder() : null;
+            } else {
+              batchedRpcRequestBuilder_.addAllMessages(other.batchedRpcRequest_);
+            }
+          }
+        }
+        if (batchedRpcResponseBuilder_ == null) {
+          if (!other.batchedRpcResponse_.isEmpty()) {
+            if (batchedRpcResponse_.isEmpty()) {
+              batchedRpcResponse_ = other.batchedRpcResponse_;
+              bitField0_ = (bitField0_ & ~0x00000200);
+            } else {
+              ensureBatchedRpcResponseIsMutable();
+              batchedRpcResponse_.addAll(other.batchedRpcResponse_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.batchedRpcResponse_.isEmpty()) {
+            if (batchedRpcResponseBuilder_.isEmpty()) {
+              batchedRpcResponseBuilder_.dispose();
+              batchedRpcResponseBuilder_ = null;
+              batchedRpcResponse_ = other.batchedRpcResponse_;
+              bitField0_ = (bitField0_ & ~0x00000200);
+              batchedRpcResponseBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getBatchedRpcResponseFieldBuilder() : null;
+            } else {
+              batchedRpcResponseBuilder_.addAllMessages(other.batchedRpcResponse_);
+            }
+          }
+        }
+        if (other.hasCompressedPayload()) {
+          mergeCompressedPayload(other.getCompressedPayload());
+        }
+        if (other.hasOobCredit()) {
+          mergeOobCredit(other.getOobCredit());
+        }
+        if (other.hasStreamChunk()) {
+          mergeStreamChunk(other.getStreamChunk());
+        }
+        if (other.hasStreamEnd()) {
+          mergeStreamEnd(other.getStreamEnd());
+        }
+        if (other.hasStreamCredit()) {
+          mergeStreamCredit(other.getStreamCredit());
+        }
+        if (other.hasTransparentMessage()) {
+          mergeTransparentMessage(other.getTransparentMessage());
+        }
+        this.mergeExtensionFields(other);
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (hasConnectRequest()) {
+          if (!getConnectRequest().isInitialized()) {
+            
+            return false;
+          }
+        }
+        if (hasConnectResponse()) {
+          if (!getConnectResponse().isInitialized()) {
+            
+            return false;
+          }
+        }
+        if (hasRpcRequest()) {
+          if (!getRpcRequest().isInitialized()) {
+            
+            return false;
+          }
+        }
+        if (hasRpcResponse()) {
+          if (!getRpcResponse().isInitialized()) {
+            
+            return false;
+          }
+        }
+        if (hasRpcError()) {
+          if (!getRpcError().isInitialized()) {
+            
+            return false;
+          }
+        }
+        if (hasRpcCancel()) {
+          if (!getRpcCancel().isInitialized()) {
+            
+            return false;
+          }
+        }
+        if (hasOobResponse()) {
+          if (!getOobResponse().isInitialized()) {
+            
+            return false;
+          }
+        }
+        if (hasOobMessage()) {
+          if (!getOobMessage().isInitialized()) {
+            
+            return false;
+          }
+        }
+        for (int i = 0; i < getBatchedRpcRequestCount(); i++) {
+          if (!getBatchedRpcRequest(i).isInitialized()) {
+            
+            return false;
+          }
+        }
+        for (int i = 0; i < getBatchedRpcResponseCount(); i++) {
+          if (!getBatchedRpcResponse(i).isInitialized()) {
+            
+            return false;
+          }
+        }
+        if (hasCompressedPayload()) {
+          if (!getCompressedPayload().isInitialized()) {
+            
+            return false;
+          }
+        }
+        if (hasOobCredit()) {
+          if (!getOobCredit().isInitialized()) {
+            
+            return false;
+          }
+        }
+        if (hasStreamChunk()) {
+          if (!getStreamChunk().isInitialized()) {
+            
+            return false;
+          }
+        }
+        if (hasStreamEnd()) {
+          if (!getStreamEnd().isInitialized()) {
+            
+            return false;
+          }
+        }
+        if (hasStreamCredit()) {
+          if (!getStreamCredit().isInitialized()) {
+            
+            return false;
+          }
+        }
+        if (hasTransparentMessage()) {
+          if (!getTransparentMessage().isInitialized()) {
+            
+            return false;
+          }
+        }
+        if (!extensionsAreInitialized()) {
+          
+          return false;
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest connectRequest_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequestOrBuilder> connectRequestBuilder_;
+      /**
+       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       */
+      public boolean hasConnectRequest() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest getConnectRequest() {
+        if (connectRequestBuilder_ == null) {
+          return connectRequest_;
+        } else {
+          return connectRequestBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       */
+      public Builder setConnectRequest(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest value) {
+        if (connectRequestBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          connectRequest_ = value;
+          onChanged();
+        } else {
+          connectRequestBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       */
+      public Builder setConnectRequest(
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.Builder builderForValue) {
+        if (connectRequestBuilder_ == null) {
+          connectRequest_ = builderForValue.build();
+          onChanged();
+        } else {
+          connectRequestBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       */
+      public Builder mergeConnectRequest(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest value) {
+        if (connectRequestBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) == 0x00000001) &&
+              connectRequest_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.getDefaultInstance()) {
+            connectRequest_ =
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.newBuilder(connectRequest_).mergeFrom(value).buildPartial();
+          } else {
+            connectRequest_ = value;
+          }
+          onChanged();
+        } else {
+          connectRequestBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       */
+      public Builder clearConnectRequest() {
+        if (connectRequestBuilder_ == null) {
+          connectRequest_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.getDefaultInstance();
+          onChanged();
+        } else {
+          connectRequestBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000001);
+        return this;
+      }
+      /**
+       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.Builder getConnectRequestBuilder() {
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return getConnectRequestFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequestOrBuilder getConnectRequestOrBuilder() {
+        if (connectRequestBuilder_ != null) {
+          return connectRequestBuilder_.getMessageOrBuilder();
+        } else {
+          return connectRequest_;
+        }
+      }
+      /**
+       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequestOrBuilder> 
+          getConnectRequestFieldBuilder() {
+        if (connectRequestBuilder_ == null) {
+          connectRequestBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequestOrBuilder>(
+                  getConnectRequest(),
+                  getParentForChildren(),
+                  isClean());
+          connectRequest_ = null;
+        }
+        return connectRequestBuilder_;
+      }
+
+      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse connectResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponseOrBuilder> connectResponseBuilder_;
+      /**
+       * <code>optional .ConnectResponse connectResponse = 2;</code>
+       */
+      public boolean hasConnectResponse() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional .ConnectResponse connectResponse = 2;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse getConnectResponse() {
+        if (connectResponseBuilder_ == null) {
+          return connectResponse_;
+        } else {
+          return connectResponseBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .ConnectResponse connectResponse = 2;</code>
+       */
+      public Builder setConnectResponse(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse value) {
+        if (connectResponseBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          connectResponse_ = value;
+          onChanged();
+        } else {
+          connectResponseBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      /**
+       * <code>optional .ConnectResponse connectResponse = 2;</code>
+       */
+      public Builder setConnectResponse(
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.Builder builderForValue) {
+        if (connectResponseBuilder_ == null) {
+          connectResponse_ = builderForValue.build();
+          onChanged();
+        } else {
+          connectResponseBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      /**
+       * <code>optional .ConnectResponse connectResponse = 2;</code>
+       */
+      public Builder mergeConnectResponse(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse value) {
+        if (connectResponseBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) == 0x00000002) &&
+              connectResponse_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.getDefaultInstance()) {
+            connectResponse_ =
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.newBuilder(connectResponse_).mergeFrom(value).buildPartial();
+          } else {
+            connectResponse_ = value;
+          }
+          onChanged();
+        } else {
+          connectResponseBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      /**
+       * <code>optional .ConnectResponse connectResponse = 2;</code>
+       */
+      public Builder clearConnectResponse() {
+        if (connectResponseBuilder_ == null) {
+          connectResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.getDefaultInstance();
+          onChanged();
+        } else {
+          connectResponseBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+      /**
+       * <code>optional .ConnectResponse connectResponse = 2;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.Builder getConnectResponseBuilder() {
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return getConnectResponseFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .ConnectResponse connectResponse = 2;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponseOrBuilder getConnectResponseOrBuilder() {
+        if (connectResponseBuilder_ != null) {
+          return connectResponseBuilder_.getMessageOrBuilder();
+        } else {
+          return connectResponse_;
+        }
+      }
+      /**
+       * <code>optional .ConnectResponse connectResponse = 2;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponseOrBuilder> 
+          getConnectResponseFieldBuilder() {
+        if (connectResponseBuilder_ == null) {
+          connectResponseBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponseOrBuilder>(
+                  getConnectResponse(),
+                  getParentForChildren(),
+                  isClean());
+          connectResponse_ = null;
+        }
+        return connectResponseBuilder_;
+      }
+
+      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest rpcRequest_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder> rpcRequestBuilder_;
+      /**
+       * <code>optional .RpcRequest rpcRequest = 3;</code>
+       */
+      public boolean hasRpcRequest() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional .RpcRequest rpcRequest = 3;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest getRpcRequest() {
+        if (rpcRequestBuilder_ == null) {
+          return rpcRequest_;
+        } else {
+          return rpcRequestBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .RpcRequest rpcRequest = 3;</code>
+       */
+      public Builder setRpcRequest(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest value) {
+        if (rpcRequestBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          rpcRequest_ = value;
+          onChanged();
+        } else {
+          rpcRequestBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000004;
+        return this;
+      }
+      /**
+       * <code>optional .RpcRequest rpcRequest = 3;</code>
+       */
+      public Builder setRpcRequest(
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder builderForValue) {
+        if (rpcRequestBuilder_ == null) {
+          rpcRequest_ = builderForValue.build();
+          onChanged();
+        } else {
+          rpcRequestBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000004;
+        return this;
+      }
+      /**
+       * <code>optional .RpcRequest rpcRequest = 3;</code>
+       */
+      public Builder mergeRpcRequest(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest value) {
+        if (rpcRequestBuilder_ == null) {
+          if (((bitField0_ & 0x00000004) == 0x00000004) &&
+              rpcRequest_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.getDefaultInstance()) {
+            rpcRequest_ =
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.newBuilder(rpcRequest_).mergeFrom(value).buildPartial();
+          } else {
+            rpcRequest_ = value;
+          }
+          onChanged();
+        } else {
+          rpcRequestBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000004;
+        return this;
+      }
+      /**
+       * <code>optional .RpcRequest rpcRequest = 3;</code>
+       */
+      public Builder clearRpcRequest() {
+        if (rpcRequestBuilder_ == null) {
+          rpcRequest_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.getDefaultInstance();
+          onChanged();
+        } else {
+          rpcRequestBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000004);
+        return this;
+      }
+      /**
+       * <code>optional .RpcRequest rpcRequest = 3;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder getRpcRequestBuilder() {
+        bitField0_ |= 0x00000004;
+        onChanged();
+        return getRpcRequestFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .RpcRequest rpcRequest = 3;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder getRpcRequestOrBuilder() {
+        if (rpcRequestBuilder_ != null) {
+          return rpcRequestBuilder_.getMessageOrBuilder();
+        } else {
+          return rpcRequest_;
+        }
+      }
+      /**
+       * <code>optional .RpcRequest rpcRequest = 3;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder> 
+          getRpcRequestFieldBuilder() {
+        if (rpcRequestBuilder_ == null) {
+          rpcRequestBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder>(
+                  getRpcRequest(),
+                  getParentForChildren(),
+                  isClean());
+          rpcRequest_ = null;
+        }
+        return rpcRequestBuilder_;
+      }
+
+      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse rpcResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder> rpcResponseBuilder_;
+      /**
+       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       */
+      public boolean hasRpcResponse() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      /**
+       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse getRpcResponse() {
+        if (rpcResponseBuilder_ == null) {
+          return rpcResponse_;
+        } else {
+          return rpcResponseBuilder_.getMessage();
         }
       }
-      if (hasRpcResponse()) {
-        if (!getRpcResponse().isInitialized()) {
-          memoizedIsInitialized = 0;
-          return false;
+      /**
+       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       */
+      public Builder setRpcResponse(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse value) {
+        if (rpcResponseBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          rpcResponse_ = value;
+          onChanged();
+        } else {
+          rpcResponseBuilder_.setMessage(value);
         }
+        bitField0_ |= 0x00000008;
+        return this;
       }
-      if (hasRpcError()) {
-        if (!getRpcError().isInitialized()) {
-          memoizedIsInitialized = 0;
-          return false;
+      /**
+       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       */
+      public Builder setRpcResponse(
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder builderForValue) {
+        if (rpcResponseBuilder_ == null) {
+          rpcResponse_ = builderForValue.build();
+          onChanged();
+        } else {
+          rpcResponseBuilder_.setMessage(builderForValue.build());
         }
+        bitField0_ |= 0x00000008;
+        return this;
       }
-      if (hasRpcCancel()) {
-        if (!getRpcCancel().isInitialized()) {
-          memoizedIsInitialized = 0;
-          return false;
+      /**
+       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       */
+      public Builder mergeRpcResponse(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse value) {
+        if (rpcResponseBuilder_ == null) {
+          if (((bitField0_ & 0x00000008) == 0x00000008) &&
+              rpcResponse_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.getDefaultInstance()) {
+            rpcResponse_ =
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.newBuilder(rpcResponse_).mergeFrom(value).buildPartial();
+          } else {
+            rpcResponse_ = value;
+          }
+          onChanged();
+        } else {
+          rpcResponseBuilder_.mergeFrom(value);
         }
+        bitField0_ |= 0x00000008;
+        return this;
       }
-      if (hasOobResponse()) {
-        if (!getOobResponse().isInitialized()) {
-          memoizedIsInitialized = 0;
-          return false;
+      /**
+       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       */
+      public Builder clearRpcResponse() {
+        if (rpcResponseBuilder_ == null) {
+          rpcResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.getDefaultInstance();
+          onChanged();
+        } else {
+          rpcResponseBuilder_.clear();
         }
+        bitField0_ = (bitField0_ & ~0x00000008);
+        return this;
       }
-      if (hasOobMessage()) {
-        if (!getOobMessage().isInitialized()) {
-          memoizedIsInitialized = 0;
-          return false;
-        }
+      /**
+       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder getRpcResponseBuilder() {
+        bitField0_ |= 0x00000008;
+        onChanged();
+        return getRpcResponseFieldBuilder().getBuilder();
       }
-      if (hasTransparentMessage()) {
-        if (!getTransparentMessage().isInitialized()) {
-          memoizedIsInitialized = 0;
-          return false;
+      /**
+       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder getRpcResponseOrBuilder() {
+        if (rpcResponseBuilder_ != null) {
+          return rpcResponseBuilder_.getMessageOrBuilder();
+        } else {
+          return rpcResponse_;
         }
       }
-      if (!extensionsAreInitialized()) {
-        memoizedIsInitialized = 0;
-        return false;
+      /**
+       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder> 
+          getRpcResponseFieldBuilder() {
+        if (rpcResponseBuilder_ == null) {
+          rpcResponseBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder>(
+                  getRpcResponse(),
+                  getParentForChildren(),
+                  isClean());
+          rpcResponse_ = null;
+        }
+        return rpcResponseBuilder_;
       }
-      memoizedIsInitialized = 1;
-      return true;
-    }
 
-    public void writeTo(com.google.protobuf.CodedOutputStream output)
-                        throws java.io.IOException {
-      getSerializedSize();
-      com.google.protobuf.GeneratedMessage
-        .ExtendableMessage<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload>.ExtensionWriter extensionWriter =
-          newExtensionWriter();
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
-        output.writeMessage(1, connectRequest_);
-      }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
-        output.writeMessage(2, connectResponse_);
-      }
-      if (((bitField0_ & 0x00000004) == 0x00000004)) {
-        output.writeMessage(3, rpcRequest_);
-      }
-      if (((bitField0_ & 0x00000008) == 0x00000008)) {
-        output.writeMessage(4, rpcResponse_);
-      }
-      if (((bitField0_ & 0x00000010) == 0x00000010)) {
-        output.writeMessage(5, rpcError_);
+      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError rpcError_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcErrorOrBuilder> rpcErrorBuilder_;
+      /**
+       * <code>optional .RpcError rpcError = 5;</code>
+       */
+      public boolean hasRpcError() {
+        return ((bitField0_ & 0x00000010) == 0x00000010);
       }
-      if (((bitField0_ & 0x00000020) == 0x00000020)) {
-        output.writeMessage(6, rpcCancel_);
+      /**
+       * <code>optional .RpcError rpcError = 5;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError getRpcError() {
+        if (rpcErrorBuilder_ == null) {
+          return rpcError_;
+        } else {
+          return rpcErrorBuilder_.getMessage();
+        }
       }
-      if (((bitField0_ & 0x00000040) == 0x00000040)) {
-        output.writeMessage(7, oobResponse_);
+      /**
+       * <code>optional .RpcError rpcError = 5;</code>
+       */
+      public Builder setRpcError(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError value) {
+        if (rpcErrorBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          rpcError_ = value;
+          onChanged();
+        } else {
+          rpcErrorBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000010;
+        return this;
       }
-      if (((bitField0_ & 0x00000080) == 0x00000080)) {
-        output.writeMessage(8, oobMessage_);
+      /**
+       * <code>optional .RpcError rpcError = 5;</code>
+       */
+      public Builder setRpcError(
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.Builder builderForValue) {
+        if (rpcErrorBuilder_ == null) {
+          rpcError_ = builderForValue.build();
+          onChanged();
+        } else {
+          rpcErrorBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000010;
+        return this;
       }
-      if (((bitField0_ & 0x00000100) == 0x00000100)) {
-        output.writeMessage(100, transparentMessage_);
+      /**
+       * <code>optional .RpcError rpcError = 5;</code>
+       */
+      public Builder mergeRpcError(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError value) {
+        if (rpcErrorBuilder_ == null) {
+          if (((bitField0_ & 0x00000010) == 0x00000010) &&
+              rpcError_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.getDefaultInstance()) {
+            rpcError_ =
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.newBuilder(rpcError_).mergeFrom(value).buildPartial();
+          } else {
+            rpcError_ = value;
+          }
+          onChanged();
+        } else {
+          rpcErrorBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000010;
+        return this;
       }
-      extensionWriter.writeUntil(536870912, output);
-      getUnknownFields().writeTo(output);
-    }
-
-    private int memoizedSerializedSize = -1;
-    public int getSerializedSize() {
-      int size = memoizedSerializedSize;
-      if (size != -1) return size;
-
-      size = 0;
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(1, connectRequest_);
+      /**
+       * <code>optional .RpcError rpcError = 5;</code>
+       */
+      public Builder clearRpcError() {
+        if (rpcErrorBuilder_ == null) {
+          rpcError_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.getDefaultInstance();
+          onChanged();
+        } else {
+          rpcErrorBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000010);
+        return this;
       }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(2, connectResponse_);
+      /**
+       * <code>optional .RpcError rpcError = 5;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.Builder getRpcErrorBuilder() {
+        bitField0_ |= 0x00000010;
+        onChanged();
+        return getRpcErrorFieldBuilder().getBuilder();
       }
-      if (((bitField0_ & 0x00000004) == 0x00000004)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(3, rpcRequest_);
+      /**
+       * <code>optional .RpcError rpcError = 5;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcErrorOrBuilder getRpcErrorOrBuilder() {
+        if (rpcErrorBuilder_ != null) {
+          return rpcErrorBuilder_.getMessageOrBuilder();
+        } else {
+          return rpcError_;
+        }
       }
-      if (((bitField0_ & 0x00000008) == 0x00000008)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(4, rpcResponse_);
+      /**
+       * <code>optional .RpcError rpcError = 5;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcErrorOrBuilder> 
+          getRpcErrorFieldBuilder() {
+        if (rpcErrorBuilder_ == null) {
+          rpcErrorBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcErrorOrBuilder>(
+                  getRpcError(),
+                  getParentForChildren(),
+                  isClean());
+          rpcError_ = null;
+        }
+        return rpcErrorBuilder_;
       }
-      if (((bitField0_ & 0x00000010) == 0x00000010)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(5, rpcError_);
+
+      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel rpcCancel_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancelOrBuilder> rpcCancelBuilder_;
+      /**
+       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       */
+      public boolean hasRpcCancel() {
+        return ((bitField0_ & 0x00000020) == 0x00000020);
       }
-      if (((bitField0_ & 0x00000020) == 0x00000020)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(6, rpcCancel_);
+      /**
+       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel getRpcCancel() {
+        if (rpcCancelBuilder_ == null) {
+          return rpcCancel_;
+        } else {
+          return rpcCancelBuilder_.getMessage();
+        }
       }
-      if (((bitField0_ & 0x00000040) == 0x00000040)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(7, oobResponse_);
+      /**
+       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       */
+      public Builder setRpcCancel(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel value) {
+        if (rpcCancelBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          rpcCancel_ = value;
+          onChanged();
+        } else {
+          rpcCancelBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000020;
+        return this;
       }
-      if (((bitField0_ & 0x00000080) == 0x00000080)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(8, oobMessage_);
+      /**
+       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       */
+      public Builder setRpcCancel(
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.Builder builderForValue) {
+        if (rpcCancelBuilder_ == null) {
+          rpcCancel_ = builderForValue.build();
+          onChanged();
+        } else {
+          rpcCancelBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000020;
+        return this;
       }
-      if (((bitField0_ & 0x00000100) == 0x00000100)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(100, transparentMessage_);
+      /**
+       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       */
+      public Builder mergeRpcCancel(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel value) {
+        if (rpcCancelBuilder_ == null) {
+          if (((bitField0_ & 0x00000020) == 0x00000020) &&
+              rpcCancel_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.getDefaultInstance()) {
+            rpcCancel_ =
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.newBuilder(rpcCancel_).mergeFrom(value).buildPartial();
+          } else {
+            rpcCancel_ = value;
+          }
+          onChanged();
+        } else {
+          rpcCancelBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000020;
+        return this;
       }
-      size += extensionsSerializedSize();
-      size += getUnknownFields().getSerializedSize();
-      memoizedSerializedSize = size;
-      return size;
-    }
-
-    private static final long serialVersionUID = 0L;
-    @java.lang.Override
-    protected java.lang.Object writeReplace()
-        throws java.io.ObjectStreamException {
-      return super.writeReplace();
-    }
-
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseFrom(
-        com.google.protobuf.ByteString data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseFrom(
-        com.google.protobuf.ByteString data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseFrom(byte[] data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseFrom(
-        byte[] data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseFrom(java.io.InputStream input)
-        throws java.io.IOException {
-      return PARSER.parseFrom(input);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseFrom(
-        java.io.InputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return PARSER.parseFrom(input, extensionRegistry);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseDelimitedFrom(java.io.InputStream input)
-        throws java.io.IOException {
-      return PARSER.parseDelimitedFrom(input);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseDelimitedFrom(
-        java.io.InputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return PARSER.parseDelimitedFrom(input, extensionRegistry);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseFrom(
-        com.google.protobuf.CodedInputStream input)
-        throws java.io.IOException {
-      return PARSER.parseFrom(input);
-    }
-    public static com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parseFrom(
-        com.google.protobuf.CodedInputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return PARSER.parseFrom(input, extensionRegistry);
-    }
-
-    public static Builder newBuilder() { return Builder.create(); }
-    public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload prototype) {
-      return newBuilder().mergeFrom(prototype);
-    }
-    public Builder toBuilder() { return newBuilder(this); }
-
-    @java.lang.Override
-    protected Builder newBuilderForType(
-        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
-      Builder builder = new Builder(parent);
-      return builder;
-    }
-    /**
-     * Protobuf type {@code WirePayload}
-     */
-    public static final class Builder extends
-        com.google.protobuf.GeneratedMessage.ExtendableBuilder<
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload, Builder> implements
-        // @@protoc_insertion_point(builder_implements:WirePayload)
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayloadOrBuilder {
-      public static final com.google.protobuf.Descriptors.Descriptor
-          getDescriptor() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_WirePayload_descriptor;
+      /**
+       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       */
+      public Builder clearRpcCancel() {
+        if (rpcCancelBuilder_ == null) {
+          rpcCancel_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.getDefaultInstance();
+          onChanged();
+        } else {
+          rpcCancelBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000020);
+        return this;
       }
-
-      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
-          internalGetFieldAccessorTable() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_WirePayload_fieldAccessorTable
-            .ensureFieldAccessorsInitialized(
-                com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload.class, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload.Builder.class);
+      /**
+       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.Builder getRpcCancelBuilder() {
+        bitField0_ |= 0x00000020;
+        onChanged();
+        return getRpcCancelFieldBuilder().getBuilder();
       }
-
-      // Construct using com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload.newBuilder()
-      private Builder() {
-        maybeForceBuilderInitialization();
+      /**
+       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancelOrBuilder getRpcCancelOrBuilder() {
+        if (rpcCancelBuilder_ != null) {
+          return rpcCancelBuilder_.getMessageOrBuilder();
+        } else {
+          return rpcCancel_;
+        }
+      }
+      /**
+       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancelOrBuilder> 
+          getRpcCancelFieldBuilder() {
+        if (rpcCancelBuilder_ == null) {
+          rpcCancelBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancelOrBuilder>(
+                  getRpcCancel(),
+                  getParentForChildren(),
+                  isClean());
+          rpcCancel_ = null;
+        }
+        return rpcCancelBuilder_;
       }
 
-      private Builder(
-          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
-        super(parent);
-        maybeForceBuilderInitialization();
+      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse oobResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponseOrBuilder> oobResponseBuilder_;
+      /**
+       * <code>optional .OobResponse oobResponse = 7;</code>
+       *
+       * <pre>
+       * out of band responses from RPC server to client during 
+       * the processing of a RPC call
+       * </pre>
+       */
+      public boolean hasOobResponse() {
+        return ((bitField0_ & 0x00000040) == 0x00000040);
       }
-      private void maybeForceBuilderInitialization() {
-        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
-          getConnectRequestFieldBuilder();
-          getConnectResponseFieldBuilder();
-          getRpcRequestFieldBuilder();
-          getRpcResponseFieldBuilder();
-          getRpcErrorFieldBuilder();
-          getRpcCancelFieldBuilder();
-          getOobResponseFieldBuilder();
-          getOobMessageFieldBuilder();
-          getTransparentMessageFieldBuilder();
+      /**
+       * <code>optional .OobResponse oobResponse = 7;</code>
+       *
+       * <pre>
+       * out of band responses from RPC server to client during 
+       * the processing of a RPC call
+       * </pre>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse getOobResponse() {
+        if (oobResponseBuilder_ == null) {
+          return oobResponse_;
+        } else {
+          return oobResponseBuilder_.getMessage();
         }
       }
-      private static Builder create() {
-        return new Builder();
+      /**
+       * <code>optional .OobResponse oobResponse = 7;</code>
+       *
+       * <pre>
+       * out of band responses from RPC server to client during 
+       * the processing of a RPC call
+       * </pre>
+       */
+      public Builder setOobResponse(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse value) {
+        if (oobResponseBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          oobResponse_ = value;
+          onChanged();
+        } else {
+          oobResponseBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000040;
+        return this;
       }
-
-      public Builder clear() {
-        super.clear();
-        if (connectRequestBuilder_ == null) {
-          connectRequest_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.getDefaultInstance();
+      /**
+       * <code>optional .OobResponse oobResponse = 7;</code>
+       *
+       * <pre>
+       * out of band responses from RPC server to client during 
+       * the processing of a RPC call
+       * </pre>
+       */
+      public Builder setOobResponse(
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.Builder builderForValue) {
+        if (oobResponseBuilder_ == null) {
+          oobResponse_ = builderForValue.build();
+          onChanged();
         } else {
-          connectRequestBuilder_.clear();
+          oobResponseBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ = (bitField0_ & ~0x00000001);
-        if (connectResponseBuilder_ == null) {
-          connectResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.getDefaultInstance();
+        bitField0_ |= 0x00000040;
+        return this;
+      }
+      /**
+       * <code>optional .OobResponse oobResponse = 7;</code>
+       *
+       * <pre>
+       * out of band responses from RPC server to client during 
+       * the processing of a RPC call
+       * </pre>
+       */
+      public Builder mergeOobResponse(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse value) {
+        if (oobResponseBuilder_ == null) {
+          if (((bitField0_ & 0x00000040) == 0x00000040) &&
+              oobResponse_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.getDefaultInstance()) {
+            oobResponse_ =
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.newBuilder(oobResponse_).mergeFrom(value).buildPartial();
+          } else {
+            oobResponse_ = value;
+          }
+          onChanged();
         } else {
-          connectResponseBuilder_.clear();
+          oobResponseBuilder_.mergeFrom(value);
         }
-        bitField0_ = (bitField0_ & ~0x00000002);
-        if (rpcRequestBuilder_ == null) {
-          rpcRequest_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.getDefaultInstance();
+        bitField0_ |= 0x00000040;
+        return this;
+      }
+      /**
+       * <code>optional .OobResponse oobResponse = 7;</code>
+       *
+       * <pre>
+       * out of band responses from RPC server to client during 
+       * the processing of a RPC call
+       * </pre>
+       */
+      public Builder clearOobResponse() {
+        if (oobResponseBuilder_ == null) {
+          oobResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.getDefaultInstance();
+          onChanged();
         } else {
-          rpcRequestBuilder_.clear();
+          oobResponseBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00000004);
-        if (rpcResponseBuilder_ == null) {
-          rpcResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.getDefaultInstance();
+        bitField0_ = (bitField0_ & ~0x00000040);
+        return this;
+      }
+      /**
+       * <code>optional .OobResponse oobResponse = 7;</code>
+       *
+       * <pre>
+       * out of band responses from RPC server to client during 
+       * the processing of a RPC call
+       * </pre>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.Builder getOobResponseBuilder() {
+        bitField0_ |= 0x00000040;
+        onChanged();
+        return getOobResponseFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .OobResponse oobResponse = 7;</code>
+       *
+       * <pre>
+       * out of band responses from RPC server to client during 
+       * the processing of a RPC call
+       * </pre>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponseOrBuilder getOobResponseOrBuilder() {
+        if (oobResponseBuilder_ != null) {
+          return oobResponseBuilder_.getMessageOrBuilder();
         } else {
-          rpcResponseBuilder_.clear();
+          return oobResponse_;
         }
-        bitField0_ = (bitField0_ & ~0x00000008);
-        if (rpcErrorBuilder_ == null) {
-          rpcError_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.getDefaultInstance();
+      }
+      /**
+       * <code>optional .OobResponse oobResponse = 7;</code>
+       *
+       * <pre>
+       * out of band responses from RPC server to client during 
+       * the processing of a RPC call
+       * </pre>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponseOrBuilder> 
+          getOobResponseFieldBuilder() {
+        if (oobResponseBuilder_ == null) {
+          oobResponseBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponseOrBuilder>(
+                  getOobResponse(),
+                  getParentForChildren(),
+                  isClean());
+          oobResponse_ = null;
+        }
+        return oobResponseBuilder_;
+      }
+
+      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage oobMessage_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder> oobMessageBuilder_;
+      /**
+       * <code>optional .OobMessage oobMessage = 8;</code>
+       *
+       * <pre>
+       * bidirectional message not related to any particular RPC call. 
+       * </pre>
+       */
+      public boolean hasOobMessage() {
+        return ((bitField0_ & 0x00000080) == 0x00000080);
+      }
+      /**
+       * <code>optional .OobMessage oobMessage = 8;</code>
+       *
+       * <pre>
+       * bidirectional message not related to any particular RPC call. 
+       * </pre>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage getOobMessage() {
+        if (oobMessageBuilder_ == null) {
+          return oobMessage_;
         } else {
-          rpcErrorBuilder_.clear();
+          return oobMessageBuilder_.getMessage();
         }
-        bitField0_ = (bitField0_ & ~0x00000010);
-        if (rpcCancelBuilder_ == null) {
-          rpcCancel_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.getDefaultInstance();
+      }
+      /**
+       * <code>optional .OobMessage oobMessage = 8;</code>
+       *
+       * <pre>
+       * bidirectional message not related to any particular RPC call. 
+       * </pre>
+       */
+      public Builder setOobMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage value) {
+        if (oobMessageBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          oobMessage_ = value;
+          onChanged();
         } else {
-          rpcCancelBuilder_.clear();
+          oobMessageBuilder_.setMessage(value);
         }
-        bitField0_ = (bitField0_ & ~0x00000020);
-        if (oobResponseBuilder_ == null) {
-          oobResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.getDefaultInstance();
+        bitField0_ |= 0x00000080;
+        return this;
+      }
+      /**
+       * <code>optional .OobMessage oobMessage = 8;</code>
+       *
+       * <pre>
+       * bidirectional message not related to any particular RPC call. 
+       * </pre>
+       */
+      public Builder setOobMessage(
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder builderForValue) {
+        if (oobMessageBuilder_ == null) {
+          oobMessage_ = builderForValue.build();
+          onChanged();
+        } else {
+          oobMessageBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000080;
+        return this;
+      }
+      /**
+       * <code>optional .OobMessage oobMessage = 8;</code>
+       *
+       * <pre>
+       * bidirectional message not related to any particular RPC call. 
+       * </pre>
+       */
+      public Builder mergeOobMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage value) {
+        if (oobMessageBuilder_ == null) {
+          if (((bitField0_ & 0x00000080) == 0x00000080) &&
+              oobMessage_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance()) {
+            oobMessage_ =
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.newBuilder(oobMessage_).mergeFrom(value).buildPartial();
+          } else {
+            oobMessage_ = value;
+          }
+          onChanged();
         } else {
-          oobResponseBuilder_.clear();
+          oobMessageBuilder_.mergeFrom(value);
         }
-        bitField0_ = (bitField0_ & ~0x00000040);
+        bitField0_ |= 0x00000080;
+        return this;
+      }
+      /**
+       * <code>optional .OobMessage oobMessage = 8;</code>
+       *
+       * <pre>
+       * bidirectional message not related to any particular RPC call. 
+       * </pre>
+       */
+      public Builder clearOobMessage() {
         if (oobMessageBuilder_ == null) {
           oobMessage_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance();
+          onChanged();
         } else {
           oobMessageBuilder_.clear();
         }
         bitField0_ = (bitField0_ & ~0x00000080);
-        if (transparentMessageBuilder_ == null) {
-          transparentMessage_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance();
-        } else {
-          transparentMessageBuilder_.clear();
-        }
-        bitField0_ = (bitField0_ & ~0x00000100);
         return this;
       }
-
-      public Builder clone() {
-        return create().mergeFrom(buildPartial());
-      }
-
-      public com.google.protobuf.Descriptors.Descriptor
-          getDescriptorForType() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.internal_static_WirePayload_descriptor;
-      }
-
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload getDefaultInstanceForType() {
-        return com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload.getDefaultInstance();
-      }
-
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload build() {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload result = buildPartial();
-        if (!result.isInitialized()) {
-          throw newUninitializedMessageException(result);
-        }
-        return result;
+      /**
+       * <code>optional .OobMessage oobMessage = 8;</code>
+       *
+       * <pre>
+       * bidirectional message not related to any particular RPC call. 
+       * </pre>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder getOobMessageBuilder() {
+        bitField0_ |= 0x00000080;
+        onChanged();
+        return getOobMessageFieldBuilder().getBuilder();
       }
-
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload buildPartial() {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload result = new com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload(this);
-        int from_bitField0_ = bitField0_;
-        int to_bitField0_ = 0;
-        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
-          to_bitField0_ |= 0x00000001;
-        }
-        if (connectRequestBuilder_ == null) {
-          result.connectRequest_ = connectRequest_;
-        } else {
-          result.connectRequest_ = connectRequestBuilder_.build();
-        }
-        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
-          to_bitField0_ |= 0x00000002;
-        }
-        if (connectResponseBuilder_ == null) {
-          result.connectResponse_ = connectResponse_;
-        } else {
-          result.connectResponse_ = connectResponseBuilder_.build();
-        }
-        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
-          to_bitField0_ |= 0x00000004;
-        }
-        if (rpcRequestBuilder_ == null) {
-          result.rpcRequest_ = rpcRequest_;
-        } else {
-          result.rpcRequest_ = rpcRequestBuilder_.build();
-        }
-        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
-          to_bitField0_ |= 0x00000008;
-        }
-        if (rpcResponseBuilder_ == null) {
-          result.rpcResponse_ = rpcResponse_;
-        } else {
-          result.rpcResponse_ = rpcResponseBuilder_.build();
-        }
-        if (((from_bitField0_ & 0x00000010) == 0x00000010)) {
-          to_bitField0_ |= 0x00000010;
-        }
-        if (rpcErrorBuilder_ == null) {
-          result.rpcError_ = rpcError_;
-        } else {
-          result.rpcError_ = rpcErrorBuilder_.build();
-        }
-        if (((from_bitField0_ & 0x00000020) == 0x00000020)) {
-          to_bitField0_ |= 0x00000020;
-        }
-        if (rpcCancelBuilder_ == null) {
-          result.rpcCancel_ = rpcCancel_;
-        } else {
-          result.rpcCancel_ = rpcCancelBuilder_.build();
-        }
-        if (((from_bitField0_ & 0x00000040) == 0x00000040)) {
-          to_bitField0_ |= 0x00000040;
-        }
-        if (oobResponseBuilder_ == null) {
-          result.oobResponse_ = oobResponse_;
+      /**
+       * <code>optional .OobMessage oobMessage = 8;</code>
+       *
+       * <pre>
+       * bidirectional message not related to any particular RPC call. 
+       * </pre>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder getOobMessageOrBuilder() {
+        if (oobMessageBuilder_ != null) {
+          return oobMessageBuilder_.getMessageOrBuilder();
         } else {
-          result.oobResponse_ = oobResponseBuilder_.build();
-        }
-        if (((from_bitField0_ & 0x00000080) == 0x00000080)) {
-          to_bitField0_ |= 0x00000080;
+          return oobMessage_;
         }
+      }
+      /**
+       * <code>optional .OobMessage oobMessage = 8;</code>
+       *
+       * <pre>
+       * bidirectional message not related to any particular RPC call. 
+       * </pre>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder> 
+          getOobMessageFieldBuilder() {
         if (oobMessageBuilder_ == null) {
-          result.oobMessage_ = oobMessage_;
-        } else {
-          result.oobMessage_ = oobMessageBuilder_.build();
-        }
-        if (((from_bitField0_ & 0x00000100) == 0x00000100)) {
-          to_bitField0_ |= 0x00000100;
-        }
-        if (transparentMessageBuilder_ == null) {
-          result.transparentMessage_ = transparentMessage_;
-        } else {
-          result.transparentMessage_ = transparentMessageBuilder_.build();
+          oobMessageBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder>(
+                  getOobMessage(),
+                  getParentForChildren(),
+                  isClean());
+          oobMessage_ = null;
         }
-        result.bitField0_ = to_bitField0_;
-        onBuilt();
-        return result;
+        return oobMessageBuilder_;
       }
 
-      public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload) {
-          return mergeFrom((com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload)other);
-        } else {
-          super.mergeFrom(other);
-          return this;
-        }
+      private java.util.List<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest> batchedRpcRequest_ =
+        java.util.Collections.emptyList();
+      private void ensureBatchedRpcRequestIsMutable() {
+        if (!((bitField0_ & 0x00000100) == 0x00000100)) {
+          batchedRpcRequest_ = new java.util.ArrayList<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest>(batchedRpcRequest_);
+          bitField0_ |= 0x00000100;
+         }
       }
 
-      public Builder mergeFrom(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload other) {
-        if (other == com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload.getDefaultInstance()) return this;
-        if (other.hasConnectRequest()) {
-          mergeConnectRequest(other.getConnectRequest());
-        }
-        if (other.hasConnectResponse()) {
-          mergeConnectResponse(other.getConnectResponse());
-        }
-        if (other.hasRpcRequest()) {
-          mergeRpcRequest(other.getRpcRequest());
-        }
-        if (other.hasRpcResponse()) {
-          mergeRpcResponse(other.getRpcResponse());
-        }
-        if (other.hasRpcError()) {
-          mergeRpcError(other.getRpcError());
-        }
-        if (other.hasRpcCancel()) {
-          mergeRpcCancel(other.getRpcCancel());
-        }
-        if (other.hasOobResponse()) {
-          mergeOobResponse(other.getOobResponse());
-        }
-        if (other.hasOobMessage()) {
-          mergeOobMessage(other.getOobMessage());
-        }
-        if (other.hasTransparentMessage()) {
-          mergeTransparentMessage(other.getTransparentMessage());
-        }
-        this.mergeExtensionFields(other);
-        this.mergeUnknownFields(other.getUnknownFields());
-        return this;
-      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder> batchedRpcRequestBuilder_;
 
-      public final boolean isInitialized() {
-        if (hasConnectRequest()) {
-          if (!getConnectRequest().isInitialized()) {
-            
-            return false;
-          }
-        }
-        if (hasConnectResponse()) {
-          if (!getConnectResponse().isInitialized()) {
-            
-            return false;
-          }
-        }
-        if (hasRpcRequest()) {
-          if (!getRpcRequest().isInitialized()) {
-            
-            return false;
-          }
-        }
-        if (hasRpcResponse()) {
-          if (!getRpcResponse().isInitialized()) {
-            
-            return false;
-          }
-        }
-        if (hasRpcError()) {
-          if (!getRpcError().isInitialized()) {
-            
-            return false;
-          }
-        }
-        if (hasRpcCancel()) {
-          if (!getRpcCancel().isInitialized()) {
-            
-            return false;
-          }
-        }
-        if (hasOobResponse()) {
-          if (!getOobResponse().isInitialized()) {
-            
-            return false;
-          }
-        }
-        if (hasOobMessage()) {
-          if (!getOobMessage().isInitialized()) {
-            
-            return false;
-          }
-        }
-        if (hasTransparentMessage()) {
-          if (!getTransparentMessage().isInitialized()) {
-            
-            return false;
-          }
+      /**
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+       */
+      public java.util.List<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest> getBatchedRpcRequestList() {
+        if (batchedRpcRequestBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(batchedRpcRequest_);
+        } else {
+          return batchedRpcRequestBuilder_.getMessageList();
         }
-        if (!extensionsAreInitialized()) {
-          
-          return false;
+      }
+      /**
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+       */
+      public int getBatchedRpcRequestCount() {
+        if (batchedRpcRequestBuilder_ == null) {
+          return batchedRpcRequest_.size();
+        } else {
+          return batchedRpcRequestBuilder_.getCount();
         }
-        return true;
       }
-
-      public Builder mergeFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws java.io.IOException {
-        com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload parsedMessage = null;
-        try {
-          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
-        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload) e.getUnfinishedMessage();
-          throw e;
-        } finally {
-          if (parsedMessage != null) {
-            mergeFrom(parsedMessage);
+      /**
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest getBatchedRpcRequest(int index) {
+        if (batchedRpcRequestBuilder_ == null) {
+          return batchedRpcRequest_.get(index);
+        } else {
+          return batchedRpcRequestBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+       */
+      public Builder setBatchedRpcRequest(
+          int index, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest value) {
+        if (batchedRpcRequestBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
           }
+          ensureBatchedRpcRequestIsMutable();
+          batchedRpcRequest_.set(index, value);
+          onChanged();
+        } else {
+          batchedRpcRequestBuilder_.setMessage(index, value);
         }
         return this;
       }
-      private int bitField0_;
-
-      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest connectRequest_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.getDefaultInstance();
-      private com.google.protobuf.SingleFieldBuilder<
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequestOrBuilder> connectRequestBuilder_;
       /**
-       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
        */
-      public boolean hasConnectRequest() {
-        return ((bitField0_ & 0x00000001) == 0x00000001);
+      public Builder setBatchedRpcRequest(
+          int index, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder builderForValue) {
+        if (batchedRpcRequestBuilder_ == null) {
+          ensureBatchedRpcRequestIsMutable();
+          batchedRpcRequest_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          batchedRpcRequestBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
       }
       /**
-       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest getConnectRequest() {
-        if (connectRequestBuilder_ == null) {
-          return connectRequest_;
+      public Builder addBatchedRpcRequest(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest value) {
+        if (batchedRpcRequestBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureBatchedRpcRequestIsMutable();
+          batchedRpcRequest_.add(value);
+          onChanged();
         } else {
-          return connectRequestBuilder_.getMessage();
+          batchedRpcRequestBuilder_.addMessage(value);
         }
+        return this;
       }
       /**
-       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
        */
-      public Builder setConnectRequest(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest value) {
-        if (connectRequestBuilder_ == null) {
+      public Builder addBatchedRpcRequest(
+          int index, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest value) {
+        if (batchedRpcRequestBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
           }
-          connectRequest_ = value;
+          ensureBatchedRpcRequestIsMutable();
+          batchedRpcRequest_.add(index, value);
           onChanged();
         } else {
-          connectRequestBuilder_.setMessage(value);
+          batchedRpcRequestBuilder_.addMessage(index, value);
         }
-        bitField0_ |= 0x00000001;
         return this;
       }
       /**
-       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
        */
-      public Builder setConnectRequest(
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.Builder builderForValue) {
-        if (connectRequestBuilder_ == null) {
-          connectRequest_ = builderForValue.build();
+      public Builder addBatchedRpcRequest(
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder builderForValue) {
+        if (batchedRpcRequestBuilder_ == null) {
+          ensureBatchedRpcRequestIsMutable();
+          batchedRpcRequest_.add(builderForValue.build());
           onChanged();
         } else {
-          connectRequestBuilder_.setMessage(builderForValue.build());
+          batchedRpcRequestBuilder_.addMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00000001;
         return this;
       }
       /**
-       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
        */
-      public Builder mergeConnectRequest(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest value) {
-        if (connectRequestBuilder_ == null) {
-          if (((bitField0_ & 0x00000001) == 0x00000001) &&
-              connectRequest_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.getDefaultInstance()) {
-            connectRequest_ =
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.newBuilder(connectRequest_).mergeFrom(value).buildPartial();
-          } else {
-            connectRequest_ = value;
-          }
+      public Builder addBatchedRpcRequest(
+          int index, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder builderForValue) {
+        if (batchedRpcRequestBuilder_ == null) {
+          ensureBatchedRpcRequestIsMutable();
+          batchedRpcRequest_.add(index, builderForValue.build());
           onChanged();
         } else {
-          connectRequestBuilder_.mergeFrom(value);
+          batchedRpcRequestBuilder_.addMessage(index, builderForValue.build());
         }
-        bitField0_ |= 0x00000001;
         return this;
       }
       /**
-       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
        */
-      public Builder clearConnectRequest() {
-        if (connectRequestBuilder_ == null) {
-          connectRequest_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.getDefaultInstance();
+      public Builder addAllBatchedRpcRequest(
+          java.lang.Iterable<? extends com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest> values) {
+        if (batchedRpcRequestBuilder_ == null) {
+          ensureBatchedRpcRequestIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, batchedRpcRequest_);
           onChanged();
         } else {
-          connectRequestBuilder_.clear();
+          batchedRpcRequestBuilder_.addAllMessages(values);
         }
-        bitField0_ = (bitField0_ & ~0x00000001);
         return this;
       }
       /**
-       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.Builder getConnectRequestBuilder() {
-        bitField0_ |= 0x00000001;
-        onChanged();
-        return getConnectRequestFieldBuilder().getBuilder();
+      public Builder clearBatchedRpcRequest() {
+        if (batchedRpcRequestBuilder_ == null) {
+          batchedRpcRequest_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000100);
+          onChanged();
+        } else {
+          batchedRpcRequestBuilder_.clear();
+        }
+        return this;
       }
       /**
-       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequestOrBuilder getConnectRequestOrBuilder() {
-        if (connectRequestBuilder_ != null) {
-          return connectRequestBuilder_.getMessageOrBuilder();
+      public Builder removeBatchedRpcRequest(int index) {
+        if (batchedRpcRequestBuilder_ == null) {
+          ensureBatchedRpcRequestIsMutable();
+          batchedRpcRequest_.remove(index);
+          onChanged();
         } else {
-          return connectRequest_;
+          batchedRpcRequestBuilder_.remove(index);
         }
+        return this;
       }
       /**
-       * <code>optional .ConnectRequest connectRequest = 1;</code>
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
        */
-      private com.google.protobuf.SingleFieldBuilder<
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequestOrBuilder> 
-          getConnectRequestFieldBuilder() {
-        if (connectRequestBuilder_ == null) {
-          connectRequestBuilder_ = new com.google.protobuf.SingleFieldBuilder<
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequest.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectRequestOrBuilder>(
-                  getConnectRequest(),
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder getBatchedRpcRequestBuilder(
+          int index) {
+        return getBatchedRpcRequestFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder getBatchedRpcRequestOrBuilder(
+          int index) {
+        if (batchedRpcRequestBuilder_ == null) {
+          return batchedRpcRequest_.get(index);  } else {
+          return batchedRpcRequestBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+       */
+      public java.util.List<? extends com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder> 
+           getBatchedRpcRequestOrBuilderList() {
+        if (batchedRpcRequestBuilder_ != null) {
+          return batchedRpcRequestBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(batchedRpcRequest_);
+        }
+      }
+      /**
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder addBatchedRpcRequestBuilder() {
+        return getBatchedRpcRequestFieldBuilder().addBuilder(
+            com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder addBatchedRpcRequestBuilder(
+          int index) {
+        return getBatchedRpcRequestFieldBuilder().addBuilder(
+            index, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .RpcRequest batchedRpcRequest = 9;</code>
+       */
+      public java.util.List<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder> 
+           getBatchedRpcRequestBuilderList() {
+        return getBatchedRpcRequestFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder> 
+          getBatchedRpcRequestFieldBuilder() {
+        if (batchedRpcRequestBuilder_ == null) {
+          batchedRpcRequestBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder>(
+                  batchedRpcRequest_,
+                  ((bitField0_ & 0x00000100) == 0x00000100),
                   getParentForChildren(),
                   isClean());
-          connectRequest_ = null;
+          batchedRpcRequest_ = null;
         }
-        return connectRequestBuilder_;
+        return batchedRpcRequestBuilder_;
       }
 
-      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse connectResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.getDefaultInstance();
-      private com.google.protobuf.SingleFieldBuilder<
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponseOrBuilder> connectResponseBuilder_;
-      /**
-       * <code>optional .ConnectResponse connectResponse = 2;</code>
-       */
-      public boolean hasConnectResponse() {
-        return ((bitField0_ & 0x00000002) == 0x00000002);
+      private java.util.List<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse> batchedRpcResponse_ =
+        java.util.Collections.emptyList();
+      private void ensureBatchedRpcResponseIsMutable() {
+        if (!((bitField0_ & 0x00000200) == 0x00000200)) {
+          batchedRpcResponse_ = new java.util.ArrayList<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse>(batchedRpcResponse_);
+          bitField0_ |= 0x00000200;
+         }
       }
+
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder> batchedRpcResponseBuilder_;
+
       /**
-       * <code>optional .ConnectResponse connectResponse = 2;</code>
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse getConnectResponse() {
-        if (connectResponseBuilder_ == null) {
-          return connectResponse_;
+      public java.util.List<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse> getBatchedRpcResponseList() {
+        if (batchedRpcResponseBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(batchedRpcResponse_);
         } else {
-          return connectResponseBuilder_.getMessage();
+          return batchedRpcResponseBuilder_.getMessageList();
         }
       }
       /**
-       * <code>optional .ConnectResponse connectResponse = 2;</code>
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public Builder setConnectResponse(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse value) {
-        if (connectResponseBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          connectResponse_ = value;
-          onChanged();
+      public int getBatchedRpcResponseCount() {
+        if (batchedRpcResponseBuilder_ == null) {
+          return batchedRpcResponse_.size();
         } else {
-          connectResponseBuilder_.setMessage(value);
+          return batchedRpcResponseBuilder_.getCount();
         }
-        bitField0_ |= 0x00000002;
-        return this;
       }
       /**
-       * <code>optional .ConnectResponse connectResponse = 2;</code>
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public Builder setConnectResponse(
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.Builder builderForValue) {
-        if (connectResponseBuilder_ == null) {
-          connectResponse_ = builderForValue.build();
-          onChanged();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse getBatchedRpcResponse(int index) {
+        if (batchedRpcResponseBuilder_ == null) {
+          return batchedRpcResponse_.get(index);
         } else {
-          connectResponseBuilder_.setMessage(builderForValue.build());
+          return batchedRpcResponseBuilder_.getMessage(index);
         }
-        bitField0_ |= 0x00000002;
-        return this;
       }
       /**
-       * <code>optional .ConnectResponse connectResponse = 2;</code>
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public Builder mergeConnectResponse(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse value) {
-        if (connectResponseBuilder_ == null) {
-          if (((bitField0_ & 0x00000002) == 0x00000002) &&
-              connectResponse_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.getDefaultInstance()) {
-            connectResponse_ =
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.newBuilder(connectResponse_).mergeFrom(value).buildPartial();
-          } else {
-            connectResponse_ = value;
+      public Builder setBatchedRpcResponse(
+          int index, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse value) {
+        if (batchedRpcResponseBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
           }
+          ensureBatchedRpcResponseIsMutable();
+          batchedRpcResponse_.set(index, value);
           onChanged();
         } else {
-          connectResponseBuilder_.mergeFrom(value);
+          batchedRpcResponseBuilder_.setMessage(index, value);
         }
-        bitField0_ |= 0x00000002;
         return this;
       }
       /**
-       * <code>optional .ConnectResponse connectResponse = 2;</code>
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public Builder clearConnectResponse() {
-        if (connectResponseBuilder_ == null) {
-          connectResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.getDefaultInstance();
+      public Builder setBatchedRpcResponse(
+          int index, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder builderForValue) {
+        if (batchedRpcResponseBuilder_ == null) {
+          ensureBatchedRpcResponseIsMutable();
+          batchedRpcResponse_.set(index, builderForValue.build());
           onChanged();
         } else {
-          connectResponseBuilder_.clear();
+          batchedRpcResponseBuilder_.setMessage(index, builderForValue.build());
         }
-        bitField0_ = (bitField0_ & ~0x00000002);
         return this;
       }
       /**
-       * <code>optional .ConnectResponse connectResponse = 2;</code>
-       */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.Builder getConnectResponseBuilder() {
-        bitField0_ |= 0x00000002;
-        onChanged();
-        return getConnectResponseFieldBuilder().getBuilder();
-      }
-      /**
-       * <code>optional .ConnectResponse connectResponse = 2;</code>
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponseOrBuilder getConnectResponseOrBuilder() {
-        if (connectResponseBuilder_ != null) {
-          return connectResponseBuilder_.getMessageOrBuilder();
+      public Builder addBatchedRpcResponse(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse value) {
+        if (batchedRpcResponseBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureBatchedRpcResponseIsMutable();
+          batchedRpcResponse_.add(value);
+          onChanged();
         } else {
-          return connectResponse_;
+          batchedRpcResponseBuilder_.addMessage(value);
         }
+        return this;
       }
       /**
-       * <code>optional .ConnectResponse connectResponse = 2;</code>
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      private com.google.protobuf.SingleFieldBuilder<
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponseOrBuilder> 
-          getConnectResponseFieldBuilder() {
-        if (connectResponseBuilder_ == null) {
-          connectResponseBuilder_ = new com.google.protobuf.SingleFieldBuilder<
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.ConnectResponseOrBuilder>(
-                  getConnectResponse(),
-                  getParentForChildren(),
-                  isClean());
-          connectResponse_ = null;
+      public Builder addBatchedRpcResponse(
+          int index, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse value) {
+        if (batchedRpcResponseBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureBatchedRpcResponseIsMutable();
+          batchedRpcResponse_.add(index, value);
+          onChanged();
+        } else {
+          batchedRpcResponseBuilder_.addMessage(index, value);
         }
-        return connectResponseBuilder_;
-      }
-
-      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest rpcRequest_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.getDefaultInstance();
-      private com.google.protobuf.SingleFieldBuilder<
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder> rpcRequestBuilder_;
-      /**
-       * <code>optional .RpcRequest rpcRequest = 3;</code>
-       */
-      public boolean hasRpcRequest() {
-        return ((bitField0_ & 0x00000004) == 0x00000004);
+        return this;
       }
       /**
-       * <code>optional .RpcRequest rpcRequest = 3;</code>
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest getRpcRequest() {
-        if (rpcRequestBuilder_ == null) {
-          return rpcRequest_;
+      public Builder addBatchedRpcResponse(
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder builderForValue) {
+        if (batchedRpcResponseBuilder_ == null) {
+          ensureBatchedRpcResponseIsMutable();
+          batchedRpcResponse_.add(builderForValue.build());
+          onChanged();
         } else {
-          return rpcRequestBuilder_.getMessage();
+          batchedRpcResponseBuilder_.addMessage(builderForValue.build());
         }
+        return this;
       }
       /**
-       * <code>optional .RpcRequest rpcRequest = 3;</code>
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public Builder setRpcRequest(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest value) {
-        if (rpcRequestBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          rpcRequest_ = value;
+      public Builder addBatchedRpcResponse(
+          int index, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder builderForValue) {
+        if (batchedRpcResponseBuilder_ == null) {
+          ensureBatchedRpcResponseIsMutable();
+          batchedRpcResponse_.add(index, builderForValue.build());
           onChanged();
         } else {
-          rpcRequestBuilder_.setMessage(value);
+          batchedRpcResponseBuilder_.addMessage(index, builderForValue.build());
         }
-        bitField0_ |= 0x00000004;
         return this;
       }
       /**
-       * <code>optional .RpcRequest rpcRequest = 3;</code>
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public Builder setRpcRequest(
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder builderForValue) {
-        if (rpcRequestBuilder_ == null) {
-          rpcRequest_ = builderForValue.build();
+      public Builder addAllBatchedRpcResponse(
+          java.lang.Iterable<? extends com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse> values) {
+        if (batchedRpcResponseBuilder_ == null) {
+          ensureBatchedRpcResponseIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, batchedRpcResponse_);
           onChanged();
         } else {
-          rpcRequestBuilder_.setMessage(builderForValue.build());
+          batchedRpcResponseBuilder_.addAllMessages(values);
         }
-        bitField0_ |= 0x00000004;
         return this;
       }
       /**
-       * <code>optional .RpcRequest rpcRequest = 3;</code>
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public Builder mergeRpcRequest(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest value) {
-        if (rpcRequestBuilder_ == null) {
-          if (((bitField0_ & 0x00000004) == 0x00000004) &&
-              rpcRequest_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.getDefaultInstance()) {
-            rpcRequest_ =
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.newBuilder(rpcRequest_).mergeFrom(value).buildPartial();
-          } else {
-            rpcRequest_ = value;
-          }
+      public Builder clearBatchedRpcResponse() {
+        if (batchedRpcResponseBuilder_ == null) {
+          batchedRpcResponse_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000200);
           onChanged();
         } else {
-          rpcRequestBuilder_.mergeFrom(value);
+          batchedRpcResponseBuilder_.clear();
         }
-        bitField0_ |= 0x00000004;
         return this;
       }
       /**
-       * <code>optional .RpcRequest rpcRequest = 3;</code>
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public Builder clearRpcRequest() {
-        if (rpcRequestBuilder_ == null) {
-          rpcRequest_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.getDefaultInstance();
+      public Builder removeBatchedRpcResponse(int index) {
+        if (batchedRpcResponseBuilder_ == null) {
+          ensureBatchedRpcResponseIsMutable();
+          batchedRpcResponse_.remove(index);
           onChanged();
         } else {
-          rpcRequestBuilder_.clear();
+          batchedRpcResponseBuilder_.remove(index);
         }
-        bitField0_ = (bitField0_ & ~0x00000004);
         return this;
       }
       /**
-       * <code>optional .RpcRequest rpcRequest = 3;</code>
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder getRpcRequestBuilder() {
-        bitField0_ |= 0x00000004;
-        onChanged();
-        return getRpcRequestFieldBuilder().getBuilder();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder getBatchedRpcResponseBuilder(
+          int index) {
+        return getBatchedRpcResponseFieldBuilder().getBuilder(index);
       }
       /**
-       * <code>optional .RpcRequest rpcRequest = 3;</code>
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder getRpcRequestOrBuilder() {
-        if (rpcRequestBuilder_ != null) {
-          return rpcRequestBuilder_.getMessageOrBuilder();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder getBatchedRpcResponseOrBuilder(
+          int index) {
+        if (batchedRpcResponseBuilder_ == null) {
+          return batchedRpcResponse_.get(index);  } else {
+          return batchedRpcResponseBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
+       */
+      public java.util.List<? extends com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder> 
+           getBatchedRpcResponseOrBuilderList() {
+        if (batchedRpcResponseBuilder_ != null) {
+          return batchedRpcResponseBuilder_.getMessageOrBuilderList();
         } else {
-          return rpcRequest_;
+          return java.util.Collections.unmodifiableList(batchedRpcResponse_);
         }
       }
       /**
-       * <code>optional .RpcRequest rpcRequest = 3;</code>
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      private com.google.protobuf.SingleFieldBuilder<
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder> 
-          getRpcRequestFieldBuilder() {
-        if (rpcRequestBuilder_ == null) {
-          rpcRequestBuilder_ = new com.google.protobuf.SingleFieldBuilder<
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequestOrBuilder>(
-                  getRpcRequest(),
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder addBatchedRpcResponseBuilder() {
+        return getBatchedRpcResponseFieldBuilder().addBuilder(
+            com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
+       */
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder addBatchedRpcResponseBuilder(
+          int index) {
+        return getBatchedRpcResponseFieldBuilder().addBuilder(
+            index, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .RpcResponse batchedRpcResponse = 10;</code>
+       *
+       * <pre>
+       * several RPC calls sharing one frame, only sent if batching was 
+       * negotiated in the ConnectRequest and ConnectResponse.
+       * </pre>
+       */
+      public java.util.List<com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder> 
+           getBatchedRpcResponseBuilderList() {
+        return getBatchedRpcResponseFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder> 
+          getBatchedRpcResponseFieldBuilder() {
+        if (batchedRpcResponseBuilder_ == null) {
+          batchedRpcResponseBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder>(
+                  batchedRpcResponse_,
+                  ((bitField0_ & 0x00000200) == 0x00000200),
                   getParentForChildren(),
                   isClean());
-          rpcRequest_ = null;
+          batchedRpcResponse_ = null;
         }
-        return rpcRequestBuilder_;
+        return batchedRpcResponseBuilder_;
       }
 
-      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse rpcResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.getDefaultInstance();
+      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload compressedPayload_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.getDefaultInstance();
       private com.google.protobuf.SingleFieldBuilder<
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder> rpcResponseBuilder_;
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayloadOrBuilder> compressedPayloadBuilder_;
       /**
-       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       * <code>optional .CompressedPayload compressedPayload = 11;</code>
+       *
+       * <pre>
+       * a frame compressed with the codec negotiated in the 
+       * ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public boolean hasRpcResponse() {
-        return ((bitField0_ & 0x00000008) == 0x00000008);
+      public boolean hasCompressedPayload() {
+        return ((bitField0_ & 0x00000400) == 0x00000400);
       }
       /**
-       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       * <code>optional .CompressedPayload compressedPayload = 11;</code>
+       *
+       * <pre>
+       * a frame compressed with the codec negotiated in the 
+       * ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse getRpcResponse() {
-        if (rpcResponseBuilder_ == null) {
-          return rpcResponse_;
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload getCompressedPayload() {
+        if (compressedPayloadBuilder_ == null) {
+          return compressedPayload_;
         } else {
-          return rpcResponseBuilder_.getMessage();
+          return compressedPayloadBuilder_.getMessage();
         }
       }
       /**
-       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       * <code>optional .CompressedPayload compressedPayload = 11;</code>
+       *
+       * <pre>
+       * a frame compressed with the codec negotiated in the 
+       * ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public Builder setRpcResponse(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse value) {
-        if (rpcResponseBuilder_ == null) {
+      public Builder setCompressedPayload(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload value) {
+        if (compressedPayloadBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
           }
-          rpcResponse_ = value;
+          compressedPayload_ = value;
           onChanged();
         } else {
-          rpcResponseBuilder_.setMessage(value);
+          compressedPayloadBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00000008;
+        bitField0_ |= 0x00000400;
         return this;
       }
       /**
-       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       * <code>optional .CompressedPayload compressedPayload = 11;</code>
+       *
+       * <pre>
+       * a frame compressed with the codec negotiated in the 
+       * ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public Builder setRpcResponse(
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder builderForValue) {
-        if (rpcResponseBuilder_ == null) {
-          rpcResponse_ = builderForValue.build();
+      public Builder setCompressedPayload(
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.Builder builderForValue) {
+        if (compressedPayloadBuilder_ == null) {
+          compressedPayload_ = builderForValue.build();
           onChanged();
         } else {
-          rpcResponseBuilder_.setMessage(builderForValue.build());
+          compressedPayloadBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00000008;
+        bitField0_ |= 0x00000400;
         return this;
       }
       /**
-       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       * <code>optional .CompressedPayload compressedPayload = 11;</code>
+       *
+       * <pre>
+       * a frame compressed with the codec negotiated in the 
+       * ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public Builder mergeRpcResponse(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse value) {
-        if (rpcResponseBuilder_ == null) {
-          if (((bitField0_ & 0x00000008) == 0x00000008) &&
-              rpcResponse_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.getDefaultInstance()) {
-            rpcResponse_ =
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.newBuilder(rpcResponse_).mergeFrom(value).buildPartial();
+      public Builder mergeCompressedPayload(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload value) {
+        if (compressedPayloadBuilder_ == null) {
+          if (((bitField0_ & 0x00000400) == 0x00000400) &&
+              compressedPayload_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.getDefaultInstance()) {
+            compressedPayload_ =
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.newBuilder(compressedPayload_).mergeFrom(value).buildPartial();
           } else {
-            rpcResponse_ = value;
+            compressedPayload_ = value;
           }
           onChanged();
         } else {
-          rpcResponseBuilder_.mergeFrom(value);
+          compressedPayloadBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00000008;
+        bitField0_ |= 0x00000400;
         return this;
       }
       /**
-       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       * <code>optional .CompressedPayload compressedPayload = 11;</code>
+       *
+       * <pre>
+       * a frame compressed with the codec negotiated in the 
+       * ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public Builder clearRpcResponse() {
-        if (rpcResponseBuilder_ == null) {
-          rpcResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.getDefaultInstance();
+      public Builder clearCompressedPayload() {
+        if (compressedPayloadBuilder_ == null) {
+          compressedPayload_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.getDefaultInstance();
           onChanged();
         } else {
-          rpcResponseBuilder_.clear();
+          compressedPayloadBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00000008);
+        bitField0_ = (bitField0_ & ~0x00000400);
         return this;
       }
       /**
-       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       * <code>optional .CompressedPayload compressedPayload = 11;</code>
+       *
+       * <pre>
+       * a frame compressed with the codec negotiated in the 
+       * ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder getRpcResponseBuilder() {
-        bitField0_ |= 0x00000008;
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.Builder getCompressedPayloadBuilder() {
+        bitField0_ |= 0x00000400;
         onChanged();
-        return getRpcResponseFieldBuilder().getBuilder();
+        return getCompressedPayloadFieldBuilder().getBuilder();
       }
       /**
-       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       * <code>optional .CompressedPayload compressedPayload = 11;</code>
+       *
+       * <pre>
+       * a frame compressed with the codec negotiated in the 
+       * ConnectRequest and ConnectResponse.
+       * </pre>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder getRpcResponseOrBuilder() {
-        if (rpcResponseBuilder_ != null) {
-          return rpcResponseBuilder_.getMessageOrBuilder();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayloadOrBuilder getCompressedPayloadOrBuilder() {
+        if (compressedPayloadBuilder_ != null) {
+          return compressedPayloadBuilder_.getMessageOrBuilder();
         } else {
-          return rpcResponse_;
+          return compressedPayload_;
         }
       }
       /**
-       * <code>optional .RpcResponse rpcResponse = 4;</code>
+       * <code>optional .CompressedPayload compressedPayload = 11;</code>
+       *
+       * <pre>
+       * a frame compressed with the codec negotiated in the 
+       * ConnectRequest and ConnectResponse.
+       * </pre>
        */
       private com.google.protobuf.SingleFieldBuilder<
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder> 
-          getRpcResponseFieldBuilder() {
-        if (rpcResponseBuilder_ == null) {
-          rpcResponseBuilder_ = new com.google.protobuf.SingleFieldBuilder<
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponseOrBuilder>(
-                  getRpcResponse(),
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayloadOrBuilder> 
+          getCompressedPayloadFieldBuilder() {
+        if (compressedPayloadBuilder_ == null) {
+          compressedPayloadBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayload.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressedPayloadOrBuilder>(
+                  getCompressedPayload(),
                   getParentForChildren(),
                   isClean());
-          rpcResponse_ = null;
+          compressedPayload_ = null;
         }
-        return rpcResponseBuilder_;
+        return compressedPayloadBuilder_;
       }
 
-      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError rpcError_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.getDefaultInstance();
+      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit oobCredit_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.getDefaultInstance();
       private com.google.protobuf.SingleFieldBuilder<
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcErrorOrBuilder> rpcErrorBuilder_;
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCreditOrBuilder> oobCreditBuilder_;
       /**
-       * <code>optional .RpcError rpcError = 5;</code>
+       * <code>optional .OobCredit oobCredit = 12;</code>
+       *
+       * <pre>
+       * flow control of the OobResponses of a RPC call, which the server
+       * streams from a Publisher to the client's Subscriber.
+       * </pre>
        */
-      public boolean hasRpcError() {
-        return ((bitField0_ & 0x00000010) == 0x00000010);
+      public boolean hasOobCredit() {
+        return ((bitField0_ & 0x00000800) == 0x00000800);
       }
       /**
-       * <code>optional .RpcError rpcError = 5;</code>
+       * <code>optional .OobCredit oobCredit = 12;</code>
+       *
+       * <pre>
+       * flow control of the OobResponses of a RPC call, which the server
+       * streams from a Publisher to the client's Subscriber.
+       * </pre>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError getRpcError() {
-        if (rpcErrorBuilder_ == null) {
-          return rpcError_;
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit getOobCredit() {
+        if (oobCreditBuilder_ == null) {
+          return oobCredit_;
         } else {
-          return rpcErrorBuilder_.getMessage();
+          return oobCreditBuilder_.getMessage();
         }
       }
       /**
-       * <code>optional .RpcError rpcError = 5;</code>
+       * <code>optional .OobCredit oobCredit = 12;</code>
+       *
+       * <pre>
+       * flow control of the OobResponses of a RPC call, which the server
+       * streams from a Publisher to the client's Subscriber.
+       * </pre>
        */
-      public Builder setRpcError(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError value) {
-        if (rpcErrorBuilder_ == null) {
+      public Builder setOobCredit(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit value) {
+        if (oobCreditBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
           }
-          rpcError_ = value;
+          oobCredit_ = value;
           onChanged();
         } else {
-          rpcErrorBuilder_.setMessage(value);
+          oobCreditBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00000010;
+        bitField0_ |= 0x00000800;
         return this;
       }
       /**
-       * <code>optional .RpcError rpcError = 5;</code>
+       * <code>optional .OobCredit oobCredit = 12;</code>
+       *
+       * <pre>
+       * flow control of the OobResponses of a RPC call, which the server
+       * streams from a Publisher to the client's Subscriber.
+       * </pre>
        */
-      public Builder setRpcError(
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.Builder builderForValue) {
-        if (rpcErrorBuilder_ == null) {
-          rpcError_ = builderForValue.build();
+      public Builder setOobCredit(
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.Builder builderForValue) {
+        if (oobCreditBuilder_ == null) {
+          oobCredit_ = builderForValue.build();
           onChanged();
         } else {
-          rpcErrorBuilder_.setMessage(builderForValue.build());
+          oobCreditBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00000010;
+        bitField0_ |= 0x00000800;
         return this;
       }
       /**
-       * <code>optional .RpcError rpcError = 5;</code>
+       * <code>optional .OobCredit oobCredit = 12;</code>
+       *
+       * <pre>
+       * flow control of the OobResponses of a RPC call, which the server
+       * streams from a Publisher to the client's Subscriber.
+       * </pre>
        */
-      public Builder mergeRpcError(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError value) {
-        if (rpcErrorBuilder_ == null) {
-          if (((bitField0_ & 0x00000010) == 0x00000010) &&
-              rpcError_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.getDefaultInstance()) {
-            rpcError_ =
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.newBuilder(rpcError_).mergeFrom(value).buildPartial();
+      public Builder mergeOobCredit(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit value) {
+        if (oobCreditBuilder_ == null) {
+          if (((bitField0_ & 0x00000800) == 0x00000800) &&
+              oobCredit_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.getDefaultInstance()) {
+            oobCredit_ =
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.newBuilder(oobCredit_).mergeFrom(value).buildPartial();
           } else {
-            rpcError_ = value;
+            oobCredit_ = value;
           }
           onChanged();
         } else {
-          rpcErrorBuilder_.mergeFrom(value);
+          oobCreditBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00000010;
+        bitField0_ |= 0x00000800;
         return this;
       }
       /**
-       * <code>optional .RpcError rpcError = 5;</code>
+       * <code>optional .OobCredit oobCredit = 12;</code>
+       *
+       * <pre>
+       * flow control of the OobResponses of a RPC call, which the server
+       * streams from a Publisher to the client's Subscriber.
+       * </pre>
        */
-      public Builder clearRpcError() {
-        if (rpcErrorBuilder_ == null) {
-          rpcError_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.getDefaultInstance();
+      public Builder clearOobCredit() {
+        if (oobCreditBuilder_ == null) {
+          oobCredit_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.getDefaultInstance();
           onChanged();
         } else {
-          rpcErrorBuilder_.clear();
+          oobCreditBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00000010);
+        bitField0_ = (bitField0_ & ~0x00000800);
         return this;
       }
       /**
-       * <code>optional .RpcError rpcError = 5;</code>
+       * <code>optional .OobCredit oobCredit = 12;</code>
+       *
+       * <pre>
+       * flow control of the OobResponses of a RPC call, which the server
+       * streams from a Publisher to the client's Subscriber.
+       * </pre>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.Builder getRpcErrorBuilder() {
-        bitField0_ |= 0x00000010;
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.Builder getOobCreditBuilder() {
+        bitField0_ |= 0x00000800;
         onChanged();
-        return getRpcErrorFieldBuilder().getBuilder();
+        return getOobCreditFieldBuilder().getBuilder();
       }
       /**
-       * <code>optional .RpcError rpcError = 5;</code>
+       * <code>optional .OobCredit oobCredit = 12;</code>
+       *
+       * <pre>
+       * flow control of the OobResponses of a RPC call, which the server
+       * streams from a Publisher to the client's Subscriber.
+       * </pre>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcErrorOrBuilder getRpcErrorOrBuilder() {
-        if (rpcErrorBuilder_ != null) {
-          return rpcErrorBuilder_.getMessageOrBuilder();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCreditOrBuilder getOobCreditOrBuilder() {
+        if (oobCreditBuilder_ != null) {
+          return oobCreditBuilder_.getMessageOrBuilder();
         } else {
-          return rpcError_;
+          return oobCredit_;
         }
       }
       /**
-       * <code>optional .RpcError rpcError = 5;</code>
+       * <code>optional .OobCredit oobCredit = 12;</code>
+       *
+       * <pre>
+       * flow control of the OobResponses of a RPC call, which the server
+       * streams from a Publisher to the client's Subscriber.
+       * </pre>
        */
       private com.google.protobuf.SingleFieldBuilder<
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcErrorOrBuilder> 
-          getRpcErrorFieldBuilder() {
-        if (rpcErrorBuilder_ == null) {
-          rpcErrorBuilder_ = new com.google.protobuf.SingleFieldBuilder<
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcErrorOrBuilder>(
-                  getRpcError(),
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCreditOrBuilder> 
+          getOobCreditFieldBuilder() {
+        if (oobCreditBuilder_ == null) {
+          oobCreditBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCreditOrBuilder>(
+                  getOobCredit(),
                   getParentForChildren(),
                   isClean());
-          rpcError_ = null;
+          oobCredit_ = null;
         }
-        return rpcErrorBuilder_;
+        return oobCreditBuilder_;
       }
 
-      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel rpcCancel_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.getDefaultInstance();
+      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk streamChunk_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.getDefaultInstance();
       private com.google.protobuf.SingleFieldBuilder<
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancelOrBuilder> rpcCancelBuilder_;
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunkOrBuilder> streamChunkBuilder_;
       /**
-       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       * <code>optional .StreamChunk streamChunk = 13;</code>
        */
-      public boolean hasRpcCancel() {
-        return ((bitField0_ & 0x00000020) == 0x00000020);
+      public boolean hasStreamChunk() {
+        return ((bitField0_ & 0x00001000) == 0x00001000);
       }
       /**
-       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       * <code>optional .StreamChunk streamChunk = 13;</code>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel getRpcCancel() {
-        if (rpcCancelBuilder_ == null) {
-          return rpcCancel_;
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk getStreamChunk() {
+        if (streamChunkBuilder_ == null) {
+          return streamChunk_;
         } else {
-          return rpcCancelBuilder_.getMessage();
+          return streamChunkBuilder_.getMessage();
         }
       }
       /**
-       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       * <code>optional .StreamChunk streamChunk = 13;</code>
        */
-      public Builder setRpcCancel(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel value) {
-        if (rpcCancelBuilder_ == null) {
+      public Builder setStreamChunk(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk value) {
+        if (streamChunkBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
           }
-          rpcCancel_ = value;
+          streamChunk_ = value;
           onChanged();
         } else {
-          rpcCancelBuilder_.setMessage(value);
+          streamChunkBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00000020;
+        bitField0_ |= 0x00001000;
         return this;
       }
       /**
-       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       * <code>optional .StreamChunk streamChunk = 13;</code>
        */
-      public Builder setRpcCancel(
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.Builder builderForValue) {
-        if (rpcCancelBuilder_ == null) {
-          rpcCancel_ = builderForValue.build();
+      public Builder setStreamChunk(
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.Builder builderForValue) {
+        if (streamChunkBuilder_ == null) {
+          streamChunk_ = builderForValue.build();
           onChanged();
         } else {
-          rpcCancelBuilder_.setMessage(builderForValue.build());
+          streamChunkBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00000020;
+        bitField0_ |= 0x00001000;
         return this;
       }
       /**
-       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       * <code>optional .StreamChunk streamChunk = 13;</code>
        */
-      public Builder mergeRpcCancel(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel value) {
-        if (rpcCancelBuilder_ == null) {
-          if (((bitField0_ & 0x00000020) == 0x00000020) &&
-              rpcCancel_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.getDefaultInstance()) {
-            rpcCancel_ =
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.newBuilder(rpcCancel_).mergeFrom(value).buildPartial();
+      public Builder mergeStreamChunk(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk value) {
+        if (streamChunkBuilder_ == null) {
+          if (((bitField0_ & 0x00001000) == 0x00001000) &&
+              streamChunk_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.getDefaultInstance()) {
+            streamChunk_ =
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.newBuilder(streamChunk_).mergeFrom(value).buildPartial();
           } else {
-            rpcCancel_ = value;
+            streamChunk_ = value;
           }
           onChanged();
         } else {
-          rpcCancelBuilder_.mergeFrom(value);
+          streamChunkBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00000020;
+        bitField0_ |= 0x00001000;
         return this;
       }
       /**
-       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       * <code>optional .StreamChunk streamChunk = 13;</code>
        */
-      public Builder clearRpcCancel() {
-        if (rpcCancelBuilder_ == null) {
-          rpcCancel_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.getDefaultInstance();
+      public Builder clearStreamChunk() {
+        if (streamChunkBuilder_ == null) {
+          streamChunk_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.getDefaultInstance();
           onChanged();
         } else {
-          rpcCancelBuilder_.clear();
+          streamChunkBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00000020);
+        bitField0_ = (bitField0_ & ~0x00001000);
         return this;
       }
       /**
-       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       * <code>optional .StreamChunk streamChunk = 13;</code>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.Builder getRpcCancelBuilder() {
-        bitField0_ |= 0x00000020;
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.Builder getStreamChunkBuilder() {
+        bitField0_ |= 0x00001000;
         onChanged();
-        return getRpcCancelFieldBuilder().getBuilder();
+        return getStreamChunkFieldBuilder().getBuilder();
       }
       /**
-       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       * <code>optional .StreamChunk streamChunk = 13;</code>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancelOrBuilder getRpcCancelOrBuilder() {
-        if (rpcCancelBuilder_ != null) {
-          return rpcCancelBuilder_.getMessageOrBuilder();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunkOrBuilder getStreamChunkOrBuilder() {
+        if (streamChunkBuilder_ != null) {
+          return streamChunkBuilder_.getMessageOrBuilder();
         } else {
-          return rpcCancel_;
+          return streamChunk_;
         }
       }
       /**
-       * <code>optional .RpcCancel rpcCancel = 6;</code>
+       * <code>optional .StreamChunk streamChunk = 13;</code>
        */
       private com.google.protobuf.SingleFieldBuilder<
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancelOrBuilder> 
-          getRpcCancelFieldBuilder() {
-        if (rpcCancelBuilder_ == null) {
-          rpcCancelBuilder_ = new com.google.protobuf.SingleFieldBuilder<
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancelOrBuilder>(
-                  getRpcCancel(),
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunkOrBuilder> 
+          getStreamChunkFieldBuilder() {
+        if (streamChunkBuilder_ == null) {
+          streamChunkBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunkOrBuilder>(
+                  getStreamChunk(),
                   getParentForChildren(),
                   isClean());
-          rpcCancel_ = null;
+          streamChunk_ = null;
         }
-        return rpcCancelBuilder_;
+        return streamChunkBuilder_;
       }
 
-      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse oobResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.getDefaultInstance();
+      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd streamEnd_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.getDefaultInstance();
       private com.google.protobuf.SingleFieldBuilder<
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponseOrBuilder> oobResponseBuilder_;
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEndOrBuilder> streamEndBuilder_;
       /**
-       * <code>optional .OobResponse oobResponse = 7;</code>
+       * <code>optional .StreamEnd streamEnd = 14;</code>
        *
        * <pre>
-       * out of band responses from RPC server to client during 
-       * the processing of a RPC call
+       * the request stream of a RPC call from client to server, which 
+       * follows the RpcRequest.
        * </pre>
        */
-      public boolean hasOobResponse() {
-        return ((bitField0_ & 0x00000040) == 0x00000040);
+      public boolean hasStreamEnd() {
+        return ((bitField0_ & 0x00002000) == 0x00002000);
       }
       /**
-       * <code>optional .OobResponse oobResponse = 7;</code>
+       * <code>optional .StreamEnd streamEnd = 14;</code>
        *
        * <pre>
-       * out of band responses from RPC server to client during 
-       * the processing of a RPC call
+       * the request stream of a RPC call from client to server, which 
+       * follows the RpcRequest.
        * </pre>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse getOobResponse() {
-        if (oobResponseBuilder_ == null) {
-          return oobResponse_;
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd getStreamEnd() {
+        if (streamEndBuilder_ == null) {
+          return streamEnd_;
         } else {
-          return oobResponseBuilder_.getMessage();
+          return streamEndBuilder_.getMessage();
         }
       }
       /**
-       * <code>optional .OobResponse oobResponse = 7;</code>
+       * <code>optional .StreamEnd streamEnd = 14;</code>
        *
        * <pre>
-       * out of band responses from RPC server to client during 
-       * the processing of a RPC call
+       * the request stream of a RPC call from client to server, which 
+       * follows the RpcRequest.
        * </pre>
        */
-      public Builder setOobResponse(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse value) {
-        if (oobResponseBuilder_ == null) {
+      public Builder setStreamEnd(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd value) {
+        if (streamEndBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
           }
-          oobResponse_ = value;
+          streamEnd_ = value;
           onChanged();
         } else {
-          oobResponseBuilder_.setMessage(value);
+          streamEndBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00000040;
+        bitField0_ |= 0x00002000;
         return this;
       }
       /**
-       * <code>optional .OobResponse oobResponse = 7;</code>
+       * <code>optional .StreamEnd streamEnd = 14;</code>
        *
        * <pre>
-       * out of band responses from RPC server to client during 
-       * the processing of a RPC call
+       * the request stream of a RPC call from client to server, which 
+       * follows the RpcRequest.
        * </pre>
        */
-      public Builder setOobResponse(
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.Builder builderForValue) {
-        if (oobResponseBuilder_ == null) {
-          oobResponse_ = builderForValue.build();
+      public Builder setStreamEnd(
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.Builder builderForValue) {
+        if (streamEndBuilder_ == null) {
+          streamEnd_ = builderForValue.build();
           onChanged();
         } else {
-          oobResponseBuilder_.setMessage(builderForValue.build());
+          streamEndBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00000040;
+        bitField0_ |= 0x00002000;
         return this;
       }
       /**
-       * <code>optional .OobResponse oobResponse = 7;</code>
+       * <code>optional .StreamEnd streamEnd = 14;</code>
        *
        * <pre>
-       * out of band responses from RPC server to client during 
-       * the processing of a RPC call
+       * the request stream of a RPC call from client to server, which 
+       * follows the RpcRequest.
        * </pre>
        */
-      public Builder mergeOobResponse(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse value) {
-        if (oobResponseBuilder_ == null) {
-          if (((bitField0_ & 0x00000040) == 0x00000040) &&
-              oobResponse_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.getDefaultInstance()) {
-            oobResponse_ =
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.newBuilder(oobResponse_).mergeFrom(value).buildPartial();
+      public Builder mergeStreamEnd(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd value) {
+        if (streamEndBuilder_ == null) {
+          if (((bitField0_ & 0x00002000) == 0x00002000) &&
+              streamEnd_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.getDefaultInstance()) {
+            streamEnd_ =
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.newBuilder(streamEnd_).mergeFrom(value).buildPartial();
           } else {
-            oobResponse_ = value;
+            streamEnd_ = value;
           }
           onChanged();
         } else {
-          oobResponseBuilder_.mergeFrom(value);
+          streamEndBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00000040;
+        bitField0_ |= 0x00002000;
         return this;
       }
       /**
-       * <code>optional .OobResponse oobResponse = 7;</code>
+       * <code>optional .StreamEnd streamEnd = 14;</code>
        *
        * <pre>
-       * out of band responses from RPC server to client during 
-       * the processing of a RPC call
+       * the request stream of a RPC call from client to server, which 
+       * follows the RpcRequest.
        * </pre>
        */
-      public Builder clearOobResponse() {
-        if (oobResponseBuilder_ == null) {
-          oobResponse_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.getDefaultInstance();
+      public Builder clearStreamEnd() {
+        if (streamEndBuilder_ == null) {
+          streamEnd_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.getDefaultInstance();
           onChanged();
         } else {
-          oobResponseBuilder_.clear();
+          streamEndBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00000040);
+        bitField0_ = (bitField0_ & ~0x00002000);
         return this;
       }
       /**
-       * <code>optional .OobResponse oobResponse = 7;</code>
+       * <code>optional .StreamEnd streamEnd = 14;</code>
        *
        * <pre>
-       * out of band responses from RPC server to client during 
-       * the processing of a RPC call
+       * the request stream of a RPC call from client to server, which 
+       * follows the RpcRequest.
        * </pre>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.Builder getOobResponseBuilder() {
-        bitField0_ |= 0x00000040;
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.Builder getStreamEndBuilder() {
+        bitField0_ |= 0x00002000;
         onChanged();
-        return getOobResponseFieldBuilder().getBuilder();
+        return getStreamEndFieldBuilder().getBuilder();
       }
       /**
-       * <code>optional .OobResponse oobResponse = 7;</code>
+       * <code>optional .StreamEnd streamEnd = 14;</code>
        *
        * <pre>
-       * out of band responses from RPC server to client during 
-       * the processing of a RPC call
+       * the request stream of a RPC call from client to server, which 
+       * follows the RpcRequest.
        * </pre>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponseOrBuilder getOobResponseOrBuilder() {
-        if (oobResponseBuilder_ != null) {
-          return oobResponseBuilder_.getMessageOrBuilder();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEndOrBuilder getStreamEndOrBuilder() {
+        if (streamEndBuilder_ != null) {
+          return streamEndBuilder_.getMessageOrBuilder();
         } else {
-          return oobResponse_;
+          return streamEnd_;
         }
       }
       /**
-       * <code>optional .OobResponse oobResponse = 7;</code>
+       * <code>optional .StreamEnd streamEnd = 14;</code>
        *
        * <pre>
-       * out of band responses from RPC server to client during 
-       * the processing of a RPC call
+       * the request stream of a RPC call from client to server, which 
+       * follows the RpcRequest.
        * </pre>
        */
       private com.google.protobuf.SingleFieldBuilder<
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponseOrBuilder> 
-          getOobResponseFieldBuilder() {
-        if (oobResponseBuilder_ == null) {
-          oobResponseBuilder_ = new com.google.protobuf.SingleFieldBuilder<
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponseOrBuilder>(
-                  getOobResponse(),
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEndOrBuilder> 
+          getStreamEndFieldBuilder() {
+        if (streamEndBuilder_ == null) {
+          streamEndBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEndOrBuilder>(
+                  getStreamEnd(),
                   getParentForChildren(),
                   isClean());
-          oobResponse_ = null;
+          streamEnd_ = null;
         }
-        return oobResponseBuilder_;
+        return streamEndBuilder_;
       }
 
-      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage oobMessage_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance();
+      private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit streamCredit_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.getDefaultInstance();
       private com.google.protobuf.SingleFieldBuilder<
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder> oobMessageBuilder_;
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCreditOrBuilder> streamCreditBuilder_;
       /**
-       * <code>optional .OobMessage oobMessage = 8;</code>
+       * <code>optional .OobCredit streamCredit = 15;</code>
        *
        * <pre>
-       * bidirectional message not related to any particular RPC call. 
+       * flow control of the request stream, the number of further 
+       * StreamChunks the server's Subscriber of the call can receive.
        * </pre>
        */
-      public boolean hasOobMessage() {
-        return ((bitField0_ & 0x00000080) == 0x00000080);
+      public boolean hasStreamCredit() {
+        return ((bitField0_ & 0x00004000) == 0x00004000);
       }
       /**
-       * <code>optional .OobMessage oobMessage = 8;</code>
+       * <code>optional .OobCredit streamCredit = 15;</code>
        *
        * <pre>
-       * bidirectional message not related to any particular RPC call. 
+       * flow control of the request stream, the number of further 
+       * StreamChunks the server's Subscriber of the call can receive.
        * </pre>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage getOobMessage() {
-        if (oobMessageBuilder_ == null) {
-          return oobMessage_;
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit getStreamCredit() {
+        if (streamCreditBuilder_ == null) {
+          return streamCredit_;
         } else {
-          return oobMessageBuilder_.getMessage();
+          return streamCreditBuilder_.getMessage();
         }
       }
       /**
-       * <code>optional .OobMessage oobMessage = 8;</code>
+       * <code>optional .OobCredit streamCredit = 15;</code>
        *
        * <pre>
-       * bidirectional message not related to any particular RPC call. 
+       * flow control of the request stream, the number of further 
+       * StreamChunks the server's Subscriber of the call can receive.
        * </pre>
        */
-      public Builder setOobMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage value) {
-        if (oobMessageBuilder_ == null) {
+      public Builder setStreamCredit(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit value) {
+        if (streamCreditBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
           }
-          oobMessage_ = value;
+          streamCredit_ = value;
           onChanged();
         } else {
-          oobMessageBuilder_.setMessage(value);
+          streamCreditBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00000080;
+        bitField0_ |= 0x00004000;
         return this;
       }
       /**
-       * <code>optional .OobMessage oobMessage = 8;</code>
+       * <code>optional .OobCredit streamCredit = 15;</code>
        *
        * <pre>
-       * bidirectional message not related to any particular RPC call. 
+       * flow control of the request stream, the number of further 
+       * StreamChunks the server's Subscriber of the call can receive.
        * </pre>
        */
-      public Builder setOobMessage(
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder builderForValue) {
-        if (oobMessageBuilder_ == null) {
-          oobMessage_ = builderForValue.build();
+      public Builder setStreamCredit(
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.Builder builderForValue) {
+        if (streamCreditBuilder_ == null) {
+          streamCredit_ = builderForValue.build();
           onChanged();
         } else {
-          oobMessageBuilder_.setMessage(builderForValue.build());
+          streamCreditBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00000080;
+        bitField0_ |= 0x00004000;
         return this;
       }
       /**
-       * <code>optional .OobMessage oobMessage = 8;</code>
+       * <code>optional .OobCredit streamCredit = 15;</code>
        *
        * <pre>
-       * bidirectional message not related to any particular RPC call. 
+       * flow control of the request stream, the number of further 
+       * StreamChunks the server's Subscriber of the call can receive.
        * </pre>
        */
-      public Builder mergeOobMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage value) {
-        if (oobMessageBuilder_ == null) {
-          if (((bitField0_ & 0x00000080) == 0x00000080) &&
-              oobMessage_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance()) {
-            oobMessage_ =
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.newBuilder(oobMessage_).mergeFrom(value).buildPartial();
+      public Builder mergeStreamCredit(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit value) {
+        if (streamCreditBuilder_ == null) {
+          if (((bitField0_ & 0x00004000) == 0x00004000) &&
+              streamCredit_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.getDefaultInstance()) {
+            streamCredit_ =
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.newBuilder(streamCredit_).mergeFrom(value).buildPartial();
           } else {
-            oobMessage_ = value;
+            streamCredit_ = value;
           }
           onChanged();
         } else {
-          oobMessageBuilder_.mergeFrom(value);
+          streamCreditBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00000080;
+        bitField0_ |= 0x00004000;
         return this;
       }
       /**
-       * <code>optional .OobMessage oobMessage = 8;</code>
+       * <code>optional .OobCredit streamCredit = 15;</code>
        *
        * <pre>
-       * bidirectional message not related to any particular RPC call. 
+       * flow control of the request stream, the number of further 
+       * StreamChunks the server's Subscriber of the call can receive.
        * </pre>
        */
-      public Builder clearOobMessage() {
-        if (oobMessageBuilder_ == null) {
-          oobMessage_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance();
+      public Builder clearStreamCredit() {
+        if (streamCreditBuilder_ == null) {
+          streamCredit_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.getDefaultInstance();
           onChanged();
         } else {
-          oobMessageBuilder_.clear();
+          streamCreditBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00000080);
+        bitField0_ = (bitField0_ & ~0x00004000);
         return this;
       }
       /**
-       * <code>optional .OobMessage oobMessage = 8;</code>
+       * <code>optional .OobCredit streamCredit = 15;</code>
        *
        * <pre>
-       * bidirectional message not related to any particular RPC call. 
+       * flow control of the request stream, the number of further 
+       * StreamChunks the server's Subscriber of the call can receive.
        * </pre>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder getOobMessageBuilder() {
-        bitField0_ |= 0x00000080;
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.Builder getStreamCreditBuilder() {
+        bitField0_ |= 0x00004000;
         onChanged();
-        return getOobMessageFieldBuilder().getBuilder();
+        return getStreamCreditFieldBuilder().getBuilder();
       }
       /**
-       * <code>optional .OobMessage oobMessage = 8;</code>
+       * <code>optional .OobCredit streamCredit = 15;</code>
        *
        * <pre>
-       * bidirectional message not related to any particular RPC call. 
+       * flow control of the request stream, the number of further 
+       * StreamChunks the server's Subscriber of the call can receive.
        * </pre>
        */
-      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder getOobMessageOrBuilder() {
-        if (oobMessageBuilder_ != null) {
-          return oobMessageBuilder_.getMessageOrBuilder();
+      public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCreditOrBuilder getStreamCreditOrBuilder() {
+        if (streamCreditBuilder_ != null) {
+          return streamCreditBuilder_.getMessageOrBuilder();
         } else {
-          return oobMessage_;
+          return streamCredit_;
         }
       }
       /**
-       * <code>optional .OobMessage oobMessage = 8;</code>
+       * <code>optional .OobCredit streamCredit = 15;</code>
        *
        * <pre>
-       * bidirectional message not related to any particular RPC call. 
+       * flow control of the request stream, the number of further 
+       * StreamChunks the server's Subscriber of the call can receive.
        * </pre>
        */
       private com.google.protobuf.SingleFieldBuilder<
-          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder> 
-          getOobMessageFieldBuilder() {
-        if (oobMessageBuilder_ == null) {
-          oobMessageBuilder_ = new com.google.protobuf.SingleFieldBuilder<
-              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessageOrBuilder>(
-                  getOobMessage(),
+          com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCreditOrBuilder> 
+          getStreamCreditFieldBuilder() {
+        if (streamCreditBuilder_ == null) {
+          streamCreditBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit.Builder, com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCreditOrBuilder>(
+                  getStreamCredit(),
                   getParentForChildren(),
                   isClean());
-          oobMessage_ = null;
+          streamCredit_ = null;
         }
-        return oobMessageBuilder_;
+        return streamCreditBuilder_;
       }
 
       private com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage transparentMessage_ = com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance();
@@ -7183,7 +13417,7 @@ public final class DuplexProtocol {
        * </pre>
        */
       public boolean hasTransparentMessage() {
-        return ((bitField0_ & 0x00000100) == 0x00000100);
+        return ((bitField0_ & 0x00008000) == 0x00008000);
       }
       /**
        * <code>optional .OobMessage transparentMessage = 100;</code>
@@ -7218,7 +13452,7 @@ public final class DuplexProtocol {
         } else {
           transparentMessageBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00000100;
+        bitField0_ |= 0x00008000;
         return this;
       }
       /**
@@ -7237,7 +13471,7 @@ public final class DuplexProtocol {
         } else {
           transparentMessageBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00000100;
+        bitField0_ |= 0x00008000;
         return this;
       }
       /**
@@ -7250,7 +13484,7 @@ public final class DuplexProtocol {
        */
       public Builder mergeTransparentMessage(com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage value) {
         if (transparentMessageBuilder_ == null) {
-          if (((bitField0_ & 0x00000100) == 0x00000100) &&
+          if (((bitField0_ & 0x00008000) == 0x00008000) &&
               transparentMessage_ != com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.getDefaultInstance()) {
             transparentMessage_ =
               com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.newBuilder(transparentMessage_).mergeFrom(value).buildPartial();
@@ -7261,7 +13495,7 @@ public final class DuplexProtocol {
         } else {
           transparentMessageBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00000100;
+        bitField0_ |= 0x00008000;
         return this;
       }
       /**
@@ -7279,7 +13513,7 @@ public final class DuplexProtocol {
         } else {
           transparentMessageBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00000100);
+        bitField0_ = (bitField0_ & ~0x00008000);
         return this;
       }
       /**
@@ -7291,7 +13525,7 @@ public final class DuplexProtocol {
        * </pre>
        */
       public com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobMessage.Builder getTransparentMessageBuilder() {
-        bitField0_ |= 0x00000100;
+        bitField0_ |= 0x00008000;
         onChanged();
         return getTransparentMessageFieldBuilder().getBuilder();
       }
@@ -7353,6 +13587,11 @@ public final class DuplexProtocol {
   private static
     com.google.protobuf.GeneratedMessage.FieldAccessorTable
       internal_static_ConnectResponse_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_CompressedPayload_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_CompressedPayload_fieldAccessorTable;
   private static final com.google.protobuf.Descriptors.Descriptor
     internal_static_RpcRequest_descriptor;
   private static
@@ -7378,6 +13617,21 @@ public final class DuplexProtocol {
   private static
     com.google.protobuf.GeneratedMessage.FieldAccessorTable
       internal_static_OobResponse_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_OobCredit_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_OobCredit_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_StreamChunk_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_StreamChunk_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_StreamEnd_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_StreamEnd_fieldAccessorTable;
   private static final com.google.protobuf.Descriptors.Descriptor
     internal_static_OobMessage_descriptor;
   private static
@@ -7397,34 +13651,56 @@ public final class DuplexProtocol {
       descriptor;
   static {
     java.lang.String[] descriptorData = {
-      "\n\031protobuf-rpc-duplex.proto\"x\n\016ConnectRe" +
-      "quest\022\025\n\rcorrelationId\030\001 \002(\005\022\026\n\016clientHo" +
-      "stName\030\002 \002(\t\022\022\n\nclientPort\030\003 \002(\005\022\021\n\tclie" +
-      "ntPID\030\004 \002(\t\022\020\n\010compress\030\005 \001(\010\"s\n\017Connect" +
-      "Response\022\025\n\rcorrelationId\030\001 \002(\005\022\021\n\tserve" +
-      "rPID\030\002 \001(\t\022$\n\terrorCode\030\003 \001(\0162\021.ConnectE" +
-      "rrorCode\022\020\n\010compress\030\004 \001(\010\"\201\001\n\nRpcReques" +
-      "t\022\025\n\rcorrelationId\030\001 \002(\005\022\031\n\021serviceIdent" +
-      "ifier\030\002 \002(\t\022\030\n\020methodIdentifier\030\003 \002(\t\022\024\n" +
-      "\014requestBytes\030\004 \002(\014\022\021\n\ttimeoutMs\030\005 \001(\005\";",
-      "\n\013RpcResponse\022\025\n\rcorrelationId\030\001 \002(\005\022\025\n\r" +
-      "responseBytes\030\002 \002(\014\"7\n\010RpcError\022\025\n\rcorre" +
-      "lationId\030\001 \002(\005\022\024\n\014errorMessage\030\002 \002(\t\"\"\n\t" +
-      "RpcCancel\022\025\n\rcorrelationId\030\001 \002(\005\":\n\013OobR" +
-      "esponse\022\025\n\rcorrelationId\030\001 \002(\005\022\024\n\014messag" +
-      "eBytes\030\002 \002(\014\"\"\n\nOobMessage\022\024\n\014messageByt" +
-      "es\030\001 \002(\014\"\331\002\n\013WirePayload\022\'\n\016connectReque" +
-      "st\030\001 \001(\0132\017.ConnectRequest\022)\n\017connectResp" +
-      "onse\030\002 \001(\0132\020.ConnectResponse\022\037\n\nrpcReque" +
-      "st\030\003 \001(\0132\013.RpcRequest\022!\n\013rpcResponse\030\004 \001",
-      "(\0132\014.RpcResponse\022\033\n\010rpcError\030\005 \001(\0132\t.Rpc" +
-      "Error\022\035\n\trpcCancel\030\006 \001(\0132\n.RpcCancel\022!\n\013" +
-      "oobResponse\030\007 \001(\0132\014.OobResponse\022\037\n\noobMe" +
-      "ssage\030\010 \001(\0132\013.OobMessage\022\'\n\022transparentM" +
-      "essage\030d \001(\0132\013.OobMessage*\t\010\350\007\020\200\200\200\200\002*)\n\020" +
-      "ConnectErrorCode\022\025\n\021ALREADY_CONNECTED\020\000B" +
-      ";\n\'com.googlecode.protobuf.pro.duplex.wi" +
-      "reB\016DuplexProtocolH\001"
+      "\n\031protobuf-rpc-duplex.proto\"\340\001\n\016ConnectR" +
+      "equest\022\025\n\rcorrelationId\030\001 \002(\005\022\026\n\016clientH" +
+      "ostName\030\002 \002(\t\022\022\n\nclientPort\030\003 \002(\005\022\021\n\tcli" +
+      "entPID\030\004 \002(\t\022\020\n\010compress\030\005 \001(\010\022\020\n\010batchi" +
+      "ng\030\006 \001(\010\022+\n\020compressionCodec\030\007 \003(\0162\021.Com" +
+      "pressionCodec\022\021\n\tmethodIds\030\010 \001(\010\022\024\n\014clie" +
+      "ntTimeMs\030\t \001(\003\"\333\001\n\017ConnectResponse\022\025\n\rco" +
+      "rrelationId\030\001 \002(\005\022\021\n\tserverPID\030\002 \001(\t\022$\n\t" +
+      "errorCode\030\003 \001(\0162\021.ConnectErrorCode\022\020\n\010co" +
+      "mpress\030\004 \001(\010\022\020\n\010batching\030\005 \001(\010\022+\n\020compre",
+      "ssionCodec\030\006 \001(\0162\021.CompressionCodec\022\021\n\tm" +
+      "ethodIds\030\007 \001(\010\022\024\n\014serverTimeMs\030\010 \001(\003\"]\n\021" +
+      "CompressedPayload\022 \n\005codec\030\001 \002(\0162\021.Compr" +
+      "essionCodec\022\030\n\020uncompressedSize\030\002 \002(\005\022\014\n" +
+      "\004data\030\003 \002(\014\"\323\001\n\nRpcRequest\022\025\n\rcorrelatio" +
+      "nId\030\001 \002(\005\022\031\n\021serviceIdentifier\030\002 \001(\t\022\030\n\020" +
+      "methodIdentifier\030\003 \001(\t\022\024\n\014requestBytes\030\004" +
+      " \002(\014\022\021\n\ttimeoutMs\030\005 \001(\005\022\030\n\020compressRespo" +
+      "nse\030\006 \001(\010\022\020\n\010methodId\030\007 \001(\005\022\020\n\010priority\030" +
+      "\010 \001(\005\022\022\n\ndeadlineMs\030\t \001(\003\"M\n\013RpcResponse",
+      "\022\025\n\rcorrelationId\030\001 \002(\005\022\025\n\rresponseBytes" +
+      "\030\002 \002(\014\022\020\n\010methodId\030\003 \001(\005\"J\n\010RpcError\022\025\n\r" +
+      "correlationId\030\001 \002(\005\022\024\n\014errorMessage\030\002 \002(" +
+      "\t\022\021\n\tretryable\030\003 \001(\010\"\"\n\tRpcCancel\022\025\n\rcor" +
+      "relationId\030\001 \002(\005\":\n\013OobResponse\022\025\n\rcorre" +
+      "lationId\030\001 \002(\005\022\024\n\014messageBytes\030\002 \002(\014\"3\n\t" +
+      "OobCredit\022\025\n\rcorrelationId\030\001 \002(\005\022\017\n\007cred" +
+      "its\030\002 \002(\005\":\n\013StreamChunk\022\025\n\rcorrelationI" +
+      "d\030\001 \002(\005\022\024\n\014messageBytes\030\002 \002(\014\"8\n\tStreamE" +
+      "nd\022\025\n\rcorrelationId\030\001 \002(\005\022\024\n\014errorMessag",
+      "e\030\002 \001(\t\"\"\n\nOobMessage\022\024\n\014messageBytes\030\001 " +
+      "\002(\014\"\335\004\n\013WirePayload\022\'\n\016connectRequest\030\001 " +
+      "\001(\0132\017.ConnectRequest\022)\n\017connectResponse\030" +
+      "\002 \001(\0132\020.ConnectResponse\022\037\n\nrpcRequest\030\003 " +
+      "\001(\0132\013.RpcRequest\022!\n\013rpcResponse\030\004 \001(\0132\014." +
+      "RpcResponse\022\033\n\010rpcError\030\005 \001(\0132\t.RpcError" +
+      "\022\035\n\trpcCancel\030\006 \001(\0132\n.RpcCancel\022!\n\013oobRe" +
+      "sponse\030\007 \001(\0132\014.OobResponse\022\037\n\noobMessage" +
+      "\030\010 \001(\0132\013.OobMessage\022&\n\021batchedRpcRequest" +
+      "\030\t \003(\0132\013.RpcRequest\022(\n\022batchedRpcRespons",
+      "e\030\n \003(\0132\014.RpcResponse\022-\n\021compressedPaylo" +
+      "ad\030\013 \001(\0132\022.CompressedPayload\022\035\n\toobCredi" +
+      "t\030\014 \001(\0132\n.OobCredit\022!\n\013streamChunk\030\r \001(\013" +
+      "2\014.StreamChunk\022\035\n\tstreamEnd\030\016 \001(\0132\n.Stre" +
+      "amEnd\022 \n\014streamCredit\030\017 \001(\0132\n.OobCredit\022" +
+      "\'\n\022transparentMessage\030d \001(\0132\013.OobMessage" +
+      "*\t\010\350\007\020\200\200\200\200\002*)\n\020ConnectErrorCode\022\025\n\021ALREA" +
+      "DY_CONNECTED\020\000*(\n\020CompressionCodec\022\007\n\003LZ" +
+      "4\020\001\022\013\n\007DEFLATE\020\002B;\n\'com.googlecode.proto" +
+      "buf.pro.duplex.wireB\016DuplexProtocolH\001"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -7443,55 +13719,79 @@ public final class DuplexProtocol {
     internal_static_ConnectRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_ConnectRequest_descriptor,
-        new java.lang.String[] { "CorrelationId", "ClientHostName", "ClientPort", "ClientPID", "Compress", });
+        new java.lang.String[] { "CorrelationId", "ClientHostName", "ClientPort", "ClientPID", "Compress", "Batching", "CompressionCodec", "MethodIds", "ClientTimeMs", });
     internal_static_ConnectResponse_descriptor =
       getDescriptor().getMessageTypes().get(1);
     internal_static_ConnectResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_ConnectResponse_descriptor,
-        new java.lang.String[] { "CorrelationId", "ServerPID", "ErrorCode", "Compress", });
-    internal_static_RpcRequest_descriptor =
+        new java.lang.String[] { "CorrelationId", "ServerPID", "ErrorCode", "Compress", "Batching", "CompressionCodec", "MethodIds", "ServerTimeMs", });
+    internal_static_CompressedPayload_descriptor =
       getDescriptor().getMessageTypes().get(2);
+    internal_static_CompressedPayload_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_CompressedPayload_descriptor,
+        new java.lang.String[] { "Codec", "UncompressedSize", "Data", });
+    internal_static_RpcRequest_descriptor =
+      getDescriptor().getMessageTypes().get(3);
     internal_static_RpcRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_RpcRequest_descriptor,
-        new java.lang.String[] { "CorrelationId", "ServiceIdentifier", "MethodIdentifier", "RequestBytes", "TimeoutMs", });
+        new java.lang.String[] { "CorrelationId", "ServiceIdentifier", "MethodIdentifier", "RequestBytes", "TimeoutMs", "CompressResponse", "MethodId", "Priority", "DeadlineMs", });
     internal_static_RpcResponse_descriptor =
-      getDescriptor().getMessageTypes().get(3);
+      getDescriptor().getMessageTypes().get(4);
     internal_static_RpcResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_RpcResponse_descriptor,
-        new java.lang.String[] { "CorrelationId", "ResponseBytes", });
+        new java.lang.String[] { "CorrelationId", "ResponseBytes", "MethodId", });
     internal_static_RpcError_descriptor =
-      getDescriptor().getMessageTypes().get(4);
+      getDescriptor().getMessageTypes().get(5);
     internal_static_RpcError_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_RpcError_descriptor,
-        new java.lang.String[] { "CorrelationId", "ErrorMessage", });
+        new java.lang.String[] { "CorrelationId", "ErrorMessage", "Retryable", });
     internal_static_RpcCancel_descriptor =
-      getDescriptor().getMessageTypes().get(5);
+      getDescriptor().getMessageTypes().get(6);
     internal_static_RpcCancel_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_RpcCancel_descriptor,
         new java.lang.String[] { "CorrelationId", });
     internal_static_OobResponse_descriptor =
-      getDescriptor().getMessageTypes().get(6);
+      getDescriptor().getMessageTypes().get(7);
     internal_static_OobResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_OobResponse_descriptor,
         new java.lang.String[] { "CorrelationId", "MessageBytes", });
+    internal_static_OobCredit_descriptor =
+      getDescriptor().getMessageTypes().get(8);
+    internal_static_OobCredit_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_OobCredit_descriptor,
+        new java.lang.String[] { "CorrelationId", "Credits", });
+    internal_static_StreamChunk_descriptor =
+      getDescriptor().getMessageTypes().get(9);
+    internal_static_StreamChunk_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_StreamChunk_descriptor,
+        new java.lang.String[] { "CorrelationId", "MessageBytes", });
+    internal_static_StreamEnd_descriptor =
+      getDescriptor().getMessageTypes().get(10);
+    internal_static_StreamEnd_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_StreamEnd_descriptor,
+        new java.lang.String[] { "CorrelationId", "ErrorMessage", });
     internal_static_OobMessage_descriptor =
-      getDescriptor().getMessageTypes().get(7);
+      getDescriptor().getMessageTypes().get(11);
     internal_static_OobMessage_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_OobMessage_descriptor,
         new java.lang.String[] { "MessageBytes", });
     internal_static_WirePayload_descriptor =
-      getDescriptor().getMessageTypes().get(8);
+      getDescriptor().getMessageTypes().get(12);
     internal_static_WirePayload_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_WirePayload_descriptor,
-        new java.lang.String[] { "ConnectRequest", "ConnectResponse", "RpcRequest", "RpcResponse", "RpcError", "RpcCancel", "OobResponse", "OobMessage", "TransparentMessage", });
+        new java.lang.String[] { "ConnectRequest", "ConnectResponse", "RpcRequest", "RpcResponse", "RpcError", "RpcCancel", "OobResponse", "OobMessage", "BatchedRpcRequest", "BatchedRpcResponse", "CompressedPayload", "OobCredit", "StreamChunk", "StreamEnd", "StreamCredit", "TransparentMessage", });
   }
 
   // @@protoc_insertion_point(outer_class_scope)
@@ -0,0 +1,91 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.wire;
+
+import java.io.IOException;
+
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec;
+
+/**
+ * A block compressor for the per frame compression of WirePayloads,
+ * implemented in pure Java.
+ * 
+ * Instances hold working state and are not thread safe, so each Channel
+ * uses its own.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public abstract class FrameCompressor {
+
+	/**
+	 * @param codec
+	 * @return a new FrameCompressor for the codec.
+	 */
+	public static FrameCompressor newInstance( CompressionCodec codec ) {
+		switch( codec ) {
+		case LZ4:
+			return new Lz4FrameCompressor();
+		case DEFLATE:
+			return new DeflateFrameCompressor();
+		default:
+			throw new IllegalArgumentException("codec " + codec);
+		}
+	}
+	
+	/**
+	 * @return the codec implemented.
+	 */
+	public abstract CompressionCodec getCodec();
+	
+	/**
+	 * @param length the uncompressed length.
+	 * @return the size of the output buffer needed by {@link #compress(byte[], int, int, byte[], int)}.
+	 */
+	public abstract int maxCompressedLength( int length );
+	
+	/**
+	 * Compress the source bytes into the output buffer, which must have at
+	 * least {@link #maxCompressedLength(int)} bytes remaining.
+	 * 
+	 * @param src
+	 * @param srcOffset
+	 * @param srcLength
+	 * @param dst
+	 * @param dstOffset
+	 * @return the compressed length.
+	 */
+	public abstract int compress( byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset );
+	
+	/**
+	 * Decompress the source bytes into exactly dstLength bytes of the output.
+	 * 
+	 * @param src
+	 * @param srcOffset
+	 * @param srcLength
+	 * @param dst
+	 * @param dstOffset
+	 * @param dstLength the uncompressed length.
+	 * @throws IOException if the compressed data is corrupt.
+	 */
+	public abstract void decompress( byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset, int dstLength ) throws IOException;
+	
+	/**
+	 * Release any native resources held.
+	 */
+	public void release() {
+	}
+}
@@ -0,0 +1,195 @@
+/**
+ *   Copyright 2010-2014 Peter Klauser
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+*/
+package com.googlecode.protobuf.pro.duplex.wire;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec;
+
+/**
+ * A pure Java compressor for the LZ4 block format, trading compression
+ * ratio for speed with a single probe hash table.
+ * 
+ * @author Peter Klauser
+ *
+ */
+public class Lz4FrameCompressor extends FrameCompressor {
+
+	private static final int MIN_MATCH = 4;
+	private static final int LAST_LITERALS = 5;
+	private static final int MF_LIMIT = 12;
+	private static final int MAX_OFFSET = 65535;
+	private static final int HASH_LOG = 12;
+	private static final int SKIP_STRENGTH = 6;
+	private static final int RUN_MASK = 15;
+	
+	// positions + 1 of the last occurrence of each hashed 4 byte sequence, 0 if none.
+	private final int[] hashTable = new int[1 << HASH_LOG];
+	
+	@Override
+	public CompressionCodec getCodec() {
+		return CompressionCodec.LZ4;
+	}
+
+	@Override
+	public int maxCompressedLength( int length ) {
+		return length + length / 255 + 16;
+	}
+
+	@Override
+	public int compress( byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset ) {
+		int srcEnd = srcOffset + srcLength;
+		int matchLimit = srcEnd - LAST_LITERALS;
+		int mfLimit = srcEnd - MF_LIMIT;
+		int anchor = srcOffset;
+		int sp = srcOffset;
+		int dp = dstOffset;
+		
+		Arrays.fill(hashTable, 0);
+		while( sp < mfLimit ) {
+			int sequence = readInt(src, sp);
+			int h = hash(sequence);
+			int ref = hashTable[h] - 1 + srcOffset;
+			hashTable[h] = sp - srcOffset + 1;
+			if ( ref < srcOffset || sp - ref > MAX_OFFSET || readInt(src, ref) != sequence ) {
+				// accelerate through incompressible data.
+				sp += 1 + ((sp - anchor) >>> SKIP_STRENGTH);
+				continue;
+			}
+			// extend the match backwards over the pending literals, and forwards.
+			while( sp > anchor && ref > srcOffset && src[sp - 1] == src[ref - 1] ) {
+				sp--;
+				ref--;
+			}
+			int matchLength = MIN_MATCH;
+			while( sp + matchLength < matchLimit && src[sp + matchLength] == src[ref + matchLength] ) {
+				matchLength++;
+			}
+			dp = writeSequence(src, anchor, sp - anchor, sp - ref, matchLength, dst, dp);
+			sp += matchLength;
+			anchor = sp;
+		}
+		dp = writeLiterals(src, anchor, srcEnd - anchor, 0, dst, dp);
+		return dp - dstOffset;
+	}
+
+	@Override
+	public void decompress( byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset, int dstLength ) throws IOException {
+		int sp = srcOffset;
+		int srcEnd = srcOffset + srcLength;
+		int dp = dstOffset;
+		int dstEnd = dstOffset + dstLength;
+		while( true ) {
+			if ( sp >= srcEnd ) {
+				throw new IOException("LZ4 block truncated.");
+			}
+			int token = src[sp++] & 0xFF;
+			int literalLength = token >>> 4;
+			if ( literalLength == RUN_MASK ) {
+				int b;
+				do {
+					if ( sp >= srcEnd ) {
+						throw new IOException("LZ4 block truncated.");
+					}
+					b = src[sp++] & 0xFF;
+					literalLength += b;
+				} while( b == 255 );
+			}
+			if ( literalLength > srcEnd - sp || literalLength > dstEnd - dp ) {
+				throw new IOException("LZ4 literals exceed block.");
+			}
+			System.arraycopy(src, sp, dst, dp, literalLength);
+			sp += literalLength;
+			dp += literalLength;
+			if ( sp == srcEnd ) {
+				// the last sequence has no match.
+				break;
+			}
+			if ( srcEnd - sp < 2 ) {
+				throw new IOException("LZ4 block truncated.");
+			}
+			int offset = (src[sp] & 0xFF) | ((src[sp + 1] & 0xFF) << 8);
+			sp += 2;
+			if ( offset == 0 || offset > dp - dstOffset ) {
+				throw new IOException("LZ4 match offset " + offset + " invalid.");
+			}
+			int matchLength = token & RUN_MASK;
+			if ( matchLength == RUN_MASK ) {
+				int b;
+				do {
+					if ( sp >= srcEnd ) {
+						throw new IOException("LZ4 block truncated.");
+					}
+					b = src[sp++] & 0xFF;
+					matchLength += b;
+				} while( b == 255 );
+			}
+			matchLength += MIN_MATCH;
+			if ( matchLength > dstEnd - dp ) {
+				throw new IOException("LZ4 match exceeds block.");
+			}
+			// overlapping copy, byte by byte.
+			int ref = dp - offset;
+			for( int i = 0; i < matchLength; i++ ) {
+				dst[dp + i] = dst[ref + i];
+			}
+			dp += matchLength;
+		}
+		if ( dp != dstEnd ) {
+			throw new IOException("LZ4 block decompressed to " + (dp - dstOffset) + " bytes, expected " + dstLength);
+		}
+	}
+
+	private static int writeSequence( byte[] src, int literalOffset, int literalLength, int offset, int matchLength, byte[] dst, int dp ) {
+		int ml = matchLength - MIN_MATCH;
+		dp = writeLiterals(src, literalOffset, literalLength, ml < RUN_MASK ? ml : RUN_MASK, dst, dp);
+		dst[dp++] = (byte)offset;
+		dst[dp++] = (byte)(offset >>> 8);
+		if ( ml >= RUN_MASK ) {
+			dp = writeLength(ml - RUN_MASK, dst, dp);
+		}
+		return dp;
+	}
+
+	private static int writeLiterals( byte[] src, int literalOffset, int literalLength, int matchToken, byte[] dst, int dp ) {
+		if ( literalLength >= RUN_MASK ) {
+			dst[dp++] = (byte)((RUN_MASK << 4) | matchToken);
+			dp = writeLength(literalLength - RUN_MASK, dst, dp);
+		} else {
+			dst[dp++] = (byte)((literalLength << 4) | matchToken);
+		}
+		System.arraycopy(src, literalOffset, dst, dp, literalLength);
+		return dp + literalLength;
+	}
+
+	private static int writeLength( int length, byte[] dst, int dp ) {
+		while( length >= 255 ) {
+			dst[dp++] = (byte)255;
+			length -= 255;
+		}
+		dst[dp++] = (byte)length;
+		return dp;
+	}
+
+	private static int readInt( byte[] b, int i ) {
+		return (b[i] & 0xFF) | ((b[i + 1] & 0xFF) << 8) | ((b[i + 2] & 0xFF) << 16) | ((b[i + 3] & 0xFF) << 24);
+	}
+
+	private static int hash( int sequence ) {
+		return (sequence * -1640531535) >>> (32 - HASH_LOG);
+	}
+}
@@ -0,0 +1,221 @@
+package com.googlecode.protobuf.pro.duplex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.concurrent.Future;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.MethodDescriptor;
+import com.google.protobuf.ServiceException;
+import com.googlecode.protobuf.pro.duplex.limit.AimdLimit;
+import com.googlecode.protobuf.pro.duplex.limit.ConcurrencyLimiter;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Ping;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.PingPongService;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Pong;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcError;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
+
+public class RpcClientTest {
+
+	MethodDescriptor ping = PingPongService.getDescriptor().findMethodByName("ping");
+	Ping request = Ping.newBuilder().setProcessingTime(0).setPongDataLength(1).setPingData(ByteString.copyFromUtf8("ping")).build();
+	
+	@Test
+	public void testPriority() throws Exception {
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		RpcClient client = new RpcClient(ch, new PeerInfo("client", 1), new PeerInfo("server", 2), false, null, null);
+		
+		client.callAsync(ping, client.newRpcController(), request, Pong.getDefaultInstance());
+		assertFalse(((DeferredWirePayload)ch.readOutbound()).getRpcRequest().hasPriority());
+		
+		ClientRpcController controller = client.newRpcController();
+		controller.setPriority(3);
+		client.callAsync(ping, controller, request, Pong.getDefaultInstance());
+		assertEquals(3, ((DeferredWirePayload)ch.readOutbound()).getRpcRequest().getPriority());
+	}
+	
+	@Test
+	public void testCallAsync() throws Exception {
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		RpcClient client = new RpcClient(ch, new PeerInfo("client", 1), new PeerInfo("server", 2), false, null, null);
+		
+		ClientRpcController controller = client.newRpcController();
+		Future<Pong> future = client.callAsync(ping, controller, request, Pong.getDefaultInstance());
+		DeferredWirePayload sent = (DeferredWirePayload)ch.readOutbound();
+		assertEquals(controller.getCorrelationId(), sent.getRpcRequest().getCorrelationId());
+		assertFalse(future.isDone());
+		
+		Pong pong = Pong.newBuilder().setPongData(ByteString.copyFromUtf8("pong")).build();
+		client.response(RpcResponse.newBuilder().setCorrelationId(controller.getCorrelationId()).setResponseBytes(pong.toByteString()).build());
+		assertTrue(future.isSuccess());
+		assertEquals(pong, future.getNow());
+		
+		// failure
+		controller = client.newRpcController();
+		future = client.callAsync(ping, controller, request, Pong.getDefaultInstance());
+		client.error(RpcError.newBuilder().setCorrelationId(controller.getCorrelationId()).setErrorMessage("failed").build());
+		assertTrue(future.isDone());
+		assertTrue(future.cause() instanceof ServiceException);
+		assertEquals("failed", future.cause().getMessage());
+		assertFalse(controller.isRetryable());
+		
+		// shed by an overloaded server
+		controller = client.newRpcController();
+		future = client.callAsync(ping, controller, request, Pong.getDefaultInstance());
+		client.error(RpcError.newBuilder().setCorrelationId(controller.getCorrelationId()).setErrorMessage("Server Overload").setRetryable(true).build());
+		assertEquals("Server Overload", future.cause().getMessage());
+		assertTrue(controller.isRetryable());
+	}
+
+	@Test
+	public void testCallAsyncCancel() throws Exception {
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		RpcClient client = new RpcClient(ch, new PeerInfo("client", 1), new PeerInfo("server", 2), false, null, null);
+		
+		ClientRpcController controller = client.newRpcController();
+		Future<Pong> future = client.callAsync(ping, controller, request, Pong.getDefaultInstance());
+		ch.readOutbound();
+		
+		assertTrue(future.cancel(false));
+		assertTrue(future.isCancelled());
+		WirePayload cancel = (WirePayload)ch.readOutbound();
+		assertEquals(controller.getCorrelationId(), cancel.getRpcCancel().getCorrelationId());
+		assertEquals("Cancel", controller.errorText());
+		
+		// a late response is ignored.
+		client.response(RpcResponse.newBuilder().setCorrelationId(controller.getCorrelationId()).setResponseBytes(ByteString.EMPTY).build());
+		assertNull(future.getNow());
+	}
+	
+	@Test
+	public void testCancelCalls() throws Exception {
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		RpcClient client = new RpcClient(ch, new PeerInfo("client", 1), new PeerInfo("server", 2), false, null, null);
+		
+		List<ClientRpcController> group = new ArrayList<ClientRpcController>();
+		List<Future<Pong>> futures = new ArrayList<Future<Pong>>();
+		for( int i = 0; i < 3; i++ ) {
+			ClientRpcController controller = client.newRpcController();
+			futures.add(client.callAsync(ping, controller, request, Pong.getDefaultInstance()));
+			ch.readOutbound();
+			if ( i < 2 ) {
+				group.add(controller);
+			}
+		}
+		// a controller of another client is skipped.
+		group.add(new RpcClient(ch, new PeerInfo("client", 1), new PeerInfo("other", 2), false, null, null).newRpcController());
+		
+		assertEquals(2, client.cancelCalls(group));
+		for( int i = 0; i < 2; i++ ) {
+			assertEquals(group.get(i).getCorrelationId(), ((WirePayload)ch.readOutbound()).getRpcCancel().getCorrelationId());
+			assertEquals("Cancel", group.get(i).errorText());
+			assertTrue(futures.get(i).isDone());
+		}
+		assertNull(ch.readOutbound());
+		assertEquals(0, client.cancelCalls(group));
+		
+		assertEquals(0, client.cancelCallsOlderThan(60000));
+		assertEquals(1, client.cancelCallsOlderThan(0));
+		assertTrue(futures.get(2).isDone());
+		assertEquals(0, client.getPendingRequestCount());
+	}
+	
+	@Test
+	public void testBackpressureFail() throws Exception {
+		EmbeddedChannel ch = unwritableChannel();
+		RpcClient client = new RpcClient(ch, new PeerInfo("client", 1), new PeerInfo("server", 2), false, null, null);
+		client.setBackpressurePolicy(BackpressurePolicy.FAIL);
+		
+		ClientRpcController controller = client.newRpcController();
+		Future<Pong> future = client.callAsync(ping, controller, request, Pong.getDefaultInstance());
+		assertEquals("Channel Not Writable", future.cause().getMessage());
+		ch.flush();
+		assertTrue(ch.readOutbound() instanceof ByteBuf);
+		assertNull(ch.readOutbound());
+	}
+
+	@Test
+	public void testBackpressureQueue() throws Exception {
+		EmbeddedChannel ch = unwritableChannel();
+		RpcClient client = new RpcClient(ch, new PeerInfo("client", 1), new PeerInfo("server", 2), false, null, null);
+		client.setBackpressurePolicy(BackpressurePolicy.QUEUE);
+		client.setBackpressureQueueCapacity(2);
+		
+		ClientRpcController first = client.newRpcController();
+		client.callAsync(ping, first, request, Pong.getDefaultInstance());
+		ClientRpcController second = client.newRpcController();
+		client.callAsync(ping, second, request, Pong.getDefaultInstance());
+		Future<Pong> full = client.callAsync(ping, client.newRpcController(), request, Pong.getDefaultInstance());
+		assertEquals("Backpressure Queue Full", full.cause().getMessage());
+		
+		ch.flush();
+		assertTrue(client.isWritable());
+		client.writabilityChanged(true);
+		assertTrue(ch.readOutbound() instanceof ByteBuf);
+		assertEquals(first.getCorrelationId(), ((DeferredWirePayload)ch.readOutbound()).getRpcRequest().getCorrelationId());
+		assertEquals(second.getCorrelationId(), ((DeferredWirePayload)ch.readOutbound()).getRpcRequest().getCorrelationId());
+		assertNull(ch.readOutbound());
+	}
+	
+	@Test
+	public void testConcurrencyLimit() throws Exception {
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		RpcClient client = new RpcClient(ch, new PeerInfo("client", 1), new PeerInfo("server", 2), false, null, null);
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(new AimdLimit(1, 1, 1, 0.5, 0), 2);
+		client.setConcurrencyLimiter(limiter);
+		
+		ClientRpcController first = client.newRpcController();
+		Future<Pong> firstFuture = client.callAsync(ping, first, request, Pong.getDefaultInstance());
+		ClientRpcController cancelled = client.newRpcController();
+		Future<Pong> cancelledFuture = client.callAsync(ping, cancelled, request, Pong.getDefaultInstance());
+		ClientRpcController second = client.newRpcController();
+		client.callAsync(ping, second, request, Pong.getDefaultInstance());
+		Future<Pong> rejected = client.callAsync(ping, client.newRpcController(), request, Pong.getDefaultInstance());
+		assertEquals("Concurrency Limit Exceeded", rejected.cause().getMessage());
+		assertEquals(1, limiter.getInFlight());
+		assertEquals(2, limiter.getQueueDepth());
+		
+		assertEquals(first.getCorrelationId(), ((DeferredWirePayload)ch.readOutbound()).getRpcRequest().getCorrelationId());
+		assertNull(ch.readOutbound());
+		
+		// a call cancelled while queued is never sent, and leaves the queue.
+		assertTrue(cancelledFuture.cancel(false));
+		ch.readOutbound(); // RpcCancel
+		assertEquals(1, limiter.getQueueDepth());
+		Pong pong = Pong.newBuilder().setPongData(ByteString.copyFromUtf8("pong")).build();
+		client.response(RpcResponse.newBuilder().setCorrelationId(first.getCorrelationId()).setResponseBytes(pong.toByteString()).build());
+		assertTrue(firstFuture.isSuccess());
+		assertEquals(second.getCorrelationId(), ((DeferredWirePayload)ch.readOutbound()).getRpcRequest().getCorrelationId());
+		assertNull(ch.readOutbound());
+		assertEquals(1, limiter.getInFlight());
+		assertEquals(0, limiter.getQueueDepth());
+		
+		client.error(RpcError.newBuilder().setCorrelationId(second.getCorrelationId()).setErrorMessage("failed").build());
+		assertEquals(0, limiter.getInFlight());
+	}
+	
+	/**
+	 * @return a channel holding an unflushed write above its high water mark.
+	 */
+	private EmbeddedChannel unwritableChannel() {
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		ch.config().setWriteBufferLowWaterMark(5);
+		ch.config().setWriteBufferHighWaterMark(10);
+		ch.write(Unpooled.wrappedBuffer(new byte[100]));
+		assertFalse(ch.isWritable());
+		return ch;
+	}
+}
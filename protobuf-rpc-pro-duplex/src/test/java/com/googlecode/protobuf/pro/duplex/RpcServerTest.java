@@ -0,0 +1,176 @@
+package com.googlecode.protobuf.pro.duplex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import com.google.protobuf.RpcCallback;
+import com.google.protobuf.RpcController;
+import com.google.protobuf.ServiceException;
+import com.googlecode.protobuf.pro.duplex.execute.SameThreadExecutor;
+import com.googlecode.protobuf.pro.duplex.limit.CoDelLoadShedder;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Ping;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.PingPongService;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Pong;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
+
+public class RpcServerTest {
+
+	Ping ping = Ping.newBuilder().setProcessingTime(0).setPongDataLength(0).setPingData(ByteString.EMPTY).build();
+	
+	@Test
+	public void testExpiredRequestDropped() throws Exception {
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		RpcClient client = new RpcClient(ch, new PeerInfo("server", 2), new PeerInfo("client", 1), false, null, null);
+		client.setClockOffsetMs(0l);
+		final AtomicInteger calls = new AtomicInteger();
+		RpcServiceRegistry registry = new RpcServiceRegistry();
+		registry.registerService(PingPongService.newReflectiveBlockingService(new PingPongService.BlockingInterface() {
+			
+			@Override
+			public Pong ping(RpcController controller, Ping request) throws ServiceException {
+				calls.incrementAndGet();
+				return Pong.newBuilder().setPongData(ByteString.EMPTY).build();
+			}
+			
+			@Override
+			public Pong fail(RpcController controller, Ping request) throws ServiceException {
+				return null;
+			}
+		}));
+		RpcServer server = new RpcServer(client, registry, new SameThreadExecutor(), null);
+		
+		// the request bytes are not even parsed.
+		long now = System.currentTimeMillis();
+		server.request(request(1, 1000).setDeadlineMs(now - 1000).setRequestBytes(ByteString.copyFromUtf8("garbage")).build());
+		WirePayload error = (WirePayload)ch.readOutbound();
+		assertEquals(1, error.getRpcError().getCorrelationId());
+		assertEquals("Timeout", error.getRpcError().getErrorMessage());
+		assertEquals(0, calls.get());
+		
+		// within the skew tolerance, or without a known clock offset, the call runs.
+		server.request(request(2, 1000).setDeadlineMs(System.currentTimeMillis() - RpcServer.CLOCK_SKEW_TOLERANCE_MS / 2).build());
+		assertEquals(2, ((DeferredWirePayload)ch.readOutbound()).getRpcResponse().getCorrelationId());
+		client.setClockOffsetMs(null);
+		server.request(request(3, 1000).setDeadlineMs(now - 1000).build());
+		assertEquals(3, ((DeferredWirePayload)ch.readOutbound()).getRpcResponse().getCorrelationId());
+		assertEquals(2, calls.get());
+	}
+	
+	@Test
+	public void testDeadlineInherited() throws Exception {
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		RpcClient client = new RpcClient(ch, new PeerInfo("server", 2), new PeerInfo("client", 1), false, null, null);
+		
+		// the service calls a downstream server.
+		final EmbeddedChannel downstreamCh = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		final RpcClient downstream = new RpcClient(downstreamCh, new PeerInfo("server", 2), new PeerInfo("downstream", 3), false, null, null);
+		downstream.setClockOffsetMs(0l);
+		final ClientRpcController[] nested = new ClientRpcController[1];
+		final AtomicInteger nestedDone = new AtomicInteger();
+		RpcServiceRegistry registry = new RpcServiceRegistry();
+		registry.registerService(PingPongService.newReflectiveBlockingService(new PingPongService.BlockingInterface() {
+			
+			@Override
+			public Pong ping(RpcController controller, Ping request) throws ServiceException {
+				if ( request.getProcessingTime() > 0 ) {
+					try {
+						Thread.sleep(request.getProcessingTime());
+					} catch (InterruptedException e) {
+					}
+				}
+				nested[0] = downstream.newRpcController();
+				downstream.callMethod(PingPongService.getDescriptor().findMethodByName("ping"), nested[0], ping, Pong.getDefaultInstance(), new RpcCallback<Message>() {
+					@Override
+					public void run(Message response) {
+						nestedDone.incrementAndGet();
+					}
+				});
+				return Pong.newBuilder().setPongData(ByteString.EMPTY).build();
+			}
+			
+			@Override
+			public Pong fail(RpcController controller, Ping request) throws ServiceException {
+				return null;
+			}
+		}));
+		RpcServer server = new RpcServer(client, registry, new SameThreadExecutor(), null);
+		
+		long before = System.currentTimeMillis();
+		server.request(request(1, 5000).build());
+		RpcRequest sent = ((DeferredWirePayload)downstreamCh.readOutbound()).getRpcRequest();
+		assertTrue(sent.getTimeoutMs() > 0 && sent.getTimeoutMs() <= 5000);
+		assertTrue(sent.getDeadlineMs() >= before && sent.getDeadlineMs() <= before + 5000 + (System.currentTimeMillis() - before));
+		assertEquals(sent.getTimeoutMs(), nested[0].getTimeoutMs());
+		assertEquals(0, nestedDone.get());
+		
+		// without budget left the nested call fails without being sent.
+		server.request(request(2, 20).setRequestBytes(Ping.newBuilder(ping).setProcessingTime(50).build().toByteString()).build());
+		assertEquals(1, nestedDone.get());
+		assertEquals("Timeout", nested[0].errorText());
+		assertEquals(null, downstreamCh.readOutbound());
+	}
+	
+	@Test
+	public void testOverloadShed() throws Exception {
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		RpcClient client = new RpcClient(ch, new PeerInfo("server", 2), new PeerInfo("client", 1), false, null, null);
+		RpcServiceRegistry registry = new RpcServiceRegistry();
+		registry.registerService(PingPongService.newReflectiveBlockingService(new PingPongService.BlockingInterface() {
+			
+			@Override
+			public Pong ping(RpcController controller, Ping request) throws ServiceException {
+				return Pong.newBuilder().setPongData(ByteString.EMPTY).build();
+			}
+			
+			@Override
+			public Pong fail(RpcController controller, Ping request) throws ServiceException {
+				return null;
+			}
+		}));
+		RpcServer server = new RpcServer(client, registry, new SameThreadExecutor(), null);
+		CoDelLoadShedder shedder = new CoDelLoadShedder(1000, 1);
+		server.setLoadShedder(shedder);
+		
+		server.request(request(1, 0).build());
+		assertEquals(1, ((DeferredWirePayload)ch.readOutbound()).getRpcResponse().getCorrelationId());
+		assertEquals(0, shedder.getQueued());
+		
+		// calls waited 2s to start for longer than the interval, one is still queued.
+		String method = PingPongService.getDescriptor().findMethodByName("ping").getFullName();
+		for( int i = 0; i < 3; i++ ) {
+			shedder.onQueued();
+		}
+		shedder.onStart(method, 2000000000l);
+		Thread.sleep(5);
+		shedder.onStart(method, 2000000000l);
+		assertTrue(shedder.isOverloaded());
+		
+		// the request bytes are not even parsed.
+		server.request(request(2, 0).setRequestBytes(ByteString.copyFromUtf8("garbage")).build());
+		WirePayload error = (WirePayload)ch.readOutbound();
+		assertEquals(2, error.getRpcError().getCorrelationId());
+		assertEquals(CoDelLoadShedder.LOAD_SHED, error.getRpcError().getErrorMessage());
+		assertTrue(error.getRpcError().getRetryable());
+		assertEquals(Long.valueOf(2), shedder.getShedCounts().get(method));
+		
+		// once the queue drained calls are admitted again.
+		shedder.onRemoved();
+		server.request(request(3, 0).build());
+		assertEquals(3, ((DeferredWirePayload)ch.readOutbound()).getRpcResponse().getCorrelationId());
+		assertEquals(0, shedder.getQueued());
+	}
+	
+	private RpcRequest.Builder request( int correlationId, int timeoutMs ) {
+		return RpcRequest.newBuilder().setCorrelationId(correlationId).setServiceIdentifier(PingPongService.getDescriptor().getFullName()).setMethodIdentifier("ping").setTimeoutMs(timeoutMs).setRequestBytes(ping.toByteString());
+	}
+}
@@ -1,18 +1,38 @@
 package com.googlecode.protobuf.pro.duplex;
 
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import com.google.protobuf.BlockingService;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.MethodDescriptor;
 import com.google.protobuf.RpcCallback;
 import com.google.protobuf.RpcController;
+import com.google.protobuf.Service;
 import com.google.protobuf.ServiceException;
 import com.googlecode.protobuf.pro.duplex.RpcServiceRegistry.ServiceDescriptor;
+import com.googlecode.protobuf.pro.duplex.execute.RpcServerCallExecutor;
+import com.googlecode.protobuf.pro.duplex.execute.SameThreadExecutor;
+import com.googlecode.protobuf.pro.duplex.execute.ThreadPoolCallExecutor;
 import com.googlecode.protobuf.pro.duplex.test.PingPong.Ping;
 import com.googlecode.protobuf.pro.duplex.test.PingPong.PingPongService;
 import com.googlecode.protobuf.pro.duplex.test.PingPong.Pong;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest;
 
 public class RpcServiceRegistryTest {
 
@@ -68,5 +88,163 @@ public class RpcServiceRegistryTest {
         assertEquals(0, result.size());
 	}
 
+	@Test
+	public void testMethodIds() {
+		RpcServiceRegistry r = new RpcServiceRegistry();
+		MethodDescriptor ping = PingPongService.getDescriptor().findMethodByName("ping");
+		assertNull(r.getMethodId(ping));
+
+        BlockingService bPingService = PingPongService.newReflectiveBlockingService(bi);
+        r.registerService(true, bPingService);
+        int pingId = r.getMethodId(ping);
+        assertSame(ping, r.resolveMethod(pingId).getMethodDescriptor());
+        assertNull(r.resolveMethod(0));
+        assertNull(r.resolveMethod(100));
+        
+        // the ids are kept, and not reused, when the service is removed and registered again.
+        r.removeService(bPingService);
+        assertNull(r.resolveMethod(pingId));
+        r.registerService(true, bPingService);
+        assertEquals(pingId, r.getMethodId(ping).intValue());
+        assertSame(ping, r.resolveMethod(pingId).getMethodDescriptor());
+	}
+
+	@Test
+	public void testServiceMethod() {
+		RpcServiceRegistry r = new RpcServiceRegistry();
+		MethodDescriptor ping = PingPongService.getDescriptor().findMethodByName("ping");
+
+        BlockingService bPingService = PingPongService.newReflectiveBlockingService(bi);
+        r.registerService(true, bPingService);
+        ServiceDescriptor sd = r.resolveService(PingPongService.getDescriptor().getFullName());
+        RpcServiceRegistry.ServiceMethod m = sd.getMethod("ping");
+        assertSame(m, r.resolveMethod(r.getMethodId(ping)));
+        assertSame(ping, m.getMethodDescriptor());
+        assertSame(Ping.getDefaultInstance(), m.getRequestPrototype());
+        assertSame(Pong.getDefaultInstance(), m.getResponsePrototype());
+        assertNull(sd.getMethod("unknown"));
+
+        assertNull(m.getCompressResponse());
+        r.setCompressResponse(ping, true);
+        assertEquals(Boolean.TRUE, r.resolveMethod(r.getMethodId(ping)).getCompressResponse());
+        assertEquals(Boolean.TRUE, r.resolveService(PingPongService.getDescriptor().getFullName()).getMethod("ping").getCompressResponse());
+        // the published entry is not changed.
+        assertNull(m.getCompressResponse());
+	}
+
+	@Test
+	public void testReplaceService() {
+		RpcServiceRegistry r = new RpcServiceRegistry();
+		MethodDescriptor ping = PingPongService.getDescriptor().findMethodByName("ping");
+		String serviceName = PingPongService.getDescriptor().getFullName();
+
+        BlockingService bPingService = PingPongService.newReflectiveBlockingService(bi);
+        r.registerService(true, bPingService);
+        r.setCompressResponse(ping, true);
+        int pingId = r.getMethodId(ping);
+        Map<String, ServiceDescriptor> before = r.getServices();
+
+        Service nbPingService = PingPongService.newReflectiveService(i);
+        try {
+        	r.registerService(false, nbPingService);
+        	fail("duplicate");
+        } catch ( IllegalStateException e ) {
+        	// expected
+        }
+        r.replaceService(false, nbPingService);
+        ServiceDescriptor sd = r.resolveService(serviceName);
+        assertSame(nbPingService, sd.getService());
+        assertNull(sd.getBlockingService());
+        assertSame(sd, r.resolveMethod(pingId).getServiceDescriptor());
+        assertEquals(pingId, r.getMethodId(ping).intValue());
+        assertEquals(Boolean.TRUE, r.resolveMethod(pingId).getCompressResponse());
+        
+        // earlier snapshots are not affected.
+        assertSame(bPingService, before.get(serviceName).getBlockingService());
+        
+        r.clear();
+        assertNull(r.resolveService(serviceName));
+        assertNull(r.resolveMethod(pingId));
+        assertEquals(1, before.size());
+	}
+
+	@Test
+	public void testCallExecutors() {
+		RpcServiceRegistry r = new RpcServiceRegistry();
+		MethodDescriptor ping = PingPongService.getDescriptor().findMethodByName("ping");
+		MethodDescriptor fail = PingPongService.getDescriptor().findMethodByName("fail");
+		RpcServerCallExecutor serviceExecutor = new SameThreadExecutor();
+		RpcServerCallExecutor methodExecutor = new SameThreadExecutor();
+
+        BlockingService bPingService = PingPongService.newReflectiveBlockingService(bi);
+        r.registerService(true, bPingService, serviceExecutor);
+        assertSame(serviceExecutor, r.resolveMethod(r.getMethodId(ping)).getCallExecutor());
+        assertSame(serviceExecutor, r.resolveMethod(r.getMethodId(fail)).getCallExecutor());
+        
+        RpcServiceRegistry.ServiceMethod published = r.resolveMethod(r.getMethodId(ping));
+        r.setCallExecutor(ping, methodExecutor);
+        assertSame(methodExecutor, r.resolveMethod(r.getMethodId(ping)).getCallExecutor());
+        // the published entry is not changed.
+        assertSame(serviceExecutor, published.getCallExecutor());
+        
+        // kept when the service is replaced.
+        r.replaceService(true, PingPongService.newReflectiveService(i));
+        assertSame(methodExecutor, r.resolveMethod(r.getMethodId(ping)).getCallExecutor());
+        assertSame(serviceExecutor, r.resolveMethod(r.getMethodId(fail)).getCallExecutor());
+        
+        r.setCallExecutor(fail, null);
+        assertNull(r.resolveMethod(r.getMethodId(fail)).getCallExecutor());
+        
+        r.removeService(bPingService);
+        r.registerService(true, bPingService);
+        assertNull(r.resolveMethod(r.getMethodId(ping)).getCallExecutor());
+	}
+
+	@Test
+	public void testBulkhead() throws Exception {
+		final BlockingQueue<Object> outbound = new LinkedBlockingQueue<Object>();
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+			@Override
+			public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+				outbound.add(msg);
+				promise.setSuccess();
+			}
+		});
+		RpcClient client = new RpcClient(ch, new PeerInfo("server", 2), new PeerInfo("client", 1), false, null, null);
+		
+		// responds with the name of the thread running the call.
+		RpcServiceRegistry r = new RpcServiceRegistry();
+		r.registerService(PingPongService.newReflectiveBlockingService(new PingPongService.BlockingInterface() {
+			
+			@Override
+			public Pong ping(RpcController controller, Ping request) throws ServiceException {
+				return Pong.newBuilder().setPongData(ByteString.copyFromUtf8(Thread.currentThread().getName())).build();
+			}
+			
+			@Override
+			public Pong fail(RpcController controller, Ping request) throws ServiceException {
+				return ping(controller, request);
+			}
+		}));
+		ThreadPoolCallExecutor bulkhead = new ThreadPoolCallExecutor(1, 1, 1, "bulkhead");
+		r.setCallExecutor(PingPongService.getDescriptor().findMethodByName("ping"), bulkhead);
+		RpcServer server = new RpcServer(client, r, new SameThreadExecutor(), null);
+		
+		String thread = Thread.currentThread().getName();
+		assertEquals(thread, call(server, outbound, 1, "fail"));
+		assertTrue(call(server, outbound, 2, "ping").startsWith("bulkhead:"));
+		
+		// rejected calls go to the overflow executor.
+		bulkhead.setOverflowExecutor(new SameThreadExecutor());
+		bulkhead.shutdown();
+		assertEquals(thread, call(server, outbound, 3, "ping"));
+	}
 	
+	private String call( RpcServer server, BlockingQueue<Object> outbound, int correlationId, String method ) throws Exception {
+		Ping ping = Ping.newBuilder().setProcessingTime(0).setPongDataLength(0).setPingData(ByteString.EMPTY).build();
+		server.request(RpcRequest.newBuilder().setCorrelationId(correlationId).setServiceIdentifier(PingPongService.getDescriptor().getFullName()).setMethodIdentifier(method).setRequestBytes(ping.toByteString()).build());
+		DeferredWirePayload response = (DeferredWirePayload)outbound.poll(5, TimeUnit.SECONDS);
+		assertEquals(correlationId, response.getRpcResponse().getCorrelationId());
+		return response.mergeBodyTo(Pong.newBuilder(), null).getPongData().toStringUtf8();
+	}
 }
@@ -0,0 +1,153 @@
+package com.googlecode.protobuf.pro.duplex.balance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.concurrent.Future;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.MethodDescriptor;
+import com.googlecode.protobuf.pro.duplex.ClientRpcController;
+import com.googlecode.protobuf.pro.duplex.PeerInfo;
+import com.googlecode.protobuf.pro.duplex.RpcClient;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Ping;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.PingPongService;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Pong;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
+
+public class HedgedCallTest {
+
+	MethodDescriptor ping = PingPongService.getDescriptor().findMethodByName("ping");
+	Ping request = Ping.newBuilder().setProcessingTime(0).setPongDataLength(1).setPingData(ByteString.copyFromUtf8("ping")).build();
+	Pong pong = Pong.newBuilder().setPongData(ByteString.copyFromUtf8("pong")).build();
+	
+	EmbeddedChannel chA = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+	EmbeddedChannel chB = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+	RpcClient a = new RpcClient(chA, new PeerInfo("client", 1), new PeerInfo("a", 2), false, null, null);
+	RpcClient b = new RpcClient(chB, new PeerInfo("client", 1), new PeerInfo("b", 2), false, null, null);
+	
+	// the scheduled hedges, run by the test.
+	Queue<FutureTask<Object>> hedges = new LinkedList<FutureTask<Object>>();
+	
+	private LoadBalancedChannel channel( HedgingPolicy policy ) {
+		LoadBalancedChannel channel = new LoadBalancedChannel(new PowerOfTwoChoicesBalancer()) {
+			@Override
+			java.util.concurrent.Future<?> scheduleHedge(Runnable hedge, long delayNanos, ClientRpcController primary) {
+				assertEquals(TimeUnit.MILLISECONDS.toNanos(1), delayNanos);
+				FutureTask<Object> task = new FutureTask<Object>(hedge, null);
+				hedges.add(task);
+				return task;
+			}
+		};
+		channel.addChannel(a);
+		channel.addChannel(b);
+		channel.setHedgingPolicy(policy);
+		return channel;
+	}
+	
+	private void awaitHedge() {
+		FutureTask<Object> hedge = hedges.poll();
+		if ( hedge != null ) {
+			hedge.run();
+		}
+	}
+	
+	@Test
+	public void testHedgeWins() throws Exception {
+		final long[] recorded = new long[1];
+		HedgingPolicy policy = new HedgingPolicy(1, 10) {
+			@Override
+			void record(MethodDescriptor method, long rttNanos) {
+				recorded[0] = rttNanos;
+				super.record(method, rttNanos);
+			}
+		};
+		policy.setInitialDelayMs(1);
+		policy.hedge(ping, 95);
+		LoadBalancedChannel channel = channel(policy);
+		
+		ClientRpcController controller = a.newRpcController();
+		Future<Pong> future = channel.callAsync(ping, controller, request, Pong.getDefaultInstance());
+		DeferredWirePayload primary = (DeferredWirePayload)chA.readOutbound();
+		assertNull(chB.readOutbound());
+		
+		Thread.sleep(20);
+		awaitHedge();
+		DeferredWirePayload hedge = (DeferredWirePayload)chB.readOutbound();
+		assertEquals(1, policy.getHedges());
+		
+		b.response(RpcResponse.newBuilder().setCorrelationId(hedge.getRpcRequest().getCorrelationId()).setResponseBytes(pong.toByteString()).build());
+		assertTrue(future.isSuccess());
+		assertEquals(pong, future.getNow());
+		assertFalse(controller.failed());
+		
+		// the latency of the call is recorded, not the quick hedge's.
+		assertTrue(recorded[0] >= TimeUnit.MILLISECONDS.toNanos(20));
+		
+		// the primary is cancelled.
+		chA.runPendingTasks();
+		WirePayload cancel = (WirePayload)chA.readOutbound();
+		assertEquals(primary.getRpcRequest().getCorrelationId(), cancel.getRpcCancel().getCorrelationId());
+		assertEquals(0, a.getPendingRequestCount());
+		for( Endpoint e : channel.getEndpoints() ) {
+			assertEquals(0, e.getPending());
+		}
+	}
+	
+	@Test
+	public void testPrimaryWinsAndBudget() throws Exception {
+		HedgingPolicy policy = new HedgingPolicy(0.5, 1);
+		policy.setInitialDelayMs(1);
+		policy.hedge(ping, 95);
+		LoadBalancedChannel channel = channel(policy);
+		
+		// the first call's budget does not allow a hedge.
+		Future<Pong> future = channel.callAsync(ping, a.newRpcController(), request, Pong.getDefaultInstance());
+		DeferredWirePayload primary = (DeferredWirePayload)chA.readOutbound();
+		awaitHedge();
+		assertNull(chB.readOutbound());
+		a.response(RpcResponse.newBuilder().setCorrelationId(primary.getRpcRequest().getCorrelationId()).setResponseBytes(pong.toByteString()).build());
+		assertTrue(future.isSuccess());
+		
+		future = channel.callAsync(ping, a.newRpcController(), request, Pong.getDefaultInstance());
+		primary = (DeferredWirePayload)chA.readOutbound();
+		awaitHedge();
+		DeferredWirePayload hedge = (DeferredWirePayload)chB.readOutbound();
+		a.response(RpcResponse.newBuilder().setCorrelationId(primary.getRpcRequest().getCorrelationId()).setResponseBytes(pong.toByteString()).build());
+		assertTrue(future.isSuccess());
+		chB.runPendingTasks();
+		WirePayload cancel = (WirePayload)chB.readOutbound();
+		assertEquals(hedge.getRpcRequest().getCorrelationId(), cancel.getRpcCancel().getCorrelationId());
+		
+		// not hedged methods.
+		policy.unhedge(ping);
+		future = channel.callAsync(ping, a.newRpcController(), request, Pong.getDefaultInstance());
+		chA.readOutbound();
+		awaitHedge();
+		assertNull(chB.readOutbound());
+		assertEquals(1, policy.getHedges());
+	}
+
+	@Test
+	public void testPercentileDelay() {
+		HedgingPolicy policy = new HedgingPolicy();
+		policy.hedge(ping, 90);
+		assertEquals(TimeUnit.MILLISECONDS.toNanos(HedgingPolicy.DEFAULT_INITIAL_DELAY_MS), policy.getDelayNanos(ping));
+		for( int i = 1; i <= HedgingPolicy.MIN_SAMPLES; i++ ) {
+			policy.record(ping, i * 1000);
+		}
+		assertEquals(19000, policy.getDelayNanos(ping));
+	}
+}
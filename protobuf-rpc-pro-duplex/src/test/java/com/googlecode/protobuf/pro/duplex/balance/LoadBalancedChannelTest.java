@@ -0,0 +1,201 @@
+package com.googlecode.protobuf.pro.duplex.balance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.concurrent.Future;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.MethodDescriptor;
+import com.googlecode.protobuf.pro.duplex.ClientRpcController;
+import com.googlecode.protobuf.pro.duplex.PeerInfo;
+import com.googlecode.protobuf.pro.duplex.RpcClient;
+import com.googlecode.protobuf.pro.duplex.client.RpcClientPool;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Ping;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.PingPongService;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Pong;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse;
+
+public class LoadBalancedChannelTest {
+
+	MethodDescriptor ping = PingPongService.getDescriptor().findMethodByName("ping");
+	Ping request = Ping.newBuilder().setProcessingTime(0).setPongDataLength(1).setPingData(ByteString.copyFromUtf8("ping")).build();
+	
+	private RpcClient client( String server ) {
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		return new RpcClient(ch, new PeerInfo("client", 1), new PeerInfo(server, 2), false, null, null);
+	}
+	
+	@Test
+	public void testPowerOfTwoChoices() throws Exception {
+		LoadBalancedChannel channel = new LoadBalancedChannel(new PowerOfTwoChoicesBalancer());
+		RpcClient busy = client("a");
+		RpcClient idle = client("b");
+		channel.addChannel(busy);
+		channel.addChannel(idle);
+		
+		ClientRpcController controller = busy.newRpcController();
+		Future<Pong> future = channel.callAsync(ping, controller, request, Pong.getDefaultInstance());
+		Endpoint endpoint = channel.select("x");
+		assertSame(idle, endpoint.getChannel());
+		assertEquals(1, channel.getEndpoints().get(0).getPending() + channel.getEndpoints().get(1).getPending());
+		
+		Pong pong = Pong.newBuilder().setPongData(ByteString.copyFromUtf8("pong")).build();
+		busy.response(RpcResponse.newBuilder().setCorrelationId(controller.getCorrelationId()).setResponseBytes(pong.toByteString()).build());
+		assertTrue(future.isSuccess());
+		for( Endpoint e : channel.getEndpoints() ) {
+			assertEquals(0, e.getPending());
+		}
+	}
+	
+	@Test
+	public void testEwma() {
+		LoadBalancedChannel channel = new LoadBalancedChannel(new EwmaBalancer());
+		channel.addChannel(client("slow"));
+		channel.addChannel(client("fast"));
+		for( Endpoint e : channel.getEndpoints() ) {
+			e.callStarted();
+			e.callCompleted("slow:2".equals(e.getName()) ? 10000000 : 1000000, false);
+		}
+		for( int i = 0; i < 10; i++ ) {
+			assertEquals("fast:2", channel.select(null).getName());
+		}
+		
+		// the peak is taken at once, and decays.
+		Endpoint endpoint = new Endpoint(client("c"));
+		endpoint.sample(1000, 1);
+		endpoint.sample(5000, 2);
+		assertEquals(5000, endpoint.getEwmaNanos());
+		endpoint.sample(1000, 2 + Endpoint.DECAY_NANOS);
+		assertTrue(endpoint.getEwmaNanos() > 1000 && endpoint.getEwmaNanos() < 5000);
+	}
+	
+	@Test
+	public void testEwmaFailures() {
+		LoadBalancedChannel channel = new LoadBalancedChannel(new EwmaBalancer());
+		channel.addChannel(client("failing"));
+		channel.addChannel(client("healthy"));
+		for( Endpoint e : channel.getEndpoints() ) {
+			e.callStarted();
+			boolean failing = "failing:2".equals(e.getName());
+			e.callCompleted(failing ? 1000 : 1000000, failing);
+		}
+		// a peer failing fast is not the fastest.
+		for( int i = 0; i < 10; i++ ) {
+			assertEquals("healthy:2", channel.select(null).getName());
+		}
+		
+		// the calls awaiting an unsampled peer's response count.
+		Endpoint endpoint = new Endpoint(client("c"));
+		assertEquals(0, EwmaBalancer.cost(endpoint), 0);
+		endpoint.callStarted();
+		assertTrue(EwmaBalancer.cost(endpoint) > 0);
+	}
+	
+	@Test
+	public void testConsistentHash() {
+		LoadBalancedChannel channel = new LoadBalancedChannel(new ConsistentHashBalancer());
+		for( String server : new String[]{"a", "b", "c", "d"} ) {
+			channel.addChannel(client(server));
+		}
+		Map<String, String> assigned = new HashMap<String, String>();
+		Map<String, Integer> share = new HashMap<String, Integer>();
+		for( int i = 0; i < 1000; i++ ) {
+			String peer = channel.select("key" + i).getName();
+			assertEquals(peer, channel.select("key" + i).getName());
+			assigned.put("key" + i, peer);
+			share.put(peer, share.containsKey(peer) ? share.get(peer) + 1 : 1);
+		}
+		assertEquals(4, share.size());
+		for( int count : share.values() ) {
+			assertTrue("share " + count, count > 150 && count < 350);
+		}
+		
+		// only the keys of the removed peer move.
+		channel.removeChannel(new PeerInfo("b", 2));
+		for( Map.Entry<String, String> e : assigned.entrySet() ) {
+			String peer = channel.select(e.getKey()).getName();
+			if ( !"b:2".equals(e.getValue()) ) {
+				assertEquals(e.getValue(), peer);
+			} else {
+				assertFalse("b:2".equals(peer));
+			}
+		}
+	}
+	
+	@Test
+	public void testConnectionEvents() {
+		LoadBalancedChannel channel = new LoadBalancedChannel(new PowerOfTwoChoicesBalancer());
+		RpcClient a = client("a");
+		RpcClient b = client("b");
+		channel.addChannel(a);
+		channel.addChannel(b);
+		assertEquals(2, channel.getLiveEndpoints().size());
+		
+		channel.connectionLost(a);
+		assertEquals(1, channel.getLiveEndpoints().size());
+		for( int i = 0; i < 10; i++ ) {
+			assertSame(b, channel.newRpcController().getRpcClient());
+		}
+		
+		// unknown peers are not added.
+		channel.connectionOpened(client("x"));
+		assertEquals(2, channel.getEndpoints().size());
+		
+		RpcClient reconnected = client("a");
+		channel.connectionReestablished(reconnected);
+		assertEquals(2, channel.getLiveEndpoints().size());
+		for( Endpoint e : channel.getEndpoints() ) {
+			assertNotSame(a, e.getChannel());
+		}
+		
+		// a late loss of the old channel does not drain the new one.
+		channel.connectionLost(a);
+		assertEquals(2, channel.getLiveEndpoints().size());
+	}
+	
+	@Test
+	public void testPoolConnectionEvents() throws Exception {
+		LoadBalancedChannel channel = new LoadBalancedChannel(new PowerOfTwoChoicesBalancer());
+		RpcClientPool pool = new RpcClientPool(null, null, new PeerInfo("a", 2), 2) {
+			@Override
+			protected RpcClient openClient() throws IOException {
+				return client("a");
+			}
+		};
+		pool.connect();
+		channel.addChannel(pool);
+		channel.addChannel(client("b"));
+		
+		// the pool's other connection is still open.
+		RpcClient first = pool.getClients().get(0);
+		first.getChannel().close();
+		channel.connectionLost(first);
+		assertEquals(2, channel.getLiveEndpoints().size());
+		
+		RpcClient second = pool.getClients().get(1);
+		second.getChannel().close();
+		channel.connectionLost(second);
+		assertEquals(1, channel.getLiveEndpoints().size());
+		
+		// a reconnection takes back the pool, not the single connection.
+		pool.connect();
+		channel.connectionReestablished(pool.getClients().get(0));
+		assertEquals(2, channel.getLiveEndpoints().size());
+		for( Endpoint e : channel.getEndpoints() ) {
+			if ( e.getName().equals("a") ) {
+				assertSame(pool, e.getChannel());
+			}
+		}
+	}
+}
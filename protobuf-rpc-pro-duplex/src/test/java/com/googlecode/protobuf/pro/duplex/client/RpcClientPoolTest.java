@@ -0,0 +1,90 @@
+package com.googlecode.protobuf.pro.duplex.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.MethodDescriptor;
+import com.googlecode.protobuf.pro.duplex.ClientRpcController;
+import com.googlecode.protobuf.pro.duplex.PeerInfo;
+import com.googlecode.protobuf.pro.duplex.RpcClient;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Ping;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.PingPongService;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Pong;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+
+public class RpcClientPoolTest {
+
+	MethodDescriptor ping = PingPongService.getDescriptor().findMethodByName("ping");
+	Ping request = Ping.newBuilder().setProcessingTime(0).setPongDataLength(1).setPingData(ByteString.copyFromUtf8("ping")).build();
+	
+	static class EmbeddedPool extends RpcClientPool {
+		int opened;
+		
+		EmbeddedPool( int size ) {
+			super(null, null, new PeerInfo("server", 2), size);
+		}
+		
+		@Override
+		protected RpcClient openClient() throws IOException {
+			EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+			return new RpcClient(ch, new PeerInfo("client", ++opened), getPeerInfo(), false, null, null);
+		}
+	}
+	
+	@Test
+	public void testRoundRobin() throws Exception {
+		EmbeddedPool pool = new EmbeddedPool(3);
+		pool.connect();
+		List<RpcClient> clients = pool.getClients();
+		assertEquals(3, clients.size());
+		
+		for( int i = 0; i < 6; i++ ) {
+			ClientRpcController controller = pool.newRpcController();
+			assertSame(clients.get(i % 3), controller.getRpcClient());
+			
+			pool.callAsync(ping, controller, request, Pong.getDefaultInstance());
+			EmbeddedChannel ch = (EmbeddedChannel)controller.getRpcClient().getChannel();
+			assertEquals(controller.getCorrelationId(), ((DeferredWirePayload)ch.readOutbound()).getRpcRequest().getCorrelationId());
+		}
+		
+		// a closed connection is skipped, until replaced.
+		clients.get(1).close();
+		for( int i = 0; i < 6; i++ ) {
+			assertNotSame(clients.get(1), pool.newRpcController().getRpcClient());
+		}
+		pool.connect();
+		assertEquals(4, pool.opened);
+		assertNotSame(clients.get(1), pool.getClients().get(1));
+		assertSame(clients.get(0), pool.getClients().get(0));
+	}
+	
+	@Test
+	public void testLeastPending() throws Exception {
+		EmbeddedPool pool = new EmbeddedPool(3);
+		pool.setStrategy(RpcClientPool.Strategy.LEAST_PENDING);
+		pool.connect();
+		List<RpcClient> clients = pool.getClients();
+		
+		for( int i = 0; i < 2; i++ ) {
+			clients.get(0).callAsync(ping, clients.get(0).newRpcController(), request, Pong.getDefaultInstance());
+		}
+		clients.get(1).callAsync(ping, clients.get(1).newRpcController(), request, Pong.getDefaultInstance());
+		assertEquals(2, clients.get(0).getPendingRequestCount());
+		
+		for( int i = 0; i < 3; i++ ) {
+			assertSame(clients.get(2), pool.select());
+		}
+		clients.get(2).callAsync(ping, clients.get(2).newRpcController(), request, Pong.getDefaultInstance());
+		RpcClient selected = pool.select();
+		assertNotSame(clients.get(0), selected);
+	}
+}
@@ -0,0 +1,234 @@
+package com.googlecode.protobuf.pro.duplex.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.protobuf.BlockingService;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import com.google.protobuf.RpcCallback;
+import com.google.protobuf.RpcController;
+import com.google.protobuf.Service;
+import com.google.protobuf.ServiceException;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Ping;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.PingPongService;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Pong;
+
+public class CallExecutorTest {
+
+	// completes the callback on another thread, so the executor waits for it.
+	Service service = PingPongService.newReflectiveService(new PingPongService.Interface() {
+		
+		@Override
+		public void ping(RpcController controller, final Ping request, final RpcCallback<Pong> done) {
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						Thread.sleep(50);
+					} catch (InterruptedException e) {
+					}
+					done.run(Pong.newBuilder().setPongData(request.getPingData()).build());
+				}
+			}).start();
+		}
+		
+		@Override
+		public void fail(RpcController controller, Ping request, RpcCallback<Pong> done) {
+			controller.setFailed("fail");
+			done.run(null);
+		}
+	});
+	
+	@Test
+	public void testBlockingRpcCallback() throws Exception {
+		BlockingRpcCallback callback = new BlockingRpcCallback();
+		assertFalse(callback.isDone());
+		assertFalse(callback.await(10, TimeUnit.MILLISECONDS));
+		
+		Pong pong = Pong.newBuilder().setPongData(ByteString.EMPTY).build();
+		callback.run(pong);
+		assertTrue(callback.isDone());
+		assertTrue(callback.await(10, TimeUnit.MILLISECONDS));
+		assertEquals(pong, callback.getMessage());
+	}
+	
+	@Test
+	public void testThreadPoolCallExecutor() throws Exception {
+		ThreadPoolCallExecutor executor = new ThreadPoolCallExecutor(1, 1);
+		try {
+			call(executor);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testForkJoinCallExecutor() throws Exception {
+		ForkJoinCallExecutor executor = new ForkJoinCallExecutor(2);
+		try {
+			call(executor);
+			assertEquals(0, executor.getPendingCalls());
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void testForkJoinCallExecutorCancel() throws Exception {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch interrupted = new CountDownLatch(1);
+		Service blocking = PingPongService.newReflectiveService(new PingPongService.Interface() {
+			
+			@Override
+			public void ping(RpcController controller, Ping request, RpcCallback<Pong> done) {
+				started.countDown();
+				try {
+					Thread.sleep(10000);
+				} catch (InterruptedException e) {
+					interrupted.countDown();
+				}
+				done.run(null);
+			}
+			
+			@Override
+			public void fail(RpcController controller, Ping request, RpcCallback<Pong> done) {
+				done.run(null);
+			}
+		});
+		final CountDownLatch finished = new CountDownLatch(1);
+		RpcServerExecutorCallback callback = new RpcServerExecutorCallback() {
+			@Override
+			public void onFinish(int correlationId, Message message) {
+				finished.countDown();
+			}
+		};
+		ForkJoinCallExecutor executor = new ForkJoinCallExecutor(1);
+		try {
+			Ping ping = Ping.newBuilder().setProcessingTime(0).setPongDataLength(0).setPingData(ByteString.EMPTY).build();
+			ServerRpcController controller = new ServerRpcController(null, PingPongService.getDescriptor().getFullName(), 1);
+			PendingServerCallState call = new PendingServerCallState(callback, blocking, controller, PingPongService.getDescriptor().findMethodByName("ping"), ping, System.currentTimeMillis(), 0);
+			executor.execute(call);
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			
+			executor.cancel(call.getExecutor());
+			assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+			assertTrue(controller.isCanceled());
+			// the client is not interested in the outcome of a cancelled call.
+			assertFalse(finished.await(100, TimeUnit.MILLISECONDS));
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void testPriorityCallExecutor() throws Exception {
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final List<String> order = new ArrayList<String>();
+		BlockingService recording = PingPongService.newReflectiveBlockingService(new PingPongService.BlockingInterface() {
+			
+			@Override
+			public Pong ping(RpcController controller, Ping request) throws ServiceException {
+				if ( request.getPingData().isEmpty() ) {
+					// hold the only thread until all calls are queued.
+					blocked.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+					}
+				} else {
+					synchronized( order ) {
+						order.add(request.getPingData().toStringUtf8());
+					}
+				}
+				return Pong.newBuilder().setPongData(request.getPingData()).build();
+			}
+			
+			@Override
+			public Pong fail(RpcController controller, Ping request) throws ServiceException {
+				return null;
+			}
+		});
+		final CountDownLatch finished = new CountDownLatch(5);
+		RpcServerExecutorCallback callback = new RpcServerExecutorCallback() {
+			@Override
+			public void onFinish(int correlationId, Message message) {
+				finished.countDown();
+			}
+		};
+		PriorityCallExecutor executor = new PriorityCallExecutor(1, 10, 1000, 10000);
+		try {
+			long now = System.currentTimeMillis();
+			executor.execute(priorityCall(recording, callback, 1, "", now, 0, 0));
+			assertTrue(blocked.await(5, TimeUnit.SECONDS));
+			
+			executor.execute(priorityCall(recording, callback, 2, "normal", now, 0, 0));
+			executor.execute(priorityCall(recording, callback, 3, "old-low", now - 2500, 0, -1));
+			executor.execute(priorityCall(recording, callback, 4, "high", now, 0, 2));
+			executor.execute(priorityCall(recording, callback, 5, "deadline", now, 500, 0));
+			release.countDown();
+			
+			assertTrue(finished.await(5, TimeUnit.SECONDS));
+			// earliest deadline first, the low priority call aged enough to go before the normal one.
+			assertEquals(Arrays.asList("deadline", "high", "old-low", "normal"), order);
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void testVirtualThreadCallExecutor() throws Exception {
+		if ( !VirtualThreadCallExecutor.isSupported() ) {
+			try {
+				new VirtualThreadCallExecutor(10);
+				fail("virtual threads unsupported");
+			} catch ( IllegalStateException e ) {
+				// expected
+			}
+			return;
+		}
+		VirtualThreadCallExecutor executor = new VirtualThreadCallExecutor(10);
+		try {
+			call(executor);
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	private PendingServerCallState priorityCall( BlockingService service, RpcServerExecutorCallback callback, int correlationId, String name, long startTS, int timeoutMs, int priority ) {
+		Ping ping = Ping.newBuilder().setProcessingTime(0).setPongDataLength(0).setPingData(ByteString.copyFromUtf8(name)).build();
+		ServerRpcController controller = new ServerRpcController(null, PingPongService.getDescriptor().getFullName(), correlationId);
+		PendingServerCallState call = new PendingServerCallState(callback, service, controller, PingPongService.getDescriptor().findMethodByName("ping"), ping, startTS, timeoutMs);
+		call.setPriority(priority);
+		return call;
+	}
+	
+	private void call( RpcServerCallExecutor executor ) throws Exception {
+		final CountDownLatch finished = new CountDownLatch(1);
+		final Message[] response = new Message[1];
+		RpcServerExecutorCallback callback = new RpcServerExecutorCallback() {
+			@Override
+			public void onFinish(int correlationId, Message message) {
+				response[0] = message;
+				finished.countDown();
+			}
+		};
+		Ping ping = Ping.newBuilder().setProcessingTime(0).setPongDataLength(4).setPingData(ByteString.copyFromUtf8("ping")).build();
+		ServerRpcController controller = new ServerRpcController(null, PingPongService.getDescriptor().getFullName(), 1);
+		executor.execute(new PendingServerCallState(callback, service, controller, PingPongService.getDescriptor().findMethodByName("ping"), ping, System.currentTimeMillis(), 0));
+		
+		assertTrue(finished.await(5, TimeUnit.SECONDS));
+		assertEquals(ByteString.copyFromUtf8("ping"), ((Pong)response[0]).getPongData());
+	}
+}
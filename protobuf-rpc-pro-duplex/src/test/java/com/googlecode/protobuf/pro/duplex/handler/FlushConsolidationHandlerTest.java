@@ -0,0 +1,68 @@
+package com.googlecode.protobuf.pro.duplex.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class FlushConsolidationHandlerTest {
+
+	@Test
+	public void testFlushAtEndOfTick() {
+		FlushConsolidationHandler handler = new FlushConsolidationHandler();
+		EmbeddedChannel ch = new EmbeddedChannel(handler);
+		
+		ch.write(Unpooled.wrappedBuffer(new byte[10]));
+		ch.flush();
+		ch.write(Unpooled.wrappedBuffer(new byte[10]));
+		ch.flush();
+		assertNull(ch.readOutbound());
+		
+		ch.runPendingTasks();
+		assertNotNull(ch.readOutbound());
+		assertNotNull(ch.readOutbound());
+		assertEquals(2, handler.getFlushesRequested());
+		assertEquals(1, handler.getFlushesPerformed());
+		assertEquals(2.0d, handler.getWritesPerFlush(), 0.0d);
+	}
+
+	@Test
+	public void testFlushOnReadComplete() {
+		// no flush task is scheduled during a read, the EmbeddedChannel cannot schedule.
+		FlushConsolidationHandler handler = new FlushConsolidationHandler(64, 65536, 1, TimeUnit.SECONDS);
+		EmbeddedChannel ch = new EmbeddedChannel(handler, new ChannelInboundHandlerAdapter() {
+			@Override
+			public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+				ctx.writeAndFlush(msg);
+			}
+		});
+		
+		ch.writeInbound(Unpooled.wrappedBuffer(new byte[10]), Unpooled.wrappedBuffer(new byte[10]));
+		assertNotNull(ch.readOutbound());
+		assertNotNull(ch.readOutbound());
+		assertEquals(2, handler.getFlushesRequested());
+		assertEquals(1, handler.getFlushesPerformed());
+	}
+
+	@Test
+	public void testFlushAtMaxWrites() {
+		FlushConsolidationHandler handler = new FlushConsolidationHandler(2, 1000, 0, TimeUnit.SECONDS);
+		EmbeddedChannel ch = new EmbeddedChannel(handler);
+		
+		ch.write(Unpooled.wrappedBuffer(new byte[10]));
+		ch.flush();
+		assertNull(ch.readOutbound());
+		ch.write(Unpooled.wrappedBuffer(new byte[10]));
+		ch.flush();
+		assertNotNull(ch.readOutbound());
+		assertNotNull(ch.readOutbound());
+		assertEquals(1, handler.getFlushesPerformed());
+	}
+}
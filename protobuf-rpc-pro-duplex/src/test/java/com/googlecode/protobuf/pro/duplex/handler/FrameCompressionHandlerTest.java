@@ -0,0 +1,100 @@
+package com.googlecode.protobuf.pro.duplex.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+
+import org.junit.Test;
+
+import com.google.protobuf.ByteString;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Ping;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredCompressedPayload;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
+
+public class FrameCompressionHandlerTest {
+
+	Ping small = Ping.newBuilder().setProcessingTime(1).setPongDataLength(2).setPingData(ByteString.copyFrom(new byte[10])).build();
+	Ping large = Ping.newBuilder().setProcessingTime(1).setPongDataLength(2).setPingData(ByteString.copyFrom(new byte[5000])).build();
+
+	@Test
+	public void testThreshold() throws Exception {
+		EmbeddedChannel ch = new EmbeddedChannel(new FrameCompressionHandler(CompressionCodec.LZ4, 1024, true, null));
+		
+		DeferredWirePayload smallPayload = newResponse(1, small);
+		ch.writeOutbound(smallPayload);
+		assertSame(smallPayload, ch.readOutbound());
+		
+		ch.writeOutbound(newResponse(2, large));
+		DeferredCompressedPayload compressed = (DeferredCompressedPayload)ch.readOutbound();
+		assertTrue(compressed.toWirePayload().hasCompressedPayload());
+		assertTrue(compressed.getSerializedSize() < 1024);
+		
+		// inbound the compressed frame is decoded to what was compressed.
+		ch.writeInbound(receive(compressed.toWirePayload()));
+		DeferredWirePayload payload = (DeferredWirePayload)ch.readInbound();
+		assertEquals(2, payload.getRpcResponse().getCorrelationId());
+		assertEquals(large, payload.mergeBodyTo(Ping.newBuilder(), null).build());
+	}
+
+	@Test
+	public void testRejected() throws Exception {
+		EmbeddedChannel ch = new EmbeddedChannel(new FrameCompressionHandler(CompressionCodec.LZ4, 1024, true, 4096, null));
+		ch.writeOutbound(newResponse(1, large));
+		WirePayload compressed = ((DeferredCompressedPayload)ch.readOutbound()).toWirePayload();
+		
+		// claims more than the limit
+		WirePayload.Builder huge = WirePayload.newBuilder(compressed);
+		huge.getCompressedPayloadBuilder().setUncompressedSize(Integer.MAX_VALUE);
+		try {
+			ch.writeInbound(receive(huge.build()));
+			fail();
+		} catch ( DecoderException e ) {
+			// expected
+		}
+		
+		// a codec which was not negotiated
+		WirePayload.Builder deflate = WirePayload.newBuilder(compressed);
+		deflate.getCompressedPayloadBuilder().setCodec(CompressionCodec.DEFLATE);
+		try {
+			ch.writeInbound(receive(deflate.build()));
+			fail();
+		} catch ( DecoderException e ) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testPerMessage() throws Exception {
+		// no compression by default
+		EmbeddedChannel ch = new EmbeddedChannel(new FrameCompressionHandler(CompressionCodec.DEFLATE, 1024, false, null));
+		
+		DeferredWirePayload largePayload = newResponse(1, large);
+		ch.writeOutbound(largePayload);
+		assertSame(largePayload, ch.readOutbound());
+		
+		largePayload.setCompress(Boolean.TRUE);
+		ch.writeOutbound(largePayload);
+		assertTrue(ch.readOutbound() instanceof DeferredCompressedPayload);
+		
+		// compression by default, except for the message
+		ch = new EmbeddedChannel(new FrameCompressionHandler(CompressionCodec.DEFLATE, 1024, true, null));
+		largePayload.setCompress(Boolean.FALSE);
+		ch.writeOutbound(largePayload);
+		assertSame(largePayload, ch.readOutbound());
+	}
+
+	private Object receive( WirePayload payload ) {
+		byte[] frame = payload.toByteArray();
+		return WirePayloadDecoder.decode(frame, 0, frame.length, null);
+	}
+
+	private DeferredWirePayload newResponse( int correlationId, Ping ping ) {
+		return DeferredWirePayload.newRpcResponse(RpcResponse.newBuilder().setCorrelationId(correlationId), ping);
+	}
+}
@@ -0,0 +1,99 @@
+package com.googlecode.protobuf.pro.duplex.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalEventLoopGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.protobuf.ByteString;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Ping;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayloadBatch;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest;
+
+public class WirePayloadBatchingHandlerTest {
+
+	Ping ping = Ping.newBuilder().setProcessingTime(1).setPongDataLength(2).setPingData(ByteString.copyFrom(new byte[10])).build();
+
+	private DeferredWirePayload request( int correlationId ) {
+		RpcRequest.Builder rpcRequest = RpcRequest.newBuilder().setCorrelationId(correlationId).setServiceIdentifier("s").setMethodIdentifier("m");
+		return DeferredWirePayload.newRpcRequest(rpcRequest, ping);
+	}
+
+	@Test
+	public void testBatchAtEndOfTick() {
+		WirePayloadBatchingHandler handler = new WirePayloadBatchingHandler();
+		EmbeddedChannel ch = new EmbeddedChannel(handler);
+
+		ch.writeAndFlush(request(1));
+		ch.writeAndFlush(request(2));
+		ch.runPendingTasks();
+		DeferredWirePayloadBatch batch = (DeferredWirePayloadBatch)ch.readOutbound();
+		assertEquals(2, batch.getPayloads().size());
+		assertNull(ch.readOutbound());
+		assertEquals(1, handler.getFrames());
+	}
+
+	@Test
+	public void testFlushOnReadComplete() {
+		WirePayloadBatchingHandler handler = new WirePayloadBatchingHandler();
+		EmbeddedChannel ch = new EmbeddedChannel(handler, new ChannelInboundHandlerAdapter() {
+			@Override
+			public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+				ctx.writeAndFlush(msg);
+			}
+		});
+
+		// written by the read complete, before any task runs.
+		ch.pipeline().fireChannelRead(request(1));
+		ch.pipeline().fireChannelRead(request(2));
+		assertNull(ch.readOutbound());
+		ch.pipeline().fireChannelReadComplete();
+		DeferredWirePayloadBatch batch = (DeferredWirePayloadBatch)ch.readOutbound();
+		assertEquals(2, batch.getPayloads().size());
+	}
+
+	@Test
+	public void testSingleCallSentAtOnce() throws Exception {
+		LocalEventLoopGroup group = new LocalEventLoopGroup(1);
+		try {
+			final List<Object> written = new ArrayList<Object>();
+			final Channel ch = new LocalChannel();
+			ch.pipeline().addLast(new ChannelOutboundHandlerAdapter() {
+				@Override
+				public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+					written.add(msg);
+					promise.setSuccess();
+				}
+			}, new WirePayloadBatchingHandler());
+			group.register(ch).sync();
+
+			// on an idle event loop, the call is not deferred to a later task.
+			boolean sent = ch.eventLoop().submit(new Callable<Boolean>() {
+				@Override
+				public Boolean call() {
+					ch.writeAndFlush(request(1));
+					return written.size() == 1;
+				}
+			}).get(5, TimeUnit.SECONDS);
+			assertTrue(sent);
+			assertTrue(written.get(0) instanceof DeferredWirePayload);
+		} finally {
+			group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package com.googlecode.protobuf.pro.duplex.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.TooLongFrameException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.protobuf.ByteString;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Ping;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
+
+public class WirePayloadCodecTest {
+
+	Ping ping = Ping.newBuilder().setProcessingTime(1).setPongDataLength(2).setPingData(ByteString.copyFrom(new byte[300])).build();
+
+	/**
+	 * Deferred payloads are only valid during dispatch, so the body is parsed immediately.
+	 */
+	class PingCollector extends ChannelInboundHandlerAdapter {
+		List<Object> received = new ArrayList<Object>();
+		
+		@Override
+		public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+			if ( msg instanceof DeferredWirePayload ) {
+				received.add(((DeferredWirePayload)msg).mergeBodyTo(Ping.newBuilder(), null).build());
+			} else {
+				received.add(msg);
+			}
+		}
+	}
+	
+	@Test
+	public void testFragmentedRoundTrip() throws Exception {
+		EmbeddedChannel encoder = new EmbeddedChannel(new WirePayloadCodec(null));
+		RpcRequest.Builder rpcRequest = RpcRequest.newBuilder().setCorrelationId(1).setServiceIdentifier("s").setMethodIdentifier("m");
+		WirePayload cancel = WirePayload.newBuilder().setRpcCancel(RpcCancel.newBuilder().setCorrelationId(2)).build();
+		assertTrue(encoder.writeOutbound(DeferredWirePayload.newRpcRequest(rpcRequest, ping), cancel));
+
+		ByteBuf wire = Unpooled.buffer();
+		ByteBuf frame;
+		while( (frame = (ByteBuf)encoder.readOutbound()) != null ) {
+			wire.writeBytes(frame);
+			frame.release();
+		}
+		
+		PingCollector collector = new PingCollector();
+		EmbeddedChannel decoder = new EmbeddedChannel(new WirePayloadCodec(null), collector);
+		// feed the frames in small fragments, split across the length prefix and payloads
+		while( wire.isReadable() ) {
+			decoder.writeInbound(wire.readBytes(Math.min(7, wire.readableBytes())));
+		}
+		assertEquals(2, collector.received.size());
+		assertEquals(ping, collector.received.get(0));
+		assertEquals(cancel, collector.received.get(1));
+		assertNull(decoder.readInbound());
+	}
+	
+	@Test
+	public void testMaxFrameLength() throws Exception {
+		EmbeddedChannel decoder = new EmbeddedChannel(new WirePayloadCodec(null, 100, null));
+		ByteBuf wire = Unpooled.buffer();
+		// only the length prefix of a frame which is too long.
+		wire.writeByte(0x80 | 1).writeByte(1);
+		try {
+			decoder.writeInbound(wire);
+			fail("too long");
+		} catch ( TooLongFrameException e ) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.googlecode.protobuf.pro.duplex.limit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class CoDelLoadShedderTest {
+
+	static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+	
+	@Test
+	public void testShedAfterInterval() {
+		CoDelLoadShedder shedder = new CoDelLoadShedder(5, 100);
+		long now = 1000 * MS;
+		
+		// short waits never shed.
+		assertTrue(start(shedder, "a", 1 * MS, now));
+		assertTrue(shedder.admit("a"));
+		
+		// long waits are tolerated for an interval.
+		assertTrue(start(shedder, "a", 10 * MS, now));
+		assertTrue(start(shedder, "a", 10 * MS, now + 50 * MS));
+		assertFalse(shedder.isOverloaded());
+		
+		// a short wait within the interval restarts it.
+		assertTrue(start(shedder, "a", 1 * MS, now + 60 * MS));
+		assertTrue(start(shedder, "a", 10 * MS, now + 70 * MS));
+		assertTrue(start(shedder, "a", 10 * MS, now + 160 * MS));
+		assertFalse(shedder.isOverloaded());
+		
+		// still above target after the interval.
+		shedder.onQueued();
+		assertFalse(start(shedder, "a", 10 * MS, now + 170 * MS));
+		assertTrue(shedder.isOverloaded());
+		assertFalse(shedder.admit("b"));
+		assertFalse(start(shedder, "b", 10 * MS, now + 172 * MS));
+		assertEquals(Long.valueOf(1), shedder.getShedCounts().get("a"));
+		assertEquals(Long.valueOf(2), shedder.getShedCounts().get("b"));
+		assertEquals(3, shedder.getShed());
+		
+		// a call starting within the target ends the overload.
+		assertTrue(start(shedder, "a", 1 * MS, now + 173 * MS));
+		assertFalse(shedder.isOverloaded());
+		assertTrue(shedder.admit("a"));
+		assertEquals(1, shedder.getQueued());
+	}
+	
+	@Test
+	public void testDrained() {
+		CoDelLoadShedder shedder = new CoDelLoadShedder(5, 100);
+		long now = 1000 * MS;
+		for( int i = 0; i < 4; i++ ) {
+			shedder.onQueued();
+		}
+		assertTrue(shedder.onStart("a", 10 * MS, now));
+		assertFalse(shedder.onStart("a", 10 * MS, now + 100 * MS));
+		
+		// nothing starts while the running calls take long, but the queue is not empty.
+		assertFalse(shedder.admit("a"));
+		assertTrue(shedder.isOverloaded());
+		
+		// the last queued calls are shed or cancelled, the queue drained.
+		assertFalse(shedder.onStart("a", 10 * MS, now + 300 * MS));
+		assertFalse(shedder.admit("a"));
+		shedder.onRemoved();
+		assertEquals(0, shedder.getQueued());
+		assertTrue(shedder.admit("a"));
+		assertFalse(shedder.isOverloaded());
+	}
+	
+	private boolean start( CoDelLoadShedder shedder, String method, long sojournNanos, long now ) {
+		shedder.onQueued();
+		return shedder.onStart(method, sojournNanos, now);
+	}
+}
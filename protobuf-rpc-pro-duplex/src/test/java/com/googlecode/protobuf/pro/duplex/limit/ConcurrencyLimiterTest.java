@@ -0,0 +1,130 @@
+package com.googlecode.protobuf.pro.duplex.limit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.googlecode.protobuf.pro.duplex.limit.ConcurrencyLimiter.Admission;
+
+public class ConcurrencyLimiterTest {
+
+	static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+	
+	@Test
+	public void testAcquireQueueReject() {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(new AimdLimit(2, 1, 10, 0.5, 0), 1);
+		final AtomicInteger granted = new AtomicInteger();
+		Runnable waiter = new Runnable() {
+			@Override
+			public void run() {
+				granted.incrementAndGet();
+			}
+		};
+		assertEquals(Admission.ACQUIRED, limiter.acquire(waiter));
+		assertEquals(Admission.ACQUIRED, limiter.acquire(waiter));
+		assertEquals(Admission.QUEUED, limiter.acquire(waiter));
+		assertEquals(Admission.REJECTED, limiter.acquire(waiter));
+		assertEquals(2, limiter.getInFlight());
+		assertEquals(1, limiter.getQueueDepth());
+		assertEquals(1, limiter.getRejected());
+		
+		// the released permit passes to the waiter.
+		limiter.release();
+		assertEquals(1, granted.get());
+		assertEquals(2, limiter.getInFlight());
+		assertEquals(0, limiter.getQueueDepth());
+		
+		// a drop halves the limit.
+		limiter.release(MS, true);
+		assertEquals(1, limiter.getLimit());
+		assertEquals(1, limiter.getInFlight());
+		assertEquals(Admission.QUEUED, limiter.acquire(waiter));
+		limiter.release(MS, false);
+		assertEquals(2, granted.get());
+		assertEquals(1, limiter.getInFlight());
+	}
+	
+	@Test
+	public void testRemove() {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(new AimdLimit(1, 1, 1, 0.5, 0), 1);
+		final AtomicInteger granted = new AtomicInteger();
+		Runnable waiter = new Runnable() {
+			@Override
+			public void run() {
+				granted.incrementAndGet();
+			}
+		};
+		assertEquals(Admission.ACQUIRED, limiter.acquire(waiter));
+		assertEquals(Admission.QUEUED, limiter.acquire(waiter));
+		
+		// a removed waiter frees its place in the queue, and is not granted a permit.
+		assertTrue(limiter.remove(waiter));
+		assertFalse(limiter.remove(waiter));
+		assertEquals(0, limiter.getQueueDepth());
+		limiter.release();
+		assertEquals(0, granted.get());
+		assertEquals(0, limiter.getInFlight());
+	}
+	
+	@Test
+	public void testAimdLimit() {
+		AimdLimit limit = new AimdLimit(10, 1, 12, 0.9, 100 * MS);
+		// not increased while mostly unused.
+		limit.onSample(MS, 4, false);
+		assertEquals(10, limit.getLimit());
+		limit.onSample(MS, 5, false);
+		assertEquals(11, limit.getLimit());
+		limit.onSample(MS, 11, false);
+		limit.onSample(MS, 12, false);
+		assertEquals(12, limit.getLimit());
+		
+		limit.onSample(200 * MS, 12, false);
+		assertEquals(10, limit.getLimit());
+		limit.onSample(MS, 10, true);
+		assertEquals(9, limit.getLimit());
+	}
+	
+	@Test
+	public void testVegasLimit() {
+		VegasLimit limit = new VegasLimit(10, 1, 100, 3, 6, 1000);
+		limit.onSample(10 * MS, 10, false);
+		assertEquals(10 * MS, limit.getRttNoLoadNanos());
+		
+		// no queueing grows the limit.
+		limit.onSample(10 * MS, 10, false);
+		assertEquals(11, limit.getLimit());
+		
+		// rtt up by 150%, most calls are queued.
+		limit.onSample(25 * MS, 11, false);
+		assertEquals(10, limit.getLimit());
+		
+		// in between, the limit holds.
+		limit.onSample(14 * MS, 10, false);
+		assertEquals(10, limit.getLimit());
+		
+		limit.onSample(10 * MS, 10, true);
+		assertEquals(5, limit.getLimit());
+		
+		// a lower rtt becomes the new baseline.
+		limit.onSample(5 * MS, 5, false);
+		assertEquals(5 * MS, limit.getRttNoLoadNanos());
+		assertEquals(5, limit.getLimit());
+	}
+	
+	@Test
+	public void testVegasProbe() {
+		VegasLimit limit = new VegasLimit(10, 1, 100, 3, 6, 3);
+		limit.onSample(5 * MS, 10, false);
+		limit.onSample(5 * MS, 10, false);
+		assertEquals(5 * MS, limit.getRttNoLoadNanos());
+		// the third sample re-measures the baseline.
+		limit.onSample(8 * MS, 10, false);
+		assertEquals(8 * MS, limit.getRttNoLoadNanos());
+		assertTrue(limit.getLimit() >= 10);
+	}
+}
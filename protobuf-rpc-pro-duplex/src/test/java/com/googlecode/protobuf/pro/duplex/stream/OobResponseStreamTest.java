@@ -0,0 +1,194 @@
+package com.googlecode.protobuf.pro.duplex.stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import com.google.protobuf.RpcCallback;
+import com.googlecode.protobuf.pro.duplex.ClientRpcController;
+import com.googlecode.protobuf.pro.duplex.PeerInfo;
+import com.googlecode.protobuf.pro.duplex.RpcClient;
+import com.googlecode.protobuf.pro.duplex.execute.ServerRpcController;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Ping;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.PingPongService;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Pong;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobResponse;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
+
+public class OobResponseStreamTest {
+
+	@Test
+	public void testServerStreamsOnCredit() {
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		RpcClient client = new RpcClient(ch, new PeerInfo("server", 2), new PeerInfo("client", 1), false, null, null);
+		ServerRpcController controller = new ServerRpcController(client, "PingPongService", 7);
+		
+		// credits received before the service subscribes are kept.
+		controller.receiveOobCredit(2);
+		final Pong[] response = new Pong[1];
+		Pong done = pong(-1);
+		controller.streamOobResponses(new PongPublisher(5), new RpcCallback<Pong>() {
+			@Override
+			public void run(Pong parameter) {
+				response[0] = parameter;
+			}
+		}, done);
+		assertEquals(2, readOobResponses(ch));
+		assertNull(response[0]);
+		
+		controller.receiveOobCredit(10);
+		assertEquals(3, readOobResponses(ch));
+		assertSame(done, response[0]);
+	}
+
+	@Test
+	public void testClientRequestsCredits() throws Exception {
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		RpcClient client = new RpcClient(ch, new PeerInfo("client", 1), new PeerInfo("server", 2), false, null, null);
+		
+		final List<String> events = new ArrayList<String>();
+		ClientRpcController controller = client.newRpcController();
+		controller.setOobResponseSubscriber(Pong.getDefaultInstance(), new Subscriber<Pong>() {
+			Subscription subscription;
+			
+			@Override
+			public void onSubscribe(Subscription subscription) {
+				this.subscription = subscription;
+				subscription.request(1);
+			}
+			
+			@Override
+			public void onNext(Pong item) {
+				events.add("next " + item.getPongData().size());
+				subscription.request(1);
+			}
+			
+			@Override
+			public void onError(Throwable throwable) {
+				events.add("error");
+			}
+			
+			@Override
+			public void onComplete() {
+				events.add("complete");
+			}
+		});
+		Ping ping = Ping.newBuilder().setProcessingTime(0).setPongDataLength(0).setPingData(ByteString.EMPTY).build();
+		client.callMethod(PingPongService.getDescriptor().findMethodByName("ping"), controller, ping, Pong.getDefaultInstance(), new RpcCallback<Message>() {
+			@Override
+			public void run(Message parameter) {
+				events.add("done");
+			}
+		});
+		int correlationId = controller.getCorrelationId();
+		assertTrue(((DeferredWirePayload)ch.readOutbound()).hasRpcRequest());
+		assertEquals(1, ((WirePayload)ch.readOutbound()).getOobCredit().getCredits());
+		
+		client.receiveOobResponse(OobResponse.newBuilder().setCorrelationId(correlationId).setMessageBytes(pong(3).toByteString()).build());
+		assertEquals(correlationId, ((WirePayload)ch.readOutbound()).getOobCredit().getCorrelationId());
+		
+		client.response(RpcResponse.newBuilder().setCorrelationId(correlationId).setResponseBytes(pong(0).toByteString()).build());
+		assertEquals("[next 3, complete, done]", events.toString());
+	}
+	
+	@Test
+	public void testNonPositiveRequest() throws Exception {
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		RpcClient client = new RpcClient(ch, new PeerInfo("client", 1), new PeerInfo("server", 2), false, null, null);
+		
+		final List<String> events = new ArrayList<String>();
+		ClientRpcController controller = client.newRpcController();
+		controller.setOobResponseSubscriber(Pong.getDefaultInstance(), new Subscriber<Pong>() {
+			@Override
+			public void onSubscribe(Subscription subscription) {
+				subscription.request(0);
+			}
+			
+			@Override
+			public void onNext(Pong item) {
+				events.add("next");
+			}
+			
+			@Override
+			public void onError(Throwable throwable) {
+				events.add(throwable.getClass().getSimpleName());
+			}
+			
+			@Override
+			public void onComplete() {
+				events.add("complete");
+			}
+		});
+		Ping ping = Ping.newBuilder().setProcessingTime(0).setPongDataLength(0).setPingData(ByteString.EMPTY).build();
+		client.callMethod(PingPongService.getDescriptor().findMethodByName("ping"), controller, ping, Pong.getDefaultInstance(), new RpcCallback<Message>() {
+			@Override
+			public void run(Message parameter) {
+				events.add("done");
+			}
+		});
+		// the subscriber fails, and the call is cancelled.
+		assertTrue(((DeferredWirePayload)ch.readOutbound()).hasRpcRequest());
+		assertEquals(controller.getCorrelationId(), ((WirePayload)ch.readOutbound()).getRpcCancel().getCorrelationId());
+		assertEquals("[IllegalArgumentException, done]", events.toString());
+		assertEquals("Cancel", controller.errorText());
+	}
+	
+	private int readOobResponses( EmbeddedChannel ch ) {
+		int count = 0;
+		Object msg = null;
+		while( (msg = ch.readOutbound()) != null ) {
+			assertTrue(((DeferredWirePayload)msg).hasOobResponse());
+			count++;
+		}
+		return count;
+	}
+	
+	private static Pong pong( int size ) {
+		return Pong.newBuilder().setPongData(ByteString.copyFrom(new byte[Math.max(0, size)])).build();
+	}
+	
+	/**
+	 * Publishes count Pongs, as requested.
+	 */
+	private static class PongPublisher implements Publisher<Pong> {
+		
+		private final int count;
+		
+		PongPublisher( int count ) {
+			this.count = count;
+		}
+		
+		@Override
+		public void subscribe(final Subscriber<? super Pong> subscriber) {
+			subscriber.onSubscribe(new Subscription() {
+				int sent = 0;
+				
+				@Override
+				public void request(long n) {
+					for( long i = 0; i < n && sent < count; i++ ) {
+						subscriber.onNext(pong(sent++));
+					}
+					if ( sent == count ) {
+						subscriber.onComplete();
+					}
+				}
+				
+				@Override
+				public void cancel() {
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,242 @@
+package com.googlecode.protobuf.pro.duplex.stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import com.google.protobuf.RpcCallback;
+import com.google.protobuf.RpcController;
+import com.googlecode.protobuf.pro.duplex.ClientRpcController;
+import com.googlecode.protobuf.pro.duplex.PeerInfo;
+import com.googlecode.protobuf.pro.duplex.RpcClient;
+import com.googlecode.protobuf.pro.duplex.RpcServer;
+import com.googlecode.protobuf.pro.duplex.RpcServiceRegistry;
+import com.googlecode.protobuf.pro.duplex.execute.ServerRpcController;
+import com.googlecode.protobuf.pro.duplex.execute.ThreadPoolCallExecutor;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Ping;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.PingPongService;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Pong;
+import com.googlecode.protobuf.pro.duplex.wire.DeferredWirePayload;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.OobCredit;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamChunk;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.StreamEnd;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
+
+public class RequestStreamTest {
+
+	@Test
+	public void testClientStreamsOnCredit() throws Exception {
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		RpcClient client = new RpcClient(ch, new PeerInfo("client", 1), new PeerInfo("server", 2), false, null, null);
+		
+		ClientRpcController controller = client.newRpcController();
+		List<Ping> pings = new ArrayList<Ping>();
+		for( int i = 0; i < 3; i++ ) {
+			pings.add(ping(i));
+		}
+		controller.setRequestPublisher(new IterablePublisher<Ping>(pings));
+		client.callMethod(PingPongService.getDescriptor().findMethodByName("ping"), controller, ping(0), Pong.getDefaultInstance(), null);
+		int correlationId = controller.getCorrelationId();
+		assertTrue(((DeferredWirePayload)ch.readOutbound()).hasRpcRequest());
+		assertNull(ch.readOutbound());
+		
+		client.receiveStreamCredit(OobCredit.newBuilder().setCorrelationId(correlationId).setCredits(2).build());
+		assertEquals(correlationId, ((DeferredWirePayload)ch.readOutbound()).getStreamChunk().getCorrelationId());
+		assertTrue(((DeferredWirePayload)ch.readOutbound()).hasStreamChunk());
+		assertNull(ch.readOutbound());
+		
+		client.receiveStreamCredit(OobCredit.newBuilder().setCorrelationId(correlationId).setCredits(5).build());
+		assertTrue(((DeferredWirePayload)ch.readOutbound()).hasStreamChunk());
+		StreamEnd end = ((WirePayload)ch.readOutbound()).getStreamEnd();
+		assertEquals(correlationId, end.getCorrelationId());
+		assertFalse(end.hasErrorMessage());
+	}
+
+	@Test
+	public void testServerSubscribes() throws Exception {
+		// the call runs on another thread, which writes to the channel.
+		final BlockingQueue<Object> outbound = new LinkedBlockingQueue<Object>();
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+			@Override
+			public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+				outbound.add(msg);
+				promise.setSuccess();
+			}
+		});
+		RpcClient client = new RpcClient(ch, new PeerInfo("server", 2), new PeerInfo("client", 1), false, null, null);
+		RpcServiceRegistry registry = new RpcServiceRegistry();
+		registry.registerService(PingPongService.newReflectiveService(new PingPongService.Interface() {
+			@Override
+			public void ping(RpcController controller, Ping request, final RpcCallback<Pong> done) {
+				// responds with as many bytes as streamed, requesting one ping at a time.
+				((ServerRpcController)controller).subscribeRequestStream(new Subscriber<Ping>() {
+					Subscription subscription;
+					int length;
+					
+					@Override
+					public void onSubscribe(Subscription subscription) {
+						this.subscription = subscription;
+						subscription.request(1);
+					}
+					
+					@Override
+					public void onNext(Ping item) {
+						length += item.getPongDataLength();
+						subscription.request(1);
+					}
+					
+					@Override
+					public void onError(Throwable throwable) {
+						done.run(null);
+					}
+					
+					@Override
+					public void onComplete() {
+						done.run(Pong.newBuilder().setPongData(ByteString.copyFrom(new byte[length])).build());
+					}
+				});
+			}
+			
+			@Override
+			public void fail(RpcController controller, Ping request, RpcCallback<Pong> done) {
+				done.run(null);
+			}
+		}));
+		ThreadPoolCallExecutor executor = new ThreadPoolCallExecutor(1, 1);
+		RpcServer server = new RpcServer(client, registry, executor, null);
+		
+		server.request(RpcRequest.newBuilder().setCorrelationId(3).setServiceIdentifier(PingPongService.getDescriptor().getFullName()).setMethodIdentifier("ping").setRequestBytes(ping(0).toByteString()).build());
+		assertEquals(1, ((WirePayload)outbound.poll(5, TimeUnit.SECONDS)).getStreamCredit().getCredits());
+		
+		for( int i = 1; i <= 3; i++ ) {
+			server.streamChunk(StreamChunk.newBuilder().setCorrelationId(3).setMessageBytes(ping(i).toByteString()).build());
+			assertEquals(3, ((WirePayload)outbound.poll(5, TimeUnit.SECONDS)).getStreamCredit().getCorrelationId());
+		}
+		server.streamEnd(StreamEnd.newBuilder().setCorrelationId(3).build());
+		DeferredWirePayload response = (DeferredWirePayload)outbound.poll(5, TimeUnit.SECONDS);
+		assertEquals(3, response.getRpcResponse().getCorrelationId());
+		assertEquals(6, response.mergeBodyTo(Pong.newBuilder(), null).getPongData().size());
+		executor.shutdownNow();
+	}
+	
+	@Test
+	public void testSubscribeAfterCancel() throws Exception {
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		RpcClient client = new RpcClient(ch, new PeerInfo("server", 2), new PeerInfo("client", 1), false, null, null);
+		ServerRpcController controller = new ServerRpcController(client, PingPongService.getDescriptor().getFullName(), 3);
+		controller.startCancel();
+		
+		final List<Throwable> errors = new ArrayList<Throwable>();
+		controller.subscribeRequestStream(new Subscriber<Ping>() {
+			@Override
+			public void onSubscribe(Subscription subscription) {
+				subscription.request(1);
+			}
+			
+			@Override
+			public void onNext(Ping item) {
+			}
+			
+			@Override
+			public void onError(Throwable throwable) {
+				errors.add(throwable);
+			}
+			
+			@Override
+			public void onComplete() {
+			}
+		});
+		assertEquals(1, errors.size());
+		assertEquals("Cancel", errors.get(0).getMessage());
+		// no credit is granted to the cancelled stream.
+		assertNull(ch.readOutbound());
+	}
+	
+	@Test
+	public void testNonPositiveRequest() throws Exception {
+		EmbeddedChannel ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter());
+		RpcClient client = new RpcClient(ch, new PeerInfo("server", 2), new PeerInfo("client", 1), false, null, null);
+		ServerRpcController controller = new ServerRpcController(client, PingPongService.getDescriptor().getFullName(), 3);
+		
+		final List<Throwable> errors = new ArrayList<Throwable>();
+		controller.subscribeRequestStream(new Subscriber<Ping>() {
+			@Override
+			public void onSubscribe(Subscription subscription) {
+				subscription.request(-1);
+			}
+			
+			@Override
+			public void onNext(Ping item) {
+			}
+			
+			@Override
+			public void onError(Throwable throwable) {
+				errors.add(throwable);
+			}
+			
+			@Override
+			public void onComplete() {
+			}
+		});
+		assertEquals(1, errors.size());
+		assertTrue(errors.get(0) instanceof IllegalArgumentException);
+		// the cancelled stream is not ended again.
+		controller.receiveStreamEnd(null);
+		assertEquals(1, errors.size());
+		assertNull(ch.readOutbound());
+	}
+	
+	private static Ping ping( int pongDataLength ) {
+		return Ping.newBuilder().setProcessingTime(0).setPongDataLength(pongDataLength).setPingData(ByteString.EMPTY).build();
+	}
+	
+	/**
+	 * Publishes the items, as requested.
+	 */
+	private static class IterablePublisher<T extends Message> implements Publisher<T> {
+		
+		private final List<T> items;
+		
+		IterablePublisher( List<T> items ) {
+			this.items = items;
+		}
+		
+		@Override
+		public void subscribe(final Subscriber<? super T> subscriber) {
+			subscriber.onSubscribe(new Subscription() {
+				int next = 0;
+				
+				@Override
+				public void request(long n) {
+					for( long i = 0; i < n && next < items.size(); i++ ) {
+						subscriber.onNext(items.get(next++));
+					}
+					if ( next == items.size() ) {
+						next++;
+						subscriber.onComplete();
+					}
+				}
+				
+				@Override
+				public void cancel() {
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package com.googlecode.protobuf.pro.duplex.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class PendingCallTableTest {
+
+	@Test
+	public void testPutGetRemove() {
+		PendingCallTable<String> table = new PendingCallTable<String>(3);
+		assertEquals(4, table.getCapacity());
+		assertTrue(table.isEmpty());
+		
+		assertTrue(table.put(1, "1"));
+		assertFalse(table.put(1, "other"));
+		assertSame("1", table.get(1));
+		assertNull(table.get(5));
+		
+		// 5 and 9 share 1's slot, and overflow.
+		assertTrue(table.put(5, "5"));
+		assertTrue(table.put(9, "9"));
+		assertTrue(table.put(2, "2"));
+		assertEquals(4, table.size());
+		int[] keys = table.keys();
+		Arrays.sort(keys);
+		assertArrayEquals(new int[] { 1, 2, 5, 9 }, keys);
+		
+		assertSame("5", table.remove(5));
+		assertNull(table.remove(5));
+		assertSame("1", table.remove(1));
+		assertSame("9", table.get(9));
+		assertSame("2", table.remove(2));
+		assertSame("9", table.remove(9));
+		assertTrue(table.isEmpty());
+		assertEquals(0, table.keys().length);
+	}
+
+	@Test
+	public void testConcurrentPutRemove() throws Exception {
+		final PendingCallTable<Integer> table = new PendingCallTable<Integer>(64);
+		final AtomicInteger correlationId = new AtomicInteger(1);
+		final int threads = 4;
+		final int calls = 20000;
+		final CountDownLatch done = new CountDownLatch(threads);
+		for( int t = 0; t < threads; t++ ) {
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for( int i = 0; i < calls; i++ ) {
+						int id = correlationId.getAndIncrement();
+						table.put(id, id);
+					}
+					done.countDown();
+				}
+			}).start();
+		}
+		// remove concurrently, more calls than the capacity are pending so some overflow.
+		int removed = 0;
+		int next = 1;
+		while( removed < threads * calls ) {
+			Integer value = table.remove(next);
+			if ( value != null ) {
+				assertEquals(next, value.intValue());
+				removed++;
+				next++;
+			} else {
+				Thread.yield();
+			}
+		}
+		done.await();
+		assertTrue(table.isEmpty());
+	}
+}
@@ -0,0 +1,115 @@
+package com.googlecode.protobuf.pro.duplex.wire;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.googlecode.protobuf.pro.duplex.test.PingPong.Ping;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcCancel;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcRequest;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.RpcResponse;
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.WirePayload;
+
+public class DeferredWirePayloadTest {
+
+	Ping ping = Ping.newBuilder().setProcessingTime(1).setPongDataLength(2).setPingData(ByteString.copyFrom(new byte[1000])).build();
+
+	RpcRequest.Builder envelope = RpcRequest.newBuilder()
+			.setCorrelationId(7)
+			.setServiceIdentifier("PingService")
+			.setMethodIdentifier("ping")
+			.setTimeoutMs(100);
+
+	@Test
+	public void testWireCompatibility() throws Exception {
+		DeferredWirePayload deferred = DeferredWirePayload.newRpcRequest(envelope, ping);
+		
+		byte[] bytes = toByteArray(deferred);
+		WirePayload payload = WirePayload.parseFrom(bytes);
+		assertEquals(ping.toByteString(), payload.getRpcRequest().getRequestBytes());
+		assertEquals(7, payload.getRpcRequest().getCorrelationId());
+		assertEquals(100, payload.getRpcRequest().getTimeoutMs());
+		
+		assertEquals(payload.getSerializedSize(), bytes.length);
+	}
+
+	@Test
+	public void testParseFromLegacy() throws Exception {
+		// the body is not the last field of the legacy encoding's RpcRequest
+		WirePayload legacy = WirePayload.newBuilder().setRpcRequest(envelope.clone().setRequestBytes(ping.toByteString())).build();
+		byte[] bytes = legacy.toByteArray();
+		
+		DeferredWirePayload payload = DeferredWirePayload.parseFrom(bytes, 0, bytes.length);
+		assertEquals(100, payload.getRpcRequest().getTimeoutMs());
+		assertEquals(ping, payload.mergeBodyTo(Ping.newBuilder(), null).build());
+		assertEquals(legacy, payload.toWirePayload());
+	}
+
+	@Test
+	public void testParseFrom() throws Exception {
+		byte[] bytes = toByteArray(DeferredWirePayload.newRpcRequest(envelope, ping));
+		byte[] frame = new byte[bytes.length + 10];
+		System.arraycopy(bytes, 0, frame, 5, bytes.length);
+		
+		DeferredWirePayload payload = DeferredWirePayload.parseFrom(frame, 5, bytes.length);
+		assertNotNull(payload);
+		assertTrue(payload.hasRpcRequest());
+		assertEquals("ping", payload.getRpcRequest().getMethodIdentifier());
+		assertEquals(ping, payload.mergeBodyTo(Ping.newBuilder(), null).build());
+		assertEquals(bytes.length, payload.getSerializedSize());
+		assertArrayEquals(bytes, toByteArray(payload));
+	}
+
+	@Test
+	public void testParseFromNonDeferrable() throws Exception {
+		byte[] bytes = WirePayload.newBuilder().setRpcCancel(RpcCancel.newBuilder().setCorrelationId(1)).build().toByteArray();
+		assertNull(DeferredWirePayload.parseFrom(bytes, 0, bytes.length));
+	}
+
+	@Test
+	public void testBatch() throws Exception {
+		List<DeferredWirePayload> payloads = new ArrayList<DeferredWirePayload>();
+		payloads.add(DeferredWirePayload.newRpcRequest(envelope, ping));
+		payloads.add(DeferredWirePayload.newRpcResponse(RpcResponse.newBuilder().setCorrelationId(8), ping));
+		payloads.add(DeferredWirePayload.newRpcRequest(envelope.clone().setCorrelationId(9), ping));
+		DeferredWirePayloadBatch batch = new DeferredWirePayloadBatch(payloads);
+		
+		byte[] bytes = new byte[batch.getSerializedSize()];
+		CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+		batch.writeTo(output);
+		output.checkNoSpaceLeft();
+		
+		// a single frame is not mistaken for a batch, nor the other way round.
+		assertNull(DeferredWirePayload.parseFrom(bytes, 0, bytes.length));
+		byte[] single = toByteArray(payloads.get(0));
+		assertNull(DeferredWirePayloadBatch.parseFrom(single, 0, single.length));
+		
+		DeferredWirePayloadBatch parsed = DeferredWirePayloadBatch.parseFrom(bytes, 0, bytes.length);
+		assertEquals(3, parsed.getPayloads().size());
+		assertEquals(7, parsed.getPayloads().get(0).getRpcRequest().getCorrelationId());
+		assertEquals(8, parsed.getPayloads().get(1).getRpcResponse().getCorrelationId());
+		assertEquals(9, parsed.getPayloads().get(2).getRpcRequest().getCorrelationId());
+		assertEquals(ping, parsed.getPayloads().get(1).mergeBodyTo(Ping.newBuilder(), null).build());
+		
+		WirePayload payload = WirePayload.parseFrom(bytes);
+		assertEquals(2, payload.getBatchedRpcRequestCount());
+		assertEquals(ping.toByteString(), payload.getBatchedRpcResponse(0).getResponseBytes());
+	}
+
+	private byte[] toByteArray( DeferredWirePayload payload ) throws Exception {
+		byte[] bytes = new byte[payload.getSerializedSize()];
+		CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+		payload.writeTo(output);
+		output.checkNoSpaceLeft();
+		return bytes;
+	}
+}
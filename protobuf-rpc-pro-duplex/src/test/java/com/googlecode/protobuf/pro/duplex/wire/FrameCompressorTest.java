@@ -0,0 +1,72 @@
+package com.googlecode.protobuf.pro.duplex.wire;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.googlecode.protobuf.pro.duplex.wire.DuplexProtocol.CompressionCodec;
+
+public class FrameCompressorTest {
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		Random random = new Random(1);
+		for( CompressionCodec codec : CompressionCodec.values() ) {
+			FrameCompressor compressor = FrameCompressor.newInstance(codec);
+			for( int length : new int[] { 0, 1, 12, 13, 100, 4096, 100000 } ) {
+				// incompressible
+				byte[] data = new byte[length];
+				random.nextBytes(data);
+				roundTrip(compressor, data);
+				
+				// compressible, with long literal and match runs
+				for( int i = 0; i < length; i++ ) {
+					data[i] = (byte)((i / 300) % 7 == 0 ? random.nextInt() : 'a' + (i % 11));
+				}
+				int compressedLength = roundTrip(compressor, data);
+				if ( length >= 4096 ) {
+					assertTrue(codec + " " + compressedLength, compressedLength < length / 2);
+				}
+			}
+			compressor.release();
+		}
+	}
+
+	@Test
+	public void testCorrupt() throws Exception {
+		byte[] data = new byte[1000];
+		for( int i = 0; i < data.length; i++ ) {
+			data[i] = (byte)(i % 13);
+		}
+		for( CompressionCodec codec : CompressionCodec.values() ) {
+			FrameCompressor compressor = FrameCompressor.newInstance(codec);
+			byte[] compressed = new byte[compressor.maxCompressedLength(data.length)];
+			int compressedLength = compressor.compress(data, 0, data.length, compressed, 0);
+			try {
+				compressor.decompress(compressed, 0, compressedLength / 2, new byte[data.length], 0, data.length);
+				fail(codec + " truncation not detected");
+			} catch ( IOException e ) {
+				// expected
+			}
+			compressor.release();
+		}
+	}
+
+	private int roundTrip( FrameCompressor compressor, byte[] data ) throws Exception {
+		byte[] compressed = new byte[compressor.maxCompressedLength(data.length) + 3];
+		int compressedLength = compressor.compress(data, 0, data.length, compressed, 3);
+		assertTrue(compressedLength <= compressor.maxCompressedLength(data.length));
+		
+		byte[] decompressed = new byte[data.length + 2];
+		compressor.decompress(compressed, 3, compressedLength, decompressed, 2, data.length);
+		byte[] result = new byte[data.length];
+		System.arraycopy(decompressed, 2, result, 0, data.length);
+		assertArrayEquals(data, result);
+		return compressedLength;
+	}
+}